@@ -2,15 +2,23 @@ package svydovets;
 
 import org.apache.catalina.Context;
 import org.apache.catalina.LifecycleException;
+import org.apache.catalina.Wrapper;
+import org.apache.catalina.connector.Connector;
 import org.apache.catalina.startup.Tomcat;
+import org.apache.coyote.http11.AbstractHttp11Protocol;
+import org.apache.coyote.http2.Http2Protocol;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import svydovets.core.context.ApplicationContext;
 import svydovets.util.ErrorMessageConstants;
+import svydovets.util.VirtualThreadsUtil;
 import svydovets.web.DispatcherServlet;
+import svydovets.util.exception.VirtualThreadsNotSupportedException;
 import svydovets.web.exception.TomcatStartingException;
 
 import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * The {@code BringApplication} class provides a simplified and opinionated way to configure and run an embedded Tomcat
@@ -39,6 +47,18 @@ import java.io.File;
  * providing detailed error information. This exception wraps the underlying {@link LifecycleException} thrown by the
  * embedded Tomcat.
  * <p>
+ * The server and its connector (protocol, thread and connection limits, keep-alive, socket buffers, cleartext
+ * HTTP/2, response compression) can be tuned with the {@link BringApplication#builder(Class)} API.
+ * <p>
+ * When the {@value #VIRTUAL_THREADS_PROPERTY} system property is set to {@code true}, requests are processed on
+ * virtual threads instead of the Tomcat worker pool, so blocking controller code does not hold a platform thread.
+ * Virtual threads require Java 21 or later. The request processing path of the framework does not use
+ * {@code synchronized} blocks, so it does not pin the carrier threads.
+ * <p>
+ * When the {@value #GENERATED_JSON_PROPERTY} system property is set to {@code true}, JSON request and response bodies
+ * are read and written by serializers and deserializers generated at startup for the body types of the controller
+ * methods, see {@link svydovets.web.json.GeneratedJsonCodecs}.
+ * <p>
  *
  * @see Tomcat
  * @see DispatcherServlet
@@ -52,6 +72,16 @@ public class BringApplication {
     private static final String DEFAULT_SERVLET_CONTEXT_PATH = "";
     private static final String DEFAULT_BASE_DIR = "java.io.tmpdir";
 
+    /**
+     * System property that enables processing of requests on virtual threads.
+     */
+    public static final String VIRTUAL_THREADS_PROPERTY = "bring.threads.virtual";
+
+    /**
+     * System property that enables the generated JSON serializers and deserializers of the controller methods.
+     */
+    public static final String GENERATED_JSON_PROPERTY = "bring.json.generated";
+
     /**
      * Runs the embedded Tomcat server and initializes the application context based on the provided main class.
      * <p>
@@ -64,43 +94,469 @@ public class BringApplication {
      * @param baseClass the main class of the application
      * @return the initialized application context
      * @throws TomcatStartingException if an error occurs during the startup of the embedded Tomcat server
+     * @throws VirtualThreadsNotSupportedException if virtual threads are enabled on Java older than 21
+     * @see #builder(Class)
      */
     public static ApplicationContext run(Class<?> baseClass) {
-        try {
-            return configureTomcat(baseClass);
-        } catch (LifecycleException e) {
-            String errorMessage = String.format(ErrorMessageConstants.ERROR_STARTING_EMBEDDED_TOMCAT, baseClass.getName());
-            log.error(errorMessage);
-
-            throw new TomcatStartingException(errorMessage, e);
-        }
+        return builder(baseClass).run();
     }
 
     /**
-     * Configures the embedded Tomcat server based on default settings and the provided main class.
+     * Creates a builder that configures the embedded Tomcat server and its connector before running the application.
      * <p>
-     * This method sets up the embedded Tomcat with default configurations, including the port, servlet name, servlet URL
-     * pattern, servlet context path, and base directory. It then creates a {@link DispatcherServlet} and initializes the
-     * application context. The embedded Tomcat is started, and the server awaits initialization.
+     * Example usage:
+     * <pre>
+     * {@code
+     *   BringApplication.builder(MyApplication.class)
+     *           .port(9090)
+     *           .protocol(BringApplication.Protocol.NIO2)
+     *           .maxThreads(400)
+     *           .maxConnections(20_000)
+     *           .keepAliveTimeout(30_000)
+     *           .http2(true)
+     *           .run();
+     * }
+     * </pre>
+     * Settings that are not set explicitly keep the Tomcat defaults.
      *
      * @param baseClass the main class of the application
-     * @return the initialized application context
-     * @throws LifecycleException if an error occurs during the lifecycle of the embedded Tomcat server
+     * @return the application builder
+     */
+    public static Builder builder(Class<?> baseClass) {
+        return new Builder(baseClass);
+    }
+
+    /**
+     * Connector protocol implementation of the embedded Tomcat server.
+     */
+    public enum Protocol {
+
+        /**
+         * Non-blocking I/O connector based on selectors.
+         */
+        NIO("org.apache.coyote.http11.Http11NioProtocol"),
+
+        /**
+         * Asynchronous I/O connector based on NIO.2 channels.
+         */
+        NIO2("org.apache.coyote.http11.Http11Nio2Protocol");
+
+        private final String protocolHandlerClassName;
+
+        Protocol(String protocolHandlerClassName) {
+            this.protocolHandlerClassName = protocolHandlerClassName;
+        }
+
+        public String getProtocolHandlerClassName() {
+            return protocolHandlerClassName;
+        }
+    }
+
+    /**
+     * Builder of the embedded Tomcat server and its connector.
+     * <p>
+     * The connector settings map to the attributes of the Tomcat HTTP connector. When {@link #http2(boolean) HTTP/2}
+     * is enabled, the connector accepts cleartext HTTP/2 (h2c), both by upgrade from HTTP/1.1 and with prior
+     * knowledge, so clients can multiplex many requests over one connection.
      */
-    private static ApplicationContext configureTomcat(Class<?> baseClass) throws LifecycleException {
-        Tomcat tomcat = new Tomcat();
-        tomcat.setBaseDir(DEFAULT_BASE_DIR);
-        tomcat.setPort(DEFAULT_PORT);
-        tomcat.getConnector();
-
-        String docBase = new File(System.getProperty(DEFAULT_BASE_DIR)).getAbsolutePath();
-        Context context = tomcat.addContext(DEFAULT_SERVLET_CONTEXT_PATH, docBase);
-
-        DispatcherServlet dispatcherServlet = new DispatcherServlet(baseClass.getPackageName());
-        tomcat.addServlet(DEFAULT_SERVLET_CONTEXT_PATH, DEFAULT_SERVLET_NAME, dispatcherServlet);
-        context.addServletMappingDecoded(DEFAULT_SERVLET_URL_PATTERN, DEFAULT_SERVLET_NAME);
-        tomcat.start();
-        tomcat.getServer().await();
-        return (ApplicationContext) dispatcherServlet.getServletContext().getAttribute(DispatcherServlet.WEB_APPLICATION_CONTEXT);
+    public static class Builder {
+
+        private final Class<?> baseClass;
+
+        private int port = DEFAULT_PORT;
+
+        private String contextPath = DEFAULT_SERVLET_CONTEXT_PATH;
+
+        private String baseDir = System.getProperty(DEFAULT_BASE_DIR);
+
+        private Protocol protocol = Protocol.NIO;
+
+        private Integer acceptCount;
+
+        private Integer maxThreads;
+
+        private Integer minSpareThreads;
+
+        private Integer maxConnections;
+
+        private Integer connectionTimeout;
+
+        private Integer keepAliveTimeout;
+
+        private Integer maxKeepAliveRequests;
+
+        private Integer socketReceiveBufferSize;
+
+        private Integer socketSendBufferSize;
+
+        private boolean http2;
+
+        private boolean compression;
+
+        private String metricsPath;
+
+        private String batchPath;
+
+        private Integer requestBufferSize;
+
+        private final Map<String, String[]> staticResourceLocations = new LinkedHashMap<>();
+
+        private boolean virtualThreads = Boolean.getBoolean(VIRTUAL_THREADS_PROPERTY);
+
+        private boolean generatedJson = Boolean.getBoolean(GENERATED_JSON_PROPERTY);
+
+        private Builder(Class<?> baseClass) {
+            this.baseClass = baseClass;
+        }
+
+        /**
+         * Sets the port of the connector, 8080 by default.
+         *
+         * @param port the port, or {@code 0} to use a free port
+         * @return this builder
+         */
+        public Builder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        /**
+         * Sets the context path of the application, the root context by default.
+         *
+         * @param contextPath the context path
+         * @return this builder
+         */
+        public Builder contextPath(String contextPath) {
+            this.contextPath = contextPath;
+            return this;
+        }
+
+        /**
+         * Sets the base directory of the embedded Tomcat server, which is also the document base of the application
+         * context. Defaults to the {@code java.io.tmpdir} directory.
+         *
+         * @param baseDir the base directory
+         * @return this builder
+         */
+        public Builder baseDir(String baseDir) {
+            this.baseDir = baseDir;
+            return this;
+        }
+
+        /**
+         * Sets the connector protocol implementation, {@link Protocol#NIO} by default.
+         *
+         * @param protocol the connector protocol
+         * @return this builder
+         */
+        public Builder protocol(Protocol protocol) {
+            this.protocol = protocol;
+            return this;
+        }
+
+        /**
+         * Sets the maximum length of the queue of incoming connections waiting for the acceptor.
+         *
+         * @param acceptCount the accept queue length
+         * @return this builder
+         */
+        public Builder acceptCount(int acceptCount) {
+            this.acceptCount = acceptCount;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of worker threads. Ignored when requests run on virtual threads.
+         *
+         * @param maxThreads the maximum number of worker threads
+         * @return this builder
+         */
+        public Builder maxThreads(int maxThreads) {
+            this.maxThreads = maxThreads;
+            return this;
+        }
+
+        /**
+         * Sets the minimum number of idle worker threads. Ignored when requests run on virtual threads.
+         *
+         * @param minSpareThreads the minimum number of idle worker threads
+         * @return this builder
+         */
+        public Builder minSpareThreads(int minSpareThreads) {
+            this.minSpareThreads = minSpareThreads;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of connections the server accepts and processes at the same time.
+         *
+         * @param maxConnections the maximum number of connections, {@code -1} for no limit
+         * @return this builder
+         */
+        public Builder maxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+            return this;
+        }
+
+        /**
+         * Sets the time to wait for the request line after a connection is accepted.
+         *
+         * @param connectionTimeout the timeout in milliseconds
+         * @return this builder
+         */
+        public Builder connectionTimeout(int connectionTimeout) {
+            this.connectionTimeout = connectionTimeout;
+            return this;
+        }
+
+        /**
+         * Sets the time to wait for the next request on a kept-alive connection.
+         *
+         * @param keepAliveTimeout the timeout in milliseconds
+         * @return this builder
+         */
+        public Builder keepAliveTimeout(int keepAliveTimeout) {
+            this.keepAliveTimeout = keepAliveTimeout;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of requests served over one kept-alive connection.
+         *
+         * @param maxKeepAliveRequests the maximum number of requests, {@code -1} for no limit
+         * @return this builder
+         */
+        public Builder maxKeepAliveRequests(int maxKeepAliveRequests) {
+            this.maxKeepAliveRequests = maxKeepAliveRequests;
+            return this;
+        }
+
+        /**
+         * Sets the size of the socket receive buffer.
+         *
+         * @param socketReceiveBufferSize the buffer size in bytes
+         * @return this builder
+         */
+        public Builder socketReceiveBufferSize(int socketReceiveBufferSize) {
+            this.socketReceiveBufferSize = socketReceiveBufferSize;
+            return this;
+        }
+
+        /**
+         * Sets the size of the socket send buffer.
+         *
+         * @param socketSendBufferSize the buffer size in bytes
+         * @return this builder
+         */
+        public Builder socketSendBufferSize(int socketSendBufferSize) {
+            this.socketSendBufferSize = socketSendBufferSize;
+            return this;
+        }
+
+        /**
+         * Enables cleartext HTTP/2 (h2c) on the connector.
+         *
+         * @param http2 whether HTTP/2 is enabled
+         * @return this builder
+         */
+        public Builder http2(boolean http2) {
+            this.http2 = http2;
+            return this;
+        }
+
+        /**
+         * Enables gzip and deflate compression of responses accepted by the client.
+         *
+         * @param compression whether responses are compressed
+         * @return this builder
+         */
+        public Builder compression(boolean compression) {
+            this.compression = compression;
+            return this;
+        }
+
+        /**
+         * Serves the latency and throughput metrics of every route as JSON at the given path.
+         *
+         * @param metricsPath the metrics path, for example {@code /metrics}
+         * @return this builder
+         */
+        public Builder metricsPath(String metricsPath) {
+            this.metricsPath = metricsPath;
+            return this;
+        }
+
+        /**
+         * Accepts batch requests, which execute a JSON array of sub-requests in parallel, at the given path.
+         *
+         * @param batchPath the batch path, for example {@code /batch}
+         * @return this builder
+         */
+        public Builder batchPath(String batchPath) {
+            this.batchPath = batchPath;
+            return this;
+        }
+
+        /**
+         * Sets the size of the pooled buffers up to which request bodies are read at once rather than streamed,
+         * 8 KiB by default.
+         *
+         * @param requestBufferSize the buffer size in bytes
+         * @return this builder
+         */
+        public Builder requestBufferSize(int requestBufferSize) {
+            this.requestBufferSize = requestBufferSize;
+            return this;
+        }
+
+        /**
+         * Serves the static files below the path prefix from the given classpath locations, prefixed with
+         * {@code classpath:}, or directories, which are searched in order.
+         *
+         * @param pathPrefix the request path prefix, for example {@code /assets/}
+         * @param locations  the locations of the files, for example {@code classpath:static/}
+         * @return this builder
+         */
+        public Builder staticResources(String pathPrefix, String... locations) {
+            staticResourceLocations.put(pathPrefix, locations.clone());
+            return this;
+        }
+
+        /**
+         * Enables processing of requests on virtual threads. Defaults to the value of the
+         * {@value BringApplication#VIRTUAL_THREADS_PROPERTY} system property.
+         *
+         * @param virtualThreads whether requests run on virtual threads
+         * @return this builder
+         */
+        public Builder virtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+            return this;
+        }
+
+        /**
+         * Enables the JSON serializers and deserializers generated for the body types of the controller methods.
+         * Defaults to the value of the {@value BringApplication#GENERATED_JSON_PROPERTY} system property.
+         *
+         * @param generatedJson whether JSON bodies are read and written by generated code
+         * @return this builder
+         */
+        public Builder generatedJson(boolean generatedJson) {
+            this.generatedJson = generatedJson;
+            return this;
+        }
+
+        /**
+         * Runs the embedded Tomcat server and initializes the application context.
+         *
+         * @return the initialized application context
+         * @throws TomcatStartingException if an error occurs during the startup of the embedded Tomcat server
+         * @throws VirtualThreadsNotSupportedException if virtual threads are enabled on Java older than 21
+         */
+        public ApplicationContext run() {
+            try {
+                return configureTomcat();
+            } catch (LifecycleException e) {
+                String errorMessage = String.format(ErrorMessageConstants.ERROR_STARTING_EMBEDDED_TOMCAT, baseClass.getName());
+                log.error(errorMessage);
+
+                throw new TomcatStartingException(errorMessage, e);
+            }
+        }
+
+        /**
+         * Configures the embedded Tomcat server based on the builder settings and the provided main class.
+         * <p>
+         * This method sets up the embedded Tomcat with the configured connector, servlet context path and base
+         * directory. It then creates a {@link DispatcherServlet} and initializes the application context. The embedded
+         * Tomcat is started, and the server awaits initialization.
+         *
+         * @return the initialized application context
+         * @throws LifecycleException if an error occurs during the lifecycle of the embedded Tomcat server
+         */
+        private ApplicationContext configureTomcat() throws LifecycleException {
+            Tomcat tomcat = new Tomcat();
+            tomcat.setBaseDir(baseDir);
+            tomcat.setConnector(createConnector());
+
+            Context context = tomcat.addContext(contextPath, getDocBase());
+
+            DispatcherServlet dispatcherServlet = new DispatcherServlet(baseClass.getPackageName(), generatedJson);
+            dispatcherServlet.getResponseCompressor().setEnabled(compression);
+            dispatcherServlet.setMetricsPath(metricsPath);
+            dispatcherServlet.setBatchPath(batchPath);
+            if (requestBufferSize != null) {
+                dispatcherServlet.setRequestBufferSize(requestBufferSize);
+            }
+            staticResourceLocations.forEach(dispatcherServlet.getStaticResourceHandler()::addResourceMapping);
+            Wrapper dispatcherServletWrapper = tomcat.addServlet(contextPath, DEFAULT_SERVLET_NAME, dispatcherServlet);
+            dispatcherServletWrapper.setAsyncSupported(true);
+            context.addServletMappingDecoded(DEFAULT_SERVLET_URL_PATTERN, DEFAULT_SERVLET_NAME);
+            tomcat.start();
+            tomcat.getServer().await();
+            return (ApplicationContext) dispatcherServlet.getServletContext().getAttribute(DispatcherServlet.WEB_APPLICATION_CONTEXT);
+        }
+
+        /**
+         * Returns the document base of the application context, the absolute path of the base directory.
+         *
+         * @return the document base
+         */
+        public String getDocBase() {
+            return new File(baseDir).getAbsolutePath();
+        }
+
+        /**
+         * Creates the connector with the protocol implementation, the HTTP/2 upgrade and the executor of the builder.
+         * The settings that are not set explicitly keep the defaults of the protocol handler. {@link #run()} adds the
+         * connector to the embedded Tomcat; calling this method alone neither binds the port nor starts the server, so
+         * the connector settings can be inspected without running the application.
+         *
+         * @return the connector
+         * @throws VirtualThreadsNotSupportedException if virtual threads are enabled on Java older than 21
+         */
+        public Connector createConnector() {
+            Connector connector = new Connector(protocol.getProtocolHandlerClassName());
+            connector.setPort(port);
+
+            AbstractHttp11Protocol<?> protocolHandler = (AbstractHttp11Protocol<?>) connector.getProtocolHandler();
+            if (acceptCount != null) {
+                protocolHandler.setAcceptCount(acceptCount);
+            }
+            if (maxThreads != null) {
+                protocolHandler.setMaxThreads(maxThreads);
+            }
+            if (minSpareThreads != null) {
+                protocolHandler.setMinSpareThreads(minSpareThreads);
+            }
+            if (maxConnections != null) {
+                protocolHandler.setMaxConnections(maxConnections);
+            }
+            if (connectionTimeout != null) {
+                protocolHandler.setConnectionTimeout(connectionTimeout);
+            }
+            if (keepAliveTimeout != null) {
+                protocolHandler.setKeepAliveTimeout(keepAliveTimeout);
+            }
+            if (maxKeepAliveRequests != null) {
+                protocolHandler.setMaxKeepAliveRequests(maxKeepAliveRequests);
+            }
+            if (socketReceiveBufferSize != null) {
+                connector.setProperty("socket.rxBufSize", String.valueOf(socketReceiveBufferSize));
+            }
+            if (socketSendBufferSize != null) {
+                connector.setProperty("socket.txBufSize", String.valueOf(socketSendBufferSize));
+            }
+            if (http2) {
+                log.info("Enabling cleartext HTTP/2 (h2c)");
+                connector.addUpgradeProtocol(new Http2Protocol());
+            }
+            if (virtualThreads) {
+                log.info("Processing requests on virtual threads");
+                protocolHandler.setExecutor(VirtualThreadsUtil.newVirtualThreadPerTaskExecutor());
+            }
+
+            return connector;
+        }
     }
-}
\ No newline at end of file
+}
@@ -30,8 +30,22 @@ public abstract class ErrorMessageConstants {
 
     public static final String UNSUPPORTED_NUMBER_TYPE_ERROR_MESSAGE = "Unsupported number type: %s";
 
+    public static final String MISSING_REQUEST_PARAMETER = "Required request parameter '%s' of type %s is not present";
+
+    public static final String UNRESOLVABLE_CONVERTER_TYPES = "Cannot resolve the source and target types of converter %s";
+
+    public static final String NO_CONVERTER_FOUND = "No converter found from %s to %s";
+
+    public static final String NO_ENUM_CONSTANT = "No enum constant %s.%s";
+
+    public static final String INVALID_CHARACTER_VALUE = "Cannot convert '%s' to a single character";
+
     public static final String ERROR_PROCESSING_JSON_REQUEST_BODY = "Error processing JSON request body";
 
+    public static final String REQUEST_BODY_TOO_LARGE = "Request body exceeds the maximum size of %d bytes";
+
+    public static final String UNSUPPORTED_CONTENT_ENCODING = "Unsupported request body content encoding: %s";
+
     public static final String NO_DEFAULT_CONSTRUCTOR_FOUND_OF_TYPE = "No default constructor found of type %s";
 
     public static final String ERROR_AUTOWIRED_BEAN_EXCEPTION_MESSAGE = "There is access to %s field";
@@ -44,11 +58,57 @@ public abstract class ErrorMessageConstants {
 
     public static final String REQUEST_PROCESSING_ERROR = "Error processing request: %s %s";
 
+    public static final String ASYNC_REQUEST_PROCESSING_ERROR = "Error processing async request: %s %s";
+
+    public static final String ASYNC_REQUEST_TIMEOUT = "Async request %s %s timed out after %d ms";
+
+    public static final String INVALID_BATCH_REQUEST = "Batch request body must be a JSON array of entries";
+
+    public static final String EMPTY_RATE_LIMIT_HEADER = "The header of a rate limit keyed by header must not be empty";
+
+    public static final String INVALID_TOKEN_BUCKET = "Invalid token bucket: %s permits per second, burst %s";
+
+    public static final String INVALID_HIGHEST_TRACKABLE_VALUE = "The highest trackable value must be at least %d, but was %d";
+
+    public static final String BATCH_TOO_LARGE = "Batch request has %d entries, the maximum is %d";
+
+    public static final String INVALID_BATCH_ENTRY = "Invalid batch entry: %s %s";
+
+    public static final String BATCH_ENTRY_TIMEOUT = "Batch entry %s %s timed out after %d ms";
+
+    public static final String INVALID_STATIC_RESOURCE_LOCATION = "Invalid static resource location: %s";
+
+    public static final String STATIC_RESOURCE_READ_ERROR = "Error reading static resource: %s";
+
+    public static final String UNSUPPORTED_BINARY_TYPE = "Type %s is not supported by the binary codec";
+
+    public static final String MALFORMED_BINARY_BODY = "Malformed binary body";
+
+    public static final String ERROR_PROCESSING_REQUEST_BODY = "Error processing %s request body";
+
     public static final String ERROR_CREATED_BEAN_OF_TYPE = "Error creating bean of type '%s'";
 
     public static final String ERROR_THE_METHOD_THAT_WAS_ANNOTATED_WITH_POST_CONSTRUCT = "Something went wrong. Please check the method that was annotated with @PostConstruct";
 
     public static final String ERROR_NOT_UNIQUE_METHOD_THAT_ANNOTATED_POST_CONSTRUCT = "You cannot have more than one method that is annotated with @PostConstruct.";
 
+    public static final String ERROR_CREATING_HANDLER_METHOD_INVOKER = "Error creating invoker for handler method %s";
+
+    public static final String VIRTUAL_THREADS_NOT_SUPPORTED = "Virtual threads require Java 21 or later, current Java version: %s";
+
     public static final String ERROR_STARTING_EMBEDDED_TOMCAT = "Error starting embedded tomcat with passed based class: %s";
+
+    public static final String NO_EXCEPTION_TYPE_OF_EXCEPTION_HANDLER = "No exception type declared for exception handler %s";
+
+    public static final String UNSUPPORTED_EXCEPTION_HANDLER_PARAMETER = "Unsupported parameter %s of exception handler %s";
+
+    public static final String AMBIGUOUS_EXCEPTION_HANDLER = "Ambiguous exception handler methods mapped for %s: %s and %s";
+
+    public static final String EXCEPTION_HANDLER_ERROR = "Exception handler %s failed while handling %s";
+
+    public static final String INTERCEPTOR_AFTER_COMPLETION_ERROR = "Interceptor %s failed after completion of request %s";
+
+    public static final String UNSUPPORTED_COALESCED_METHOD = "Requests to %s cannot be coalesced: %s";
+
+    public static final String COALESCED_REQUEST_TIMEOUT = "Coalesced request %s timed out after %d ms";
 }
@@ -10,6 +10,7 @@ import svydovets.core.annotation.Component;
 import svydovets.core.annotation.Configuration;
 import svydovets.web.annotation.PathVariable;
 import svydovets.web.annotation.RequestParam;
+import svydovets.web.annotation.ControllerAdvice;
 import svydovets.web.annotation.RestController;
 
 /**
@@ -32,6 +33,7 @@ public class NameResolver {
      * @see Component
      * @see Configuration
      * @see RestController
+     * @see ControllerAdvice
      */
     public static String resolveBeanName(Class<?> beanClass) {
         log.trace("Call resolveBeanName({}) for class base bean", beanClass);
@@ -42,6 +44,13 @@ public class NameResolver {
             }
         }
 
+        if (beanClass.isAnnotationPresent(ControllerAdvice.class)) {
+            var beanValue = beanClass.getAnnotation(ControllerAdvice.class).value();
+            if (!beanValue.isEmpty()) {
+                return beanValue;
+            }
+        }
+
         if (beanClass.isAnnotationPresent(Configuration.class)) {
             var beanValue = beanClass.getAnnotation(Configuration.class).value();
             if (!beanValue.isEmpty()) {
@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 import svydovets.core.annotation.Component;
 import svydovets.core.annotation.ComponentScan;
 import svydovets.core.annotation.Configuration;
+import svydovets.web.annotation.ControllerAdvice;
 import svydovets.web.annotation.RestController;
 
 import java.util.Comparator;
@@ -24,6 +25,7 @@ public class PackageScanner {
         Set<Class<?>> beanClasses = reflections.getTypesAnnotatedWith(Component.class);
         beanClasses.addAll(reflections.getTypesAnnotatedWith(Configuration.class));
         beanClasses.addAll(reflections.getTypesAnnotatedWith(RestController.class));
+        beanClasses.addAll(reflections.getTypesAnnotatedWith(ControllerAdvice.class));
         beanClasses.removeIf(Class::isInterface);
         return beanClasses;
     }
@@ -34,7 +36,8 @@ public class PackageScanner {
         for (Class<?> beanClass : classTypes) {
             if (beanClass.isAnnotationPresent(Configuration.class)
                     || beanClass.isAnnotationPresent(Component.class)
-                    || beanClass.isAnnotationPresent(RestController.class)) {
+                    || beanClass.isAnnotationPresent(RestController.class)
+                    || beanClass.isAnnotationPresent(ControllerAdvice.class)) {
                 beanClasses.add(beanClass);
             }
 
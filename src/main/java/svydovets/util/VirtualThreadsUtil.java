@@ -0,0 +1,73 @@
+package svydovets.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import svydovets.util.exception.VirtualThreadsNotSupportedException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static svydovets.util.ErrorMessageConstants.VIRTUAL_THREADS_NOT_SUPPORTED;
+
+/**
+ * Class helper for creating executors backed by virtual threads.
+ *
+ * <p>The framework is compiled for Java 17, where virtual threads are not available, so the executor factory of
+ * Java 21 is looked up at runtime. Virtual threads can be used only when the application runs on Java 21 or later.
+ */
+public class VirtualThreadsUtil {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadsUtil.class);
+
+    private static final MethodHandle NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findNewVirtualThreadPerTaskExecutor();
+
+    private VirtualThreadsUtil() {
+    }
+
+    /**
+     * Checks whether the running Java version supports virtual threads.
+     *
+     * @return true if virtual threads are supported
+     */
+    public static boolean isSupported() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread for each task.
+     *
+     * @return the virtual thread per task executor
+     * @throws VirtualThreadsNotSupportedException if the running Java version does not support virtual threads
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        if (!isSupported()) {
+            String errorMessage = String.format(VIRTUAL_THREADS_NOT_SUPPORTED, Runtime.version());
+            log.error(errorMessage);
+
+            throw new VirtualThreadsNotSupportedException(errorMessage);
+        }
+
+        try {
+            return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invokeExact();
+        } catch (Throwable throwable) {
+            String errorMessage = String.format(VIRTUAL_THREADS_NOT_SUPPORTED, Runtime.version());
+            log.error(errorMessage);
+
+            throw new VirtualThreadsNotSupportedException(errorMessage, throwable);
+        }
+    }
+
+    private static MethodHandle findNewVirtualThreadPerTaskExecutor() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException exception) {
+            log.trace("Virtual threads are not supported by Java {}", Runtime.version());
+
+            return null;
+        }
+    }
+}
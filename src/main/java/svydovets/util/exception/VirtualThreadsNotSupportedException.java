@@ -0,0 +1,12 @@
+package svydovets.util.exception;
+
+public class VirtualThreadsNotSupportedException extends RuntimeException {
+
+    public VirtualThreadsNotSupportedException(String message) {
+        super(message);
+    }
+
+    public VirtualThreadsNotSupportedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
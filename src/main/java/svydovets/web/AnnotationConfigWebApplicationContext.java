@@ -1,5 +1,6 @@
 package svydovets.web;
 
+import java.util.EnumMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -7,6 +8,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import svydovets.core.context.AnnotationConfigApplicationContext;
 import svydovets.web.dto.RequestInfoHolder;
+import svydovets.web.error.ExceptionHandlerResolver;
+import svydovets.web.path.RouteMatch;
+import svydovets.web.path.RouteTrie;
 import svydovets.web.util.RestMethodFiller;
 
 public class AnnotationConfigWebApplicationContext extends AnnotationConfigApplicationContext
@@ -24,10 +28,18 @@ public class AnnotationConfigWebApplicationContext extends AnnotationConfigAppli
 
   private final Map<String, RequestInfoHolder> patchMethods;
 
+  private final Map<HttpMethod, RouteTrie> routeTries = new EnumMap<>(HttpMethod.class);
+
+  private final ExceptionHandlerResolver exceptionHandlerResolver;
+
   public AnnotationConfigWebApplicationContext(String basePackage) {
+    this(basePackage, false);
+  }
+
+  public AnnotationConfigWebApplicationContext(String basePackage, boolean generatedJson) {
     super(basePackage);
 
-    RestMethodFiller methodFiller = new RestMethodFiller();
+    RestMethodFiller methodFiller = new RestMethodFiller(generatedJson);
     methodFiller.fill(beanFactoryImpl.getBeans());
 
     getMethods = methodFiller.getGetMethods();
@@ -35,6 +47,10 @@ public class AnnotationConfigWebApplicationContext extends AnnotationConfigAppli
     putMethods = methodFiller.getPutMethods();
     deleteMethods = methodFiller.getDeleteMethods();
     patchMethods = methodFiller.getPatchMethods();
+    exceptionHandlerResolver = methodFiller.getExceptionHandlerResolver();
+    for (HttpMethod httpMethod : HttpMethod.values()) {
+      routeTries.put(httpMethod, methodFiller.getRouteTrie(httpMethod));
+    }
   }
 
   @Override
@@ -50,6 +66,27 @@ public class AnnotationConfigWebApplicationContext extends AnnotationConfigAppli
     };
   }
 
+  @Override
+  public String findMethodPattern(HttpMethod httpMethod, String requestPath) {
+    log.trace("Call findMethodPattern({}, {})", httpMethod, requestPath);
+
+    return routeTries.get(httpMethod).find(requestPath);
+  }
+
+  @Override
+  public RouteMatch matchRoute(HttpMethod httpMethod, String requestPath) {
+    log.trace("Call matchRoute({}, {})", httpMethod, requestPath);
+
+    return routeTries.get(httpMethod).match(requestPath);
+  }
+
+  @Override
+  public RouteMatch lookupRoute(HttpMethod httpMethod, String requestPath) {
+    log.trace("Call lookupRoute({}, {})", httpMethod, requestPath);
+
+    return routeTries.get(httpMethod).lookup(requestPath);
+  }
+
   @Override
   public RequestInfoHolder getRequestInfoHolder(HttpMethod httpMethod, String path) {
     log.trace("Call getRequestInfoHolder({}, {})", httpMethod, path);
@@ -62,4 +99,9 @@ public class AnnotationConfigWebApplicationContext extends AnnotationConfigAppli
       case DELETE -> deleteMethods.get(path);
     };
   }
+
+  @Override
+  public ExceptionHandlerResolver getExceptionHandlerResolver() {
+    return exceptionHandlerResolver;
+  }
 }
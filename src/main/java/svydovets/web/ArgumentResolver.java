@@ -0,0 +1,22 @@
+package svydovets.web;
+
+/**
+ * Resolves the value of a single controller method parameter from the current request.
+ *
+ * <p>Argument resolvers are created once per controller method parameter by the {@link MethodArgumentResolver},
+ * so an implementation should hold everything it needs to resolve the value, such as the parameter name and the
+ * type converter, and avoid any reflection at request time.
+ *
+ * @see MethodArgumentResolver
+ */
+@FunctionalInterface
+public interface ArgumentResolver {
+
+    /**
+     * Resolves the argument value from the request.
+     *
+     * @param servletWebRequest the current request
+     * @return the argument value
+     */
+    Object resolve(ServletWebRequest servletWebRequest);
+}
@@ -0,0 +1,263 @@
+package svydovets.web;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import svydovets.util.ErrorMessageConstants;
+import svydovets.web.dto.HttpStatus;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Completes requests whose controller method returned a {@link CompletionStage}.
+ *
+ * <p>The request is put into asynchronous mode with {@link HttpServletRequest#startAsync()}, so the container thread
+ * is released while the stage is pending. When the stage completes, its value is written by the given
+ * {@link ResultProcessor}, exactly as a synchronous result would be. When it completes exceptionally, the exception
+ * is passed to the {@link ErrorProcessor}, if any, and unless it writes the response, the response is completed with
+ * the status mapped to the exception type, {@link HttpStatus#SERVER_ERROR} by default. When the
+ * stage does not complete within the async timeout, the response is completed with the timeout status and the late
+ * result is discarded.
+ *
+ * @see DispatcherServlet
+ */
+public class AsyncResultHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncResultHandler.class);
+
+    /**
+     * Default timeout of asynchronous requests in milliseconds.
+     */
+    public static final long DEFAULT_ASYNC_TIMEOUT = 30_000L;
+
+    private final Map<Class<? extends Throwable>, HttpStatus> errorStatuses = new ConcurrentHashMap<>();
+
+    private long asyncTimeout = DEFAULT_ASYNC_TIMEOUT;
+
+    private HttpStatus timeoutStatus = HttpStatus.SERVICE_UNAVAILABLE;
+
+    /**
+     * Writes the value of a completed stage to the response.
+     */
+    @FunctionalInterface
+    public interface ResultProcessor {
+
+        /**
+         * Writes the result to the response.
+         *
+         * @param result the value of the completed stage
+         * @throws Exception if an error occurs during processing
+         */
+        void process(Object result) throws Exception;
+    }
+
+    /**
+     * Writes the response of a stage completed exceptionally.
+     */
+    @FunctionalInterface
+    public interface ErrorProcessor {
+
+        /**
+         * Writes the response for the exception, if it is handled.
+         *
+         * @param throwable the exception the stage completed with
+         * @return true if the response is written, false to complete it with the error status
+         * @throws Exception if an error occurs during processing
+         */
+        boolean process(Throwable throwable) throws Exception;
+    }
+
+    /**
+     * Starts asynchronous processing of the request and completes it when the stage completes.
+     *
+     * @param request         the HTTP request
+     * @param response        the HTTP response
+     * @param completionStage the result of the controller method
+     * @param resultProcessor writes the value of the completed stage to the response
+     */
+    public void handle(HttpServletRequest request, HttpServletResponse response,
+                       CompletionStage<?> completionStage, ResultProcessor resultProcessor) {
+        handle(request, response, completionStage, resultProcessor, null);
+    }
+
+    /**
+     * Starts asynchronous processing of the request and completes it when the stage completes, notifying the given
+     * listener of the completion of the request.
+     *
+     * @param request         the HTTP request
+     * @param response        the HTTP response
+     * @param completionStage the result of the controller method
+     * @param resultProcessor writes the value of the completed stage to the response
+     * @param asyncListener   the listener of the asynchronous request, or {@code null}
+     */
+    public void handle(HttpServletRequest request, HttpServletResponse response, CompletionStage<?> completionStage,
+                       ResultProcessor resultProcessor, AsyncListener asyncListener) {
+        handle(request, response, completionStage, resultProcessor, null, asyncListener);
+    }
+
+    /**
+     * Starts asynchronous processing of the request and completes it when the stage completes, passing the exception
+     * of a stage completed exceptionally to the given error processor first.
+     *
+     * @param request         the HTTP request
+     * @param response        the HTTP response
+     * @param completionStage the result of the controller method
+     * @param resultProcessor writes the value of the completed stage to the response
+     * @param errorProcessor  writes the response of a stage completed exceptionally, or {@code null}
+     * @param asyncListeners  the listeners of the asynchronous request, {@code null} elements are ignored
+     */
+    public void handle(HttpServletRequest request, HttpServletResponse response, CompletionStage<?> completionStage,
+                       ResultProcessor resultProcessor, ErrorProcessor errorProcessor,
+                       AsyncListener... asyncListeners) {
+        AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(asyncTimeout);
+
+        AtomicBoolean completed = new AtomicBoolean();
+        asyncContext.addListener(new CompletionListener(request, response, completed));
+        for (AsyncListener asyncListener : asyncListeners) {
+            if (asyncListener != null) {
+                asyncContext.addListener(asyncListener);
+            }
+        }
+
+        completionStage.whenComplete((result, throwable) -> {
+            if (!completed.compareAndSet(false, true)) {
+                log.trace("Discard the result of the async request {} completed after timeout", request.getServletPath());
+                return;
+            }
+
+            try {
+                if (throwable != null) {
+                    Throwable cause = unwrap(throwable);
+                    if (errorProcessor == null || !errorProcessor.process(cause)) {
+                        sendError(request, response, cause);
+                    }
+                } else {
+                    resultProcessor.process(result);
+                }
+            } catch (Exception exception) {
+                sendError(request, response, exception);
+            } finally {
+                asyncContext.complete();
+            }
+        });
+    }
+
+    /**
+     * Sets the timeout of asynchronous requests.
+     *
+     * @param asyncTimeout the timeout in milliseconds, zero or less for no timeout
+     */
+    public void setAsyncTimeout(long asyncTimeout) {
+        this.asyncTimeout = asyncTimeout;
+    }
+
+    /**
+     * Sets the status of the response sent when an asynchronous request times out.
+     *
+     * @param timeoutStatus the timeout status
+     */
+    public void setTimeoutStatus(HttpStatus timeoutStatus) {
+        this.timeoutStatus = timeoutStatus;
+    }
+
+    /**
+     * Maps the exception type, and its subtypes, to the status of the response sent when the stage completes with it.
+     *
+     * @param exceptionType the exception type
+     * @param status        the response status
+     */
+    public void registerErrorStatus(Class<? extends Throwable> exceptionType, HttpStatus status) {
+        errorStatuses.put(exceptionType, status);
+    }
+
+    private HttpStatus resolveErrorStatus(Throwable throwable) {
+        for (Class<?> type = throwable.getClass(); type != Object.class; type = type.getSuperclass()) {
+            HttpStatus status = errorStatuses.get(type);
+            if (status != null) {
+                return status;
+            }
+        }
+
+        return HttpStatus.SERVER_ERROR;
+    }
+
+    private void sendError(HttpServletRequest request, HttpServletResponse response, Throwable throwable) {
+        log.error(String.format(ErrorMessageConstants.ASYNC_REQUEST_PROCESSING_ERROR, request.getMethod(), request.getServletPath()), throwable);
+        sendStatus(response, resolveErrorStatus(throwable));
+    }
+
+    private static void sendStatus(HttpServletResponse response, HttpStatus status) {
+        try {
+            if (!response.isCommitted()) {
+                response.sendError(status.getStatus());
+            }
+        } catch (IOException exception) {
+            log.error(exception.getMessage());
+        }
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        if ((throwable instanceof CompletionException || throwable instanceof ExecutionException)
+                && throwable.getCause() != null) {
+            return throwable.getCause();
+        }
+
+        return throwable;
+    }
+
+    /**
+     * Completes the request on timeout or container error unless the stage has completed it already.
+     */
+    private class CompletionListener implements AsyncListener {
+
+        private final HttpServletRequest request;
+
+        private final HttpServletResponse response;
+
+        private final AtomicBoolean completed;
+
+        private CompletionListener(HttpServletRequest request, HttpServletResponse response, AtomicBoolean completed) {
+            this.request = request;
+            this.response = response;
+            this.completed = completed;
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            if (completed.compareAndSet(false, true)) {
+                log.error(String.format(ErrorMessageConstants.ASYNC_REQUEST_TIMEOUT, request.getMethod(), request.getServletPath(), asyncTimeout));
+                sendStatus(response, timeoutStatus);
+                event.getAsyncContext().complete();
+            }
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            if (completed.compareAndSet(false, true)) {
+                log.error(String.format(ErrorMessageConstants.ASYNC_REQUEST_PROCESSING_ERROR, request.getMethod(), request.getServletPath()), event.getThrowable());
+                event.getAsyncContext().complete();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            completed.set(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // The listener is registered after the request has been put into asynchronous mode
+        }
+    }
+}
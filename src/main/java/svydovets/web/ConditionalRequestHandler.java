@@ -0,0 +1,113 @@
+package svydovets.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import svydovets.web.dto.HttpHeaders;
+import svydovets.web.dto.HttpStatus;
+import svydovets.web.util.HeaderValues;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Evaluates the {@code If-None-Match} and {@code If-Modified-Since} headers of GET requests against the entity tag
+ * and the last modification date of the response.
+ *
+ * <p>{@code If-None-Match} is evaluated with the weak comparison, so a weak and a strong tag of the same value match.
+ * {@code If-Modified-Since} is only evaluated when the request has no {@code If-None-Match} header, as required by
+ * RFC 9110, and is compared with a precision of one second. When the client already has the current representation,
+ * the response gets status {@link HttpStatus#NOT_MODIFIED} and must be sent without a body.
+ *
+ * @see svydovets.web.annotation.ETag
+ */
+public class ConditionalRequestHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ConditionalRequestHandler.class);
+
+    private static final String GET_METHOD = "GET";
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private static final String DIGEST_ALGORITHM = "MD5";
+
+    private static final HexFormat HEX_FORMAT = HexFormat.of();
+
+    /**
+     * Checks whether the client already has the current representation and, if so, sets status 304 on the response.
+     *
+     * @param request      the HTTP request
+     * @param response     the HTTP response
+     * @param eTag         the entity tag of the response, or {@code null}
+     * @param lastModified the last modification date of the response in milliseconds, or a negative value
+     * @return true if the response is not modified and must be sent without a body
+     */
+    public boolean checkNotModified(HttpServletRequest request, HttpServletResponse response,
+                                    String eTag, long lastModified) {
+        if (!GET_METHOD.equals(request.getMethod()) || (eTag == null && lastModified < 0)) {
+            return false;
+        }
+
+        boolean notModified;
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            notModified = eTag != null && matches(ifNoneMatch, eTag);
+        } else {
+            notModified = lastModified >= 0 && isNotModifiedSince(request, lastModified);
+        }
+
+        if (notModified) {
+            log.trace("The response of {} is not modified", request.getServletPath());
+            response.setStatus(HttpStatus.NOT_MODIFIED.getStatus());
+        }
+        return notModified;
+    }
+
+    /**
+     * Generates the entity tag of the serialized response body.
+     *
+     * @param body the serialized response body
+     * @param weak whether the entity tag is weak
+     * @return the quoted entity tag
+     */
+    public static String generateETag(byte[] body, boolean weak) {
+        String eTag = "\"" + HEX_FORMAT.formatHex(messageDigest().digest(body)) + "\"";
+
+        return weak ? WEAK_PREFIX + eTag : eTag;
+    }
+
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        String opaqueTag = stripWeakPrefix(eTag);
+        for (String candidate : HeaderValues.split(ifNoneMatch)) {
+            if ("*".equals(candidate) || opaqueTag.equals(stripWeakPrefix(candidate))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isNotModifiedSince(HttpServletRequest request, long lastModified) {
+        try {
+            long ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+
+            return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+        } catch (IllegalArgumentException exception) {
+            log.trace("Ignore invalid {} header", HttpHeaders.IF_MODIFIED_SINCE);
+            return false;
+        }
+    }
+
+    private static String stripWeakPrefix(String eTag) {
+        return eTag.startsWith(WEAK_PREFIX) ? eTag.substring(WEAK_PREFIX.length()) : eTag;
+    }
+
+    private static MessageDigest messageDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
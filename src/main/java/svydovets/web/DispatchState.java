@@ -0,0 +1,77 @@
+package svydovets.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import svydovets.web.path.PathVariables;
+
+import java.util.Arrays;
+
+/**
+ * Per-request state of the {@link DispatcherServlet} that is reused for many requests, one at a time: the
+ * {@link ServletWebRequest} with its body buffer and the argument arrays of the controller methods, one per number of
+ * parameters up to {@value #MAX_POOLED_ARGUMENTS}.
+ *
+ * <p>The state is taken from a {@link DispatchStatePool} for every dispatched request and returned once the response
+ * is written, rather than kept in a {@link ThreadLocal}, so it is shared by the requests of virtual threads as well.
+ * When it is returned, it is cleared, so it never keeps a request, a response or an argument reachable.
+ */
+public final class DispatchState {
+
+    /**
+     * Maximum number of parameters of a controller method whose argument array is reused.
+     */
+    public static final int MAX_POOLED_ARGUMENTS = 8;
+
+    private final ServletWebRequest servletWebRequest;
+
+    private final Object[][] argumentArrays = new Object[MAX_POOLED_ARGUMENTS + 1][];
+
+    /**
+     * Creates the state.
+     *
+     * @param bodyBufferSize the size of the buffer small request bodies are read into
+     */
+    public DispatchState(int bodyBufferSize) {
+        this.servletWebRequest = new ServletWebRequest(new byte[bodyBufferSize]);
+        for (int length = 0; length < argumentArrays.length; length++) {
+            argumentArrays[length] = new Object[length];
+        }
+    }
+
+    /**
+     * Binds the reused {@link ServletWebRequest} to the request.
+     *
+     * @param request            the HTTP request
+     * @param response           the HTTP response
+     * @param maxRequestBodySize the maximum request body size in bytes, or
+     *                           {@link ServletWebRequest#UNLIMITED_REQUEST_BODY_SIZE}
+     * @param pathVariables      the path variables captured while the route was matched
+     * @return the servlet web request of the request
+     */
+    public ServletWebRequest bind(HttpServletRequest request, HttpServletResponse response, long maxRequestBodySize,
+                                  PathVariables pathVariables) {
+        servletWebRequest.reset(request, response, maxRequestBodySize, pathVariables);
+        return servletWebRequest;
+    }
+
+    /**
+     * Returns the argument array of the given length, a new one for more than {@value #MAX_POOLED_ARGUMENTS}
+     * arguments.
+     *
+     * @param length the number of arguments
+     * @return the argument array
+     */
+    public Object[] getArguments(int length) {
+        return length <= MAX_POOLED_ARGUMENTS ? argumentArrays[length] : new Object[length];
+    }
+
+    /**
+     * Drops the request, the response and the arguments of the last request.
+     */
+    void clear() {
+        servletWebRequest.reset(null, null, ServletWebRequest.UNLIMITED_REQUEST_BODY_SIZE, null);
+        for (int length = 1; length < argumentArrays.length; length++) {
+            Arrays.fill(argumentArrays[length], null);
+        }
+    }
+}
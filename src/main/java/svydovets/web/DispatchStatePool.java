@@ -0,0 +1,73 @@
+package svydovets.web;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Bounded pool of the {@link DispatchState}s of dispatched requests.
+ *
+ * <p>Like {@link svydovets.web.util.ByteArrayPool}, the pool allocates a new state when it is empty and drops
+ * released states when it is full, so it never blocks and never holds more than {@code maxPooled} states, and
+ * therefore more than {@code maxPooled} body buffers.
+ */
+public class DispatchStatePool {
+
+    /**
+     * Default size of the buffer, in bytes, up to which request bodies are read at once instead of streamed.
+     */
+    public static final int DEFAULT_BODY_BUFFER_SIZE = 8 * 1024;
+
+    /**
+     * Default number of states kept in the pool.
+     */
+    public static final int DEFAULT_MAX_POOLED_STATES = 256;
+
+    private final int bodyBufferSize;
+
+    private final BlockingQueue<DispatchState> pool;
+
+    public DispatchStatePool() {
+        this(DEFAULT_BODY_BUFFER_SIZE, DEFAULT_MAX_POOLED_STATES);
+    }
+
+    /**
+     * Creates a pool of dispatch states.
+     *
+     * @param bodyBufferSize the size of the buffer up to which request bodies are read at once
+     * @param maxPooled      the maximum number of states kept in the pool
+     */
+    public DispatchStatePool(int bodyBufferSize, int maxPooled) {
+        this.bodyBufferSize = bodyBufferSize;
+        this.pool = new ArrayBlockingQueue<>(maxPooled);
+    }
+
+    /**
+     * Takes a state from the pool, or creates a new one if the pool is empty.
+     *
+     * @return the dispatch state
+     */
+    public DispatchState acquire() {
+        DispatchState state = pool.poll();
+
+        return state != null ? state : new DispatchState(bodyBufferSize);
+    }
+
+    /**
+     * Clears the state and returns it to the pool. A state that does not fit into the pool is dropped.
+     *
+     * @param state the state previously taken from the pool
+     */
+    public void release(DispatchState state) {
+        state.clear();
+        pool.offer(state);
+    }
+
+    /**
+     * Returns the size of the body buffer of the pooled states.
+     *
+     * @return the size of the body buffer
+     */
+    public int getBodyBufferSize() {
+        return bodyBufferSize;
+    }
+}
@@ -1,5 +1,11 @@
 package svydovets.web;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import jakarta.servlet.ServletConfig;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServlet;
@@ -8,16 +14,43 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import svydovets.util.ErrorMessageConstants;
+import svydovets.web.annotation.ETag;
+import svydovets.web.batch.BatchRequestEntry;
+import svydovets.web.batch.BatchRequestProcessor;
+import svydovets.web.batch.BatchResponseEntry;
+import svydovets.web.batch.BatchServletRequest;
+import svydovets.web.cache.CachedResponse;
+import svydovets.web.cache.ResponseCacheStore;
+import svydovets.web.coalesce.RequestCoalescer;
+import svydovets.web.converter.ResponseBodyConverters;
+import svydovets.web.converter.ResponseBodyConverters.NegotiatedWriter;
+import svydovets.web.dto.HttpHeaders;
+import svydovets.web.dto.HttpStatus;
 import svydovets.web.dto.RequestInfoHolder;
 import svydovets.web.dto.ResponseEntity;
+import svydovets.web.error.ErrorResponses;
+import svydovets.web.error.ExceptionHandlerMethod;
+import svydovets.web.error.ExceptionHandlerResolver;
+import svydovets.web.interceptor.HandlerInterceptorChain;
+import svydovets.web.exception.MissingRequestParameterException;
+import svydovets.web.exception.ParseRequestBodyException;
+import svydovets.web.exception.RequestBodyTooLargeException;
 import svydovets.web.exception.RequestProcessingException;
-import svydovets.web.path.PathFinder;
-import svydovets.web.path.PathFinderImpl;
+import svydovets.web.exception.UnsupportedContentEncodingException;
+import svydovets.web.metrics.RequestMetrics;
+import svydovets.web.metrics.RouteMetrics;
+import svydovets.web.path.RouteMatch;
+import svydovets.web.ratelimit.RateLimiter;
+import svydovets.web.resource.StaticResourceHandler;
+import svydovets.web.path.RouteTrie;
 
 import java.io.IOException;
-import java.lang.reflect.Method;
-import java.util.Map;
-import java.util.Set;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeoutException;
 
 /**
  * The DispatcherServlet is a key component in the Bring Web framework, responsible for handling incoming HTTP requests and
@@ -39,10 +72,33 @@ import java.util.Set;
  *   <li>Supports common HTTP methods: GET, POST, PUT, PATCH and DELETE.</li>
  *   <li>Utilizes annotations for configuring the base package of controller classes.</li>
  *   <li>Handles request processing, method invocation, and response generation.</li>
+ *   <li>Completes {@link CompletionStage} results asynchronously, releasing the container thread meanwhile.</li>
+ *   <li>Compresses responses with gzip or deflate when enabled and accepted by the client.</li>
+ *   <li>Answers conditional GET requests with 304 Not Modified based on ETag and Last-Modified.</li>
+ *   <li>Serves cached responses of {@code @ResponseCache} GET methods without invoking the controller.</li>
+ *   <li>Coalesces identical concurrent requests to {@code @Coalesce} GET methods into one controller invocation.</li>
+ *   <li>Negotiates the media type of response bodies by the {@code Accept} header between JSON and the
+ *   registered {@link svydovets.web.converter.MessageConverter}s, such as the built-in binary format.</li>
+ *   <li>Writes {@code Stream}, {@code Iterator} and {@code Iterable} results incrementally as a JSON array or
+ *   newline-delimited JSON.</li>
+ *   <li>Executes the sub-requests of a batch request, posted to the {@value #BATCH_PATH_PARAMETER} path, in
+ *   parallel without a network round trip per sub-request.</li>
+ *   <li>Serves static files below mapped path prefixes with memory-mapped caching, sendfile, precompressed
+ *   siblings, entity tags and byte ranges.</li>
+ *   <li>Rejects requests over the {@code @RateLimit} of the controller method with 429 Too Many Requests.</li>
+ *   <li>Runs the {@link svydovets.web.interceptor.HandlerInterceptor}s mapped to the route, resolved once per route
+ *   at startup, around the controller method.</li>
+ *   <li>Handles exceptions with the {@code @ExceptionHandler} methods of the controller or of a
+ *   {@code @ControllerAdvice}, and answers requests that match no route with precomputed 404 Not Found or
+ *   405 Method Not Allowed responses without throwing an exception.</li>
+ *   <li>Records the latency, status and body size of every dispatched request in per-route {@link RouteMetrics},
+ *   optionally exposed as JSON at the {@value #METRICS_PATH_PARAMETER} path.</li>
+ *   <li>Optionally reads and writes JSON bodies with serializers and deserializers generated for the request and
+ *   response types of the controller methods.</li>
  * </ul>
  *
  * @see WebApplicationContext
- * @see PathFinder
+ * @see RouteTrie
  * @see MethodArgumentResolver
  */
 public class DispatcherServlet extends HttpServlet {
@@ -57,9 +113,33 @@ public class DispatcherServlet extends HttpServlet {
      */
     public static final String WEB_APPLICATION_CONTEXT = "webApplicationContext";
     /**
-     * Implementation of the path finder interface for locating controller method paths
+     * Servlet init parameter holding the maximum request body size in bytes.
      */
-    private static final PathFinder pathFinder = new PathFinderImpl();
+    public static final String MAX_REQUEST_BODY_SIZE_PARAMETER = "maxRequestBodySize";
+    /**
+     * Servlet init parameter holding the timeout of asynchronous requests in milliseconds.
+     */
+    public static final String ASYNC_TIMEOUT_PARAMETER = "asyncTimeout";
+    /**
+     * Servlet init parameter enabling the compression of responses.
+     */
+    public static final String COMPRESSION_PARAMETER = "compression";
+    /**
+     * Servlet init parameter holding the minimum size of compressed responses in bytes.
+     */
+    public static final String COMPRESSION_MIN_RESPONSE_SIZE_PARAMETER = "compressionMinResponseSize";
+    /**
+     * Servlet init parameter holding the path at which the route metrics are served.
+     */
+    public static final String METRICS_PATH_PARAMETER = "metricsPath";
+    /**
+     * Servlet init parameter holding the path at which batch requests are accepted.
+     */
+    public static final String BATCH_PATH_PARAMETER = "batchPath";
+    /**
+     * Servlet init parameter holding the size of the buffer, in bytes, up to which request bodies are read at once.
+     */
+    public static final String REQUEST_BUFFER_SIZE_PARAMETER = "requestBufferSize";
     /**
      * Resolves method arguments for controller method invocation
      */
@@ -69,7 +149,31 @@ public class DispatcherServlet extends HttpServlet {
      */
     private static final String FAVICON_PATH = "/favicon.ico";
     private static final String PATCH_METHOD = "PATCH";
+    private static final String GET_METHOD = "GET";
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final HttpMethod[] HTTP_METHODS = HttpMethod.values();
+    private static final ObjectReader BATCH_REQUEST_READER = ServletWebRequest.objectMapper
+            .readerFor(new TypeReference<List<BatchRequestEntry>>() {
+            });
+    private static final ObjectWriter BATCH_RESPONSE_WRITER = ServletWebRequest.objectMapper
+            .writerFor(new TypeReference<List<BatchResponseEntry>>() {
+            })
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
     private final WebApplicationContext webApplicationContext;
+    private final AsyncResultHandler asyncResultHandler = new AsyncResultHandler();
+    private final ResponseCompressor responseCompressor = new ResponseCompressor();
+    private final ConditionalRequestHandler conditionalRequestHandler = new ConditionalRequestHandler();
+    /**
+     * Serializes controller results to the response output stream
+     */
+    private final ResponseBodyWriter responseBodyWriter = new ResponseBodyWriter(responseCompressor);
+    private final RequestMetrics requestMetrics = new RequestMetrics();
+    private final BatchRequestProcessor batchRequestProcessor = new BatchRequestProcessor();
+    private final StaticResourceHandler staticResourceHandler = new StaticResourceHandler();
+    private DispatchStatePool dispatchStatePool = new DispatchStatePool();
+    private long maxRequestBodySize = ServletWebRequest.UNLIMITED_REQUEST_BODY_SIZE;
+    private String metricsPath;
+    private String batchPath;
 
 
     /**
@@ -81,11 +185,29 @@ public class DispatcherServlet extends HttpServlet {
      * @see AnnotationConfigWebApplicationContext
      */
     public DispatcherServlet(String basePackage) {
-        this.webApplicationContext = new AnnotationConfigWebApplicationContext(basePackage);
+        this(basePackage, false);
+    }
+
+    /**
+     * Constructs a new DispatcherServlet with the specified base package, optionally reading and writing JSON bodies
+     * with serializers and deserializers generated for the body types of the controller methods.
+     *
+     * @param basePackage   base package for scanning all bean candidates
+     * @param generatedJson whether JSON serializers and deserializers are generated for the controller methods
+     * @see svydovets.web.json.GeneratedJsonCodecs
+     */
+    public DispatcherServlet(String basePackage, boolean generatedJson) {
+        this.webApplicationContext = new AnnotationConfigWebApplicationContext(basePackage, generatedJson);
+        registerRouteMetrics();
     }
 
     /**
      * Initializes the servlet and sets the WebApplicationContext as a servlet context attribute.
+     * The maximum request body size, the async timeout, the response compression settings, the metrics path, the
+     * batch path and the request buffer size are taken from the {@value #MAX_REQUEST_BODY_SIZE_PARAMETER},
+     * {@value #ASYNC_TIMEOUT_PARAMETER}, {@value #COMPRESSION_PARAMETER},
+     * {@value #COMPRESSION_MIN_RESPONSE_SIZE_PARAMETER}, {@value #METRICS_PATH_PARAMETER},
+     * {@value #BATCH_PATH_PARAMETER} and {@value #REQUEST_BUFFER_SIZE_PARAMETER} init parameters, if present.
      *
      * @param config the ServletConfig object containing servlet configuration
      * @throws ServletException if an error occurs during servlet initialization
@@ -94,6 +216,137 @@ public class DispatcherServlet extends HttpServlet {
     public void init(ServletConfig config) throws ServletException {
         super.init(config);
         config.getServletContext().setAttribute(WEB_APPLICATION_CONTEXT, webApplicationContext);
+
+        String maxRequestBodySizeParameter = config.getInitParameter(MAX_REQUEST_BODY_SIZE_PARAMETER);
+        if (maxRequestBodySizeParameter != null) {
+            setMaxRequestBodySize(Long.parseLong(maxRequestBodySizeParameter));
+        }
+
+        String asyncTimeoutParameter = config.getInitParameter(ASYNC_TIMEOUT_PARAMETER);
+        if (asyncTimeoutParameter != null) {
+            asyncResultHandler.setAsyncTimeout(Long.parseLong(asyncTimeoutParameter));
+        }
+
+        String compressionParameter = config.getInitParameter(COMPRESSION_PARAMETER);
+        if (compressionParameter != null) {
+            responseCompressor.setEnabled(Boolean.parseBoolean(compressionParameter));
+        }
+
+        String compressionMinResponseSizeParameter = config.getInitParameter(COMPRESSION_MIN_RESPONSE_SIZE_PARAMETER);
+        if (compressionMinResponseSizeParameter != null) {
+            responseCompressor.setMinResponseSize(Integer.parseInt(compressionMinResponseSizeParameter));
+        }
+
+        String metricsPathParameter = config.getInitParameter(METRICS_PATH_PARAMETER);
+        if (metricsPathParameter != null) {
+            setMetricsPath(metricsPathParameter);
+        }
+
+        String batchPathParameter = config.getInitParameter(BATCH_PATH_PARAMETER);
+        if (batchPathParameter != null) {
+            setBatchPath(batchPathParameter);
+        }
+
+        String requestBufferSizeParameter = config.getInitParameter(REQUEST_BUFFER_SIZE_PARAMETER);
+        if (requestBufferSizeParameter != null) {
+            setRequestBufferSize(Integer.parseInt(requestBufferSizeParameter));
+        }
+    }
+
+    /**
+     * Shuts down the executor of batch sub-requests.
+     */
+    @Override
+    public void destroy() {
+        batchRequestProcessor.shutdown();
+        super.destroy();
+    }
+
+    /**
+     * Sets the maximum size of the request body that is bound to {@code @RequestBody} parameters.
+     *
+     * @param maxRequestBodySize the maximum size in bytes, or {@link ServletWebRequest#UNLIMITED_REQUEST_BODY_SIZE}
+     */
+    public void setMaxRequestBodySize(long maxRequestBodySize) {
+        this.maxRequestBodySize = maxRequestBodySize;
+    }
+
+    /**
+     * Sets the size of the buffer of the pooled {@link DispatchState}s, up to which uncompressed request bodies of a
+     * declared length are read at once; larger bodies are streamed. The buffer size is also the upper bound of the
+     * memory every pooled state keeps, {@value DispatchStatePool#DEFAULT_BODY_BUFFER_SIZE} bytes by default.
+     *
+     * @param requestBufferSize the buffer size in bytes
+     */
+    public void setRequestBufferSize(int requestBufferSize) {
+        this.dispatchStatePool = new DispatchStatePool(requestBufferSize, DispatchStatePool.DEFAULT_MAX_POOLED_STATES);
+    }
+
+    /**
+     * Returns the handler of {@link CompletionStage} controller results, which holds the async timeout and
+     * the error status mapping.
+     *
+     * @return the async result handler
+     */
+    public AsyncResultHandler getAsyncResultHandler() {
+        return asyncResultHandler;
+    }
+
+    /**
+     * Returns the compressor of responses, which holds the compression settings. Compression is disabled by default.
+     *
+     * @return the response compressor
+     */
+    public ResponseCompressor getResponseCompressor() {
+        return responseCompressor;
+    }
+
+    /**
+     * Returns the metrics of the dispatched routes.
+     *
+     * @return the request metrics
+     */
+    public RequestMetrics getRequestMetrics() {
+        return requestMetrics;
+    }
+
+    /**
+     * Sets the path at which GET requests are answered with the snapshot of the route metrics as JSON.
+     * The metrics are not served by default.
+     *
+     * @param metricsPath the metrics path, or {@code null} to not serve the metrics
+     */
+    public void setMetricsPath(String metricsPath) {
+        this.metricsPath = metricsPath;
+    }
+
+    /**
+     * Returns the processor of batch requests, which holds the maximum batch size and the batch timeout.
+     *
+     * @return the batch request processor
+     */
+    public BatchRequestProcessor getBatchRequestProcessor() {
+        return batchRequestProcessor;
+    }
+
+    /**
+     * Sets the path at which POST requests holding a JSON array of {@link BatchRequestEntry} sub-requests are
+     * accepted. Batch requests are not accepted by default.
+     *
+     * @param batchPath the batch path, or {@code null} to not accept batch requests
+     */
+    public void setBatchPath(String batchPath) {
+        this.batchPath = batchPath;
+    }
+
+    /**
+     * Returns the handler of static resources, which holds the mapping of path prefixes to resource locations.
+     * No static resources are served by default.
+     *
+     * @return the static resource handler
+     */
+    public StaticResourceHandler getStaticResourceHandler() {
+        return staticResourceHandler;
     }
 
     @Override
@@ -186,58 +439,495 @@ public class DispatcherServlet extends HttpServlet {
      * Method takes an object that represents the response entity, extracts relevant information such as status, headers, and body,
      * and then constructs an HTTP response by setting the status and headers before writing the serialized JSON body
      * to the response. It is a key component in converting the output of a controller method into a well-formed HTTP response.
+     * If the entity declares an ETag or a Last-Modified date that the client already has, the response is sent with
+     * status 304 and without a body.
+     *
+     * @param req               the HttpServletRequest object representing the client request
+     * @param resp              the HttpServletResponse object representing the response to be sent
+     * @param responseEntity    the response entity
+     * @param requestInfoHolder the request info holder of the handler method
+     * @param flight            the coalesced flight the request leads, or {@code null}
+     * @param preHandleHeaders  the names of the headers set before the handler method was invoked, which are not cached
+     * @return the number of body bytes written
+     * @throws IOException if an I/O error occurs
+     */
+    private long processResponseEntity(HttpServletRequest req, HttpServletResponse resp, ResponseEntity<?> responseEntity,
+                                       RequestInfoHolder requestInfoHolder, RequestCoalescer.Flight flight,
+                                       Collection<String> preHandleHeaders) throws IOException {
+        HttpStatus httpStatus = responseEntity.getHttpStatus();
+        HttpHeaders httpHeaders = responseEntity.getHttpHeaders();
+        Object body = responseEntity.getBody();
+
+        resp.setStatus(httpStatus.getStatus());
+        httpHeaders.getHeaders().forEach(resp::setHeader);
+
+        if (httpStatus == HttpStatus.OK && conditionalRequestHandler
+                .checkNotModified(req, resp, httpHeaders.getETag(), httpHeaders.getLastModified())) {
+            return 0;
+        }
+
+        return writeResponseBody(req, resp, body, requestInfoHolder, flight, preHandleHeaders);
+    }
+
+    /**
+     * Writes the body to the response. For handler methods annotated with {@link ETag}, the body is serialized first
+     * and its entity tag is computed, so a GET request that already has the current representation gets status 304
+     * without a body. For handler methods annotated with {@link svydovets.web.annotation.ResponseCache}, the
+     * serialized body is cached together with the response status and headers, except the headers set before the
+     * handler method was invoked, such as the ones written by the interceptors for this client, and likewise shared with
+     * the followers of the coalesced flight the request leads. Stream, iterator and iterable bodies are written element by element
+     * instead, without an entity tag, without caching and without sharing.
+     *
+     * @param req               the HttpServletRequest object representing the client request
+     * @param resp              the HttpServletResponse object representing the response to be sent
+     * @param body              the response body
+     * @param requestInfoHolder the request info holder of the handler method
+     * @param flight            the coalesced flight the request leads, or {@code null}
+     * @param preHandleHeaders  the names of the headers set before the handler method was invoked, which are not cached
+     * @return the number of body bytes written
+     * @throws IOException if an I/O error occurs
+     */
+    private long writeResponseBody(HttpServletRequest req, HttpServletResponse resp, Object body,
+                                   RequestInfoHolder requestInfoHolder, RequestCoalescer.Flight flight,
+                                   Collection<String> preHandleHeaders) throws IOException {
+        if (responseBodyWriter.isStreamed(req, body)) {
+            return responseBodyWriter.writeStream(req, resp, requestInfoHolder.getElementWriter(), body);
+        }
+
+        ResponseBodyConverters responseBodyConverters = requestInfoHolder.getResponseBodyConverters();
+        if (responseBodyConverters != null) {
+            resp.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            NegotiatedWriter negotiatedWriter = responseBodyConverters.negotiate(req);
+            if (negotiatedWriter != null) {
+                return writeConvertedResponseBody(req, resp, body, requestInfoHolder.getETag(), negotiatedWriter);
+            }
+        }
+
+        ObjectWriter responseWriter = requestInfoHolder.getResponseWriter();
+        ETag eTag = requestInfoHolder.getETag();
+        ResponseCacheStore responseCache = requestInfoHolder.getResponseCache();
+        boolean getRequest = GET_METHOD.equals(req.getMethod());
+        boolean generateETag = eTag != null && getRequest && !resp.containsHeader(HttpHeaders.ETAG);
+        boolean cacheResponse = responseCache != null && getRequest && resp.getStatus() == HttpStatus.OK.getStatus();
+        if (!generateETag && !cacheResponse && flight == null) {
+            return responseBodyWriter.write(req, resp, responseWriter, body);
+        }
+
+        byte[] serializedBody = responseBodyWriter.serialize(responseWriter, body);
+        String eTagValue = null;
+        if (generateETag) {
+            eTagValue = ConditionalRequestHandler.generateETag(serializedBody, eTag.weak());
+            resp.setHeader(HttpHeaders.ETAG, eTagValue);
+        }
+        if (cacheResponse) {
+            responseCache.put(responseCache.createKey(req), CachedResponse.of(resp, serializedBody, preHandleHeaders));
+        }
+        if (flight != null) {
+            flight.share(resp, serializedBody);
+        }
+        if (eTagValue != null && conditionalRequestHandler.checkNotModified(req, resp, eTagValue, -1)) {
+            return 0;
+        }
+
+        return responseBodyWriter.write(req, resp, serializedBody);
+    }
+
+    /**
+     * Writes the body with the writer of the message converter negotiated for the request. Entity tags are generated
+     * like for JSON bodies, while the response is not cached, so cached responses are only served to JSON clients.
+     *
+     * @param req              the HttpServletRequest object representing the client request
+     * @param resp             the HttpServletResponse object representing the response to be sent
+     * @param body             the response body
+     * @param eTag             the {@link ETag} annotation of the handler method, may be {@code null}
+     * @param negotiatedWriter the negotiated writer
+     * @return the number of body bytes written
+     * @throws IOException if an I/O error occurs
+     */
+    private long writeConvertedResponseBody(HttpServletRequest req, HttpServletResponse resp, Object body, ETag eTag,
+                                            NegotiatedWriter negotiatedWriter) throws IOException {
+        resp.setContentType(negotiatedWriter.mediaType());
+        if (eTag == null || !GET_METHOD.equals(req.getMethod()) || resp.containsHeader(HttpHeaders.ETAG)) {
+            return responseBodyWriter.write(req, resp, negotiatedWriter.bodyWriter(), body);
+        }
+
+        byte[] serializedBody = responseBodyWriter.serialize(negotiatedWriter.bodyWriter(), body);
+        String eTagValue = ConditionalRequestHandler.generateETag(serializedBody, eTag.weak());
+        resp.setHeader(HttpHeaders.ETAG, eTagValue);
+        if (conditionalRequestHandler.checkNotModified(req, resp, eTagValue, -1)) {
+            return 0;
+        }
+
+        return responseBodyWriter.write(req, resp, serializedBody);
+    }
+
+    /**
+     * Writes the cached response, or status 304 if the client already has it, without invoking the handler method.
      *
+     * @param req            the HttpServletRequest object representing the client request
      * @param resp           the HttpServletResponse object representing the response to be sent
-     * @param responseObject the object representing the response entity
+     * @param cachedResponse the cached response
+     * @return the number of body bytes written
      * @throws IOException if an I/O error occurs
      */
-    private void processResponseEntity(HttpServletResponse resp, Object responseObject) throws IOException {
-        if (responseObject instanceof ResponseEntity<?> responseEntity) {
-            int status = responseEntity.getHttpStatus().getStatus();
-            Map<String, String> headers = responseEntity.getHttpHeaders().getHeaders();
-            Object body = responseEntity.getBody();
+    private long writeCachedResponse(HttpServletRequest req, HttpServletResponse resp, CachedResponse cachedResponse) throws IOException {
+        resp.setStatus(cachedResponse.status());
+        cachedResponse.headers().forEach(resp::setHeader);
+        if (cachedResponse.contentType() != null) {
+            resp.setContentType(cachedResponse.contentType());
+        }
 
-            resp.setStatus(status);
-            headers.forEach(resp::setHeader);
-            String jsonBody = ServletWebRequest.objectMapper.writeValueAsString(body);
+        if (conditionalRequestHandler.checkNotModified(req, resp, cachedResponse.eTag(), cachedResponse.lastModified())) {
+            return 0;
+        }
+
+        return responseBodyWriter.write(req, resp, cachedResponse.body());
+    }
 
-            resp.getWriter().write(jsonBody);
+    /**
+     * Rejects a request over the rate limit of the handler method with status 429 and an empty body. The
+     * {@code Retry-After} header holds the number of seconds until a permit becomes available, rounded up.
+     *
+     * @param req        the HttpServletRequest object representing the client request
+     * @param resp       the HttpServletResponse object representing the response to be sent
+     * @param retryAfter the time in nanoseconds until a permit becomes available
+     */
+    private void rejectRateLimitedRequest(HttpServletRequest req, HttpServletResponse resp, long retryAfter) {
+        log.trace("Reject the request {} over the rate limit", req.getServletPath());
+        long retryAfterSeconds = Math.max(1, (retryAfter + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+        resp.setStatus(HttpStatus.TOO_MANY_REQUESTS.getStatus());
+        resp.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        resp.setContentLength(0);
+    }
+
+    /**
+     * Waits for the response of the coalesced flight the request follows and writes it, or rejects the request with
+     * status 503 and an empty body if the response is not shared within the timeout of the coalescer.
+     *
+     * @param req              the HttpServletRequest object representing the client request
+     * @param resp             the HttpServletResponse object representing the response to be sent
+     * @param requestCoalescer the request coalescer of the handler method
+     * @param flight           the followed flight
+     * @return the number of body bytes written, or -1 if the leader abandoned the flight
+     * @throws IOException          if an I/O error occurs
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    private long writeCoalescedResponse(HttpServletRequest req, HttpServletResponse resp,
+                                        RequestCoalescer requestCoalescer, RequestCoalescer.Flight flight)
+            throws IOException, InterruptedException {
+        CachedResponse sharedResponse;
+        try {
+            sharedResponse = flight.await();
+        } catch (TimeoutException exception) {
+            log.error(String.format(ErrorMessageConstants.COALESCED_REQUEST_TIMEOUT, req.getServletPath(),
+                    requestCoalescer.getTimeoutMillis()));
+            resp.setStatus(HttpStatus.SERVICE_UNAVAILABLE.getStatus());
+            resp.setContentLength(0);
+            return 0;
         }
+
+        return sharedResponse != null ? writeCachedResponse(req, resp, sharedResponse) : -1;
     }
 
     /**
      * Method is responsible for handling an incoming HTTP request by delegating it to the appropriate controller for processing.
      * It encapsulates the entire request processing logic, from extracting information about the request to invoking the appropriate controller method and handling exceptions.
+     * The latency, status and body size of the request are recorded in the metrics of the matched route once the
+     * response is complete; a request that fails with an exception is recorded with status 500, unless an
+     * {@link svydovets.web.annotation.ExceptionHandler} method handles the exception. A request that matches no
+     * route is answered with status 404, or 405 if the path matches a route of another HTTP method. The interceptors
+     * of the route run after its rate limit is checked and before the cached response is looked up, so they also
+     * guard cached responses. The arguments are resolved with a pooled {@link DispatchState}, which is returned to
+     * the pool once the response is written; the state of an asynchronous request is left to the garbage collector
+     * instead, since a lazily read request body may still use it.
      *
      * @param req        the HttpServletRequest object representing the client request
      * @param resp       the HttpServletResponse object representing the response to be sent
      * @param httpMethod the HttpMethod representing the HTTP method of the request
      */
     private void processRequest(HttpServletRequest req, HttpServletResponse resp, HttpMethod httpMethod) {
+        long startTime = System.nanoTime();
+        RouteMetrics routeMetrics = null;
+        long bytesWritten = 0;
+        boolean async = false;
+        boolean failed = false;
+        RequestInfoHolder requestInfoHolder = null;
+        Object controller = null;
+        HandlerInterceptorChain interceptorChain = null;
+        RequestCoalescer.Flight flight = null;
+        Collection<String> preHandleHeaders = List.of();
+        DispatchState dispatchState = null;
+        Exception failure = null;
         try {
             String requestPath = req.getServletPath();
-            if (isNotFaviconRequest(requestPath)) {
+            if (httpMethod == HttpMethod.GET && staticResourceHandler.isStaticResourcePath(requestPath)) {
+                staticResourceHandler.handle(req, resp);
+            } else if (httpMethod == HttpMethod.GET && metricsPath != null && metricsPath.equals(requestPath)) {
+                responseBodyWriter.write(resp, requestMetrics.snapshot());
+            } else if (httpMethod == HttpMethod.POST && batchPath != null && batchPath.equals(requestPath)
+                    && !(req instanceof BatchServletRequest)) {
+                processBatchRequest(req, resp);
+            } else if (isNotFaviconRequest(requestPath)) {
+
+                RouteMatch routeMatch = saveControllerRedirectRequestPathAsAttribute(req, httpMethod, requestPath);
+                if (routeMatch == null) {
+                    bytesWritten = writeNoRouteResponse(resp, httpMethod, requestPath);
+                    return;
+                }
+
+                requestInfoHolder = webApplicationContext.getRequestInfoHolder(httpMethod, routeMatch.patternPath());
+                routeMetrics = requestInfoHolder.getRouteMetrics();
+
+                RateLimiter rateLimiter = requestInfoHolder.getRateLimiter();
+                if (rateLimiter != null) {
+                    long retryAfter = rateLimiter.tryAcquire(req);
+                    if (retryAfter > 0) {
+                        rejectRateLimitedRequest(req, resp, retryAfter);
+                        return;
+                    }
+                }
 
-                String controllerRedirectRequestPath = saveControllerRedirectRequestPathAsAttribute(req, httpMethod, requestPath);
+                HandlerInterceptorChain routeInterceptorChain = requestInfoHolder.getInterceptorChain();
+                if (routeInterceptorChain != null && !routeInterceptorChain.applyPreHandle(req, resp, requestInfoHolder)) {
+                    return;
+                }
+                interceptorChain = routeInterceptorChain;
 
-                RequestInfoHolder requestInfoHolder = webApplicationContext.getRequestInfoHolder(httpMethod, controllerRedirectRequestPath);
+                ResponseCacheStore responseCache = requestInfoHolder.getResponseCache();
+                if (responseCache != null && httpMethod == HttpMethod.GET && negotiatesJson(req, requestInfoHolder)) {
+                    CachedResponse cachedResponse = responseCache.get(responseCache.createKey(req));
+                    if (cachedResponse != null) {
+                        bytesWritten = writeCachedResponse(req, resp, cachedResponse);
+                        return;
+                    }
+                    preHandleHeaders = List.copyOf(resp.getHeaderNames());
+                }
 
                 Class<?> controllerType = requestInfoHolder.getClassType();
-                Object controller = webApplicationContext.getBean(requestInfoHolder.getClassName(), controllerType);
+                controller = webApplicationContext.getBean(requestInfoHolder.getClassName(), controllerType);
 
-                Method methodToInvoke = controllerType.getDeclaredMethod(requestInfoHolder.getMethodName(), requestInfoHolder.getParameterTypes());
+                HandlerMethodInvoker invoker = requestInfoHolder.getInvoker();
 
-                ServletWebRequest servletWebRequest = new ServletWebRequest(req, resp);
-                Object[] resolvedRequestArguments = methodArgumentResolver.resolveArguments(methodToInvoke, servletWebRequest);
-                Object result = methodToInvoke.invoke(controller, resolvedRequestArguments);
+                dispatchState = dispatchStatePool.acquire();
+                ServletWebRequest servletWebRequest = dispatchState.bind(req, resp, maxRequestBodySize, routeMatch.pathVariables());
+                ArgumentResolver[] argumentResolvers = requestInfoHolder.getArgumentResolvers();
+                Object[] resolvedRequestArguments = methodArgumentResolver.resolveArguments(argumentResolvers,
+                        servletWebRequest, dispatchState.getArguments(argumentResolvers.length));
 
-                processRequestResult(resp, result);
+                RequestCoalescer requestCoalescer = requestInfoHolder.getRequestCoalescer();
+                if (requestCoalescer != null && httpMethod == HttpMethod.GET && negotiatesJson(req, requestInfoHolder)) {
+                    RequestCoalescer.Flight routeFlight = requestCoalescer.join(resolvedRequestArguments, resp);
+                    if (routeFlight.isLeader()) {
+                        flight = routeFlight;
+                    } else {
+                        long coalescedBytesWritten = writeCoalescedResponse(req, resp, requestCoalescer, routeFlight);
+                        if (coalescedBytesWritten >= 0) {
+                            bytesWritten = coalescedBytesWritten;
+                            return;
+                        }
+                    }
+                }
+
+                Object result = invoker.invoke(controller, resolvedRequestArguments);
+
+                if (result instanceof CompletionStage<?> completionStage && !req.isAsyncSupported()) {
+                    bytesWritten = processRequestResult(req, resp, completionStage.toCompletableFuture().join(), requestInfoHolder, flight, preHandleHeaders);
+                } else if (result instanceof CompletionStage<?> completionStage) {
+                    RouteMetricsListener routeMetricsListener = routeMetrics != null
+                            ? new RouteMetricsListener(routeMetrics, startTime)
+                            : null;
+                    RequestInfoHolder asyncRequestInfoHolder = requestInfoHolder;
+                    Object asyncController = controller;
+                    RequestCoalescer.Flight asyncFlight = flight;
+                    Collection<String> asyncPreHandleHeaders = preHandleHeaders;
+                    asyncResultHandler.handle(req, resp, completionStage, asyncResult -> {
+                        long asyncBytesWritten = processRequestResult(req, resp, asyncResult, asyncRequestInfoHolder, asyncFlight, asyncPreHandleHeaders);
+                        if (routeMetricsListener != null) {
+                            routeMetricsListener.bytesWritten = asyncBytesWritten;
+                        }
+                    }, throwable -> {
+                        long asyncBytesWritten = handleException(req, resp, throwable, asyncRequestInfoHolder, asyncController);
+                        if (routeMetricsListener != null && asyncBytesWritten >= 0) {
+                            routeMetricsListener.bytesWritten = asyncBytesWritten;
+                        }
+                        return asyncBytesWritten >= 0;
+                    }, routeMetricsListener, interceptorChain != null
+                            ? interceptorChain.createAsyncListener(req, resp, requestInfoHolder)
+                            : null, flight != null ? flight.createAsyncListener() : null);
+                    async = true;
+                } else {
+                    bytesWritten = processRequestResult(req, resp, result, requestInfoHolder, flight, preHandleHeaders);
+                }
             }
         } catch (Exception e) {
+            bytesWritten = handleException(req, resp, e, requestInfoHolder, controller);
+            if (bytesWritten >= 0) {
+                return;
+            }
+
+            bytesWritten = 0;
+            failed = true;
+            failure = e;
             String errorMessage = String.format(ErrorMessageConstants.REQUEST_PROCESSING_ERROR, httpMethod.name(), req.getServletPath());
             log.error(errorMessage);
 
             throw new RequestProcessingException(errorMessage, e);
+        } finally {
+            if (flight != null && !async) {
+                flight.abandon();
+            }
+            if (dispatchState != null && !async) {
+                dispatchStatePool.release(dispatchState);
+            }
+            if (interceptorChain != null && !async) {
+                interceptorChain.triggerAfterCompletion(req, resp, requestInfoHolder, failure);
+            }
+            if (routeMetrics != null && !async) {
+                int status = failed ? HttpStatus.SERVER_ERROR.getStatus() : resp.getStatus();
+                routeMetrics.record(System.nanoTime() - startTime, status, bytesWritten);
+            }
+        }
+    }
+
+    /**
+     * Handles the exception with the {@link svydovets.web.annotation.ExceptionHandler} method resolved for it, the
+     * one of the controller of the request first, then the one of a controller advice. The response is reset and the
+     * result of the method is written like the result of a controller method. Without an exception handler method, a
+     * {@link MissingRequestParameterException} is answered with status 400, a {@link RequestBodyTooLargeException}
+     * with status 413 and an {@link UnsupportedContentEncodingException} with status 415. The exception is not handled
+     * if the response is already committed, or if the exception handler method fails itself.
+     *
+     * @param req               the HttpServletRequest object representing the client request
+     * @param resp              the HttpServletResponse object representing the response to be sent
+     * @param exception         the exception, possibly wrapped into an {@link InvocationTargetException}
+     * @param requestInfoHolder the request info holder of the handler method, or {@code null} outside of a route
+     * @param controller        the controller of the request, or {@code null} if it is not obtained yet
+     * @return the number of body bytes written, or -1 if the exception is not handled
+     */
+    private long handleException(HttpServletRequest req, HttpServletResponse resp, Throwable exception,
+                                 RequestInfoHolder requestInfoHolder, Object controller) {
+        Throwable cause = unwrap(exception);
+        ExceptionHandlerResolver exceptionHandlerResolver = requestInfoHolder != null
+                ? requestInfoHolder.getExceptionHandlerResolver()
+                : webApplicationContext.getExceptionHandlerResolver();
+        ExceptionHandlerMethod handlerMethod = exceptionHandlerResolver != null
+                ? exceptionHandlerResolver.resolve(cause)
+                : null;
+        if (resp.isCommitted()) {
+            return -1;
+        } else if (handlerMethod == null) {
+            return writeErrorStatusResponse(resp, cause);
+        }
+
+        log.trace("Handle {} with {}", cause.getClass().getName(), handlerMethod.getMethod());
+        try {
+            if (handlerMethod.isControllerMethod() && controller == null) {
+                controller = webApplicationContext.getBean(requestInfoHolder.getClassName(), requestInfoHolder.getClassType());
+            }
+            resp.reset();
+            Object result = handlerMethod.invoke(controller, cause, req, resp);
+            if (result instanceof ResponseEntity<?> responseEntity) {
+                resp.setStatus(responseEntity.getHttpStatus().getStatus());
+                responseEntity.getHttpHeaders().getHeaders().forEach(resp::setHeader);
+                result = responseEntity.getBody();
+            }
+
+            return result != null ? responseBodyWriter.write(req, resp, handlerMethod.getResponseWriter(), result) : 0;
+        } catch (Exception handlerException) {
+            log.error(String.format(ErrorMessageConstants.EXCEPTION_HANDLER_ERROR, handlerMethod.getMethod(), cause.getClass().getName()));
+            exception.addSuppressed(unwrap(handlerException));
+            return -1;
+        }
+    }
+
+    /**
+     * Answers the request with the error status mapped to the exception, status 400 for a
+     * {@link MissingRequestParameterException}, 413 for a {@link RequestBodyTooLargeException} and 415 for an
+     * {@link UnsupportedContentEncodingException}.
+     *
+     * @param resp      the HttpServletResponse object representing the response to be sent
+     * @param exception the exception the request failed with
+     * @return the number of body bytes written, or -1 if no status is mapped to the exception
+     */
+    private long writeErrorStatusResponse(HttpServletResponse resp, Throwable exception) {
+        if (!(exception instanceof MissingRequestParameterException)
+                && !(exception instanceof RequestBodyTooLargeException)
+                && !(exception instanceof UnsupportedContentEncodingException)) {
+            return -1;
+        }
+
+        log.trace("Answer {} with an error status", exception.getClass().getName());
+        try {
+            resp.reset();
+            if (exception instanceof MissingRequestParameterException) {
+                return ErrorResponses.writeBadRequest(resp);
+            }
+            return exception instanceof RequestBodyTooLargeException
+                    ? ErrorResponses.writePayloadTooLarge(resp)
+                    : ErrorResponses.writeUnsupportedMediaType(resp);
+        } catch (IOException ioException) {
+            log.error(ioException.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Answers a request that matches no route of its HTTP method with status 405 and the {@code Allow} header if the
+     * path matches a route of another HTTP method, or with status 404 otherwise.
+     *
+     * @param resp        the HttpServletResponse object representing the response to be sent
+     * @param httpMethod  the HttpMethod representing the HTTP method of the request
+     * @param requestPath the request path
+     * @return the number of body bytes written
+     * @throws IOException if an I/O error occurs
+     */
+    private long writeNoRouteResponse(HttpServletResponse resp, HttpMethod httpMethod, String requestPath) throws IOException {
+        log.trace("No route found for {} {}", httpMethod, requestPath);
+        int allowedMethodsMask = 0;
+        for (HttpMethod allowedMethod : HTTP_METHODS) {
+            if (allowedMethod != httpMethod && webApplicationContext.lookupRoute(allowedMethod, requestPath) != null) {
+                allowedMethodsMask |= ErrorResponses.allowedMethodBit(allowedMethod);
+            }
+        }
+
+        return allowedMethodsMask == 0
+                ? ErrorResponses.writeNotFound(resp)
+                : ErrorResponses.writeMethodNotAllowed(resp, allowedMethodsMask);
+    }
+
+    /**
+     * Executes the sub-requests of a batch request in parallel and writes their responses as a JSON array of
+     * {@link BatchResponseEntry}s. Every sub-request goes through the regular request processing, in memory.
+     * A batch with more entries than allowed is rejected with status 400.
+     *
+     * @param req  the HttpServletRequest object representing the batch request
+     * @param resp the HttpServletResponse object representing the batch response
+     * @throws IOException if an I/O error occurs
+     */
+    @SuppressWarnings("unchecked")
+    private void processBatchRequest(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        List<BatchResponseEntry> responseEntries;
+        try {
+            List<BatchRequestEntry> entries = (List<BatchRequestEntry>) new ServletWebRequest(req, resp,
+                    maxRequestBodySize).getRequestBody(BATCH_REQUEST_READER);
+            responseEntries = batchRequestProcessor.process(req, resp, entries, this::processRequest);
+        } catch (ParseRequestBodyException | IllegalArgumentException exception) {
+            resp.setStatus(HttpStatus.BAD_REQUEST.getStatus());
+            resp.setContentLength(0);
+            return;
+        }
+        responseBodyWriter.write(req, resp, BATCH_RESPONSE_WRITER, responseEntries);
+    }
+
+    /**
+     * Registers the metrics of every route of the web application context and attaches them to its request info holder.
+     */
+    private void registerRouteMetrics() {
+        for (HttpMethod httpMethod : HttpMethod.values()) {
+            for (String pattern : webApplicationContext.getMethodPatterns(httpMethod)) {
+                webApplicationContext.getRequestInfoHolder(httpMethod, pattern)
+                        .setRouteMetrics(requestMetrics.register(httpMethod, pattern));
+            }
         }
     }
 
@@ -262,46 +952,121 @@ public class DispatcherServlet extends HttpServlet {
         return requestPath != null && !FAVICON_PATH.equalsIgnoreCase(requestPath);
     }
 
+    /**
+     * Checks whether the response body of the request is written as JSON by the built-in writer, which is the only
+     * representation held by the response cache.
+     *
+     * @param req               the HttpServletRequest object representing the client request
+     * @param requestInfoHolder the request info holder of the handler method
+     * @return true if no message converter is negotiated for the request
+     */
+    private static boolean negotiatesJson(HttpServletRequest req, RequestInfoHolder requestInfoHolder) {
+        ResponseBodyConverters responseBodyConverters = requestInfoHolder.getResponseBodyConverters();
+        return responseBodyConverters == null || responseBodyConverters.negotiate(req) == null;
+    }
+
     /**
      * Saves the controller redirect request path as an attribute in the HttpServletRequest.
      *
      * @param req         the HttpServletRequest object representing the client request
      * @param httpMethod  the HttpMethod representing the HTTP method of the request
      * @param requestPath the request path
-     * @return the controller method path
+     * @return the route match holding the controller method path and the path variables of the request, or
+     * {@code null} if no route matches
      */
-    private String saveControllerRedirectRequestPathAsAttribute(HttpServletRequest req, HttpMethod httpMethod, String requestPath) {
-        String controllerMethodPath = getControllerMethodPath(requestPath, httpMethod);
-        req.setAttribute(CONTROLLER_REDIRECT_REQUEST_PATH, controllerMethodPath);
-        return controllerMethodPath;
+    private RouteMatch saveControllerRedirectRequestPathAsAttribute(HttpServletRequest req, HttpMethod httpMethod, String requestPath) {
+        RouteMatch routeMatch = getControllerMethodRoute(requestPath, httpMethod);
+        if (routeMatch != null) {
+            req.setAttribute(CONTROLLER_REDIRECT_REQUEST_PATH, routeMatch.patternPath());
+        }
+        return routeMatch;
     }
 
     /**
      * Processes the result of the controller method and assembles the final response by writing the obtained result to the HttpServletResponse in JSON format.
+     * The interceptors of the route are notified with the result before it is written.
      *
-     * @param response the HttpServletResponse object representing the response to be sent
-     * @param result   the result of the controller method
+     * @param request           the HttpServletRequest object representing the client request
+     * @param response          the HttpServletResponse object representing the response to be sent
+     * @param result            the result of the controller method
+     * @param requestInfoHolder the request info holder of the handler method
+     * @param flight            the coalesced flight the request leads, or {@code null}
+     * @param preHandleHeaders  the names of the headers set before the handler method was invoked, which are not cached
+     * @return the number of body bytes written
      * @throws Exception if an error occurs during processing
      */
-    private void processRequestResult(HttpServletResponse response, Object result) throws Exception {
-        if (result != null) {
-            if (result instanceof ResponseEntity<?> responseEntity) {
-                processResponseEntity(response, responseEntity);
-            } else {
-                String json = ServletWebRequest.objectMapper.writeValueAsString(result);
-                response.getWriter().write(json);
-            }
+    private long processRequestResult(HttpServletRequest request, HttpServletResponse response, Object result,
+                                      RequestInfoHolder requestInfoHolder, RequestCoalescer.Flight flight,
+                                      Collection<String> preHandleHeaders) throws Exception {
+        HandlerInterceptorChain interceptorChain = requestInfoHolder.getInterceptorChain();
+        if (interceptorChain != null) {
+            interceptorChain.applyPostHandle(request, response, requestInfoHolder, result);
         }
+
+        if (result == null) {
+            return 0;
+        } else if (result instanceof ResponseEntity<?> responseEntity) {
+            return processResponseEntity(request, response, responseEntity, requestInfoHolder, flight, preHandleHeaders);
+        }
+
+        return writeResponseBody(request, response, result, requestInfoHolder, flight, preHandleHeaders);
     }
 
     /**
-     * Extract the controller method redirect path using the {@link PathFinder} implementation
+     * Match the request path with the {@link RouteTrie} compiled for the HTTP method, capturing its path variables
      *
      * @param requestPath    the request path
      * @param httpMethodName the HTTP method name
+     * @return the route match, or {@code null} if no route matches
+     */
+    private RouteMatch getControllerMethodRoute(String requestPath, HttpMethod httpMethodName) {
+        return webApplicationContext.lookupRoute(httpMethodName, requestPath);
+    }
+
+    private static Throwable unwrap(Throwable exception) {
+        if ((exception instanceof InvocationTargetException || exception instanceof CompletionException)
+                && exception.getCause() != null) {
+            return exception.getCause();
+        }
+
+        return exception;
+    }
+
+    /**
+     * Records an asynchronous request in the metrics of its route once the request is complete.
      */
-    private String getControllerMethodPath(String requestPath, HttpMethod httpMethodName) {
-        Set<String> patternPath = webApplicationContext.getMethodPatterns(httpMethodName);
-        return pathFinder.find(requestPath, patternPath);
+    private static final class RouteMetricsListener implements AsyncListener {
+
+        private final RouteMetrics routeMetrics;
+
+        private final long startTime;
+
+        private volatile long bytesWritten;
+
+        private RouteMetricsListener(RouteMetrics routeMetrics, long startTime) {
+            this.routeMetrics = routeMetrics;
+            this.startTime = startTime;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            HttpServletResponse response = (HttpServletResponse) event.getSuppliedResponse();
+            routeMetrics.record(System.nanoTime() - startTime, response.getStatus(), bytesWritten);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // The request is recorded on completion, with the timeout status
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            // The request is recorded on completion
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // The listener is registered after the request has been put into asynchronous mode
+        }
     }
 }
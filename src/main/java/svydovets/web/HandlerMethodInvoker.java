@@ -0,0 +1,95 @@
+package svydovets.web;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import svydovets.util.ErrorMessageConstants;
+import svydovets.util.ReflectionsUtil;
+import svydovets.web.exception.HandlerMethodInvokerCreationException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * The {@code HandlerMethodInvoker} invokes a controller method through a {@link MethodHandle} resolved once
+ * when the route is registered.
+ *
+ * <p>The method handle is adapted to the uniform {@code (Object, Object[])Object} shape, so it is called with
+ * {@link MethodHandle#invokeExact} without a per-request method lookup, access check or argument array copy that
+ * the reflective {@link Method#invoke} performs.
+ *
+ * <p>Exceptions thrown by the controller method are wrapped in an {@link InvocationTargetException}, the same way
+ * as reflective invocation does, so callers can handle both the same way.
+ *
+ * @see svydovets.web.dto.RequestInfoHolder
+ */
+public final class HandlerMethodInvoker {
+
+    private static final Logger log = LoggerFactory.getLogger(HandlerMethodInvoker.class);
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private final Method method;
+
+    private final MethodHandle methodHandle;
+
+    private HandlerMethodInvoker(Method method, MethodHandle methodHandle) {
+        this.method = method;
+        this.methodHandle = methodHandle;
+    }
+
+    /**
+     * Creates an invoker for the given controller method.
+     *
+     * @param method the controller method
+     * @return the invoker of the method
+     * @throws HandlerMethodInvokerCreationException if the method is not accessible
+     */
+    public static HandlerMethodInvoker of(Method method) {
+        log.trace("Call of({})", method);
+        try {
+            MethodHandle methodHandle = MethodHandles.lookup().unreflect(ReflectionsUtil.prepareMethod(method));
+            if (Modifier.isStatic(method.getModifiers())) {
+                methodHandle = MethodHandles.dropArguments(methodHandle, 0, Object.class);
+            }
+            methodHandle = methodHandle
+                    .asSpreader(Object[].class, method.getParameterCount())
+                    .asType(INVOKER_TYPE);
+
+            return new HandlerMethodInvoker(method, methodHandle);
+        } catch (IllegalAccessException exception) {
+            String errorMessage = String.format(ErrorMessageConstants.ERROR_CREATING_HANDLER_METHOD_INVOKER, method);
+            log.error(errorMessage);
+
+            throw new HandlerMethodInvokerCreationException(errorMessage, exception);
+        }
+    }
+
+    /**
+     * Invokes the controller method on the given controller with the given arguments.
+     *
+     * @param controller the controller instance
+     * @param args       the resolved method arguments
+     * @return the result of the controller method, or {@code null} for void methods
+     * @throws InvocationTargetException if the controller method throws an exception
+     */
+    public Object invoke(Object controller, Object[] args) throws InvocationTargetException {
+        try {
+            return methodHandle.invokeExact(controller, args);
+        } catch (Throwable throwable) {
+            throw new InvocationTargetException(throwable);
+        }
+    }
+
+    /**
+     * Returns the controller method.
+     *
+     * @return the controller method
+     */
+    public Method getMethod() {
+        return method;
+    }
+}
@@ -1,5 +1,9 @@
 package svydovets.web;
 
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
 import org.slf4j.Logger;
@@ -8,122 +12,367 @@ import svydovets.util.ErrorMessageConstants;
 import svydovets.web.annotation.PathVariable;
 import svydovets.web.annotation.RequestBody;
 import svydovets.web.annotation.RequestParam;
+import svydovets.web.convert.ConversionService;
+import svydovets.web.convert.Converter;
+import svydovets.web.convert.DefaultConversionService;
+import svydovets.web.converter.MessageConverter.BodyReader;
+import svydovets.web.converter.MessageConverterRegistry;
+import svydovets.web.converter.RequestBodyConverters;
+import svydovets.web.exception.MissingRequestParameterException;
 import svydovets.web.exception.UnsupportedTypeException;
+import svydovets.web.json.GeneratedJsonCodecs;
 
-import java.lang.annotation.Annotation;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Set;
+import java.lang.reflect.ParameterizedType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static svydovets.util.NameResolver.resolveRequestParameterName;
 
+/**
+ * Resolves the arguments of controller methods from a {@link ServletWebRequest}.
+ *
+ * <p>The parameters of a controller method are inspected once, when the route is registered, and compiled into an
+ * array of {@link ArgumentResolver}s. Every resolver already knows the source of its value (path variable, request
+ * parameter, request body, servlet request or response), the resolved parameter name and the converter to the
+ * parameter type, so resolving the arguments of a request is a plain loop over the array without annotation
+ * lookups. Converters are resolved from the {@link ConversionService} once per parameter. Request parameters of
+ * array, {@link List} or {@link Collection} types collect all values of the parameter, converted to the element type.
+ * An absent request parameter is bound as {@code null} without calling the converter, and fails with a
+ * {@link MissingRequestParameterException} for a primitive parameter.
+ * Request bodies are read with an {@link ObjectReader} created once per target type, and {@code long} and
+ * {@code int} path variables are parsed straight from the request path. {@link Stream} and {@link Iterator} request
+ * body parameters are bound lazily to the elements of a JSON array or newline-delimited JSON body, so the controller
+ * method processes the elements while the body is being read. Request bodies of other media types are read by the
+ * {@link RequestBodyConverters} compiled from the {@link MessageConverterRegistry} for the parameter type, selected
+ * by the {@code Content-Type} of the request. JSON bodies are read by the object mapper the resolver is created with,
+ * which serves the generated deserializers of {@link GeneratedJsonCodecs} when they are enabled.
+ *
+ * @see ArgumentResolver
+ */
 public class MethodArgumentResolver {
 
     private static final Logger log = LoggerFactory.getLogger(MethodArgumentResolver.class);
-    private static final Set<Class<? extends Annotation>> SUPPORTED_ANNOTATIONS = new HashSet<>(Arrays.asList(
-            PathVariable.class,
-            RequestParam.class,
-            RequestBody.class
-    ));
-
-    private static final Set<Class<?>> SUPPORTED_TYPES = new HashSet<>(Arrays.asList(
-            String.class,
-            long.class, Long.class,
-            int.class, Integer.class,
-            float.class, Float.class,
-            double.class, Double.class,
-            boolean.class, Boolean.class,
-            char.class, Character.class
-    ));
 
-    public Object[] resolveArguments(Method method, ServletWebRequest servletWebRequest) {
+    private final ConversionService conversionService;
+
+    private final MessageConverterRegistry messageConverterRegistry;
+
+    private final ObjectMapper objectMapper;
+
+    public MethodArgumentResolver() {
+        this(new DefaultConversionService());
+    }
+
+    /**
+     * Creates a method argument resolver that converts path variables and request parameters with the given
+     * conversion service.
+     *
+     * @param conversionService the conversion service
+     */
+    public MethodArgumentResolver(ConversionService conversionService) {
+        this(conversionService, MessageConverterRegistry.withDefaults(List.of()));
+    }
+
+    /**
+     * Creates a method argument resolver that converts path variables and request parameters with the given
+     * conversion service and reads request bodies of media types other than JSON with the given message converters.
+     *
+     * @param conversionService        the conversion service
+     * @param messageConverterRegistry the message converters
+     */
+    public MethodArgumentResolver(ConversionService conversionService,
+                                  MessageConverterRegistry messageConverterRegistry) {
+        this(conversionService, messageConverterRegistry, ServletWebRequest.objectMapper);
+    }
+
+    /**
+     * Creates a method argument resolver that converts path variables and request parameters with the given
+     * conversion service, reads JSON request bodies with the given object mapper and request bodies of other media
+     * types with the given message converters.
+     *
+     * @param conversionService        the conversion service
+     * @param messageConverterRegistry the message converters
+     * @param objectMapper             the object mapper of JSON bodies
+     */
+    public MethodArgumentResolver(ConversionService conversionService,
+                                  MessageConverterRegistry messageConverterRegistry, ObjectMapper objectMapper) {
+        this.conversionService = conversionService;
+        this.messageConverterRegistry = messageConverterRegistry;
+        this.objectMapper = objectMapper;
+    }
+
+    public MessageConverterRegistry getMessageConverterRegistry() {
+        return messageConverterRegistry;
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    /**
+     * Compiles the parameters of the controller method into an array of argument resolvers.
+     *
+     * @param method the controller method
+     * @return the argument resolvers, one per method parameter
+     */
+    public ArgumentResolver[] createArgumentResolvers(Method method) {
+        log.trace("Call createArgumentResolvers({})", method);
         Parameter[] parameters = method.getParameters();
-        Object[] args = new Object[parameters.length];
+        ArgumentResolver[] argumentResolvers = new ArgumentResolver[parameters.length];
         for (int i = 0; i < parameters.length; i++) {
-            Parameter parameter = parameters[i];
-            args[i] = resolveArgument(parameter, servletWebRequest);
+            argumentResolvers[i] = createArgumentResolver(parameters[i]);
         }
-        return args;
+        return argumentResolvers;
     }
 
-    private Object resolveArgument(Parameter parameter, ServletWebRequest servletWebRequest) {
-        for (Class<? extends Annotation> annotationType : SUPPORTED_ANNOTATIONS) {
-            if (parameter.isAnnotationPresent(annotationType)) {
-                return handleAnnotation(parameter, annotationType, servletWebRequest);
-            }
+    /**
+     * Resolves the arguments of a request using the argument resolvers compiled for the controller method.
+     *
+     * @param argumentResolvers the argument resolvers of the controller method
+     * @param servletWebRequest the current request
+     * @return the resolved arguments
+     */
+    public Object[] resolveArguments(ArgumentResolver[] argumentResolvers, ServletWebRequest servletWebRequest) {
+        return resolveArguments(argumentResolvers, servletWebRequest, new Object[argumentResolvers.length]);
+    }
+
+    /**
+     * Resolves the arguments of a request for the controller method into the given array, such as an array reused
+     * by a {@link DispatchState}.
+     *
+     * @param argumentResolvers the argument resolvers of the controller method
+     * @param servletWebRequest the current request
+     * @param args              the array of the resolved arguments, as long as the argument resolvers
+     * @return the given array holding the resolved arguments
+     */
+    public Object[] resolveArguments(ArgumentResolver[] argumentResolvers, ServletWebRequest servletWebRequest,
+                                     Object[] args) {
+        for (int i = 0; i < argumentResolvers.length; i++) {
+            args[i] = argumentResolvers[i].resolve(servletWebRequest);
         }
+        return args;
+    }
+
+    /**
+     * Resolves the arguments of a request for the controller method, compiling its argument resolvers first.
+     *
+     * @param method            the controller method
+     * @param servletWebRequest the current request
+     * @return the resolved arguments
+     */
+    public Object[] resolveArguments(Method method, ServletWebRequest servletWebRequest) {
+        return resolveArguments(createArgumentResolvers(method), servletWebRequest);
+    }
 
+    public Object convertRequestParameterValue(Class<?> parameterType, String requestParameterValue) {
+        return requestParameterValue != null ? resolveConverter(parameterType).convert(requestParameterValue) : null;
+    }
+
+    private ArgumentResolver createArgumentResolver(Parameter parameter) {
         Class<?> parameterType = parameter.getType();
-        if (ServletRequest.class.isAssignableFrom(parameterType)) {
-            return servletWebRequest.getRequest();
+        if (parameter.isAnnotationPresent(PathVariable.class)) {
+            return createPathVariableArgumentResolver(resolveRequestParameterName(parameter), parameterType);
+        } else if (parameter.isAnnotationPresent(RequestParam.class)) {
+            return createRequestParamArgumentResolver(resolveRequestParameterName(parameter), parameter);
+        } else if (parameter.isAnnotationPresent(RequestBody.class)) {
+            return createRequestBodyArgumentResolver(parameter);
+        } else if (ServletRequest.class.isAssignableFrom(parameterType)) {
+            return ServletWebRequest::getRequest;
         } else if (ServletResponse.class.isAssignableFrom(parameterType)) {
-            return servletWebRequest.getResponse();
+            return ServletWebRequest::getResponse;
         }
 
-        String errorMessage = String.format(ErrorMessageConstants.UNSUPPORTED_TYPE_ERROR_MESSAGE, parameterType);
-        log.error(errorMessage);
+        return servletWebRequest -> {
+            throw unsupportedTypeException(ErrorMessageConstants.UNSUPPORTED_TYPE_ERROR_MESSAGE, parameterType);
+        };
+    }
+
+    private ArgumentResolver createRequestBodyArgumentResolver(Parameter parameter) {
+        Class<?> parameterType = parameter.getType();
+        if (parameterType == Stream.class || parameterType == Iterator.class) {
+            JavaType elementType = objectMapper.getTypeFactory()
+                    .constructType(parameter.getParameterizedType())
+                    .containedTypeOrUnknown(0);
+            ObjectReader elementReader = objectMapper.readerFor(elementType);
+
+            return parameterType == Stream.class
+                    ? new StreamRequestBodyArgumentResolver(elementReader)
+                    : servletWebRequest -> servletWebRequest.getRequestBodyIterator(elementReader);
+        }
+
+        return new RequestBodyArgumentResolver(parameterType, objectMapper.readerFor(parameterType),
+                messageConverterRegistry.createRequestBodyConverters(parameter.getParameterizedType()));
+    }
+
+    private ArgumentResolver createPathVariableArgumentResolver(String parameterName, Class<?> parameterType) {
+        if (parameterType == long.class || parameterType == Long.class) {
+            return servletWebRequest -> servletWebRequest.getLongPathVariableValue(parameterName);
+        } else if (parameterType == int.class || parameterType == Integer.class) {
+            return servletWebRequest -> servletWebRequest.getIntPathVariableValue(parameterName);
+        }
 
-        throw new UnsupportedTypeException(errorMessage);
+        return new PathVariableArgumentResolver(parameterName, resolveConverter(parameterType));
     }
 
-    private Object handleAnnotation(Parameter parameter, Class<? extends Annotation> annotationType, ServletWebRequest servletWebRequest) {
+    private ArgumentResolver createRequestParamArgumentResolver(String parameterName, Parameter parameter) {
         Class<?> parameterType = parameter.getType();
-        String parameterName = resolveRequestParameterName(parameter);
-        if (annotationType == PathVariable.class) {
-            String parameterValue = servletWebRequest.getPathVariableValue(parameterName);
-            return convertRequestParameterValue(parameterType, parameterValue);
-        } else if (annotationType == RequestParam.class) {
-            String parameterValue = servletWebRequest.getRequestParameterValue(parameterName);
-            return convertRequestParameterValue(parameterType, parameterValue);
-        } else {
-            return parameterType.cast(servletWebRequest.getRequestBody(parameterType));
+        if (parameterType.isArray()) {
+            Class<?> elementType = parameterType.getComponentType();
+            return new ArrayRequestParamArgumentResolver(parameterName, resolveConverter(elementType),
+                    MethodHandles.arrayConstructor(parameterType), MethodHandles.arrayElementSetter(parameterType));
+        } else if (parameterType == List.class || parameterType == Collection.class) {
+            return new ListRequestParamArgumentResolver(parameterName, resolveConverter(resolveElementType(parameter)));
         }
+
+        return new RequestParamArgumentResolver(parameterName, parameterType, resolveConverter(parameterType));
     }
 
-    public Object convertRequestParameterValue(Class<?> parameterType, String requestParameterValue) {
-        if (SUPPORTED_TYPES.contains(parameterType)) {
-            if (isNumeric(parameterType)) {
-                return convertNumber(parameterType, requestParameterValue);
-            } else if (parameterType == String.class) {
-                return requestParameterValue;
-            } else if (parameterType == boolean.class) {
-                return Boolean.valueOf(requestParameterValue);
-            } else if (parameterType == char.class) {
-                return requestParameterValue.charAt(0);
-            }
+    private static Class<?> resolveElementType(Parameter parameter) {
+        if (parameter.getParameterizedType() instanceof ParameterizedType parameterizedType
+                && parameterizedType.getActualTypeArguments()[0] instanceof Class<?> elementType) {
+            return elementType;
+        }
+
+        return String.class;
+    }
+
+    private Converter<String, ?> resolveConverter(Class<?> parameterType) {
+        Converter<String, ?> converter = conversionService.getConverter(String.class, parameterType);
+        if (converter != null) {
+            return converter;
         }
-        String errorMessage = String.format(ErrorMessageConstants.UNSUPPORTED_TYPE_ERROR_MESSAGE, parameterType);
+
+        String errorMessageFormat = Number.class.isAssignableFrom(parameterType)
+                ? ErrorMessageConstants.UNSUPPORTED_NUMBER_TYPE_ERROR_MESSAGE
+                : ErrorMessageConstants.UNSUPPORTED_TYPE_ERROR_MESSAGE;
+        return value -> {
+            throw unsupportedTypeException(errorMessageFormat, parameterType);
+        };
+    }
+
+    private static MissingRequestParameterException missingRequestParameterException(String parameterName,
+                                                                                     Class<?> parameterType) {
+        String errorMessage = String.format(ErrorMessageConstants.MISSING_REQUEST_PARAMETER, parameterName, parameterType);
         log.error(errorMessage);
 
-        throw new UnsupportedTypeException(errorMessage);
+        return new MissingRequestParameterException(errorMessage);
     }
 
-    private boolean isNumeric(Class<?> parameterType) {
-        return Number.class.isAssignableFrom(parameterType) || isPrimitiveNumeric(parameterType);
+    private static UnsupportedTypeException unsupportedTypeException(String errorMessageFormat, Class<?> parameterType) {
+        String errorMessage = String.format(errorMessageFormat, parameterType);
+        log.error(errorMessage);
+
+        return new UnsupportedTypeException(errorMessage);
     }
 
-    private boolean isPrimitiveNumeric(Class<?> parameterType) {
-        return parameterType == long.class
-                || parameterType == int.class
-                || parameterType == float.class
-                || parameterType == double.class;
+    private record PathVariableArgumentResolver(String parameterName,
+                                                Converter<String, ?> converter) implements ArgumentResolver {
+
+        @Override
+        public Object resolve(ServletWebRequest servletWebRequest) {
+            return converter.convert(servletWebRequest.getPathVariableValue(parameterName));
+        }
     }
 
-    private Object convertNumber(Class<?> parameterType, String requestParameterValue) {
-        if (parameterType == long.class || parameterType == Long.class) {
-            return Long.parseLong(requestParameterValue);
-        } else if (parameterType == int.class || parameterType == Integer.class) {
-            return Integer.parseInt(requestParameterValue);
-        } else if (parameterType == double.class || parameterType == Double.class) {
-            return Double.parseDouble(requestParameterValue);
-        } else if (parameterType == float.class || parameterType == Float.class) {
-            return Float.valueOf(requestParameterValue);
+    private record RequestParamArgumentResolver(String parameterName,
+                                                Class<?> parameterType,
+                                                Converter<String, ?> converter) implements ArgumentResolver {
+
+        @Override
+        public Object resolve(ServletWebRequest servletWebRequest) {
+            String value = servletWebRequest.getRequestParameterValue(parameterName);
+            if (value != null) {
+                return converter.convert(value);
+            } else if (parameterType.isPrimitive()) {
+                throw missingRequestParameterException(parameterName, parameterType);
+            }
+            return null;
         }
-        String errorMessage = String.format(ErrorMessageConstants.UNSUPPORTED_NUMBER_TYPE_ERROR_MESSAGE, parameterType);
-        log.error(errorMessage);
+    }
 
-        throw new UnsupportedTypeException(errorMessage);
+    private record ListRequestParamArgumentResolver(String parameterName,
+                                                    Converter<String, ?> converter) implements ArgumentResolver {
+
+        @Override
+        public Object resolve(ServletWebRequest servletWebRequest) {
+            String[] values = servletWebRequest.getRequestParameterValues(parameterName);
+            if (values == null) {
+                return List.of();
+            }
+
+            List<Object> convertedValues = new ArrayList<>(values.length);
+            for (String value : values) {
+                convertedValues.add(converter.convert(value));
+            }
+            return convertedValues;
+        }
+    }
+
+    private record ArrayRequestParamArgumentResolver(String parameterName,
+                                                     Converter<String, ?> converter,
+                                                     MethodHandle arrayConstructor,
+                                                     MethodHandle arrayElementSetter) implements ArgumentResolver {
+
+        @Override
+        public Object resolve(ServletWebRequest servletWebRequest) {
+            String[] values = servletWebRequest.getRequestParameterValues(parameterName);
+            int length = values == null ? 0 : values.length;
+            try {
+                Object array = arrayConstructor.invoke(length);
+                for (int i = 0; i < length; i++) {
+                    arrayElementSetter.invoke(array, i, converter.convert(values[i]));
+                }
+                return array;
+            } catch (RuntimeException | Error exception) {
+                throw exception;
+            } catch (Throwable throwable) {
+                throw new IllegalStateException(throwable);
+            }
+        }
+    }
+
+    private record StreamRequestBodyArgumentResolver(ObjectReader elementReader) implements ArgumentResolver {
+
+        @Override
+        public Object resolve(ServletWebRequest servletWebRequest) {
+            MappingIterator<Object> iterator = servletWebRequest.getRequestBodyIterator(elementReader);
+
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                    .onClose(() -> {
+                        try {
+                            iterator.close();
+                        } catch (IOException exception) {
+                            throw new UncheckedIOException(exception);
+                        }
+                    });
+        }
+    }
+
+    private record RequestBodyArgumentResolver(Class<?> parameterType,
+                                               ObjectReader objectReader,
+                                               RequestBodyConverters requestBodyConverters) implements ArgumentResolver {
+
+        @Override
+        public Object resolve(ServletWebRequest servletWebRequest) {
+            BodyReader bodyReader = requestBodyConverters == null
+                    ? null
+                    : requestBodyConverters.findReader(servletWebRequest.getRequest().getContentType());
+            Object requestBody = bodyReader == null
+                    ? servletWebRequest.getRequestBody(objectReader)
+                    : servletWebRequest.getRequestBody(bodyReader);
+            return parameterType.cast(requestBody);
+        }
     }
 }
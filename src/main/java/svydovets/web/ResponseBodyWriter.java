@@ -0,0 +1,613 @@
+package svydovets.web;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import svydovets.web.ResponseCompressor.ContentEncoding;
+import svydovets.web.converter.MessageConverter.BodyWriter;
+import svydovets.web.converter.MessageConverterRegistry;
+import svydovets.web.converter.ResponseBodyConverters;
+import svydovets.web.dto.HttpHeaders;
+import svydovets.web.dto.MediaType;
+import svydovets.web.dto.ResponseEntity;
+import svydovets.web.util.ByteArrayPool;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.BaseStream;
+import java.util.stream.Stream;
+
+/**
+ * Serializes controller results as JSON straight to the servlet output stream.
+ *
+ * <p>The body is first serialized into a pooled byte buffer. If the whole body fits into the buffer, the
+ * {@code Content-Length} header is set and the buffer is written at once, so the response is not sent with chunked
+ * encoding. As soon as the body outgrows the buffer, the buffered bytes and the rest of the body are streamed to the
+ * response, so large bodies are never materialized in memory.
+ *
+ * <p>An {@link ObjectWriter} is created once per handler method for its return type (or the body type of a
+ * {@link ResponseEntity}, possibly wrapped into a {@link CompletionStage}). Only final and container types are bound
+ * statically; other types are serialized by their runtime type, so properties of subclasses are not lost.
+ *
+ * <p>When a {@link ResponseCompressor} is set and the client accepts a compressed response, bodies that reach the
+ * minimum compression size are compressed on their way to the response; smaller bodies are still sent as is with
+ * {@code Content-Length}.
+ *
+ * <p>{@link Stream}, {@link Iterator} and other non-collection {@link Iterable} bodies are never materialized: their
+ * elements are written one by one as a JSON array, or as newline-delimited JSON when the client accepts
+ * {@value MediaType#APPLICATION_NDJSON}, and the output is flushed every {@link #setStreamFlushInterval(int) few}
+ * elements. Collections are streamed the same way when newline-delimited JSON is requested. The source is closed
+ * once it is written, also when writing fails.
+ *
+ * <p>Bodies negotiated to another media type are written by the {@link BodyWriter} of a message converter through the
+ * same pooled buffer, so they are sent with {@code Content-Length} and compressed the same way.
+ */
+public class ResponseBodyWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseBodyWriter.class);
+
+    /**
+     * Default size of the buffer, in bytes, up to which the response body is sent with {@code Content-Length}.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 8 * 1024;
+
+    /**
+     * Default number of buffers kept in the pool.
+     */
+    public static final int DEFAULT_MAX_POOLED_BUFFERS = 256;
+
+    /**
+     * Default number of elements of a streamed body written between two flushes of the output.
+     */
+    public static final int DEFAULT_STREAM_FLUSH_INTERVAL = 256;
+
+    private static final String NDJSON_SEPARATOR = "\n";
+
+    private static final ObjectWriter DEFAULT_OBJECT_WRITER = ServletWebRequest.objectMapper.writer()
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    private static final ObjectWriter DEFAULT_ELEMENT_WRITER = DEFAULT_OBJECT_WRITER
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    private final ByteArrayPool bufferPool;
+
+    private final ResponseCompressor responseCompressor;
+
+    private int streamFlushInterval = DEFAULT_STREAM_FLUSH_INTERVAL;
+
+    public ResponseBodyWriter() {
+        this(DEFAULT_BUFFER_SIZE, DEFAULT_MAX_POOLED_BUFFERS);
+    }
+
+    /**
+     * Creates a response body writer that compresses bodies with the given compressor.
+     *
+     * @param responseCompressor the response compressor
+     */
+    public ResponseBodyWriter(ResponseCompressor responseCompressor) {
+        this(DEFAULT_BUFFER_SIZE, DEFAULT_MAX_POOLED_BUFFERS, responseCompressor);
+    }
+
+    /**
+     * Creates a response body writer.
+     *
+     * @param bufferSize        the size of the buffer up to which the body is sent with {@code Content-Length}
+     * @param maxPooledBuffers  the maximum number of buffers kept in the pool
+     */
+    public ResponseBodyWriter(int bufferSize, int maxPooledBuffers) {
+        this(bufferSize, maxPooledBuffers, null);
+    }
+
+    /**
+     * Creates a response body writer that compresses bodies with the given compressor.
+     *
+     * @param bufferSize         the size of the buffer up to which the body is sent with {@code Content-Length}
+     * @param maxPooledBuffers   the maximum number of buffers kept in the pool
+     * @param responseCompressor the response compressor, or {@code null} to never compress bodies
+     */
+    public ResponseBodyWriter(int bufferSize, int maxPooledBuffers, ResponseCompressor responseCompressor) {
+        this.bufferPool = new ByteArrayPool(bufferSize, maxPooledBuffers);
+        this.responseCompressor = responseCompressor;
+    }
+
+    /**
+     * Creates the {@link ObjectWriter} for the return type of the handler method.
+     *
+     * @param method the handler method
+     * @return the object writer of the method return type
+     */
+    public ObjectWriter createObjectWriter(Method method) {
+        return createObjectWriter(method, ServletWebRequest.objectMapper);
+    }
+
+    /**
+     * Creates the {@link ObjectWriter} for the return type of the handler method with the given object mapper.
+     *
+     * @param method       the handler method
+     * @param objectMapper the object mapper
+     * @return the object writer of the method return type
+     */
+    public ObjectWriter createObjectWriter(Method method, ObjectMapper objectMapper) {
+        log.trace("Call createObjectWriter({})", method);
+        JavaType returnType = resolveBodyType(method);
+
+        if (isStaticallyTyped(returnType)) {
+            return objectMapper.writerFor(returnType).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+        return objectMapper == ServletWebRequest.objectMapper
+                ? DEFAULT_OBJECT_WRITER
+                : objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Creates the {@link ObjectWriter} for the elements of a streamed body of the handler method, that is the element
+     * type of its {@link Stream}, {@link Iterator} or {@link Iterable} return type.
+     *
+     * @param method the handler method
+     * @return the object writer of the element type
+     */
+    public ObjectWriter createElementWriter(Method method) {
+        return createElementWriter(method, ServletWebRequest.objectMapper);
+    }
+
+    /**
+     * Creates the {@link ObjectWriter} for the elements of a streamed body of the handler method with the given
+     * object mapper.
+     *
+     * @param method       the handler method
+     * @param objectMapper the object mapper
+     * @return the object writer of the element type
+     */
+    public ObjectWriter createElementWriter(Method method, ObjectMapper objectMapper) {
+        log.trace("Call createElementWriter({})", method);
+        JavaType returnType = resolveBodyType(method);
+        JavaType elementType = null;
+        if (BaseStream.class.isAssignableFrom(returnType.getRawClass())) {
+            elementType = returnType.findSuperType(BaseStream.class).containedTypeOrUnknown(0);
+        } else if (Iterator.class.isAssignableFrom(returnType.getRawClass())) {
+            elementType = returnType.findSuperType(Iterator.class).containedTypeOrUnknown(0);
+        } else if (Iterable.class.isAssignableFrom(returnType.getRawClass())) {
+            elementType = returnType.findSuperType(Iterable.class).containedTypeOrUnknown(0);
+        }
+
+        if (elementType != null && isStaticallyTyped(elementType)) {
+            return objectMapper.writerFor(elementType)
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        }
+        return objectMapper == ServletWebRequest.objectMapper
+                ? DEFAULT_ELEMENT_WRITER
+                : objectMapper.writer()
+                        .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Compiles the writers of the response body of the handler method with the message converters that support its
+     * body type, unwrapped from a {@link CompletionStage} and a {@link ResponseEntity} like for
+     * {@link #createObjectWriter(Method)}.
+     *
+     * @param method                   the handler method
+     * @param messageConverterRegistry the message converters
+     * @return the response body converters, or {@code null} if the body is only written as JSON
+     */
+    public ResponseBodyConverters createResponseBodyConverters(Method method,
+                                                               MessageConverterRegistry messageConverterRegistry) {
+        log.trace("Call createResponseBodyConverters({})", method);
+        Type bodyType = method.getGenericReturnType();
+        if (rawClass(bodyType) != null && CompletionStage.class.isAssignableFrom(rawClass(bodyType))) {
+            bodyType = typeArgument(bodyType);
+        }
+        if (rawClass(bodyType) == ResponseEntity.class) {
+            bodyType = typeArgument(bodyType);
+        }
+
+        return bodyType == void.class || bodyType == Void.class
+                ? null
+                : messageConverterRegistry.createResponseBodyConverters(bodyType);
+    }
+
+    /**
+     * Checks whether the body is written element by element with {@link #writeStream}, rather than serialized at once.
+     *
+     * @param request the HTTP request, may be {@code null}
+     * @param body    the response body
+     * @return true if the body is a stream, an iterator or a non-collection iterable, or a collection requested as
+     * newline-delimited JSON
+     */
+    public boolean isStreamed(HttpServletRequest request, Object body) {
+        if (body instanceof BaseStream<?, ?> || body instanceof Iterator<?>) {
+            return true;
+        } else if (body instanceof Iterable<?>) {
+            return !(body instanceof Collection<?>) || acceptsNdjson(request);
+        }
+        return false;
+    }
+
+    /**
+     * Writes the body to the response using the object writer resolved by its runtime type.
+     *
+     * @param response the HTTP response
+     * @param body     the response body
+     * @return the number of body bytes written, before compression
+     * @throws IOException if an I/O error occurs
+     */
+    public long write(HttpServletResponse response, Object body) throws IOException {
+        return write(response, DEFAULT_OBJECT_WRITER, body);
+    }
+
+    /**
+     * Writes the body to the response using the given object writer.
+     *
+     * @param response     the HTTP response
+     * @param objectWriter the object writer of the handler method
+     * @param body         the response body
+     * @return the number of body bytes written, before compression
+     * @throws IOException if an I/O error occurs
+     */
+    public long write(HttpServletResponse response, ObjectWriter objectWriter, Object body) throws IOException {
+        return write(null, response, objectWriter, body);
+    }
+
+    /**
+     * Writes the body to the response using the given object writer, compressing it if the request accepts
+     * a compressed response.
+     *
+     * @param request      the HTTP request, or {@code null} to never compress the body
+     * @param response     the HTTP response
+     * @param objectWriter the object writer of the handler method
+     * @param body         the response body
+     * @return the number of body bytes written, before compression
+     * @throws IOException if an I/O error occurs
+     */
+    public long write(HttpServletRequest request, HttpServletResponse response, ObjectWriter objectWriter,
+                      Object body) throws IOException {
+        if (response.getContentType() == null) {
+            response.setContentType(MediaType.APPLICATION_JSON);
+        }
+
+        ContentEncoding contentEncoding = responseCompressor != null
+                ? responseCompressor.negotiate(request, response)
+                : null;
+
+        byte[] buffer = bufferPool.acquire();
+        try {
+            ContentLengthOutputStream outputStream = new ContentLengthOutputStream(response, buffer, 0,
+                    responseCompressor, contentEncoding);
+            objectWriter.writeValue(outputStream, body);
+            return outputStream.finish();
+        } finally {
+            bufferPool.release(buffer);
+        }
+    }
+
+    /**
+     * Writes the body to the response using the body writer of a message converter, compressing it if the request
+     * accepts a compressed response. The content type of the response is expected to be set already.
+     *
+     * @param request    the HTTP request, or {@code null} to never compress the body
+     * @param response   the HTTP response
+     * @param bodyWriter the body writer negotiated for the request
+     * @param body       the response body
+     * @return the number of body bytes written, before compression
+     * @throws IOException if an I/O error occurs
+     */
+    public long write(HttpServletRequest request, HttpServletResponse response, BodyWriter bodyWriter,
+                      Object body) throws IOException {
+        ContentEncoding contentEncoding = responseCompressor != null
+                ? responseCompressor.negotiate(request, response)
+                : null;
+
+        byte[] buffer = bufferPool.acquire();
+        try {
+            ContentLengthOutputStream outputStream = new ContentLengthOutputStream(response, buffer, 0,
+                    responseCompressor, contentEncoding);
+            bodyWriter.write(body, outputStream);
+            return outputStream.finish();
+        } finally {
+            bufferPool.release(buffer);
+        }
+    }
+
+    /**
+     * Writes the already serialized body to the response, compressing it if the request accepts a compressed
+     * response.
+     *
+     * @param request  the HTTP request, or {@code null} to never compress the body
+     * @param response the HTTP response
+     * @param body     the serialized response body
+     * @return the number of body bytes written, before compression
+     * @throws IOException if an I/O error occurs
+     */
+    public long write(HttpServletRequest request, HttpServletResponse response, byte[] body) throws IOException {
+        if (response.getContentType() == null) {
+            response.setContentType(MediaType.APPLICATION_JSON);
+        }
+
+        ContentEncoding contentEncoding = responseCompressor != null
+                ? responseCompressor.negotiate(request, response)
+                : null;
+
+        return new ContentLengthOutputStream(response, body, body.length, responseCompressor, contentEncoding).finish();
+    }
+
+    /**
+     * Writes the elements of a {@link Stream}, {@link Iterator} or {@link Iterable} body to the response one by one,
+     * as a JSON array or, if the client accepts it, as newline-delimited JSON. The output is flushed every
+     * {@link #setStreamFlushInterval(int) few} elements and compressed if the request accepts a compressed response.
+     * The stream, or a closeable iterator or iterable, is closed afterwards.
+     *
+     * @param request       the HTTP request, or {@code null} to write a JSON array without compression
+     * @param response      the HTTP response
+     * @param elementWriter the object writer of the elements, or {@code null} to resolve it by the runtime types
+     * @param body          the response body
+     * @return the number of body bytes written, before compression
+     * @throws IOException if an I/O error occurs
+     */
+    public long writeStream(HttpServletRequest request, HttpServletResponse response, ObjectWriter elementWriter,
+                            Object body) throws IOException {
+        boolean ndjson = acceptsNdjson(request);
+        response.setContentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON);
+        ContentEncoding contentEncoding = responseCompressor != null
+                ? responseCompressor.negotiate(request, response)
+                : null;
+        OutputStream responseOutputStream = contentEncoding != null
+                ? responseCompressor.compress(response, contentEncoding)
+                : response.getOutputStream();
+        ObjectWriter writer = elementWriter != null ? elementWriter : DEFAULT_ELEMENT_WRITER;
+
+        CountingOutputStream outputStream = new CountingOutputStream(responseOutputStream);
+        try {
+            Iterator<?> iterator = toIterator(body);
+            boolean empty = !iterator.hasNext();
+            try (SequenceWriter sequenceWriter = ndjson
+                    ? writer.withRootValueSeparator(NDJSON_SEPARATOR).writeValues(outputStream)
+                    : writer.writeValuesAsArray(outputStream)) {
+                int unflushedCount = 0;
+                while (iterator.hasNext()) {
+                    sequenceWriter.write(iterator.next());
+                    if (++unflushedCount == streamFlushInterval) {
+                        sequenceWriter.flush();
+                        unflushedCount = 0;
+                    }
+                }
+            }
+            if (ndjson && !empty) {
+                outputStream.write('\n');
+            }
+        } finally {
+            closeSource(body);
+        }
+
+        if (contentEncoding != null) {
+            responseOutputStream.close();
+        }
+        return outputStream.count;
+    }
+
+    /**
+     * Sets the number of elements of a streamed body written between two flushes of the output.
+     *
+     * @param streamFlushInterval the number of elements
+     */
+    public void setStreamFlushInterval(int streamFlushInterval) {
+        this.streamFlushInterval = streamFlushInterval;
+    }
+
+    /**
+     * Serializes the body with the given object writer into a byte array, for example to compute its entity tag
+     * before it is written.
+     *
+     * @param objectWriter the object writer of the handler method
+     * @param body         the response body
+     * @return the serialized body
+     * @throws IOException if an error occurs during serialization
+     */
+    public byte[] serialize(ObjectWriter objectWriter, Object body) throws IOException {
+        return objectWriter.writeValueAsBytes(body);
+    }
+
+    /**
+     * Serializes the body with the body writer of a message converter into a byte array.
+     *
+     * @param bodyWriter the body writer negotiated for the request
+     * @param body       the response body
+     * @return the serialized body
+     * @throws IOException if an error occurs during serialization
+     */
+    public byte[] serialize(BodyWriter bodyWriter, Object body) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        bodyWriter.write(body, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    private static Class<?> rawClass(Type type) {
+        if (type instanceof Class<?> rawClass) {
+            return rawClass;
+        } else if (type instanceof ParameterizedType parameterizedType) {
+            return (Class<?>) parameterizedType.getRawType();
+        }
+        return null;
+    }
+
+    private static Type typeArgument(Type type) {
+        return type instanceof ParameterizedType parameterizedType
+                ? parameterizedType.getActualTypeArguments()[0]
+                : Object.class;
+    }
+
+    private static JavaType resolveBodyType(Method method) {
+        JavaType returnType = ServletWebRequest.objectMapper.getTypeFactory().constructType(method.getGenericReturnType());
+        if (CompletionStage.class.isAssignableFrom(returnType.getRawClass())) {
+            returnType = returnType.containedTypeOrUnknown(0);
+        }
+        if (returnType.hasRawClass(ResponseEntity.class)) {
+            returnType = returnType.containedTypeOrUnknown(0);
+        }
+        return returnType;
+    }
+
+    private static boolean acceptsNdjson(HttpServletRequest request) {
+        if (request == null) {
+            return false;
+        }
+
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return accept != null && accept.contains(MediaType.APPLICATION_NDJSON);
+    }
+
+    private static Iterator<?> toIterator(Object body) {
+        if (body instanceof BaseStream<?, ?> stream) {
+            return stream.iterator();
+        } else if (body instanceof Iterator<?> iterator) {
+            return iterator;
+        }
+        return ((Iterable<?>) body).iterator();
+    }
+
+    private static void closeSource(Object body) throws IOException {
+        if (body instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (IOException | RuntimeException exception) {
+                throw exception;
+            } catch (Exception exception) {
+                throw new IOException(exception);
+            }
+        }
+    }
+
+    private static boolean isStaticallyTyped(JavaType type) {
+        if (type.isContainerType()) {
+            return true;
+        }
+
+        Class<?> rawClass = type.getRawClass();
+        return !rawClass.isPrimitive() && Modifier.isFinal(rawClass.getModifiers());
+    }
+
+    /**
+     * Output stream that counts the bytes of a streamed body.
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        private CountingOutputStream(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+            count += length;
+        }
+    }
+
+    /**
+     * Output stream that buffers the body until it outgrows the buffer and streams it to the response afterwards,
+     * compressed if a content encoding is negotiated.
+     */
+    private static final class ContentLengthOutputStream extends OutputStream {
+
+        private final HttpServletResponse response;
+
+        private final byte[] buffer;
+
+        private final ResponseCompressor responseCompressor;
+
+        private final ContentEncoding contentEncoding;
+
+        private int count;
+
+        private long streamedCount;
+
+        private OutputStream responseOutputStream;
+
+        private ContentLengthOutputStream(HttpServletResponse response, byte[] buffer, int count,
+                                          ResponseCompressor responseCompressor, ContentEncoding contentEncoding) {
+            this.response = response;
+            this.buffer = buffer;
+            this.count = count;
+            this.responseCompressor = responseCompressor;
+            this.contentEncoding = contentEncoding;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (responseOutputStream == null && count == buffer.length) {
+                switchToStreaming();
+            }
+
+            if (responseOutputStream != null) {
+                responseOutputStream.write(b);
+                streamedCount++;
+            } else {
+                buffer[count++] = (byte) b;
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (responseOutputStream == null && count + length > buffer.length) {
+                switchToStreaming();
+            }
+
+            if (responseOutputStream != null) {
+                responseOutputStream.write(bytes, offset, length);
+                streamedCount += length;
+            } else {
+                System.arraycopy(bytes, offset, buffer, count, length);
+                count += length;
+            }
+        }
+
+        private void switchToStreaming() throws IOException {
+            responseOutputStream = contentEncoding != null
+                    ? responseCompressor.compress(response, contentEncoding)
+                    : response.getOutputStream();
+            responseOutputStream.write(buffer, 0, count);
+            streamedCount = count;
+            count = 0;
+        }
+
+        private long finish() throws IOException {
+            if (responseOutputStream == null) {
+                if (contentEncoding != null && count >= responseCompressor.getMinResponseSize()) {
+                    switchToStreaming();
+                } else {
+                    response.setContentLength(count);
+                    response.getOutputStream().write(buffer, 0, count);
+                    return count;
+                }
+            }
+
+            if (contentEncoding != null) {
+                responseOutputStream.close();
+            }
+            return streamedCount;
+        }
+    }
+}
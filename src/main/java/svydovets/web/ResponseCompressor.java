@@ -0,0 +1,324 @@
+package svydovets.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import svydovets.web.dto.HttpHeaders;
+import svydovets.web.dto.MediaType;
+import svydovets.web.util.DeflaterPool;
+import svydovets.web.util.HeaderValues;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Compresses response bodies with gzip or deflate, as negotiated by the {@code Accept-Encoding} request header.
+ *
+ * <p>Only responses of the allowed content types that reach the minimum size are compressed; smaller bodies usually
+ * grow or save less than the compression costs. Responses that already declare a {@code Content-Encoding} or a
+ * {@code Content-Length} are left untouched. The {@link Deflater}s are taken from a pool and reset after the response
+ * is written, so compressing a response does not allocate native zlib memory.
+ *
+ * <p>Compression is disabled by default.
+ *
+ * @see ResponseBodyWriter
+ */
+public class ResponseCompressor {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseCompressor.class);
+
+    /**
+     * Default minimum size of the response body, in bytes, from which the body is compressed.
+     */
+    public static final int DEFAULT_MIN_RESPONSE_SIZE = 1024;
+
+    /**
+     * Default content types of the responses that are compressed.
+     */
+    public static final Set<String> DEFAULT_COMPRESSIBLE_MEDIA_TYPES = Set.of(MediaType.APPLICATION_JSON,
+            "application/xml", "application/javascript", "text/html", "text/xml", "text/plain", "text/css");
+
+    /**
+     * Default number of deflaters kept in the pool of every encoding.
+     */
+    public static final int DEFAULT_MAX_POOLED_DEFLATERS = 64;
+
+    private static final String WILDCARD_CODING = "*";
+
+    private static final int OUTPUT_BUFFER_SIZE = 8 * 1024;
+
+    private final DeflaterPool gzipDeflaterPool;
+
+    private final DeflaterPool deflateDeflaterPool;
+
+    private boolean enabled;
+
+    private boolean deflateEnabled = true;
+
+    private int minResponseSize = DEFAULT_MIN_RESPONSE_SIZE;
+
+    private Set<String> compressibleMediaTypes = DEFAULT_COMPRESSIBLE_MEDIA_TYPES;
+
+    public ResponseCompressor() {
+        this(Deflater.DEFAULT_COMPRESSION, DEFAULT_MAX_POOLED_DEFLATERS);
+    }
+
+    /**
+     * Creates a response compressor.
+     *
+     * @param compressionLevel    the compression level from 0 to 9, or {@link Deflater#DEFAULT_COMPRESSION}
+     * @param maxPooledDeflaters  the maximum number of deflaters kept in the pool of every encoding
+     */
+    public ResponseCompressor(int compressionLevel, int maxPooledDeflaters) {
+        this.gzipDeflaterPool = new DeflaterPool(compressionLevel, true, maxPooledDeflaters);
+        this.deflateDeflaterPool = new DeflaterPool(compressionLevel, false, maxPooledDeflaters);
+    }
+
+    /**
+     * Content encoding of compressed responses.
+     */
+    public enum ContentEncoding {
+
+        GZIP("gzip"),
+
+        DEFLATE("deflate");
+
+        private final String value;
+
+        ContentEncoding(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+    }
+
+    /**
+     * Chooses the content encoding of the response from the {@code Accept-Encoding} request header, the response
+     * content type and headers. Gzip is preferred over deflate when the client accepts both with the same quality.
+     * Codings with quality 0 are not acceptable, and the {@code *} wildcard stands for gzip only if gzip is not
+     * listed itself.
+     *
+     * @param request  the HTTP request, may be {@code null}
+     * @param response the HTTP response
+     * @return the content encoding, or {@code null} if the response must not be compressed
+     */
+    public ContentEncoding negotiate(HttpServletRequest request, HttpServletResponse response) {
+        if (!enabled || request == null || !isCompressible(response)) {
+            return null;
+        }
+
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return null;
+        }
+
+        ContentEncoding contentEncoding = null;
+        double bestQuality = 0;
+        double wildcardQuality = 0;
+        boolean gzipListed = false;
+        for (String element : HeaderValues.split(acceptEncoding)) {
+            String coding = HeaderValues.valueOf(element);
+            double quality = HeaderValues.qualityOf(element);
+            if (WILDCARD_CODING.equals(coding)) {
+                wildcardQuality = quality;
+                continue;
+            }
+
+            ContentEncoding candidate = resolveContentEncoding(coding);
+            gzipListed |= candidate == ContentEncoding.GZIP;
+            if (candidate != null && quality > 0 && (quality > bestQuality
+                    || (quality == bestQuality && candidate == ContentEncoding.GZIP))) {
+                contentEncoding = candidate;
+                bestQuality = quality;
+            }
+        }
+
+        if (!gzipListed && wildcardQuality > 0 && wildcardQuality >= bestQuality) {
+            return ContentEncoding.GZIP;
+        }
+        return contentEncoding;
+    }
+
+    /**
+     * Sets the {@code Content-Encoding} and {@code Vary} headers and opens a stream that compresses everything
+     * written to it into the response output stream. A strong entity tag of the response is made weak, since the
+     * compressed bytes differ from the uncompressed representation. Closing the returned stream finishes the
+     * compressed body and returns the deflater to the pool, while the response output stream is left open.
+     *
+     * @param response        the HTTP response
+     * @param contentEncoding the negotiated content encoding
+     * @return the compressing output stream
+     * @throws IOException if an I/O error occurs
+     */
+    public OutputStream compress(HttpServletResponse response, ContentEncoding contentEncoding) throws IOException {
+        log.trace("Call compress({})", contentEncoding);
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, contentEncoding.getValue());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        String eTag = response.getHeader(HttpHeaders.ETAG);
+        if (eTag != null && eTag.startsWith("\"")) {
+            response.setHeader(HttpHeaders.ETAG, "W/" + eTag);
+        }
+
+        return contentEncoding == ContentEncoding.GZIP
+                ? new GzipOutputStream(response.getOutputStream(), gzipDeflaterPool)
+                : new PooledDeflaterOutputStream(response.getOutputStream(), deflateDeflaterPool);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Enables or disables the deflate encoding, which is enabled by default. Gzip is always offered.
+     *
+     * @param deflateEnabled whether the deflate encoding is offered
+     */
+    public void setDeflateEnabled(boolean deflateEnabled) {
+        this.deflateEnabled = deflateEnabled;
+    }
+
+    public int getMinResponseSize() {
+        return minResponseSize;
+    }
+
+    /**
+     * Sets the minimum size of the response body from which the body is compressed.
+     *
+     * @param minResponseSize the minimum size in bytes
+     */
+    public void setMinResponseSize(int minResponseSize) {
+        this.minResponseSize = minResponseSize;
+    }
+
+    /**
+     * Sets the content types of the responses that are compressed. Content type parameters, such as the charset,
+     * are ignored when the content types are matched.
+     *
+     * @param compressibleMediaTypes the compressible content types
+     */
+    public void setCompressibleMediaTypes(Set<String> compressibleMediaTypes) {
+        this.compressibleMediaTypes = Set.copyOf(compressibleMediaTypes);
+    }
+
+    private boolean isCompressible(HttpServletResponse response) {
+        if (response.containsHeader(HttpHeaders.CONTENT_ENCODING)
+                || response.containsHeader(HttpHeaders.CONTENT_LENGTH)) {
+            return false;
+        }
+
+        String contentType = response.getContentType();
+        if (contentType == null) {
+            return false;
+        }
+
+        int parametersIndex = contentType.indexOf(';');
+        String mediaType = parametersIndex < 0 ? contentType : contentType.substring(0, parametersIndex);
+        return compressibleMediaTypes.contains(mediaType.trim().toLowerCase(Locale.ROOT));
+    }
+
+    private ContentEncoding resolveContentEncoding(String coding) {
+        if (ContentEncoding.GZIP.getValue().equalsIgnoreCase(coding)) {
+            return ContentEncoding.GZIP;
+        } else if (deflateEnabled && ContentEncoding.DEFLATE.getValue().equalsIgnoreCase(coding)) {
+            return ContentEncoding.DEFLATE;
+        }
+        return null;
+    }
+
+    /**
+     * Deflater output stream that returns its deflater to the pool once the compressed body is finished.
+     */
+    private static class PooledDeflaterOutputStream extends DeflaterOutputStream {
+
+        private final DeflaterPool deflaterPool;
+
+        private boolean closed;
+
+        private PooledDeflaterOutputStream(OutputStream outputStream, DeflaterPool deflaterPool) {
+            this(outputStream, deflaterPool, deflaterPool.acquire());
+        }
+
+        private PooledDeflaterOutputStream(OutputStream outputStream, DeflaterPool deflaterPool, Deflater deflater) {
+            super(outputStream, deflater, OUTPUT_BUFFER_SIZE);
+            this.deflaterPool = deflaterPool;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+            try {
+                finish();
+                out.flush();
+            } finally {
+                deflaterPool.release(def);
+            }
+        }
+    }
+
+    /**
+     * Pooled deflater output stream that wraps the raw deflate data into the gzip format, the same way as
+     * {@link java.util.zip.GZIPOutputStream} does, which cannot work with a pooled deflater.
+     */
+    private static final class GzipOutputStream extends PooledDeflaterOutputStream {
+
+        private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+
+        private final CRC32 crc = new CRC32();
+
+        private boolean headerWritten;
+
+        private boolean trailerWritten;
+
+        private GzipOutputStream(OutputStream outputStream, DeflaterPool deflaterPool) {
+            super(outputStream, deflaterPool);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            writeHeader();
+            super.write(bytes, offset, length);
+            crc.update(bytes, offset, length);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writeHeader();
+            super.finish();
+            if (!trailerWritten) {
+                trailerWritten = true;
+                writeInt((int) crc.getValue());
+                writeInt((int) def.getBytesRead());
+            }
+        }
+
+        private void writeHeader() throws IOException {
+            if (!headerWritten) {
+                headerWritten = true;
+                out.write(HEADER);
+            }
+        }
+
+        private void writeInt(int value) throws IOException {
+            out.write(value & 0xff);
+            out.write((value >> 8) & 0xff);
+            out.write((value >> 16) & 0xff);
+            out.write((value >> 24) & 0xff);
+        }
+    }
+}
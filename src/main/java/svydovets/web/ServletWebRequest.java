@@ -1,18 +1,31 @@
 package svydovets.web;
 
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import svydovets.web.converter.MessageConverter;
 import svydovets.web.exception.ParseRequestBodyException;
+import svydovets.web.exception.RequestBodyTooLargeException;
+import svydovets.web.exception.UnsupportedContentEncodingException;
+import svydovets.web.path.PathVariables;
 import svydovets.web.path.RequestPathParser;
 import svydovets.web.path.RequestPathParserImpl;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
 
 import static svydovets.util.ErrorMessageConstants.ERROR_PROCESSING_JSON_REQUEST_BODY;
+import static svydovets.util.ErrorMessageConstants.ERROR_PROCESSING_REQUEST_BODY;
+import static svydovets.util.ErrorMessageConstants.REQUEST_BODY_TOO_LARGE;
+import static svydovets.util.ErrorMessageConstants.UNSUPPORTED_CONTENT_ENCODING;
 import static svydovets.web.DispatcherServlet.CONTROLLER_REDIRECT_REQUEST_PATH;
 
 /**
@@ -26,8 +39,21 @@ import static svydovets.web.DispatcherServlet.CONTROLLER_REDIRECT_REQUEST_PATH;
  * <p>It includes functionality for handling path variables, request parameters, request body,
  * request attributes, and more.
  *
- * <p>Internally, it utilizes an {@link ObjectMapper} for JSON processing and a {@link RequestPathParser}
- * for parsing path variables.
+ * <p>Internally, it utilizes an {@link ObjectMapper} for JSON processing. Path variables are taken from the
+ * {@link PathVariables} captured while the route was matched, or parsed with a {@link RequestPathParser} if the request
+ * was created without them. The request body is deserialized straight from the request input stream,
+ * optionally limited to a maximum size. Request bodies sent with the {@code gzip} or {@code deflate}
+ * {@code Content-Encoding} are decoded transparently; the size limit then applies to the decoded body as well.
+ * Bodies sent with any other {@code Content-Encoding} but {@code identity} are rejected with an
+ * {@link UnsupportedContentEncodingException} instead of being parsed as they are.
+ * A JSON array or newline-delimited JSON body can also be read element by element with
+ * {@link #getRequestBodyIterator(ObjectReader)}, while it is still being uploaded. Bodies of other media types are
+ * read by the {@link MessageConverter.BodyReader} selected for their content type.
+ *
+ * <p>A request created by a {@link DispatchState} is reused for many requests, one at a time, and holds a body
+ * buffer of a fixed size. An uncompressed JSON body whose declared length fits into the buffer is read into it at
+ * once and parsed from there, so parsing it allocates no stream and no input buffer; larger bodies are still streamed,
+ * so they never stay pinned in memory.
  *
  * <p>Instances of this class are typically used within a {@link DispatcherServlet} to facilitate
  * handling and processing of incoming HTTP requests.
@@ -39,13 +65,26 @@ public class ServletWebRequest {
 
     private static final Logger log = LoggerFactory.getLogger(ServletWebRequest.class);
 
+    /**
+     * Value of the maximum request body size that disables the limit.
+     */
+    public static final long UNLIMITED_REQUEST_BODY_SIZE = -1L;
+
     static final ObjectMapper objectMapper = new ObjectMapper();
 
+    private static final String CONTENT_ENCODING_HEADER = "Content-Encoding";
+
     private static final RequestPathParser requestPathParser = new RequestPathParserImpl();
 
-    private final HttpServletRequest request;
+    private final byte[] bodyBuffer;
 
-    private final HttpServletResponse response;
+    private HttpServletRequest request;
+
+    private HttpServletResponse response;
+
+    private long maxRequestBodySize;
+
+    private PathVariables pathVariables;
 
     private Map<String, String> pathVariableValuesMap;
     private Object requestBody;
@@ -58,8 +97,67 @@ public class ServletWebRequest {
      * @param response the HTTP response
      */
     public ServletWebRequest(HttpServletRequest request, HttpServletResponse response) {
+        this(request, response, UNLIMITED_REQUEST_BODY_SIZE);
+    }
+
+    /**
+     * Constructs a {@code ServletWebRequest} instance with the given {@link HttpServletRequest},
+     * {@link HttpServletResponse} and the maximum size of the request body.
+     *
+     * @param request            the HTTP request
+     * @param response           the HTTP response
+     * @param maxRequestBodySize the maximum request body size in bytes, or {@link #UNLIMITED_REQUEST_BODY_SIZE}
+     */
+    public ServletWebRequest(HttpServletRequest request, HttpServletResponse response, long maxRequestBodySize) {
+        this(request, response, maxRequestBodySize, null);
+    }
+
+    /**
+     * Constructs a {@code ServletWebRequest} instance with the given {@link HttpServletRequest},
+     * {@link HttpServletResponse}, the maximum size of the request body and the path variables captured while
+     * the route was matched.
+     *
+     * @param request            the HTTP request
+     * @param response           the HTTP response
+     * @param maxRequestBodySize the maximum request body size in bytes, or {@link #UNLIMITED_REQUEST_BODY_SIZE}
+     * @param pathVariables      the path variables of the request, or {@code null} to parse them from the request path
+     */
+    public ServletWebRequest(HttpServletRequest request, HttpServletResponse response, long maxRequestBodySize,
+                             PathVariables pathVariables) {
+        this.bodyBuffer = null;
+        this.request = request;
+        this.response = response;
+        this.maxRequestBodySize = maxRequestBodySize;
+        this.pathVariables = pathVariables;
+    }
+
+    /**
+     * Constructs a reusable {@code ServletWebRequest} that is bound to every request with
+     * {@link #reset(HttpServletRequest, HttpServletResponse, long, PathVariables)}.
+     *
+     * @param bodyBuffer the buffer small request bodies are read into
+     */
+    ServletWebRequest(byte[] bodyBuffer) {
+        this.bodyBuffer = bodyBuffer;
+        this.maxRequestBodySize = UNLIMITED_REQUEST_BODY_SIZE;
+    }
+
+    /**
+     * Binds the reusable request to the next request, dropping everything read from the previous one.
+     *
+     * @param request            the HTTP request, or {@code null} to release the previous one
+     * @param response           the HTTP response, or {@code null} to release the previous one
+     * @param maxRequestBodySize the maximum request body size in bytes, or {@link #UNLIMITED_REQUEST_BODY_SIZE}
+     * @param pathVariables      the path variables of the request, or {@code null} to parse them from the request path
+     */
+    void reset(HttpServletRequest request, HttpServletResponse response, long maxRequestBodySize,
+               PathVariables pathVariables) {
         this.request = request;
         this.response = response;
+        this.maxRequestBodySize = maxRequestBodySize;
+        this.pathVariables = pathVariables;
+        this.pathVariableValuesMap = null;
+        this.requestBody = null;
     }
 
     /**
@@ -81,14 +179,19 @@ public class ServletWebRequest {
     }
 
     /**
-     * Method retrieves the value of a specified path variable from the request. It internally uses a {@link RequestPathParser}
-     * to parse and store path variables for subsequent access.
+     * Method retrieves the value of a specified path variable from the request. Without the path variables captured
+     * by the route match, it internally uses a {@link RequestPathParser} to parse and store path variables for
+     * subsequent access.
      *
      * @param parameterName the name of the path variable
      * @return the value of the path variable
      */
     public String getPathVariableValue(String parameterName) {
         log.trace("Call getPathVariableValue({})", parameterName);
+        if (pathVariables != null) {
+            return pathVariables.get(parameterName);
+        }
+
         if (pathVariableValuesMap == null) {
             pathVariableValuesMap = requestPathParser
                     .parse(request.getServletPath(), (String) request.getAttribute(CONTROLLER_REDIRECT_REQUEST_PATH));
@@ -97,6 +200,34 @@ public class ServletWebRequest {
         return pathVariableValuesMap.get(parameterName);
     }
 
+    /**
+     * Retrieves the value of a specified path variable as a {@code long}. The value of a captured path variable is
+     * parsed straight from the request path without creating a substring.
+     *
+     * @param parameterName the name of the path variable
+     * @return the value of the path variable
+     * @throws NumberFormatException if the value is absent or is not a {@code long}
+     */
+    public long getLongPathVariableValue(String parameterName) {
+        return pathVariables != null
+                ? pathVariables.getLong(parameterName)
+                : Long.parseLong(getPathVariableValue(parameterName));
+    }
+
+    /**
+     * Retrieves the value of a specified path variable as an {@code int}. The value of a captured path variable is
+     * parsed straight from the request path without creating a substring.
+     *
+     * @param parameterName the name of the path variable
+     * @return the value of the path variable
+     * @throws NumberFormatException if the value is absent or is not an {@code int}
+     */
+    public int getIntPathVariableValue(String parameterName) {
+        return pathVariables != null
+                ? pathVariables.getInt(parameterName)
+                : Integer.parseInt(getPathVariableValue(parameterName));
+    }
+
     /**
      * Retrieves the value of the specified request parameter.
      *
@@ -107,6 +238,16 @@ public class ServletWebRequest {
         return request.getParameter(parameterName);
     }
 
+    /**
+     * Retrieves all values of the specified request parameter.
+     *
+     * @param parameterName the name of the request parameter
+     * @return the values of the request parameter, or {@code null} if the parameter is absent
+     */
+    public String[] getRequestParameterValues(String parameterName) {
+        return request.getParameterValues(parameterName);
+    }
+
     /**
      * Retrieves and parses the request body into the specified type. It uses the Jackson ObjectMapper to deserialize the JSON request body into the specified class type
      *
@@ -115,12 +256,85 @@ public class ServletWebRequest {
      * @throws ParseRequestBodyException if an error occurs during parsing
      */
     public Object getRequestBody(Class<?> parameterType) {
+        return getRequestBody(objectMapper.readerFor(parameterType));
+    }
+
+    /**
+     * Returns the object mapper that reads request bodies and writes response bodies by default.
+     *
+     * @return the shared object mapper
+     */
+    public static ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    /**
+     * Retrieves and parses the request body with the given {@link ObjectReader}. The reader is expected to be created
+     * once per target type, so the deserializer lookup is not repeated for every request.
+     *
+     * @param objectReader the reader of the target type
+     * @return the parsed request body
+     * @throws ParseRequestBodyException           if an error occurs during parsing
+     * @throws RequestBodyTooLargeException        if the request body exceeds the maximum size
+     * @throws UnsupportedContentEncodingException if the request body content encoding is not supported
+     */
+    public Object getRequestBody(ObjectReader objectReader) {
         if (requestBody == null) {
-            requestBody = parseRequestBody(parameterType);
+            requestBody = parseRequestBody(objectReader);
         }
         return this.requestBody;
     }
 
+    /**
+     * Retrieves and reads the request body with the {@link MessageConverter.BodyReader} selected for its content type.
+     *
+     * @param bodyReader the reader of the target type
+     * @return the read request body
+     * @throws ParseRequestBodyException           if an error occurs during reading
+     * @throws RequestBodyTooLargeException        if the request body exceeds the maximum size
+     * @throws UnsupportedContentEncodingException if the request body content encoding is not supported
+     */
+    public Object getRequestBody(MessageConverter.BodyReader bodyReader) {
+        if (requestBody == null) {
+            try {
+                requestBody = bodyReader.read(openRequestBody());
+            } catch (RequestBodyTooLargeException | UnsupportedContentEncodingException exception) {
+                throw exception;
+            } catch (Exception exception) {
+                rethrowRequestBodyTooLarge(exception);
+                log.error(exception.getMessage());
+
+                throw new ParseRequestBodyException(String.format(ERROR_PROCESSING_REQUEST_BODY,
+                        request.getContentType()), exception);
+            }
+        }
+        return this.requestBody;
+    }
+
+    /**
+     * Opens an iterator that parses the elements of a JSON array or newline-delimited JSON request body one at a time,
+     * reading the request input stream only as far as the returned elements. Errors in later elements are thrown by
+     * the iterator as {@link com.fasterxml.jackson.databind.RuntimeJsonMappingException}s.
+     *
+     * @param elementReader the reader of the element type
+     * @return the iterator of the request body elements, which should be closed once it is no longer used
+     * @throws ParseRequestBodyException           if the request body cannot be opened or does not start with a valid value
+     * @throws RequestBodyTooLargeException        if the request body exceeds the maximum size
+     * @throws UnsupportedContentEncodingException if the request body content encoding is not supported
+     */
+    public MappingIterator<Object> getRequestBodyIterator(ObjectReader elementReader) {
+        try {
+            return elementReader.readValues(openRequestBody());
+        } catch (RequestBodyTooLargeException | UnsupportedContentEncodingException exception) {
+            throw exception;
+        } catch (Exception exception) {
+            rethrowRequestBodyTooLarge(exception);
+            log.error(exception.getMessage());
+
+            throw new ParseRequestBodyException(ERROR_PROCESSING_JSON_REQUEST_BODY, exception);
+        }
+    }
+
     /**
      * Sets an attribute in the underlying {@link HttpServletRequest}.
      *
@@ -142,23 +356,158 @@ public class ServletWebRequest {
     }
 
     /**
-     * Parses the request body into the specified type using the configured {@link ObjectMapper}.
+     * Parses the request body straight from the request input stream using the given {@link ObjectReader}.
      *
-     * @param parameterType the class type to parse the request body into
+     * @param objectReader the reader of the target type
      * @return the parsed request body
-     * @throws ParseRequestBodyException if an error occurs during parsing
+     * @throws ParseRequestBodyException           if an error occurs during parsing
+     * @throws RequestBodyTooLargeException        if the request body exceeds the maximum size
+     * @throws UnsupportedContentEncodingException if the request body content encoding is not supported
      */
-    private Object parseRequestBody(Class<?> parameterType) {
+    private Object parseRequestBody(ObjectReader objectReader) {
         try {
-            String jsonRequestBody = request.getReader()
-                    .lines()
-                    .collect(Collectors.joining());
-            return objectMapper.readValue(jsonRequestBody, parameterType);
+            int bufferedLength = readBufferedRequestBody();
+            if (bufferedLength >= 0) {
+                return objectReader.readValue(bodyBuffer, 0, bufferedLength);
+            }
+            return objectReader.readValue(openRequestBody());
+        } catch (RequestBodyTooLargeException | UnsupportedContentEncodingException exception) {
+            throw exception;
         } catch (Exception exception) {
+            rethrowRequestBodyTooLarge(exception);
             log.error(exception.getMessage());
 
             throw new ParseRequestBodyException(ERROR_PROCESSING_JSON_REQUEST_BODY, exception);
         }
     }
-}
 
+    /**
+     * Reads the request body into the body buffer if it is not compressed and its declared length fits into the
+     * buffer.
+     *
+     * @return the number of bytes read, or {@code -1} if the body is to be streamed
+     * @throws IOException                  if an I/O error occurs
+     * @throws RequestBodyTooLargeException if the request body exceeds the maximum size
+     */
+    private int readBufferedRequestBody() throws IOException {
+        long contentLength = request.getContentLengthLong();
+        if (bodyBuffer == null || contentLength < 0 || contentLength > bodyBuffer.length
+                || request.getHeader(CONTENT_ENCODING_HEADER) != null) {
+            return -1;
+        }
+        if (maxRequestBodySize != UNLIMITED_REQUEST_BODY_SIZE && contentLength > maxRequestBodySize) {
+            throw requestBodyTooLargeException();
+        }
+
+        InputStream inputStream = request.getInputStream();
+        int length = 0;
+        while (length < contentLength) {
+            int count = inputStream.read(bodyBuffer, length, (int) contentLength - length);
+            if (count < 0) {
+                break;
+            }
+            length += count;
+        }
+        return length;
+    }
+
+    private InputStream openRequestBody() throws IOException {
+        if (maxRequestBodySize == UNLIMITED_REQUEST_BODY_SIZE) {
+            return decodeRequestBody(request.getInputStream());
+        }
+
+        if (request.getContentLengthLong() > maxRequestBodySize) {
+            throw requestBodyTooLargeException();
+        }
+        return new LimitedInputStream(decodeRequestBody(request.getInputStream()));
+    }
+
+    private InputStream decodeRequestBody(InputStream inputStream) throws IOException {
+        String contentEncoding = request.getHeader(CONTENT_ENCODING_HEADER);
+        if (contentEncoding == null) {
+            return inputStream;
+        }
+
+        contentEncoding = contentEncoding.trim();
+        if ("gzip".equalsIgnoreCase(contentEncoding) || "x-gzip".equalsIgnoreCase(contentEncoding)) {
+            return new GZIPInputStream(inputStream);
+        } else if ("deflate".equalsIgnoreCase(contentEncoding)) {
+            return new InflaterInputStream(inputStream);
+        } else if ("identity".equalsIgnoreCase(contentEncoding)) {
+            return inputStream;
+        }
+
+        String errorMessage = String.format(UNSUPPORTED_CONTENT_ENCODING, contentEncoding);
+        log.error(errorMessage);
+
+        throw new UnsupportedContentEncodingException(errorMessage);
+    }
+
+    /**
+     * Rethrows the {@link RequestBodyTooLargeException} of the limited request body stream if the parser has wrapped it
+     * into an exception of its own, so an oversized body is not reported as a malformed one.
+     *
+     * @param exception the exception of the parser
+     */
+    private static void rethrowRequestBodyTooLarge(Exception exception) {
+        for (Throwable cause = exception.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof RequestBodyTooLargeException requestBodyTooLargeException) {
+                throw requestBodyTooLargeException;
+            }
+        }
+    }
+
+    private RequestBodyTooLargeException requestBodyTooLargeException() {
+        String errorMessage = String.format(REQUEST_BODY_TOO_LARGE, maxRequestBodySize);
+        log.error(errorMessage);
+
+        return new RequestBodyTooLargeException(errorMessage);
+    }
+
+    /**
+     * Input stream that fails as soon as more than the maximum request body size is read, which covers
+     * requests without a declared content length and compressed requests.
+     */
+    private class LimitedInputStream extends FilterInputStream {
+
+        private long remaining = maxRequestBodySize;
+
+        private LimitedInputStream(InputStream inputStream) {
+            super(inputStream);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value >= 0) {
+                consume(1);
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int count = super.read(buffer, offset, length);
+            if (count > 0) {
+                consume(count);
+            }
+            return count;
+        }
+
+        @Override
+        public long skip(long length) throws IOException {
+            long count = super.skip(length);
+            if (count > 0) {
+                consume(count);
+            }
+            return count;
+        }
+
+        private void consume(long count) {
+            remaining -= count;
+            if (remaining < 0) {
+                throw requestBodyTooLargeException();
+            }
+        }
+    }
+}
@@ -2,6 +2,8 @@ package svydovets.web;
 
 import svydovets.core.context.ApplicationContext;
 import svydovets.web.dto.RequestInfoHolder;
+import svydovets.web.error.ExceptionHandlerResolver;
+import svydovets.web.path.RouteMatch;
 
 import java.util.Set;
 
@@ -36,6 +38,33 @@ public interface WebApplicationContext extends ApplicationContext {
      */
     Set<String> getMethodPatterns(HttpMethod httpMethod);
 
+    /**
+     * Find the method pattern matching the request path for specific HTTP method.
+     *
+     * @param httpMethod HTTP method for which the pattern should be found
+     * @param requestPath path of the request
+     * @return the method pattern matching the request path
+     */
+    String findMethodPattern(HttpMethod httpMethod, String requestPath);
+
+    /**
+     * Match the request path for specific HTTP method, capturing its path variables in the same pass.
+     *
+     * @param httpMethod HTTP method for which the pattern should be found
+     * @param requestPath path of the request
+     * @return the method pattern matching the request path with the path variables of the request
+     */
+    RouteMatch matchRoute(HttpMethod httpMethod, String requestPath);
+
+    /**
+     * Match the request path for specific HTTP method like {@link #matchRoute}, returning null if no pattern matches.
+     *
+     * @param httpMethod HTTP method for which the pattern should be found
+     * @param requestPath path of the request
+     * @return the method pattern matching the request path with the path variables of the request, or null
+     */
+    RouteMatch lookupRoute(HttpMethod httpMethod, String requestPath);
+
     /**
      * Get RequestInfoHolder for specific HTTP method and path.
      *
@@ -45,4 +74,12 @@ public interface WebApplicationContext extends ApplicationContext {
      */
     RequestInfoHolder getRequestInfoHolder(HttpMethod httpMethod, String path);
 
+    /**
+     * Get the resolver of the exception handler methods declared by the controller advice beans, used for the
+     * exceptions thrown outside of a controller route.
+     *
+     * @return the exception handler resolver of the controller advice beans
+     */
+    ExceptionHandlerResolver getExceptionHandlerResolver();
+
 }
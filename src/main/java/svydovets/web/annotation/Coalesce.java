@@ -0,0 +1,52 @@
+package svydovets.web.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ *     Coalesce annotation collapses identical concurrent GET requests to a controller method into a single invocation.
+ * </p>
+ * <p>
+ *     Requests are identical when their resolved method arguments are equal. While the method is invoked for one
+ *     request, the identical requests that arrive wait for it and are answered with the same status, headers and
+ *     serialized body, without invoking the method themselves. Headers set before the method is invoked, for example
+ *     by interceptors, are not shared. A waiting request that gets no response within {@link #timeout()} is rejected
+ *     with status 503; if the method fails, or its result cannot be shared, the waiting requests invoke it themselves.
+ * </p>
+ * <p>
+ *     Only JSON responses are shared, and the annotated method may not declare {@code HttpServletRequest} or
+ *     {@code HttpServletResponse} parameters, which are specific to every request.
+ * </p>
+ * <p>
+ *     Here is example of how to use the Coalesce annotation:
+ * </p>
+ * <pre class="code">
+ * &#064;RestController
+ * &#064;RequestMapping("/products")
+ * public class ProductController {
+ *
+ *     &#064;Coalesce(timeout = 2, timeUnit = TimeUnit.SECONDS)
+ *     &#064;GetMapping("/{id}")
+ *     public Product getProduct(@PathVariable Long id) {
+ *     }
+ * }
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Coalesce {
+
+    /**
+     * Maximum time an identical request waits for the response, in {@link #timeUnit()}.
+     */
+    long timeout() default 5000;
+
+    /**
+     * Unit of the {@link #timeout()}.
+     */
+    TimeUnit timeUnit() default TimeUnit.MILLISECONDS;
+}
@@ -0,0 +1,37 @@
+package svydovets.web.annotation;
+
+import svydovets.core.annotation.Component;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ *     ControllerAdvice annotation marks a bean whose {@link ExceptionHandler} methods handle the exceptions thrown
+ *     while processing the requests of every {@link RestController}.
+ * </p>
+ * <p>
+ *     Exception handler methods declared by the controller itself take precedence over the ones of the advice.
+ * </p>
+ * <p>
+ *     Here is example of how to use the ControllerAdvice annotation:
+ * </p>
+ * <pre class="code">
+ * &#064;ControllerAdvice
+ * public class ErrorAdvice {
+ *
+ *     &#064;ExceptionHandler
+ *     public ResponseEntity&lt;ErrorBody&gt; handle(ParseRequestBodyException exception) {
+ *         return new ResponseEntity&lt;&gt;(new ErrorBody(exception.getMessage()), new HttpHeaders(), HttpStatus.BAD_REQUEST);
+ *     }
+ * }
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Component
+public @interface ControllerAdvice {
+    String value() default "";
+}
@@ -0,0 +1,41 @@
+package svydovets.web.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ *     ETag annotation enables conditional GET requests for the response of a controller method.
+ * </p>
+ * <p>
+ *     When a GET method annotated with @ETag returns its body, the body is serialized and an entity tag is computed
+ *     from the serialized bytes. If the {@code If-None-Match} request header matches the entity tag, the response is
+ *     sent with status 304 and without a body; otherwise the body is sent with the {@code ETag} header. An entity tag
+ *     set explicitly with {@code ResponseEntity.BodyBuilder#eTag(String)} takes precedence over the computed one.
+ * </p>
+ * <p>
+ *     Here is example of how to use the ETag annotation:
+ * </p>
+ * <pre class="code">
+ * &#064;RestController
+ * &#064;RequestMapping("/users")
+ * public class UserController {
+ *
+ *     &#064;ETag
+ *     &#064;GetMapping("/{id}")
+ *     public User getUser(@PathVariable Long id) {
+ *     }
+ * }
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface ETag {
+
+    /**
+     * Whether the computed entity tag is weak, so it only states the semantic equivalence of the responses.
+     */
+    boolean weak() default false;
+}
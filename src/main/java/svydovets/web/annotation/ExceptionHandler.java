@@ -0,0 +1,41 @@
+package svydovets.web.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ *     ExceptionHandler annotation marks a method of a {@link RestController} or a {@link ControllerAdvice} that
+ *     handles the exceptions of the given types, and their subtypes, thrown while processing a request.
+ * </p>
+ * <p>
+ *     The method may declare a parameter of the exception type, an {@code HttpServletRequest} and an
+ *     {@code HttpServletResponse} parameter. Its result is written like the result of a controller method: a
+ *     {@code ResponseEntity} sets the status and the headers of the response, any other value is written as the body
+ *     with status 200. When several methods handle an exception, the one mapped to the closest supertype is invoked.
+ * </p>
+ * <p>
+ *     Here is example of how to use the ExceptionHandler annotation:
+ * </p>
+ * <pre class="code">
+ * &#064;RestController
+ * public class UserController {
+ *
+ *     &#064;ExceptionHandler({IllegalArgumentException.class, IllegalStateException.class})
+ *     public ResponseEntity&lt;String&gt; handle(RuntimeException exception) {
+ *         return new ResponseEntity&lt;&gt;(exception.getMessage(), new HttpHeaders(), HttpStatus.BAD_REQUEST);
+ *     }
+ * }
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface ExceptionHandler {
+
+    /**
+     * Exception types handled by the method. Defaults to the type of the exception parameter of the method.
+     */
+    Class<? extends Throwable>[] value() default {};
+}
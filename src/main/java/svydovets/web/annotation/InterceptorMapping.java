@@ -0,0 +1,47 @@
+package svydovets.web.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ *     InterceptorMapping annotation maps a {@link svydovets.web.interceptor.HandlerInterceptor} bean to the routes
+ *     whose pattern paths match one of the {@link #value()} patterns and none of the {@link #exclude()} patterns.
+ * </p>
+ * <p>
+ *     A pattern is matched segment by segment against the pattern path of the route, once at startup: {@code *} and
+ *     a {@code {variable}} segment match any one segment, {@code **} matches any number of segments, and other
+ *     segments match literally. So {@code /users/*} matches the route {@code /users/{id}}, while {@code /users/1}
+ *     does not. Interceptors are invoked in ascending {@link #order()}, then by bean name.
+ * </p>
+ * <p>
+ *     Here is example of how to use the InterceptorMapping annotation:
+ * </p>
+ * <pre class="code">
+ * &#064;Component
+ * &#064;InterceptorMapping(value = "/api/**", exclude = "/api/health", order = 1)
+ * public class AuthInterceptor implements HandlerInterceptor {
+ * }
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface InterceptorMapping {
+
+    /**
+     * Patterns of the routes the interceptor applies to.
+     */
+    String[] value() default {"/**"};
+
+    /**
+     * Patterns of the routes the interceptor does not apply to, even if they match {@link #value()}.
+     */
+    String[] exclude() default {};
+
+    /**
+     * Order of the interceptor in the chain of a route, lower values first.
+     */
+    int order() default 0;
+}
@@ -0,0 +1,90 @@
+package svydovets.web.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ *     RateLimit annotation limits the rate of requests to a controller method with a token bucket.
+ * </p>
+ * <p>
+ *     The bucket holds up to {@link #burst()} permits and is refilled at {@link #permitsPerSecond()}. Every request
+ *     takes one permit before its arguments are resolved; when the bucket is empty, the request is rejected with
+ *     status 429 and a {@code Retry-After} header, without invoking the controller method. Depending on
+ *     {@link #key()}, all requests to the route share one bucket, or every client gets its own bucket, identified by
+ *     its remote address or by the value of a request header.
+ * </p>
+ * <p>
+ *     When placed on a {@link RestController} class, the annotation applies to every controller method that is not
+ *     annotated itself, and every such method gets its own buckets.
+ * </p>
+ * <p>
+ *     Here is example of how to use the RateLimit annotation:
+ * </p>
+ * <pre class="code">
+ * &#064;RestController
+ * &#064;RequestMapping("/reports")
+ * &#064;RateLimit(permitsPerSecond = 10, burst = 20, key = RateLimit.Key.HEADER, header = "X-Api-Key")
+ * public class ReportController {
+ *
+ *     &#064;RateLimit(permitsPerSecond = 0.5)
+ *     &#064;PostMapping
+ *     public Report generate(@RequestBody ReportRequest request) {
+ *     }
+ * }
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface RateLimit {
+
+    /**
+     * Number of permits added to the bucket per second.
+     */
+    double permitsPerSecond();
+
+    /**
+     * Maximum number of permits in the bucket, that is the number of requests accepted at once after the bucket was
+     * idle. Defaults to {@link #permitsPerSecond()} rounded up, and is never less than one.
+     */
+    int burst() default 0;
+
+    /**
+     * Key of the buckets.
+     */
+    Key key() default Key.ROUTE;
+
+    /**
+     * Name of the request header identifying the client when the {@link #key()} is {@link Key#HEADER}. Requests
+     * without the header are identified by their remote address.
+     */
+    String header() default "";
+
+    /**
+     * Maximum number of client buckets kept in memory.
+     */
+    int maxKeys() default 10_000;
+
+    /**
+     * Key of the token buckets of a rate limit.
+     */
+    enum Key {
+
+        /**
+         * All requests to the route share one bucket.
+         */
+        ROUTE,
+
+        /**
+         * Every remote address gets its own bucket.
+         */
+        REMOTE_ADDRESS,
+
+        /**
+         * Every value of the {@link #header()} request header gets its own bucket.
+         */
+        HEADER
+    }
+}
@@ -0,0 +1,58 @@
+package svydovets.web.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ *     ResponseCache annotation caches the serialized responses of an idempotent GET controller method in memory.
+ * </p>
+ * <p>
+ *     The cache key is the request path, which holds the path variables of the matched pattern, and the values of
+ *     the selected query parameters. A cached response is written with its status, headers and body bytes without
+ *     resolving the method arguments, invoking the controller method or serializing the result. The cache holds at
+ *     most {@link #maxEntries()} responses and evicts the least recently used one when it is full; responses expire
+ *     after {@link #ttl()}.
+ * </p>
+ * <p>
+ *     Here is example of how to use the ResponseCache annotation:
+ * </p>
+ * <pre class="code">
+ * &#064;RestController
+ * &#064;RequestMapping("/countries")
+ * public class CountryController {
+ *
+ *     &#064;ResponseCache(ttl = 5, timeUnit = TimeUnit.MINUTES, queryParams = "lang")
+ *     &#064;GetMapping("/{code}")
+ *     public Country getCountry(@PathVariable String code, @RequestParam String lang) {
+ *     }
+ * }
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface ResponseCache {
+
+    /**
+     * Time to live of a cached response, in {@link #timeUnit()}.
+     */
+    long ttl() default 60;
+
+    /**
+     * Unit of the {@link #ttl()}.
+     */
+    TimeUnit timeUnit() default TimeUnit.SECONDS;
+
+    /**
+     * Maximum number of cached responses.
+     */
+    int maxEntries() default 1000;
+
+    /**
+     * Names of the query parameters that are part of the cache key. Other query parameters are ignored.
+     */
+    String[] queryParams() default {};
+}
@@ -0,0 +1,16 @@
+package svydovets.web.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+
+/**
+ * One sub-request of a batch request.
+ *
+ * @param method  the HTTP method
+ * @param path    the request path, optionally with a query string
+ * @param headers the request headers, may be {@code null}
+ * @param body    the JSON request body, may be {@code null}
+ */
+public record BatchRequestEntry(String method, String path, Map<String, String> headers, JsonNode body) {
+}
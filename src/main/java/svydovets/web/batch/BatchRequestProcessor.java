@@ -0,0 +1,260 @@
+package svydovets.web.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.util.RawValue;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import svydovets.util.ErrorMessageConstants;
+import svydovets.web.HttpMethod;
+import svydovets.web.exception.NoMatchingPatternFoundException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes the sub-requests of a batch request in parallel and collects their responses.
+ *
+ * <p>Every sub-request is dispatched through the same route table, argument resolution and response writing as a
+ * regular request, but with an in-memory {@link BatchServletRequest} and {@link BatchServletResponse}, so it pays no
+ * network round trip and no container overhead. The entries of a batch are independent of each other: they run
+ * concurrently on a bounded executor and their responses are returned in the order of the entries. When the executor
+ * is saturated, the batch request thread runs the sub-request itself, which throttles the batch clients.
+ *
+ * @see svydovets.web.DispatcherServlet
+ */
+public class BatchRequestProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchRequestProcessor.class);
+
+    /**
+     * Default maximum number of entries of a batch request.
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 50;
+
+    /**
+     * Default timeout of a batch request in milliseconds.
+     */
+    public static final long DEFAULT_BATCH_TIMEOUT = 30_000L;
+
+    private static final long THREAD_KEEP_ALIVE_SECONDS = 60;
+
+    private static final byte[] EMPTY_BODY = new byte[0];
+
+    private final ExecutorService executor;
+
+    private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+
+    private long batchTimeout = DEFAULT_BATCH_TIMEOUT;
+
+    /**
+     * Dispatches a sub-request to its controller method.
+     */
+    @FunctionalInterface
+    public interface SubRequestDispatcher {
+
+        /**
+         * Processes the sub-request and writes the result to the sub-response.
+         *
+         * @param request    the sub-request
+         * @param response   the sub-response
+         * @param httpMethod the HTTP method of the sub-request
+         * @throws Exception if an error occurs during processing
+         */
+        void dispatch(HttpServletRequest request, HttpServletResponse response, HttpMethod httpMethod) throws Exception;
+    }
+
+    public BatchRequestProcessor() {
+        this(Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    /**
+     * Creates a batch request processor running sub-requests on a bounded thread pool.
+     *
+     * @param maxThreads the maximum number of threads running sub-requests
+     */
+    public BatchRequestProcessor(int maxThreads) {
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(maxThreads, maxThreads,
+                THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(maxThreads),
+                new BatchThreadFactory(), new ThreadPoolExecutor.CallerRunsPolicy());
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        this.executor = threadPoolExecutor;
+    }
+
+    /**
+     * Creates a batch request processor running sub-requests on the given executor, which should be bounded.
+     *
+     * @param executor the executor of sub-requests
+     */
+    public BatchRequestProcessor(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Executes the entries of the batch request in parallel.
+     *
+     * @param request    the batch request
+     * @param response   the batch response
+     * @param entries    the entries of the batch request
+     * @param dispatcher dispatches every sub-request to its controller method
+     * @return the responses to the entries, in the order of the entries
+     * @throws IllegalArgumentException if the entries are absent or null, or the batch has more entries than allowed
+     */
+    public List<BatchResponseEntry> process(HttpServletRequest request, HttpServletResponse response,
+                                            List<BatchRequestEntry> entries, SubRequestDispatcher dispatcher) {
+        if (entries == null || entries.stream().anyMatch(Objects::isNull)) {
+            log.error(ErrorMessageConstants.INVALID_BATCH_REQUEST);
+
+            throw new IllegalArgumentException(ErrorMessageConstants.INVALID_BATCH_REQUEST);
+        }
+
+        log.trace("Call process() with {} entries", entries.size());
+        if (entries.size() > maxBatchSize) {
+            String errorMessage = String.format(ErrorMessageConstants.BATCH_TOO_LARGE, entries.size(), maxBatchSize);
+            log.error(errorMessage);
+
+            throw new IllegalArgumentException(errorMessage);
+        }
+
+        List<CompletableFuture<BatchResponseEntry>> futures = new ArrayList<>(entries.size());
+        for (BatchRequestEntry entry : entries) {
+            futures.add(CompletableFuture.supplyAsync(() -> execute(request, response, entry, dispatcher), executor));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchTimeout);
+        List<BatchResponseEntry> responseEntries = new ArrayList<>(entries.size());
+        for (int i = 0; i < futures.size(); i++) {
+            responseEntries.add(awaitResponse(futures.get(i), entries.get(i), deadline));
+        }
+        return responseEntries;
+    }
+
+    /**
+     * Sets the maximum number of entries of a batch request.
+     *
+     * @param maxBatchSize the maximum number of entries
+     */
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Sets the time after which the entries of a batch request that are still running are answered with status 503.
+     *
+     * @param batchTimeout the timeout in milliseconds
+     */
+    public void setBatchTimeout(long batchTimeout) {
+        this.batchTimeout = batchTimeout;
+    }
+
+    /**
+     * Shuts the executor of sub-requests down.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private BatchResponseEntry execute(HttpServletRequest request, HttpServletResponse response,
+                                       BatchRequestEntry entry, SubRequestDispatcher dispatcher) {
+        HttpMethod httpMethod = resolveHttpMethod(entry.method());
+        if (httpMethod == null || entry.path() == null || !entry.path().startsWith("/")) {
+            log.error(String.format(ErrorMessageConstants.INVALID_BATCH_ENTRY, entry.method(), entry.path()));
+            return new BatchResponseEntry(HttpServletResponse.SC_BAD_REQUEST, Map.of(), null);
+        }
+
+        BatchServletRequest subRequest = new BatchServletRequest(request, httpMethod.name(), entry.path(),
+                entry.headers(), serializeBody(entry.body()));
+        BatchServletResponse subResponse = new BatchServletResponse(response);
+        try {
+            dispatcher.dispatch(subRequest, subResponse, httpMethod);
+        } catch (Exception exception) {
+            subResponse.reset();
+            subResponse.setStatus(hasCause(exception, NoMatchingPatternFoundException.class)
+                    ? HttpServletResponse.SC_NOT_FOUND
+                    : HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        }
+
+        return new BatchResponseEntry(subResponse.getStatus(), subResponse.getHeaderMap(),
+                toResponseBody(subResponse.getContentType(), subResponse.getBody()));
+    }
+
+    private BatchResponseEntry awaitResponse(CompletableFuture<BatchResponseEntry> future, BatchRequestEntry entry,
+                                             long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException exception) {
+            log.error(String.format(ErrorMessageConstants.BATCH_ENTRY_TIMEOUT, entry.method(), entry.path(), batchTimeout));
+            future.cancel(false);
+            return new BatchResponseEntry(HttpServletResponse.SC_SERVICE_UNAVAILABLE, Map.of(), null);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return new BatchResponseEntry(HttpServletResponse.SC_SERVICE_UNAVAILABLE, Map.of(), null);
+        } catch (ExecutionException exception) {
+            return new BatchResponseEntry(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, Map.of(), null);
+        }
+    }
+
+    private static HttpMethod resolveHttpMethod(String method) {
+        if (method == null) {
+            return null;
+        }
+        try {
+            return HttpMethod.valueOf(method.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException exception) {
+            return null;
+        }
+    }
+
+    private static byte[] serializeBody(JsonNode body) {
+        if (body == null || body.isNull() || body.isMissingNode()) {
+            return EMPTY_BODY;
+        }
+        return body.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Object toResponseBody(String contentType, byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        String text = new String(body, StandardCharsets.UTF_8);
+        return contentType != null && contentType.contains("json") ? new RawValue(text) : text;
+    }
+
+    private static boolean hasCause(Throwable throwable, Class<? extends Throwable> causeType) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (causeType.isInstance(cause)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Creates daemon threads named after the batch requests they serve.
+     */
+    private static final class BatchThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "bring-batch-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
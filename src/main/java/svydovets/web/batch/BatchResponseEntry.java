@@ -0,0 +1,13 @@
+package svydovets.web.batch;
+
+import java.util.Map;
+
+/**
+ * Response to one sub-request of a batch request.
+ *
+ * @param status  the response status
+ * @param headers the response headers, multiple values of a header joined by commas
+ * @param body    the response body: embedded as is if it is JSON, as a string otherwise, or {@code null} if empty
+ */
+public record BatchResponseEntry(int status, Map<String, String> headers, Object body) {
+}
@@ -0,0 +1,307 @@
+package svydovets.web.batch;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * In-memory sub-request of a batch request.
+ *
+ * <p>The method, path, query parameters, headers and body are taken from the batch entry. Other properties, such as
+ * the remote address, the session and the security principal, are those of the enclosing batch request, and so are
+ * its headers unless the entry declares them; the headers describing the batch body itself
+ * ({@code Content-Length}, {@code Content-Type}, {@code Content-Encoding}), the {@code Accept-Encoding} header and
+ * the conditional request headers are not inherited. Sub-requests do not support asynchronous processing.
+ */
+public class BatchServletRequest extends HttpServletRequestWrapper {
+
+    private static final Set<String> NOT_INHERITED_HEADERS = Set.of("content-length", "content-type",
+            "content-encoding", "accept-encoding", "if-none-match", "if-modified-since", "transfer-encoding");
+
+    private final String method;
+
+    private final String servletPath;
+
+    private final String queryString;
+
+    private final Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    private final Map<String, String[]> parameters;
+
+    private final Map<String, Object> attributes = new HashMap<>();
+
+    private final byte[] body;
+
+    /**
+     * Creates a sub-request.
+     *
+     * @param request the enclosing batch request
+     * @param method  the HTTP method of the sub-request
+     * @param path    the path of the sub-request, optionally with a query string
+     * @param headers the headers of the sub-request, may be {@code null}
+     * @param body    the body of the sub-request, may be empty
+     */
+    public BatchServletRequest(HttpServletRequest request, String method, String path, Map<String, String> headers,
+                               byte[] body) {
+        super(request);
+        int queryIndex = path.indexOf('?');
+        this.method = method;
+        this.servletPath = queryIndex < 0 ? path : path.substring(0, queryIndex);
+        this.queryString = queryIndex < 0 ? null : path.substring(queryIndex + 1);
+        this.parameters = parseQueryString(queryString);
+        this.body = body;
+        if (headers != null) {
+            this.headers.putAll(headers);
+        }
+    }
+
+    @Override
+    public String getMethod() {
+        return method;
+    }
+
+    @Override
+    public String getServletPath() {
+        return servletPath;
+    }
+
+    @Override
+    public String getPathInfo() {
+        return null;
+    }
+
+    @Override
+    public String getRequestURI() {
+        return getContextPath() + servletPath;
+    }
+
+    @Override
+    public StringBuffer getRequestURL() {
+        StringBuffer requestUrl = new StringBuffer();
+        requestUrl.append(getScheme()).append("://").append(getServerName()).append(':').append(getServerPort())
+                .append(getRequestURI());
+        return requestUrl;
+    }
+
+    @Override
+    public String getQueryString() {
+        return queryString;
+    }
+
+    @Override
+    public String getHeader(String name) {
+        String value = headers.get(name);
+        if (value != null || NOT_INHERITED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+            return value;
+        }
+        return super.getHeader(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        String value = getHeader(name);
+        return value != null ? Collections.enumeration(List.of(value)) : Collections.emptyEnumeration();
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+        Set<String> headerNames = new LinkedHashSet<>(headers.keySet());
+        Enumeration<String> inheritedHeaderNames = super.getHeaderNames();
+        while (inheritedHeaderNames != null && inheritedHeaderNames.hasMoreElements()) {
+            String headerName = inheritedHeaderNames.nextElement();
+            if (!NOT_INHERITED_HEADERS.contains(headerName.toLowerCase(Locale.ROOT))) {
+                headerNames.add(headerName);
+            }
+        }
+        return Collections.enumeration(headerNames);
+    }
+
+    @Override
+    public long getDateHeader(String name) {
+        String value = getHeader(name);
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException exception) {
+            throw new IllegalArgumentException(value, exception);
+        }
+    }
+
+    @Override
+    public int getIntHeader(String name) {
+        String value = getHeader(name);
+        return value != null ? Integer.parseInt(value) : -1;
+    }
+
+    @Override
+    public String getContentType() {
+        return getHeader("Content-Type");
+    }
+
+    @Override
+    public int getContentLength() {
+        return body.length;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return body.length;
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return StandardCharsets.UTF_8.name();
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        ByteArrayInputStream inputStream = new ByteArrayInputStream(body);
+        return new ServletInputStream() {
+
+            @Override
+            public boolean isFinished() {
+                return inputStream.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                throw new IllegalStateException("Batch sub-requests do not support non-blocking I/O");
+            }
+
+            @Override
+            public int read() {
+                return inputStream.read();
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) {
+                return inputStream.read(buffer, offset, length);
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public String getParameter(String name) {
+        String[] values = parameters.get(name);
+        return values != null ? values[0] : null;
+    }
+
+    @Override
+    public String[] getParameterValues(String name) {
+        String[] values = parameters.get(name);
+        return values != null ? values.clone() : null;
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        return Collections.unmodifiableMap(parameters);
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+        return Collections.enumeration(parameters.keySet());
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return Collections.enumeration(attributes.keySet());
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (value == null) {
+            attributes.remove(name);
+        } else {
+            attributes.put(name, value);
+        }
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        attributes.remove(name);
+    }
+
+    @Override
+    public boolean isAsyncSupported() {
+        return false;
+    }
+
+    @Override
+    public boolean isAsyncStarted() {
+        return false;
+    }
+
+    @Override
+    public AsyncContext startAsync() {
+        throw new IllegalStateException("Batch sub-requests do not support asynchronous processing");
+    }
+
+    @Override
+    public AsyncContext startAsync(ServletRequest servletRequest, ServletResponse servletResponse) {
+        throw new IllegalStateException("Batch sub-requests do not support asynchronous processing");
+    }
+
+    private static Map<String, String[]> parseQueryString(String queryString) {
+        if (queryString == null || queryString.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, List<String>> parameterValues = new LinkedHashMap<>();
+        for (String pair : queryString.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int separatorIndex = pair.indexOf('=');
+            String name = URLDecoder.decode(separatorIndex < 0 ? pair : pair.substring(0, separatorIndex),
+                    StandardCharsets.UTF_8);
+            String value = separatorIndex < 0 ? "" : URLDecoder.decode(pair.substring(separatorIndex + 1),
+                    StandardCharsets.UTF_8);
+            parameterValues.computeIfAbsent(name, key -> new ArrayList<>(1)).add(value);
+        }
+
+        Map<String, String[]> parameters = new LinkedHashMap<>();
+        parameterValues.forEach((name, values) -> parameters.put(name, values.toArray(String[]::new)));
+        return parameters;
+    }
+}
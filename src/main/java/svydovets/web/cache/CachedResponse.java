@@ -0,0 +1,91 @@
+package svydovets.web.cache;
+
+import jakarta.servlet.http.HttpServletResponse;
+import svydovets.web.dto.HttpHeaders;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serialized response of a controller method held by the {@link ResponseCacheStore}, together with its status,
+ * headers and content type. The entity tag and the last modification date are extracted once, when the response is
+ * cached, so conditional requests for cached responses are answered without parsing the headers again.
+ *
+ * @param status       the response status
+ * @param headers      the response headers
+ * @param contentType  the response content type, or {@code null} for the default one
+ * @param body         the serialized response body
+ * @param eTag         the entity tag, or {@code null}
+ * @param lastModified the last modification date in milliseconds since the epoch, or {@code -1}
+ */
+public record CachedResponse(int status, Map<String, String> headers, String contentType, byte[] body,
+                             String eTag, long lastModified) {
+
+    /**
+     * Captures the status, headers and content type of the response with the serialized body.
+     *
+     * @param response the HTTP response
+     * @param body     the serialized response body
+     * @return the cached response
+     */
+    public static CachedResponse of(HttpServletResponse response, byte[] body) {
+        return of(response, body, List.of());
+    }
+
+    /**
+     * Captures the status, headers and content type of the response with the serialized body, leaving out the
+     * given headers, such as the ones specific to the request the response was written for.
+     *
+     * @param response            the HTTP response
+     * @param body                the serialized response body
+     * @param excludedHeaderNames the names of the headers that are not captured
+     * @return the cached response
+     */
+    public static CachedResponse of(HttpServletResponse response, byte[] body, Collection<String> excludedHeaderNames) {
+        HttpHeaders httpHeaders = new HttpHeaders(new LinkedHashMap<>());
+        for (String headerName : response.getHeaderNames()) {
+            if (!excludedHeaderNames.contains(headerName)) {
+                httpHeaders.setHeader(headerName, response.getHeader(headerName));
+            }
+        }
+
+        return new CachedResponse(response.getStatus(), Map.copyOf(httpHeaders.getHeaders()),
+                response.getContentType(), body, httpHeaders.getETag(), httpHeaders.getLastModified());
+    }
+
+    /**
+     * Creates a response prepared once, such as the response an interceptor short-circuits requests with.
+     *
+     * @param status      the response status
+     * @param headers     the response headers
+     * @param contentType the response content type, or {@code null} for the default one
+     * @param body        the serialized response body
+     * @return the cached response
+     */
+    public static CachedResponse of(int status, Map<String, String> headers, String contentType, byte[] body) {
+        HttpHeaders httpHeaders = new HttpHeaders(new LinkedHashMap<>(headers));
+        return new CachedResponse(status, Map.copyOf(headers), contentType, body, httpHeaders.getETag(),
+                httpHeaders.getLastModified());
+    }
+
+    /**
+     * Writes the status, headers, content type and body to the response, with {@code Content-Length}.
+     *
+     * @param response the HTTP response
+     * @return the number of body bytes written
+     * @throws IOException if an I/O error occurs
+     */
+    public long writeTo(HttpServletResponse response) throws IOException {
+        response.setStatus(status);
+        headers.forEach(response::setHeader);
+        if (contentType != null) {
+            response.setContentType(contentType);
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+        return body.length;
+    }
+}
@@ -0,0 +1,167 @@
+package svydovets.web.cache;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded in-memory cache of the serialized responses of one controller method.
+ *
+ * <p>Entries are evicted in least recently used order once the cache holds {@code maxEntries} responses, and expire
+ * {@code ttlNanos} after they are cached. The cache is guarded by a {@link ReentrantLock} rather than a
+ * {@code synchronized} block, so requests running on virtual threads do not pin their carrier threads while they
+ * wait for it. Hits, misses and evictions are counted with {@link LongAdder}s.
+ *
+ * @see svydovets.web.annotation.ResponseCache
+ */
+public class ResponseCacheStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseCacheStore.class);
+
+    private final long ttlNanos;
+
+    private final int maxEntries;
+
+    private final String[] queryParams;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    private final Map<String, Entry> entries;
+
+    /**
+     * Creates a response cache.
+     *
+     * @param ttlNanos    the time to live of a cached response in nanoseconds
+     * @param maxEntries  the maximum number of cached responses
+     * @param queryParams the names of the query parameters that are part of the cache key
+     */
+    public ResponseCacheStore(long ttlNanos, int maxEntries, String[] queryParams) {
+        this.ttlNanos = ttlNanos;
+        this.maxEntries = maxEntries;
+        this.queryParams = queryParams.clone();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                boolean evict = size() > ResponseCacheStore.this.maxEntries;
+                if (evict) {
+                    evictionCount.increment();
+                }
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * Creates the cache key of the request from its path and the values of the selected query parameters.
+     *
+     * @param request the HTTP request
+     * @return the cache key
+     */
+    public String createKey(HttpServletRequest request) {
+        String servletPath = request.getServletPath();
+        if (queryParams.length == 0) {
+            return servletPath;
+        }
+
+        StringBuilder key = new StringBuilder(servletPath);
+        for (int i = 0; i < queryParams.length; i++) {
+            key.append(i == 0 ? '?' : '&').append(queryParams[i]).append('=');
+            String value = request.getParameter(queryParams[i]);
+            if (value != null) {
+                key.append(value);
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Returns the cached response of the key unless it has expired.
+     *
+     * @param key the cache key
+     * @return the cached response, or {@code null} on a miss
+     */
+    public CachedResponse get(String key) {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry != null && now - entry.expiresAt() >= 0) {
+                entries.remove(key);
+                entry = null;
+            }
+
+            if (entry == null) {
+                missCount.increment();
+                return null;
+            }
+            hitCount.increment();
+            return entry.response();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Caches the response under the key, evicting the least recently used response if the cache is full.
+     *
+     * @param key      the cache key
+     * @param response the serialized response
+     */
+    public void put(String key, CachedResponse response) {
+        log.trace("Call put({})", key);
+        Entry entry = new Entry(response, System.nanoTime() + ttlNanos);
+        lock.lock();
+        try {
+            entries.put(key, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all cached responses.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    private record Entry(CachedResponse response, long expiresAt) {
+    }
+}
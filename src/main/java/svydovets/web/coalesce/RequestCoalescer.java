@@ -0,0 +1,267 @@
+package svydovets.web.coalesce;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import svydovets.util.ErrorMessageConstants;
+import svydovets.web.annotation.Coalesce;
+import svydovets.web.annotation.GetMapping;
+import svydovets.web.cache.CachedResponse;
+import svydovets.web.exception.RequestCoalescerCreationException;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coalesces identical concurrent requests to one controller method, so that the method is invoked once per set of
+ * resolved arguments at a time.
+ *
+ * <p>The first request for the arguments {@link #join joins} as the leader of a new {@link Flight} and invokes the
+ * method. The requests with equal arguments that arrive while the flight is in progress join it as followers and
+ * {@link Flight#await wait} for the response the leader {@link Flight#share shares}. The flight is removed before
+ * its response is published, so a later request starts a new flight rather than getting a stale response. A leader
+ * that cannot share its response {@link Flight#abandon abandons} the flight and its followers invoke the method
+ * themselves.
+ *
+ * @see Coalesce
+ */
+public class RequestCoalescer {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestCoalescer.class);
+
+    private final long timeoutNanos;
+
+    private final ConcurrentHashMap<Key, Flight> flights = new ConcurrentHashMap<>();
+
+    private final LongAdder coalescedCount = new LongAdder();
+
+    private final LongAdder timeoutCount = new LongAdder();
+
+    /**
+     * Creates a request coalescer.
+     *
+     * @param timeoutNanos the maximum time a follower waits for the response in nanoseconds
+     */
+    public RequestCoalescer(long timeoutNanos) {
+        this.timeoutNanos = timeoutNanos;
+    }
+
+    /**
+     * Creates the request coalescer of the controller method annotated with {@link Coalesce}.
+     *
+     * @param method   the controller method
+     * @param coalesce the annotation of the method
+     * @return the request coalescer
+     * @throws RequestCoalescerCreationException if the method is not a GET method, or declares parameters specific to
+     *                                           every request
+     */
+    public static RequestCoalescer of(Method method, Coalesce coalesce) {
+        log.trace("Call of({})", method);
+        if (!method.isAnnotationPresent(GetMapping.class)) {
+            throw unsupportedMethodException(method, "not a GET method");
+        }
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            if (ServletRequest.class.isAssignableFrom(parameterType)
+                    || ServletResponse.class.isAssignableFrom(parameterType)) {
+                throw unsupportedMethodException(method, "parameter of type " + parameterType.getName());
+            }
+        }
+
+        return new RequestCoalescer(coalesce.timeUnit().toNanos(coalesce.timeout()));
+    }
+
+    /**
+     * Joins the flight of the arguments in progress as a follower, or starts a new flight as its leader.
+     *
+     * @param arguments the resolved arguments of the controller method, which are copied as the array may be reused
+     * @param response  the response of the request, whose headers set so far are not shared with the followers
+     * @return the flight
+     */
+    public Flight join(Object[] arguments, HttpServletResponse response) {
+        Key key = new Key(arguments.clone());
+        CompletableFuture<CachedResponse> sharedResponse = new CompletableFuture<>();
+        Flight flight = new Flight(key, sharedResponse, response);
+        Flight inFlight = flights.putIfAbsent(key, flight);
+        if (inFlight == null) {
+            return flight;
+        }
+
+        coalescedCount.increment();
+        return new Flight(key, inFlight.sharedResponse, null);
+    }
+
+    public long getTimeoutMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(timeoutNanos);
+    }
+
+    /**
+     * Returns the number of flights in progress.
+     *
+     * @return the number of flights in progress
+     */
+    public int size() {
+        return flights.size();
+    }
+
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount.sum();
+    }
+
+    private static RequestCoalescerCreationException unsupportedMethodException(Method method, String reason) {
+        String errorMessage = String.format(ErrorMessageConstants.UNSUPPORTED_COALESCED_METHOD, method, reason);
+        log.error(errorMessage);
+        return new RequestCoalescerCreationException(errorMessage);
+    }
+
+    /**
+     * The invocation of the controller method for one set of arguments, as seen by its leader or by one of its
+     * followers.
+     */
+    public final class Flight {
+
+        private final Key key;
+
+        private final CompletableFuture<CachedResponse> sharedResponse;
+
+        private final Collection<String> leaderHeaderNames;
+
+        private Flight(Key key, CompletableFuture<CachedResponse> sharedResponse, HttpServletResponse response) {
+            this.key = key;
+            this.sharedResponse = sharedResponse;
+            this.leaderHeaderNames = response != null ? List.copyOf(response.getHeaderNames()) : null;
+        }
+
+        /**
+         * Checks whether the request leads the flight and invokes the controller method.
+         *
+         * @return true for the leader, false for a follower
+         */
+        public boolean isLeader() {
+            return leaderHeaderNames != null;
+        }
+
+        /**
+         * Shares the response of the leader with the followers: its status, content type, serialized body and the
+         * headers set since the leader joined.
+         *
+         * @param response the response of the leader
+         * @param body     the serialized response body
+         */
+        public void share(HttpServletResponse response, byte[] body) {
+            complete(CachedResponse.of(response, body, leaderHeaderNames));
+        }
+
+        /**
+         * Completes the flight without a response, so the followers invoke the controller method themselves. Has no
+         * effect once the flight is complete.
+         */
+        public void abandon() {
+            complete(null);
+        }
+
+        /**
+         * Waits for the response of the leader.
+         *
+         * @return the shared response, or {@code null} if the leader abandoned the flight
+         * @throws InterruptedException if the thread is interrupted while waiting
+         * @throws TimeoutException     if the leader does not complete the flight within the timeout
+         */
+        public CachedResponse await() throws InterruptedException, TimeoutException {
+            try {
+                return sharedResponse.get(timeoutNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException exception) {
+                timeoutCount.increment();
+                throw exception;
+            } catch (ExecutionException exception) {
+                return null;
+            }
+        }
+
+        /**
+         * Creates the listener that abandons the flight once an asynchronous request is complete, in case the leader
+         * did not complete it, such as when the request timed out.
+         *
+         * @return the async listener
+         */
+        public AsyncListener createAsyncListener() {
+            return new AbandonListener();
+        }
+
+        private void complete(CachedResponse response) {
+            if (!isLeader()) {
+                return;
+            }
+
+            flights.remove(key, this);
+            sharedResponse.complete(response);
+        }
+
+        /**
+         * Abandons the flight once the asynchronous request of its leader is complete.
+         */
+        private class AbandonListener implements AsyncListener {
+
+            @Override
+            public void onComplete(AsyncEvent event) {
+                abandon();
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                abandon();
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                abandon();
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+                // The listener is registered after the request has been put into asynchronous mode
+            }
+        }
+    }
+
+    /**
+     * Resolved arguments of the controller method, compared element by element.
+     */
+    private static final class Key {
+
+        private final Object[] arguments;
+
+        private final int hash;
+
+        private Key(Object[] arguments) {
+            this.arguments = arguments;
+            this.hash = Arrays.deepHashCode(arguments);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || (other instanceof Key key && hash == key.hash
+                    && Arrays.deepEquals(arguments, key.arguments));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
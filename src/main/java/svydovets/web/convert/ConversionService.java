@@ -0,0 +1,61 @@
+package svydovets.web.convert;
+
+import static svydovets.util.ErrorMessageConstants.NO_CONVERTER_FOUND;
+
+/**
+ * Service that converts request values, such as path variables and request parameters, to the types of controller
+ * method parameters.
+ *
+ * <p>Converters are looked up by the (source type, target type) pair once per controller method parameter, when the
+ * route is registered, so converting a request value is a single call of the resolved {@link Converter} without any
+ * per-request type dispatch. The dispatcher converts with a {@link DefaultConversionService}, to which the beans
+ * implementing this interface are added, ahead of the built-in converters, together with the beans implementing
+ * {@link Converter}.
+ *
+ * @see DefaultConversionService
+ */
+public interface ConversionService {
+
+    /**
+     * Checks whether values of the source type can be converted to the target type.
+     *
+     * @param sourceType the source type
+     * @param targetType the target type
+     * @return true if a converter is available
+     */
+    boolean canConvert(Class<?> sourceType, Class<?> targetType);
+
+    /**
+     * Returns the converter from the source type to the target type.
+     *
+     * @param sourceType the source type
+     * @param targetType the target type
+     * @param <S>        the source type
+     * @param <T>        the target type
+     * @return the converter, or {@code null} if values of the source type cannot be converted to the target type
+     */
+    <S, T> Converter<S, T> getConverter(Class<S> sourceType, Class<T> targetType);
+
+    /**
+     * Converts the source object to the target type.
+     *
+     * @param source     the source object
+     * @param targetType the target type
+     * @param <T>        the target type
+     * @return the converted object, or {@code null} if the source is {@code null}
+     * @throws IllegalArgumentException if no converter is available or the conversion fails
+     */
+    @SuppressWarnings("unchecked")
+    default <T> T convert(Object source, Class<T> targetType) {
+        if (source == null) {
+            return null;
+        }
+
+        Converter<Object, T> converter = getConverter((Class<Object>) source.getClass(), targetType);
+        if (converter == null) {
+            throw new IllegalArgumentException(String.format(NO_CONVERTER_FOUND,
+                    source.getClass(), targetType));
+        }
+        return converter.convert(source);
+    }
+}
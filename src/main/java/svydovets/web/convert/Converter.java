@@ -0,0 +1,21 @@
+package svydovets.web.convert;
+
+/**
+ * Converts a source object of type {@code S} to a target of type {@code T}.
+ *
+ * @param <S> the source type
+ * @param <T> the target type
+ * @see ConversionService
+ */
+@FunctionalInterface
+public interface Converter<S, T> {
+
+    /**
+     * Converts the source object.
+     *
+     * @param source the source object, never {@code null}
+     * @return the converted object
+     * @throws IllegalArgumentException if the source cannot be converted to the target type
+     */
+    T convert(S source);
+}
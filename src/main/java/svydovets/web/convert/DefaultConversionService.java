@@ -0,0 +1,156 @@
+package svydovets.web.convert;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static svydovets.util.ErrorMessageConstants.INVALID_CHARACTER_VALUE;
+import static svydovets.util.ErrorMessageConstants.UNRESOLVABLE_CONVERTER_TYPES;
+
+/**
+ * Default {@link ConversionService} holding converters registered per (source type, target type) pair.
+ *
+ * <p>Out of the box, strings are converted to primitives and their wrappers, {@link String}, {@link UUID},
+ * {@link BigDecimal}, {@link BigInteger}, the common {@code java.time} types (ISO-8601 formats) and any enum type.
+ * Enum converters are created with their lookup tables on the first request for the enum type and cached with the
+ * registered converters. Additional converters are registered with {@link #addConverter}, and other conversion
+ * services with {@link #addConversionService}; they are consulted before the registered converters, in the order
+ * they were added.
+ *
+ * @see EnumConverter
+ */
+public class DefaultConversionService implements ConversionService {
+
+    private static final Logger log = LoggerFactory.getLogger(DefaultConversionService.class);
+
+    private final Map<ConvertiblePair, Converter<?, ?>> converters = new ConcurrentHashMap<>();
+
+    private final List<ConversionService> conversionServices = new CopyOnWriteArrayList<>();
+
+    public DefaultConversionService() {
+        addConverter(String.class, String.class, value -> value);
+        addConverter(String.class, Long.class, Long::valueOf);
+        addConverter(String.class, long.class, Long::valueOf);
+        addConverter(String.class, Integer.class, Integer::valueOf);
+        addConverter(String.class, int.class, Integer::valueOf);
+        addConverter(String.class, Short.class, Short::valueOf);
+        addConverter(String.class, short.class, Short::valueOf);
+        addConverter(String.class, Byte.class, Byte::valueOf);
+        addConverter(String.class, byte.class, Byte::valueOf);
+        addConverter(String.class, Float.class, Float::valueOf);
+        addConverter(String.class, float.class, Float::valueOf);
+        addConverter(String.class, Double.class, Double::valueOf);
+        addConverter(String.class, double.class, Double::valueOf);
+        addConverter(String.class, Boolean.class, Boolean::valueOf);
+        addConverter(String.class, boolean.class, Boolean::valueOf);
+        addConverter(String.class, Character.class, DefaultConversionService::toCharacter);
+        addConverter(String.class, char.class, DefaultConversionService::toCharacter);
+        addConverter(String.class, BigDecimal.class, BigDecimal::new);
+        addConverter(String.class, BigInteger.class, BigInteger::new);
+        addConverter(String.class, UUID.class, UUID::fromString);
+        addConverter(String.class, LocalDate.class, LocalDate::parse);
+        addConverter(String.class, LocalDateTime.class, LocalDateTime::parse);
+        addConverter(String.class, LocalTime.class, LocalTime::parse);
+        addConverter(String.class, Instant.class, Instant::parse);
+        addConverter(String.class, OffsetDateTime.class, OffsetDateTime::parse);
+        addConverter(String.class, ZonedDateTime.class, ZonedDateTime::parse);
+        addConverter(String.class, Duration.class, Duration::parse);
+    }
+
+    /**
+     * Registers the converter for the (source type, target type) pair, replacing the converter registered before.
+     *
+     * @param sourceType the source type
+     * @param targetType the target type
+     * @param converter  the converter
+     * @param <S>        the source type
+     * @param <T>        the target type
+     */
+    public <S, T> void addConverter(Class<S> sourceType, Class<T> targetType, Converter<? super S, ? extends T> converter) {
+        converters.put(new ConvertiblePair(sourceType, targetType), converter);
+    }
+
+    /**
+     * Registers the converter for the source and target types it declares as the type arguments of {@link Converter},
+     * replacing the converter registered before.
+     *
+     * @param converter the converter, implemented by a class that declares its type arguments
+     * @throws IllegalArgumentException if the source and target types cannot be resolved, such as for a lambda
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void addConverter(Converter<?, ?> converter) {
+        for (Class<?> type = converter.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Type genericInterface : type.getGenericInterfaces()) {
+                if (genericInterface instanceof ParameterizedType parameterizedType
+                        && parameterizedType.getRawType() == Converter.class
+                        && parameterizedType.getActualTypeArguments()[0] instanceof Class<?> sourceType
+                        && parameterizedType.getActualTypeArguments()[1] instanceof Class<?> targetType) {
+                    addConverter((Class) sourceType, (Class) targetType, (Converter) converter);
+                    return;
+                }
+            }
+        }
+
+        throw new IllegalArgumentException(String.format(UNRESOLVABLE_CONVERTER_TYPES, converter.getClass().getName()));
+    }
+
+    /**
+     * Adds the conversion service, whose converters take precedence over the registered converters.
+     *
+     * @param conversionService the conversion service
+     */
+    public void addConversionService(ConversionService conversionService) {
+        conversionServices.add(conversionService);
+    }
+
+    @Override
+    public boolean canConvert(Class<?> sourceType, Class<?> targetType) {
+        return getConverter(sourceType, targetType) != null;
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <S, T> Converter<S, T> getConverter(Class<S> sourceType, Class<T> targetType) {
+        log.trace("Call getConverter({}, {})", sourceType, targetType);
+        for (ConversionService conversionService : conversionServices) {
+            Converter<S, T> converter = conversionService.getConverter(sourceType, targetType);
+            if (converter != null) {
+                return converter;
+            }
+        }
+
+        ConvertiblePair convertiblePair = new ConvertiblePair(sourceType, targetType);
+        Converter<?, ?> converter = converters.get(convertiblePair);
+        if (converter == null && sourceType == String.class && targetType.isEnum()) {
+            converter = converters.computeIfAbsent(convertiblePair, pair -> new EnumConverter(targetType));
+        }
+
+        return (Converter<S, T>) converter;
+    }
+
+    private static char toCharacter(String value) {
+        if (value.length() != 1) {
+            throw new IllegalArgumentException(String.format(INVALID_CHARACTER_VALUE, value));
+        }
+        return value.charAt(0);
+    }
+
+    private record ConvertiblePair(Class<?> sourceType, Class<?> targetType) {
+    }
+}
@@ -0,0 +1,45 @@
+package svydovets.web.convert;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static svydovets.util.ErrorMessageConstants.NO_ENUM_CONSTANT;
+
+/**
+ * Converts strings to the constants of an enum type using lookup tables built once for the enum type.
+ *
+ * <p>The value is looked up by the exact constant name first and then case-insensitively, without the linear scan
+ * and the exception that {@link Enum#valueOf} performs for unknown names.
+ *
+ * @param <E> the enum type
+ */
+public final class EnumConverter<E extends Enum<E>> implements Converter<String, E> {
+
+    private final Class<E> enumType;
+
+    private final Map<String, E> constantsByName = new HashMap<>();
+
+    private final Map<String, E> constantsByUpperCaseName = new HashMap<>();
+
+    public EnumConverter(Class<E> enumType) {
+        this.enumType = enumType;
+        for (E constant : enumType.getEnumConstants()) {
+            constantsByName.put(constant.name(), constant);
+            constantsByUpperCaseName.putIfAbsent(constant.name().toUpperCase(Locale.ROOT), constant);
+        }
+    }
+
+    @Override
+    public E convert(String source) {
+        E constant = constantsByName.get(source);
+        if (constant == null) {
+            constant = constantsByUpperCaseName.get(source.trim().toUpperCase(Locale.ROOT));
+        }
+        if (constant == null) {
+            throw new IllegalArgumentException(String.format(NO_ENUM_CONSTANT,
+                    enumType.getName(), source));
+        }
+        return constant;
+    }
+}
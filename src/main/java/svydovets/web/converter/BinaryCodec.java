@@ -0,0 +1,376 @@
+package svydovets.web.converter;
+
+import svydovets.util.ErrorMessageConstants;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Encoder and decoder of the values of one type in the binary format of {@link BinaryMessageConverter}.
+ *
+ * <p>Every codec can compute the encoded size of a value up front, so messages are prefixed with the length of their
+ * payload without being buffered first.
+ *
+ * @see BinaryCodecFactory
+ */
+abstract class BinaryCodec {
+
+    /**
+     * Upper bound of the capacity allocated up front for a decoded collection or array, since its length comes from
+     * the untrusted body. Longer ones grow as their elements are actually read.
+     */
+    static final int MAX_INITIAL_CAPACITY = 1024;
+
+    abstract long size(Object value);
+
+    abstract void write(BinaryOutput output, Object value) throws IOException;
+
+    abstract Object read(BinaryInput input) throws IOException;
+
+    /**
+     * Value that is preceded by a presence byte, used for boxed and other nullable fixed-size values.
+     */
+    static final class NullableCodec extends BinaryCodec {
+
+        private final BinaryCodec codec;
+
+        NullableCodec(BinaryCodec codec) {
+            this.codec = codec;
+        }
+
+        @Override
+        long size(Object value) {
+            return value == null ? 1 : 1 + codec.size(value);
+        }
+
+        @Override
+        void write(BinaryOutput output, Object value) throws IOException {
+            if (value == null) {
+                output.writeByte(0);
+            } else {
+                output.writeByte(1);
+                codec.write(output, value);
+            }
+        }
+
+        @Override
+        Object read(BinaryInput input) throws IOException {
+            return input.readByte() == 0 ? null : codec.read(input);
+        }
+    }
+
+    /**
+     * Length-prefixed collection, with {@code 0} for {@code null} and the element count plus one otherwise.
+     */
+    static final class CollectionCodec extends BinaryCodec {
+
+        private final BinaryCodec elementCodec;
+
+        private final IntFunction<Collection<Object>> collectionFactory;
+
+        CollectionCodec(BinaryCodec elementCodec, IntFunction<Collection<Object>> collectionFactory) {
+            this.elementCodec = elementCodec;
+            this.collectionFactory = collectionFactory;
+        }
+
+        @Override
+        long size(Object value) {
+            if (value == null) {
+                return 1;
+            }
+
+            Collection<?> collection = (Collection<?>) value;
+            long size = BinaryOutput.varintSize(collection.size() + 1L);
+            for (Object element : collection) {
+                size += elementCodec.size(element);
+            }
+            return size;
+        }
+
+        @Override
+        void write(BinaryOutput output, Object value) throws IOException {
+            if (value == null) {
+                output.writeVarint(0);
+                return;
+            }
+
+            Collection<?> collection = (Collection<?>) value;
+            output.writeVarint(collection.size() + 1L);
+            for (Object element : collection) {
+                elementCodec.write(output, element);
+            }
+        }
+
+        @Override
+        Object read(BinaryInput input) throws IOException {
+            int length = input.readLength();
+            if (length == 0) {
+                return null;
+            }
+
+            Collection<Object> collection = collectionFactory.apply(Math.min(length - 1, MAX_INITIAL_CAPACITY));
+            for (int i = 1; i < length; i++) {
+                collection.add(elementCodec.read(input));
+            }
+            return collection;
+        }
+    }
+
+    /**
+     * Length-prefixed array of any component type except {@code byte}, which is encoded as raw bytes. The array is
+     * grown while its elements are read, so a corrupt length fails with the end of the body instead of allocating it.
+     */
+    static final class ArrayCodec extends BinaryCodec {
+
+        private final Class<?> componentType;
+
+        private final BinaryCodec elementCodec;
+
+        ArrayCodec(Class<?> componentType, BinaryCodec elementCodec) {
+            this.componentType = componentType;
+            this.elementCodec = elementCodec;
+        }
+
+        @Override
+        long size(Object value) {
+            if (value == null) {
+                return 1;
+            }
+
+            int length = Array.getLength(value);
+            long size = BinaryOutput.varintSize(length + 1L);
+            for (int i = 0; i < length; i++) {
+                size += elementCodec.size(Array.get(value, i));
+            }
+            return size;
+        }
+
+        @Override
+        void write(BinaryOutput output, Object value) throws IOException {
+            if (value == null) {
+                output.writeVarint(0);
+                return;
+            }
+
+            int length = Array.getLength(value);
+            output.writeVarint(length + 1L);
+            for (int i = 0; i < length; i++) {
+                elementCodec.write(output, Array.get(value, i));
+            }
+        }
+
+        @Override
+        Object read(BinaryInput input) throws IOException {
+            int length = input.readLength();
+            if (length == 0) {
+                return null;
+            }
+
+            int arrayLength = length - 1;
+            Object array = Array.newInstance(componentType, Math.min(arrayLength, MAX_INITIAL_CAPACITY));
+            for (int i = 0; i < arrayLength; i++) {
+                int capacity = Array.getLength(array);
+                if (i == capacity) {
+                    Object grownArray = Array.newInstance(componentType,
+                            (int) Math.min(arrayLength, capacity * 2L));
+                    System.arraycopy(array, 0, grownArray, 0, capacity);
+                    array = grownArray;
+                }
+                Array.set(array, i, elementCodec.read(input));
+            }
+            return array;
+        }
+    }
+
+    /**
+     * Length-prefixed map of alternating keys and values.
+     */
+    static final class MapCodec extends BinaryCodec {
+
+        private final BinaryCodec keyCodec;
+
+        private final BinaryCodec valueCodec;
+
+        MapCodec(BinaryCodec keyCodec, BinaryCodec valueCodec) {
+            this.keyCodec = keyCodec;
+            this.valueCodec = valueCodec;
+        }
+
+        @Override
+        long size(Object value) {
+            if (value == null) {
+                return 1;
+            }
+
+            Map<?, ?> map = (Map<?, ?>) value;
+            long size = BinaryOutput.varintSize(map.size() + 1L);
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                size += keyCodec.size(entry.getKey()) + valueCodec.size(entry.getValue());
+            }
+            return size;
+        }
+
+        @Override
+        void write(BinaryOutput output, Object value) throws IOException {
+            if (value == null) {
+                output.writeVarint(0);
+                return;
+            }
+
+            Map<?, ?> map = (Map<?, ?>) value;
+            output.writeVarint(map.size() + 1L);
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                keyCodec.write(output, entry.getKey());
+                valueCodec.write(output, entry.getValue());
+            }
+        }
+
+        @Override
+        Object read(BinaryInput input) throws IOException {
+            int length = input.readLength();
+            if (length == 0) {
+                return null;
+            }
+
+            Map<Object, Object> map = new LinkedHashMap<>();
+            for (int i = 1; i < length; i++) {
+                map.put(keyCodec.read(input), valueCodec.read(input));
+            }
+            return map;
+        }
+    }
+
+    /**
+     * Record or bean encoded as its payload length plus one, with {@code 0} for {@code null}, followed by its
+     * properties in declaration order. A reader stops at the end of the payload, so properties appended to the
+     * message by a newer writer are skipped, and properties missing from the payload of an older writer keep their
+     * default values.
+     */
+    static final class MessageCodec extends BinaryCodec {
+
+        private final Class<?> type;
+
+        private Property[] properties;
+
+        private Object[] defaultValues;
+
+        private Instantiator instantiator;
+
+        MessageCodec(Class<?> type) {
+            this.type = type;
+        }
+
+        /**
+         * Completes the codec once its properties are resolved; properties may refer back to this codec.
+         *
+         * @param properties    the properties in declaration order
+         * @param defaultValues the default value of every property
+         * @param instantiator  creates the message from the property values, or {@code null} if it cannot be read
+         */
+        void initialize(Property[] properties, Object[] defaultValues, Instantiator instantiator) {
+            this.properties = properties;
+            this.defaultValues = defaultValues;
+            this.instantiator = instantiator;
+        }
+
+        @Override
+        long size(Object value) {
+            if (value == null) {
+                return 1;
+            }
+
+            long payloadSize = payloadSize(value);
+            return BinaryOutput.varintSize(payloadSize + 1) + payloadSize;
+        }
+
+        @Override
+        void write(BinaryOutput output, Object value) throws IOException {
+            if (value == null) {
+                output.writeVarint(0);
+                return;
+            }
+
+            output.writeVarint(payloadSize(value) + 1);
+            for (Property property : properties) {
+                property.codec().write(output, property.get(value));
+            }
+        }
+
+        @Override
+        Object read(BinaryInput input) throws IOException {
+            long length = input.readVarint();
+            if (length == 0) {
+                return null;
+            } else if (instantiator == null) {
+                throw new IOException(String.format(ErrorMessageConstants.UNSUPPORTED_BINARY_TYPE, type));
+            }
+
+            long end = input.position() + length - 1;
+            Object[] values = defaultValues.clone();
+            input.enterMessage();
+            try {
+                for (int i = 0; i < properties.length && input.position() < end; i++) {
+                    values[i] = properties[i].codec().read(input);
+                }
+            } finally {
+                input.exitMessage();
+            }
+
+            long remaining = end - input.position();
+            if (remaining < 0) {
+                throw new IOException(ErrorMessageConstants.MALFORMED_BINARY_BODY);
+            }
+            input.skip(remaining);
+
+            try {
+                return instantiator.instantiate(values);
+            } catch (RuntimeException | Error exception) {
+                throw exception;
+            } catch (Throwable throwable) {
+                throw new IOException(throwable);
+            }
+        }
+
+        private long payloadSize(Object value) {
+            long payloadSize = 0;
+            for (Property property : properties) {
+                payloadSize += property.codec().size(property.get(value));
+            }
+            return payloadSize;
+        }
+    }
+
+    /**
+     * Creates a message from the values of its properties.
+     */
+    @FunctionalInterface
+    interface Instantiator {
+
+        Object instantiate(Object[] values) throws Throwable;
+    }
+
+    /**
+     * Property of a message with the getter handle of type {@code (Object)Object}.
+     *
+     * @param name   the property name
+     * @param getter the getter handle
+     * @param codec  the codec of the property type
+     */
+    record Property(String name, MethodHandle getter, BinaryCodec codec) {
+
+        Object get(Object message) {
+            try {
+                return getter.invokeExact(message);
+            } catch (RuntimeException | Error exception) {
+                throw exception;
+            } catch (Throwable throwable) {
+                throw new IllegalStateException(throwable);
+            }
+        }
+    }
+}
@@ -0,0 +1,598 @@
+package svydovets.web.converter;
+
+import svydovets.util.ErrorMessageConstants;
+import svydovets.web.converter.BinaryCodec.ArrayCodec;
+import svydovets.web.converter.BinaryCodec.CollectionCodec;
+import svydovets.web.converter.BinaryCodec.Instantiator;
+import svydovets.web.converter.BinaryCodec.MapCodec;
+import svydovets.web.converter.BinaryCodec.MessageCodec;
+import svydovets.web.converter.BinaryCodec.NullableCodec;
+import svydovets.web.converter.BinaryCodec.Property;
+import svydovets.web.exception.UnsupportedTypeException;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Generates the {@link BinaryCodec}s of Java types from their declarations.
+ *
+ * <p>Scalars, strings, enums, {@link UUID}, {@link Instant}, {@link LocalDate}, {@link LocalDateTime},
+ * {@link BigDecimal}, {@link BigInteger}, arrays, {@link List}s, {@link Set}s, {@link Collection}s and {@link Map}s are
+ * encoded directly. Records are encoded by their components, other classes by their non-static, non-transient fields
+ * including the inherited ones; generic records and classes are supported when their type arguments are concrete.
+ * Properties are encoded by their declared type, so the binary format is not polymorphic, and types that cannot be
+ * resolved statically, such as {@link Object} or interfaces, are not supported. Beans are decoded only when they have
+ * a no-argument constructor.
+ *
+ * <p>Message codecs are generated once per type and cached; codecs of recursive types refer to themselves.
+ */
+final class BinaryCodecFactory {
+
+    private static final BinaryCodec BOOLEAN_CODEC = new BinaryCodec() {
+        @Override
+        long size(Object value) {
+            return 1;
+        }
+
+        @Override
+        void write(BinaryOutput output, Object value) throws IOException {
+            output.writeByte((Boolean) value ? 1 : 0);
+        }
+
+        @Override
+        Object read(BinaryInput input) throws IOException {
+            return input.readByte() != 0;
+        }
+    };
+
+    private static final BinaryCodec INT_CODEC = new BinaryCodec() {
+        @Override
+        long size(Object value) {
+            return BinaryOutput.varintSize(BinaryOutput.zigzag(((Number) value).intValue()));
+        }
+
+        @Override
+        void write(BinaryOutput output, Object value) throws IOException {
+            output.writeVarint(BinaryOutput.zigzag(((Number) value).intValue()));
+        }
+
+        @Override
+        Object read(BinaryInput input) throws IOException {
+            return (int) BinaryInput.unzigzag(input.readVarint());
+        }
+    };
+
+    private static final BinaryCodec LONG_CODEC = new BinaryCodec() {
+        @Override
+        long size(Object value) {
+            return BinaryOutput.varintSize(BinaryOutput.zigzag((Long) value));
+        }
+
+        @Override
+        void write(BinaryOutput output, Object value) throws IOException {
+            output.writeVarint(BinaryOutput.zigzag((Long) value));
+        }
+
+        @Override
+        Object read(BinaryInput input) throws IOException {
+            return BinaryInput.unzigzag(input.readVarint());
+        }
+    };
+
+    private static final BinaryCodec SHORT_CODEC = new MappedCodec(INT_CODEC, Function.identity(),
+            value -> ((Integer) value).shortValue());
+
+    private static final BinaryCodec BYTE_CODEC = new MappedCodec(INT_CODEC, Function.identity(),
+            value -> ((Integer) value).byteValue());
+
+    private static final BinaryCodec CHAR_CODEC = new MappedCodec(INT_CODEC, value -> (int) (Character) value,
+            value -> (char) (int) (Integer) value);
+
+    private static final BinaryCodec FLOAT_CODEC = new BinaryCodec() {
+        @Override
+        long size(Object value) {
+            return Float.BYTES;
+        }
+
+        @Override
+        void write(BinaryOutput output, Object value) throws IOException {
+            output.writeFixed32(Float.floatToIntBits((Float) value));
+        }
+
+        @Override
+        Object read(BinaryInput input) throws IOException {
+            return Float.intBitsToFloat(input.readFixed32());
+        }
+    };
+
+    private static final BinaryCodec DOUBLE_CODEC = new BinaryCodec() {
+        @Override
+        long size(Object value) {
+            return Double.BYTES;
+        }
+
+        @Override
+        void write(BinaryOutput output, Object value) throws IOException {
+            output.writeFixed64(Double.doubleToLongBits((Double) value));
+        }
+
+        @Override
+        Object read(BinaryInput input) throws IOException {
+            return Double.longBitsToDouble(input.readFixed64());
+        }
+    };
+
+    private static final BinaryCodec STRING_CODEC = new BinaryCodec() {
+        @Override
+        long size(Object value) {
+            if (value == null) {
+                return 1;
+            }
+
+            int length = BinaryOutput.utf8Length((String) value);
+            return BinaryOutput.varintSize(length + 1L) + length;
+        }
+
+        @Override
+        void write(BinaryOutput output, Object value) throws IOException {
+            if (value == null) {
+                output.writeVarint(0);
+                return;
+            }
+
+            String string = (String) value;
+            output.writeVarint(BinaryOutput.utf8Length(string) + 1L);
+            output.writeUtf8(string);
+        }
+
+        @Override
+        Object read(BinaryInput input) throws IOException {
+            int length = input.readLength();
+            return length == 0 ? null : input.readUtf8(length - 1);
+        }
+    };
+
+    private static final BinaryCodec BYTES_CODEC = new BinaryCodec() {
+        @Override
+        long size(Object value) {
+            return value == null ? 1 : BinaryOutput.varintSize(((byte[]) value).length + 1L) + ((byte[]) value).length;
+        }
+
+        @Override
+        void write(BinaryOutput output, Object value) throws IOException {
+            if (value == null) {
+                output.writeVarint(0);
+                return;
+            }
+
+            byte[] bytes = (byte[]) value;
+            output.writeVarint(bytes.length + 1L);
+            output.writeBytes(bytes);
+        }
+
+        @Override
+        Object read(BinaryInput input) throws IOException {
+            int length = input.readLength();
+            return length == 0 ? null : input.readBytes(length - 1);
+        }
+    };
+
+    private static final BinaryCodec UUID_CODEC = new NullableCodec(new BinaryCodec() {
+        @Override
+        long size(Object value) {
+            return 2L * Long.BYTES;
+        }
+
+        @Override
+        void write(BinaryOutput output, Object value) throws IOException {
+            UUID uuid = (UUID) value;
+            output.writeFixed64(uuid.getMostSignificantBits());
+            output.writeFixed64(uuid.getLeastSignificantBits());
+        }
+
+        @Override
+        Object read(BinaryInput input) throws IOException {
+            return new UUID(input.readFixed64(), input.readFixed64());
+        }
+    });
+
+    private static final BinaryCodec INSTANT_CODEC = new NullableCodec(new BinaryCodec() {
+        @Override
+        long size(Object value) {
+            Instant instant = (Instant) value;
+            return BinaryOutput.varintSize(BinaryOutput.zigzag(instant.getEpochSecond()))
+                    + BinaryOutput.varintSize(instant.getNano());
+        }
+
+        @Override
+        void write(BinaryOutput output, Object value) throws IOException {
+            Instant instant = (Instant) value;
+            output.writeVarint(BinaryOutput.zigzag(instant.getEpochSecond()));
+            output.writeVarint(instant.getNano());
+        }
+
+        @Override
+        Object read(BinaryInput input) throws IOException {
+            return Instant.ofEpochSecond(BinaryInput.unzigzag(input.readVarint()), input.readVarint());
+        }
+    });
+
+    private static final BinaryCodec LOCAL_DATE_CODEC = new NullableCodec(new MappedCodec(LONG_CODEC,
+            value -> ((LocalDate) value).toEpochDay(), value -> LocalDate.ofEpochDay((Long) value)));
+
+    private static final BinaryCodec LOCAL_DATE_TIME_CODEC = new NullableCodec(new MappedCodec(INSTANT_CODEC,
+            value -> ((LocalDateTime) value).toInstant(ZoneOffset.UTC),
+            value -> LocalDateTime.ofInstant((Instant) value, ZoneOffset.UTC)));
+
+    private static final BinaryCodec BIG_DECIMAL_CODEC = new MappedCodec(STRING_CODEC,
+            value -> value == null ? null : value.toString(), value -> value == null ? null : new BigDecimal((String) value));
+
+    private static final BinaryCodec BIG_INTEGER_CODEC = new MappedCodec(STRING_CODEC,
+            value -> value == null ? null : value.toString(), value -> value == null ? null : new BigInteger((String) value));
+
+    private static final Map<Class<?>, BinaryCodec> SCALAR_CODECS = Map.ofEntries(
+            Map.entry(boolean.class, BOOLEAN_CODEC),
+            Map.entry(Boolean.class, new NullableCodec(BOOLEAN_CODEC)),
+            Map.entry(int.class, INT_CODEC),
+            Map.entry(Integer.class, new NullableCodec(INT_CODEC)),
+            Map.entry(long.class, LONG_CODEC),
+            Map.entry(Long.class, new NullableCodec(LONG_CODEC)),
+            Map.entry(short.class, SHORT_CODEC),
+            Map.entry(Short.class, new NullableCodec(SHORT_CODEC)),
+            Map.entry(byte.class, BYTE_CODEC),
+            Map.entry(Byte.class, new NullableCodec(BYTE_CODEC)),
+            Map.entry(char.class, CHAR_CODEC),
+            Map.entry(Character.class, new NullableCodec(CHAR_CODEC)),
+            Map.entry(float.class, FLOAT_CODEC),
+            Map.entry(Float.class, new NullableCodec(FLOAT_CODEC)),
+            Map.entry(double.class, DOUBLE_CODEC),
+            Map.entry(Double.class, new NullableCodec(DOUBLE_CODEC)),
+            Map.entry(String.class, STRING_CODEC),
+            Map.entry(byte[].class, BYTES_CODEC),
+            Map.entry(UUID.class, UUID_CODEC),
+            Map.entry(Instant.class, INSTANT_CODEC),
+            Map.entry(LocalDate.class, LOCAL_DATE_CODEC),
+            Map.entry(LocalDateTime.class, LOCAL_DATE_TIME_CODEC),
+            Map.entry(BigDecimal.class, BIG_DECIMAL_CODEC),
+            Map.entry(BigInteger.class, BIG_INTEGER_CODEC));
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Map<Type, MessageCodec> messageCodecs = new ConcurrentHashMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Returns the codec of the type, generating the codecs of the messages it refers to if they are not cached yet.
+     *
+     * @param type the type
+     * @return the codec
+     * @throws UnsupportedTypeException if the type or one of its properties cannot be encoded
+     */
+    BinaryCodec getCodec(Type type) {
+        lock.lock();
+        try {
+            Map<Type, MessageCodec> generatedCodecs = new HashMap<>();
+            BinaryCodec codec = createCodec(type, Map.of(), generatedCodecs);
+            messageCodecs.putAll(generatedCodecs);
+            return codec;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private BinaryCodec createCodec(Type type, Map<TypeVariable<?>, Type> typeArguments,
+                                    Map<Type, MessageCodec> generatedCodecs) {
+        if (type instanceof TypeVariable<?> typeVariable && typeArguments.containsKey(typeVariable)) {
+            return createCodec(typeArguments.get(typeVariable), Map.of(), generatedCodecs);
+        } else if (type instanceof WildcardType wildcardType && wildcardType.getLowerBounds().length == 0) {
+            return createCodec(wildcardType.getUpperBounds()[0], typeArguments, generatedCodecs);
+        } else if (type instanceof GenericArrayType genericArrayType) {
+            Type componentType = genericArrayType.getGenericComponentType();
+            BinaryCodec elementCodec = createCodec(componentType, typeArguments, generatedCodecs);
+            return new ArrayCodec(rawClass(componentType, typeArguments), elementCodec);
+        } else if (type instanceof Class<?> rawType) {
+            return createClassCodec(rawType, rawType, typeArguments, generatedCodecs);
+        } else if (type instanceof ParameterizedType parameterizedType
+                && parameterizedType.getRawType() instanceof Class<?> rawType) {
+            return createClassCodec(parameterizedType, rawType, typeArguments, generatedCodecs);
+        }
+
+        throw unsupportedTypeException(type);
+    }
+
+    private BinaryCodec createClassCodec(Type type, Class<?> rawType, Map<TypeVariable<?>, Type> typeArguments,
+                                         Map<Type, MessageCodec> generatedCodecs) {
+        BinaryCodec scalarCodec = SCALAR_CODECS.get(rawType);
+        if (scalarCodec != null) {
+            return scalarCodec;
+        } else if (rawType.isEnum()) {
+            return createEnumCodec(rawType);
+        } else if (rawType.isArray()) {
+            Class<?> componentType = rawType.getComponentType();
+            return new ArrayCodec(componentType, createCodec(componentType, typeArguments, generatedCodecs));
+        } else if (rawType == List.class || rawType == Collection.class) {
+            return new CollectionCodec(createCodec(typeArgument(type, 0), typeArguments, generatedCodecs),
+                    ArrayList::new);
+        } else if (rawType == Set.class) {
+            return new CollectionCodec(createCodec(typeArgument(type, 0), typeArguments, generatedCodecs),
+                    LinkedHashSet::new);
+        } else if (rawType == Map.class) {
+            return new MapCodec(createCodec(typeArgument(type, 0), typeArguments, generatedCodecs),
+                    createCodec(typeArgument(type, 1), typeArguments, generatedCodecs));
+        } else if (rawType.isInterface() || rawType.isPrimitive() || Modifier.isAbstract(rawType.getModifiers())
+                || rawType.getName().startsWith("java.") || rawType.getName().startsWith("javax.")) {
+            throw unsupportedTypeException(type);
+        }
+
+        return createMessageCodec(resolveType(type, typeArguments), rawType, generatedCodecs);
+    }
+
+    private MessageCodec createMessageCodec(Type type, Class<?> rawType, Map<Type, MessageCodec> generatedCodecs) {
+        MessageCodec messageCodec = messageCodecs.get(type);
+        if (messageCodec == null) {
+            messageCodec = generatedCodecs.get(type);
+        }
+        if (messageCodec != null) {
+            return messageCodec;
+        }
+
+        messageCodec = new MessageCodec(rawType);
+        generatedCodecs.put(type, messageCodec);
+
+        Map<TypeVariable<?>, Type> typeArguments = new HashMap<>();
+        if (type instanceof ParameterizedType parameterizedType) {
+            TypeVariable<?>[] typeParameters = rawType.getTypeParameters();
+            for (int i = 0; i < typeParameters.length; i++) {
+                typeArguments.put(typeParameters[i], parameterizedType.getActualTypeArguments()[i]);
+            }
+        } else if (rawType.getTypeParameters().length > 0) {
+            throw unsupportedTypeException(type);
+        }
+
+        try {
+            if (rawType.isRecord()) {
+                initializeRecordCodec(messageCodec, rawType, typeArguments, generatedCodecs);
+            } else {
+                initializeBeanCodec(messageCodec, rawType, typeArguments, generatedCodecs);
+            }
+        } catch (IllegalAccessException | RuntimeException exception) {
+            if (exception instanceof UnsupportedTypeException unsupportedTypeException) {
+                throw unsupportedTypeException;
+            }
+            throw new UnsupportedTypeException(String.format(ErrorMessageConstants.UNSUPPORTED_BINARY_TYPE, type));
+        }
+        return messageCodec;
+    }
+
+    private void initializeRecordCodec(MessageCodec messageCodec, Class<?> rawType,
+                                       Map<TypeVariable<?>, Type> typeArguments,
+                                       Map<Type, MessageCodec> generatedCodecs) throws IllegalAccessException {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        RecordComponent[] recordComponents = rawType.getRecordComponents();
+        Property[] properties = new Property[recordComponents.length];
+        Object[] defaultValues = new Object[recordComponents.length];
+        Class<?>[] componentTypes = new Class<?>[recordComponents.length];
+        for (int i = 0; i < recordComponents.length; i++) {
+            RecordComponent recordComponent = recordComponents[i];
+            recordComponent.getAccessor().setAccessible(true);
+            MethodHandle getter = lookup.unreflect(recordComponent.getAccessor()).asType(GETTER_TYPE);
+            properties[i] = new Property(recordComponent.getName(), getter,
+                    createCodec(recordComponent.getGenericType(), typeArguments, generatedCodecs));
+            defaultValues[i] = defaultValue(recordComponent.getType());
+            componentTypes[i] = recordComponent.getType();
+        }
+
+        Constructor<?> constructor;
+        try {
+            constructor = rawType.getDeclaredConstructor(componentTypes);
+        } catch (NoSuchMethodException exception) {
+            throw unsupportedTypeException(rawType);
+        }
+        constructor.setAccessible(true);
+        MethodHandle canonicalConstructor = lookup.unreflectConstructor(constructor)
+                .asSpreader(Object[].class, componentTypes.length)
+                .asType(MethodType.methodType(Object.class, Object[].class));
+        messageCodec.initialize(properties, defaultValues, values -> canonicalConstructor.invokeExact(values));
+    }
+
+    private void initializeBeanCodec(MessageCodec messageCodec, Class<?> rawType,
+                                     Map<TypeVariable<?>, Type> typeArguments,
+                                     Map<Type, MessageCodec> generatedCodecs) throws IllegalAccessException {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        List<Field> fields = new ArrayList<>();
+        collectFields(rawType, fields);
+        Property[] properties = new Property[fields.size()];
+        Object[] defaultValues = new Object[fields.size()];
+        MethodHandle[] setters = new MethodHandle[fields.size()];
+        for (int i = 0; i < properties.length; i++) {
+            Field field = fields.get(i);
+            field.setAccessible(true);
+            properties[i] = new Property(field.getName(), lookup.unreflectGetter(field).asType(GETTER_TYPE),
+                    createCodec(field.getGenericType(), typeArguments, generatedCodecs));
+            defaultValues[i] = defaultValue(field.getType());
+            setters[i] = Modifier.isFinal(field.getModifiers())
+                    ? null
+                    : lookup.unreflectSetter(field).asType(SETTER_TYPE);
+        }
+
+        Instantiator instantiator = null;
+        try {
+            Constructor<?> constructor = rawType.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            MethodHandle defaultConstructor = lookup.unreflectConstructor(constructor)
+                    .asType(MethodType.methodType(Object.class));
+            instantiator = values -> {
+                Object bean = defaultConstructor.invokeExact();
+                for (int i = 0; i < setters.length; i++) {
+                    if (setters[i] != null) {
+                        setters[i].invokeExact(bean, values[i]);
+                    }
+                }
+                return bean;
+            };
+        } catch (NoSuchMethodException exception) {
+            // Beans without a no-argument constructor are only written
+        }
+        messageCodec.initialize(properties, defaultValues, instantiator);
+    }
+
+    private static void collectFields(Class<?> type, List<Field> fields) {
+        if (type.getSuperclass() != null && type.getSuperclass() != Object.class) {
+            collectFields(type.getSuperclass(), fields);
+        }
+        for (Field field : type.getDeclaredFields()) {
+            int modifiers = field.getModifiers();
+            if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !field.isSynthetic()) {
+                fields.add(field);
+            }
+        }
+    }
+
+    private static BinaryCodec createEnumCodec(Class<?> enumType) {
+        Object[] constants = enumType.getEnumConstants();
+        return new BinaryCodec() {
+            @Override
+            long size(Object value) {
+                return value == null ? 1 : BinaryOutput.varintSize(((Enum<?>) value).ordinal() + 1L);
+            }
+
+            @Override
+            void write(BinaryOutput output, Object value) throws IOException {
+                output.writeVarint(value == null ? 0 : ((Enum<?>) value).ordinal() + 1L);
+            }
+
+            @Override
+            Object read(BinaryInput input) throws IOException {
+                int ordinal = input.readLength();
+                if (ordinal > constants.length) {
+                    throw new IOException(ErrorMessageConstants.MALFORMED_BINARY_BODY);
+                }
+                return ordinal == 0 ? null : constants[ordinal - 1];
+            }
+        };
+    }
+
+    /**
+     * Replaces the type variables of a parameterized type with their arguments, so the message codec is cached under
+     * a concrete type.
+     */
+    private static Type resolveType(Type type, Map<TypeVariable<?>, Type> typeArguments) {
+        if (!(type instanceof ParameterizedType parameterizedType)) {
+            return type;
+        }
+
+        Type[] actualTypeArguments = parameterizedType.getActualTypeArguments().clone();
+        for (int i = 0; i < actualTypeArguments.length; i++) {
+            Type argument = actualTypeArguments[i];
+            if (argument instanceof TypeVariable<?> typeVariable && typeArguments.containsKey(typeVariable)) {
+                actualTypeArguments[i] = typeArguments.get(typeVariable);
+            } else if (!(argument instanceof Class<?>) && !(argument instanceof ParameterizedType)) {
+                throw unsupportedTypeException(type);
+            }
+        }
+        return new ResolvedParameterizedType((Class<?>) parameterizedType.getRawType(), List.of(actualTypeArguments));
+    }
+
+    private static Type typeArgument(Type type, int index) {
+        return type instanceof ParameterizedType parameterizedType
+                ? parameterizedType.getActualTypeArguments()[index]
+                : String.class;
+    }
+
+    private static Class<?> rawClass(Type type, Map<TypeVariable<?>, Type> typeArguments) {
+        if (type instanceof TypeVariable<?> typeVariable && typeArguments.containsKey(typeVariable)) {
+            return rawClass(typeArguments.get(typeVariable), Map.of());
+        } else if (type instanceof Class<?> rawType) {
+            return rawType;
+        } else if (type instanceof ParameterizedType parameterizedType) {
+            return (Class<?>) parameterizedType.getRawType();
+        } else if (type instanceof GenericArrayType genericArrayType) {
+            return Array.newInstance(rawClass(genericArrayType.getGenericComponentType(), typeArguments), 0).getClass();
+        }
+        throw unsupportedTypeException(type);
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        return type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null;
+    }
+
+    private static UnsupportedTypeException unsupportedTypeException(Type type) {
+        return new UnsupportedTypeException(String.format(ErrorMessageConstants.UNSUPPORTED_BINARY_TYPE, type));
+    }
+
+    /**
+     * Codec of a type that is encoded as another type.
+     */
+    private static final class MappedCodec extends BinaryCodec {
+
+        private final BinaryCodec codec;
+
+        private final Function<Object, Object> encoder;
+
+        private final Function<Object, Object> decoder;
+
+        private MappedCodec(BinaryCodec codec, Function<Object, Object> encoder, Function<Object, Object> decoder) {
+            this.codec = codec;
+            this.encoder = encoder;
+            this.decoder = decoder;
+        }
+
+        @Override
+        long size(Object value) {
+            return codec.size(encoder.apply(value));
+        }
+
+        @Override
+        void write(BinaryOutput output, Object value) throws IOException {
+            codec.write(output, encoder.apply(value));
+        }
+
+        @Override
+        Object read(BinaryInput input) throws IOException {
+            return decoder.apply(codec.read(input));
+        }
+    }
+
+    /**
+     * Parameterized type whose type arguments are resolved, used as the cache key of generic message codecs.
+     */
+    private record ResolvedParameterizedType(Class<?> rawType, List<Type> typeArguments) implements Type {
+
+        @Override
+        public String getTypeName() {
+            return rawType.getTypeName() + typeArguments;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package svydovets.web.converter;
+
+import svydovets.util.ErrorMessageConstants;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Buffered reader of the primitives of the binary format, which keeps track of the number of bytes read so far, so
+ * length-prefixed values can be skipped, and of the nesting depth of the messages being read.
+ */
+final class BinaryInput {
+
+    /**
+     * Maximum nesting depth of messages, the same as the default of Jackson's {@code StreamReadConstraints}. Messages
+     * of self-referencing types are read recursively, so a body of nested length prefixes would otherwise exhaust
+     * the stack.
+     */
+    static final int MAX_NESTING_DEPTH = 1000;
+
+    private static final int BUFFER_SIZE = 512;
+
+    private static final int MAX_VARINT_SIZE = 10;
+
+    private final InputStream inputStream;
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    private long bufferOffset;
+
+    private int position;
+
+    private int limit;
+
+    private int depth;
+
+    BinaryInput(InputStream inputStream) {
+        this.inputStream = inputStream;
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Returns the number of bytes read so far.
+     */
+    long position() {
+        return bufferOffset + position;
+    }
+
+    /**
+     * Enters a nested message, which must be matched by {@link #exitMessage()} once the message is read.
+     */
+    void enterMessage() throws IOException {
+        if (++depth > MAX_NESTING_DEPTH) {
+            throw new IOException(ErrorMessageConstants.MALFORMED_BINARY_BODY);
+        }
+    }
+
+    void exitMessage() {
+        depth--;
+    }
+
+    int readByte() throws IOException {
+        if (position == limit) {
+            fill();
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    long readVarint() throws IOException {
+        long value = 0;
+        for (int i = 0; i < MAX_VARINT_SIZE; i++) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << (i * 7);
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException(ErrorMessageConstants.MALFORMED_BINARY_BODY);
+    }
+
+    /**
+     * Reads a length written as a varint, which must fit into an {@code int}.
+     */
+    int readLength() throws IOException {
+        long length = readVarint();
+        if (length < 0 || length > Integer.MAX_VALUE) {
+            throw new IOException(ErrorMessageConstants.MALFORMED_BINARY_BODY);
+        }
+        return (int) length;
+    }
+
+    int readFixed32() throws IOException {
+        int value = 0;
+        for (int i = 0; i < Integer.BYTES; i++) {
+            value |= readByte() << (i * 8);
+        }
+        return value;
+    }
+
+    long readFixed64() throws IOException {
+        long value = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            value |= (long) readByte() << (i * 8);
+        }
+        return value;
+    }
+
+    /**
+     * Reads the given number of bytes. The bytes past the buffer are read in chunks, so a corrupt length does not
+     * allocate more memory than the body holds.
+     */
+    byte[] readBytes(int length) throws IOException {
+        int buffered = Math.min(length, limit - position);
+        if (buffered == length) {
+            byte[] bytes = new byte[length];
+            System.arraycopy(buffer, position, bytes, 0, length);
+            position += length;
+            return bytes;
+        }
+
+        byte[] rest = inputStream.readNBytes(length - buffered);
+        if (rest.length < length - buffered) {
+            throw new EOFException(ErrorMessageConstants.MALFORMED_BINARY_BODY);
+        }
+        byte[] bytes = new byte[length];
+        System.arraycopy(buffer, position, bytes, 0, buffered);
+        System.arraycopy(rest, 0, bytes, buffered, rest.length);
+        bufferOffset += limit + rest.length;
+        position = 0;
+        limit = 0;
+        return bytes;
+    }
+
+    String readUtf8(int length) throws IOException {
+        if (length <= limit - position) {
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+        return new String(readBytes(length), StandardCharsets.UTF_8);
+    }
+
+    void skip(long length) throws IOException {
+        long buffered = Math.min(length, limit - position);
+        position += (int) buffered;
+        if (buffered < length) {
+            inputStream.skipNBytes(length - buffered);
+            bufferOffset += limit + (length - buffered);
+            position = 0;
+            limit = 0;
+        }
+    }
+
+    private void fill() throws IOException {
+        bufferOffset += limit;
+        position = 0;
+        limit = 0;
+        int count = inputStream.read(buffer, 0, buffer.length);
+        if (count <= 0) {
+            throw new EOFException(ErrorMessageConstants.MALFORMED_BINARY_BODY);
+        }
+        limit = count;
+    }
+}
@@ -0,0 +1,63 @@
+package svydovets.web.converter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import svydovets.web.dto.MediaType;
+import svydovets.web.exception.UnsupportedTypeException;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Built-in converter of the compact binary format {@value MediaType#APPLICATION_BINARY}.
+ *
+ * <p>The format has no field names and no self-description; both sides agree on the type:
+ * <ul>
+ *     <li>integers are zigzag varints, {@code float} and {@code double} are little-endian IEEE 754 values, and
+ *     booleans are a single byte;</li>
+ *     <li>strings, byte arrays, collections, arrays and maps are prefixed with their length plus one, {@code 0} standing
+ *     for {@code null}, and enums are their ordinal plus one;</li>
+ *     <li>records and beans are prefixed with the length of their payload plus one and hold their properties in
+ *     declaration order, so properties can be appended to a type without breaking readers of the older version.</li>
+ * </ul>
+ * The codec of a type is generated once, when the route is registered, so encoding a body involves no reflection
+ * and no intermediate tree. Types the format cannot describe, see {@link BinaryCodecFactory}, are served as JSON only.
+ */
+public class BinaryMessageConverter implements MessageConverter {
+
+    private static final Logger log = LoggerFactory.getLogger(BinaryMessageConverter.class);
+
+    private final BinaryCodecFactory codecFactory = new BinaryCodecFactory();
+
+    @Override
+    public List<String> getMediaTypes() {
+        return List.of(MediaType.APPLICATION_BINARY);
+    }
+
+    @Override
+    public BodyReader createReader(Type type) {
+        log.trace("Call createReader({})", type);
+        BinaryCodec codec = getCodec(type);
+        return codec == null ? null : inputStream -> codec.read(new BinaryInput(inputStream));
+    }
+
+    @Override
+    public BodyWriter createWriter(Type type) {
+        log.trace("Call createWriter({})", type);
+        BinaryCodec codec = getCodec(type);
+        return codec == null ? null : (body, outputStream) -> {
+            BinaryOutput output = new BinaryOutput(outputStream);
+            codec.write(output, body);
+            output.flush();
+        };
+    }
+
+    private BinaryCodec getCodec(Type type) {
+        try {
+            return codecFactory.getCodec(type);
+        } catch (UnsupportedTypeException exception) {
+            log.debug("Binary format is not available: {}", exception.getMessage());
+            return null;
+        }
+    }
+}
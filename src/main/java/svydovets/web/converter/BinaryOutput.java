@@ -0,0 +1,141 @@
+package svydovets.web.converter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Buffered writer of the primitives of the binary format: varints, zigzag varints, little-endian fixed-size numbers
+ * and UTF-8 strings, which are encoded straight into the buffer without an intermediate byte array.
+ */
+final class BinaryOutput {
+
+    private static final int BUFFER_SIZE = 512;
+
+    private static final int MAX_VARINT_SIZE = 10;
+
+    private final OutputStream outputStream;
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    private int count;
+
+    BinaryOutput(OutputStream outputStream) {
+        this.outputStream = outputStream;
+    }
+
+    static int varintSize(long value) {
+        return value == 0 ? 1 : (63 - Long.numberOfLeadingZeros(value)) / 7 + 1;
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static int utf8Length(String value) {
+        int length = value.length();
+        int utf8Length = 0;
+        for (int i = 0; i < length; i++) {
+            char character = value.charAt(i);
+            if (character < 0x80) {
+                utf8Length++;
+            } else if (character < 0x800) {
+                utf8Length += 2;
+            } else if (Character.isHighSurrogate(character) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                utf8Length += 4;
+                i++;
+            } else if (Character.isSurrogate(character)) {
+                utf8Length++;
+            } else {
+                utf8Length += 3;
+            }
+        }
+        return utf8Length;
+    }
+
+    void writeByte(int value) throws IOException {
+        ensureCapacity(1);
+        buffer[count++] = (byte) value;
+    }
+
+    void writeVarint(long value) throws IOException {
+        ensureCapacity(MAX_VARINT_SIZE);
+        while ((value & ~0x7FL) != 0) {
+            buffer[count++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[count++] = (byte) value;
+    }
+
+    void writeFixed32(int value) throws IOException {
+        ensureCapacity(Integer.BYTES);
+        for (int i = 0; i < Integer.BYTES; i++) {
+            buffer[count++] = (byte) (value >>> (i * 8));
+        }
+    }
+
+    void writeFixed64(long value) throws IOException {
+        ensureCapacity(Long.BYTES);
+        for (int i = 0; i < Long.BYTES; i++) {
+            buffer[count++] = (byte) (value >>> (i * 8));
+        }
+    }
+
+    void writeBytes(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.length - count) {
+            flush();
+            if (bytes.length >= buffer.length) {
+                outputStream.write(bytes);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, count, bytes.length);
+        count += bytes.length;
+    }
+
+    /**
+     * Writes the string as UTF-8, encoding unpaired surrogates as {@code ?} like {@link String#getBytes}.
+     */
+    void writeUtf8(String value) throws IOException {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            ensureCapacity(4);
+            char character = value.charAt(i);
+            if (character < 0x80) {
+                buffer[count++] = (byte) character;
+            } else if (character < 0x800) {
+                buffer[count++] = (byte) (0xC0 | (character >> 6));
+                buffer[count++] = (byte) (0x80 | (character & 0x3F));
+            } else if (Character.isHighSurrogate(character) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(character, value.charAt(++i));
+                buffer[count++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[count++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(character)) {
+                buffer[count++] = '?';
+            } else {
+                buffer[count++] = (byte) (0xE0 | (character >> 12));
+                buffer[count++] = (byte) (0x80 | ((character >> 6) & 0x3F));
+                buffer[count++] = (byte) (0x80 | (character & 0x3F));
+            }
+        }
+    }
+
+    /**
+     * Writes the buffered bytes to the output stream, without flushing the output stream itself.
+     */
+    void flush() throws IOException {
+        if (count > 0) {
+            outputStream.write(buffer, 0, count);
+            count = 0;
+        }
+    }
+
+    private void ensureCapacity(int size) throws IOException {
+        if (buffer.length - count < size) {
+            flush();
+        }
+    }
+}
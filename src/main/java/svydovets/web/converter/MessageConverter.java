@@ -0,0 +1,77 @@
+package svydovets.web.converter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Reads request bodies from and writes response bodies to a media type other than the built-in JSON.
+ *
+ * <p>Message converters are registered as beans and are selected per request: the request body by the
+ * {@code Content-Type} header, the response body by the {@code Accept} header. A converter does not inspect every
+ * body it handles: a {@link BodyReader} or {@link BodyWriter} is created once per handler method for its parameter or
+ * return type, so the work that depends on the type, such as resolving properties, happens when the route is
+ * registered. A converter that declares {@code application/json} replaces the built-in Jackson serialization.
+ *
+ * @see MessageConverterRegistry
+ * @see BinaryMessageConverter
+ */
+public interface MessageConverter {
+
+    /**
+     * Returns the media types read and written by this converter, without parameters.
+     *
+     * @return the supported media types
+     */
+    List<String> getMediaTypes();
+
+    /**
+     * Creates the reader of request bodies of the given type.
+     *
+     * @param type the type of the request body parameter
+     * @return the body reader, or {@code null} if this converter cannot read the type
+     */
+    BodyReader createReader(Type type);
+
+    /**
+     * Creates the writer of response bodies of the given type.
+     *
+     * @param type the declared type of the response body
+     * @return the body writer, or {@code null} if this converter cannot write the type
+     */
+    BodyWriter createWriter(Type type);
+
+    /**
+     * Reads a request body of the type it was created for.
+     */
+    @FunctionalInterface
+    interface BodyReader {
+
+        /**
+         * Reads the body from the input stream.
+         *
+         * @param inputStream the request body
+         * @return the read body
+         * @throws IOException if the body cannot be read
+         */
+        Object read(InputStream inputStream) throws IOException;
+    }
+
+    /**
+     * Writes a response body of the type it was created for.
+     */
+    @FunctionalInterface
+    interface BodyWriter {
+
+        /**
+         * Writes the body to the output stream without closing it.
+         *
+         * @param body         the response body
+         * @param outputStream the response output stream
+         * @throws IOException if the body cannot be written
+         */
+        void write(Object body, OutputStream outputStream) throws IOException;
+    }
+}
@@ -0,0 +1,103 @@
+package svydovets.web.converter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import svydovets.web.converter.MessageConverter.BodyReader;
+import svydovets.web.converter.MessageConverter.BodyWriter;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Ordered list of the {@link MessageConverter}s of the application.
+ *
+ * <p>For every handler method, the registry compiles the readers of its request body and the writers of its response
+ * body with all converters that support the body type, in the order of the converters. The result is kept with the
+ * handler, so selecting a converter for a request is a lookup by media type.
+ *
+ * @see RequestBodyConverters
+ * @see ResponseBodyConverters
+ */
+public class MessageConverterRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageConverterRegistry.class);
+
+    private final List<MessageConverter> messageConverters;
+
+    /**
+     * Creates a registry of the given converters.
+     *
+     * @param messageConverters the message converters, in the order of precedence
+     */
+    public MessageConverterRegistry(List<MessageConverter> messageConverters) {
+        this.messageConverters = List.copyOf(messageConverters);
+    }
+
+    /**
+     * Creates a registry of the given converters followed by the built-in {@link BinaryMessageConverter}.
+     *
+     * @param messageConverters the message converters of the application, in the order of precedence
+     * @return the registry
+     */
+    public static MessageConverterRegistry withDefaults(List<MessageConverter> messageConverters) {
+        List<MessageConverter> converters = new ArrayList<>(messageConverters);
+        converters.add(new BinaryMessageConverter());
+        return new MessageConverterRegistry(converters);
+    }
+
+    public List<MessageConverter> getMessageConverters() {
+        return messageConverters;
+    }
+
+    /**
+     * Creates the readers of a request body type with every converter that can read it.
+     *
+     * @param type the type of the request body parameter
+     * @return the request body converters, or {@code null} if no converter can read the type
+     */
+    public RequestBodyConverters createRequestBodyConverters(Type type) {
+        log.trace("Call createRequestBodyConverters({})", type);
+        List<String> mediaTypes = new ArrayList<>();
+        List<BodyReader> bodyReaders = new ArrayList<>();
+        for (MessageConverter messageConverter : messageConverters) {
+            BodyReader bodyReader = messageConverter.createReader(type);
+            if (bodyReader != null) {
+                for (String mediaType : messageConverter.getMediaTypes()) {
+                    mediaTypes.add(mediaType.toLowerCase(Locale.ROOT));
+                    bodyReaders.add(bodyReader);
+                }
+            }
+        }
+
+        return mediaTypes.isEmpty()
+                ? null
+                : new RequestBodyConverters(mediaTypes.toArray(String[]::new), bodyReaders.toArray(BodyReader[]::new));
+    }
+
+    /**
+     * Creates the writers of a response body type with every converter that can write it.
+     *
+     * @param type the declared type of the response body
+     * @return the response body converters, or {@code null} if no converter can write the type
+     */
+    public ResponseBodyConverters createResponseBodyConverters(Type type) {
+        log.trace("Call createResponseBodyConverters({})", type);
+        List<String> mediaTypes = new ArrayList<>();
+        List<BodyWriter> bodyWriters = new ArrayList<>();
+        for (MessageConverter messageConverter : messageConverters) {
+            BodyWriter bodyWriter = messageConverter.createWriter(type);
+            if (bodyWriter != null) {
+                for (String mediaType : messageConverter.getMediaTypes()) {
+                    mediaTypes.add(mediaType.toLowerCase(Locale.ROOT));
+                    bodyWriters.add(bodyWriter);
+                }
+            }
+        }
+
+        return mediaTypes.isEmpty()
+                ? null
+                : new ResponseBodyConverters(mediaTypes.toArray(String[]::new), bodyWriters.toArray(BodyWriter[]::new));
+    }
+}
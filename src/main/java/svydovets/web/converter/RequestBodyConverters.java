@@ -0,0 +1,44 @@
+package svydovets.web.converter;
+
+import svydovets.web.converter.MessageConverter.BodyReader;
+
+/**
+ * Readers of the request body of one handler method, one per supported media type.
+ *
+ * @see MessageConverterRegistry#createRequestBodyConverters(java.lang.reflect.Type)
+ */
+public class RequestBodyConverters {
+
+    private final String[] mediaTypes;
+
+    private final BodyReader[] bodyReaders;
+
+    RequestBodyConverters(String[] mediaTypes, BodyReader[] bodyReaders) {
+        this.mediaTypes = mediaTypes;
+        this.bodyReaders = bodyReaders;
+    }
+
+    /**
+     * Finds the reader of the request body by its content type. Content type parameters, such as the charset, are
+     * ignored.
+     *
+     * @param contentType the {@code Content-Type} of the request, may be {@code null}
+     * @return the body reader, or {@code null} if the body is read as JSON by the built-in reader
+     */
+    public BodyReader findReader(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+
+        int parametersIndex = contentType.indexOf(';');
+        int end = parametersIndex < 0 ? contentType.length() : parametersIndex;
+        for (int i = 0; i < mediaTypes.length; i++) {
+            String mediaType = mediaTypes[i];
+            if (end >= mediaType.length() && contentType.regionMatches(true, 0, mediaType, 0, mediaType.length())
+                    && contentType.substring(mediaType.length(), end).isBlank()) {
+                return bodyReaders[i];
+            }
+        }
+        return null;
+    }
+}
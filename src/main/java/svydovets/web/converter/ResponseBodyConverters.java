@@ -0,0 +1,120 @@
+package svydovets.web.converter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import svydovets.web.converter.MessageConverter.BodyWriter;
+import svydovets.web.dto.HttpHeaders;
+import svydovets.web.dto.MediaType;
+import svydovets.web.util.HeaderValues;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writers of the response body of one handler method, one per supported media type, and the content negotiation
+ * between them and the built-in JSON serialization.
+ *
+ * <p>The media ranges of the {@code Accept} header are tried in the order of their quality. A range naming a media
+ * type of a writer selects that writer. JSON and wildcard ranges select the built-in JSON serialization, unless a
+ * converter declares {@code application/json}. When no range matches, the body is written as JSON as well, so
+ * clients that do not negotiate keep working. The outcome is cached per distinct {@code Accept} header value, which
+ * are few in practice, up to {@value #MAX_CACHED_ACCEPT_HEADERS} values per handler method.
+ *
+ * @see MessageConverterRegistry#createResponseBodyConverters(java.lang.reflect.Type)
+ */
+public class ResponseBodyConverters {
+
+    /**
+     * Maximum number of distinct {@code Accept} header values whose negotiated writer is cached.
+     */
+    public static final int MAX_CACHED_ACCEPT_HEADERS = 64;
+
+    private final String[] mediaTypes;
+
+    private final BodyWriter[] bodyWriters;
+
+    private final Map<String, Optional<NegotiatedWriter>> negotiatedWriters = new ConcurrentHashMap<>();
+
+    /**
+     * Writer selected for a request, together with the content type of the response.
+     *
+     * @param mediaType  the content type of the response
+     * @param bodyWriter the body writer
+     */
+    public record NegotiatedWriter(String mediaType, BodyWriter bodyWriter) {
+    }
+
+    ResponseBodyConverters(String[] mediaTypes, BodyWriter[] bodyWriters) {
+        this.mediaTypes = mediaTypes;
+        this.bodyWriters = bodyWriters;
+    }
+
+    /**
+     * Selects the writer of the response body by the {@code Accept} header of the request.
+     *
+     * @param request the HTTP request
+     * @return the negotiated writer, or {@code null} if the body is written as JSON by the built-in writer
+     */
+    public NegotiatedWriter negotiate(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return null;
+        }
+
+        Optional<NegotiatedWriter> negotiatedWriter = negotiatedWriters.get(accept);
+        if (negotiatedWriter == null) {
+            negotiatedWriter = Optional.ofNullable(negotiate(accept));
+            if (negotiatedWriters.size() < MAX_CACHED_ACCEPT_HEADERS) {
+                negotiatedWriters.putIfAbsent(accept, negotiatedWriter);
+            }
+        }
+        return negotiatedWriter.orElse(null);
+    }
+
+    /**
+     * Selects the writer for the {@code Accept} header value, or returns {@code null} for the built-in JSON writer.
+     */
+    private NegotiatedWriter negotiate(String accept) {
+        for (String mediaRange : parseMediaRanges(accept)) {
+            boolean json = MediaType.APPLICATION_JSON.equals(mediaRange);
+            boolean wildcard = "*/*".equals(mediaRange) || "application/*".equals(mediaRange);
+            String mediaType = json || wildcard ? MediaType.APPLICATION_JSON : mediaRange;
+            for (int i = 0; i < mediaTypes.length; i++) {
+                if (mediaTypes[i].equals(mediaType)) {
+                    return new NegotiatedWriter(mediaTypes[i], bodyWriters[i]);
+                }
+            }
+            if (json || wildcard) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses the media ranges of an {@code Accept} header, dropping the ones with quality 0 and ordering the rest by
+     * descending quality. Ranges of the same quality keep their order.
+     */
+    private static List<String> parseMediaRanges(String accept) {
+        List<String> mediaRanges = new ArrayList<>();
+        List<Double> qualities = new ArrayList<>();
+        for (String element : HeaderValues.split(accept)) {
+            String mediaRange = HeaderValues.valueOf(element).toLowerCase(Locale.ROOT);
+            double quality = HeaderValues.qualityOf(element);
+            if (mediaRange.isEmpty() || quality <= 0) {
+                continue;
+            }
+
+            int index = 0;
+            while (index < qualities.size() && qualities.get(index) >= quality) {
+                index++;
+            }
+            mediaRanges.add(index, mediaRange);
+            qualities.add(index, quality);
+        }
+        return mediaRanges;
+    }
+}
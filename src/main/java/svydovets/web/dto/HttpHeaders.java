@@ -1,10 +1,33 @@
 package svydovets.web.dto;
 
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.Map;
 
 public class HttpHeaders {
 
+    public static final String ACCEPT = "Accept";
+    public static final String ACCEPT_ENCODING = "Accept-Encoding";
+    public static final String ACCEPT_RANGES = "Accept-Ranges";
+    public static final String ALLOW = "Allow";
+    public static final String CACHE_CONTROL = "Cache-Control";
+    public static final String CONTENT_ENCODING = "Content-Encoding";
+    public static final String CONTENT_LENGTH = "Content-Length";
+    public static final String CONTENT_RANGE = "Content-Range";
+    public static final String CONTENT_TYPE = "Content-Type";
+    public static final String ETAG = "ETag";
+    public static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+    public static final String IF_NONE_MATCH = "If-None-Match";
+    public static final String IF_RANGE = "If-Range";
+    public static final String LAST_MODIFIED = "Last-Modified";
+    public static final String RANGE = "Range";
+    public static final String RETRY_AFTER = "Retry-After";
+    public static final String VARY = "Vary";
+
     private Map<String, String > headers;
 
     public HttpHeaders() {
@@ -26,4 +49,51 @@ public class HttpHeaders {
     public void setHeader(String headerName, String headerValue) {
         headers.put(headerName, headerValue);
     }
+
+    /**
+     * Sets the entity tag of the response. The tag is quoted if it is not quoted yet; weak tags keep their
+     * {@code W/} prefix.
+     *
+     * @param eTag the entity tag
+     */
+    public void setETag(String eTag) {
+        boolean quoted = eTag.startsWith("\"") || eTag.startsWith("W/\"");
+        headers.put(ETAG, quoted ? eTag : "\"" + eTag + "\"");
+    }
+
+    public String getETag() {
+        return headers.get(ETAG);
+    }
+
+    /**
+     * Sets the last modification date of the response in the RFC 1123 format.
+     *
+     * @param lastModified the last modification date in milliseconds since the epoch
+     */
+    public void setLastModified(long lastModified) {
+        headers.put(LAST_MODIFIED, DateTimeFormatter.RFC_1123_DATE_TIME
+                .format(ZonedDateTime.ofInstant(Instant.ofEpochMilli(lastModified), ZoneOffset.UTC)));
+    }
+
+    /**
+     * Returns the last modification date of the response.
+     *
+     * @return the last modification date in milliseconds since the epoch, or {@code -1} if it is absent or invalid
+     */
+    public long getLastModified() {
+        String lastModified = headers.get(LAST_MODIFIED);
+        if (lastModified == null) {
+            return -1;
+        }
+
+        try {
+            return ZonedDateTime.parse(lastModified, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException exception) {
+            return -1;
+        }
+    }
+
+    public void setCacheControl(String cacheControl) {
+        headers.put(CACHE_CONTROL, cacheControl);
+    }
 }
@@ -4,9 +4,19 @@ public enum HttpStatus {
 
     OK(200),
     CREATED(201),
+    PARTIAL_CONTENT(206),
+    NOT_MODIFIED(304),
     BAD_REQUEST(400),
+    UNAUTHORIZED(401),
+    FORBIDDEN(403),
     NOT_FOUND(404),
-    SERVER_ERROR(500);
+    METHOD_NOT_ALLOWED(405),
+    PAYLOAD_TOO_LARGE(413),
+    UNSUPPORTED_MEDIA_TYPE(415),
+    RANGE_NOT_SATISFIABLE(416),
+    TOO_MANY_REQUESTS(429),
+    SERVER_ERROR(500),
+    SERVICE_UNAVAILABLE(503);
 
     int status;
     HttpStatus(int status) {
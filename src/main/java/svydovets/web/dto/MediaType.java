@@ -2,6 +2,8 @@ package svydovets.web.dto;
 
 public class MediaType {
     public static final String APPLICATION_JSON = "application/json";
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+    public static final String APPLICATION_BINARY = "application/x-bring-binary";
 
 
 }
@@ -1,5 +1,17 @@
 package svydovets.web.dto;
 
+import com.fasterxml.jackson.databind.ObjectWriter;
+import svydovets.web.ArgumentResolver;
+import svydovets.web.HandlerMethodInvoker;
+import svydovets.web.annotation.ETag;
+import svydovets.web.cache.ResponseCacheStore;
+import svydovets.web.coalesce.RequestCoalescer;
+import svydovets.web.converter.ResponseBodyConverters;
+import svydovets.web.error.ExceptionHandlerResolver;
+import svydovets.web.interceptor.HandlerInterceptorChain;
+import svydovets.web.metrics.RouteMetrics;
+import svydovets.web.ratelimit.RateLimiter;
+
 public class RequestInfoHolder {
 
   private Class<?> classType;
@@ -12,6 +24,30 @@ public class RequestInfoHolder {
 
   private Class<?>[] parameterTypes;
 
+  private HandlerMethodInvoker invoker;
+
+  private ArgumentResolver[] argumentResolvers;
+
+  private ObjectWriter responseWriter;
+
+  private ObjectWriter elementWriter;
+
+  private ResponseBodyConverters responseBodyConverters;
+
+  private ETag eTag;
+
+  private ResponseCacheStore responseCache;
+
+  private RequestCoalescer requestCoalescer;
+
+  private RouteMetrics routeMetrics;
+
+  private RateLimiter rateLimiter;
+
+  private ExceptionHandlerResolver exceptionHandlerResolver;
+
+  private HandlerInterceptorChain interceptorChain;
+
   public RequestInfoHolder() {
     //empty constructor
   }
@@ -64,4 +100,100 @@ public class RequestInfoHolder {
   public void setClassType(Class<?> classType) {
     this.classType = classType;
   }
+
+  public HandlerMethodInvoker getInvoker() {
+    return invoker;
+  }
+
+  public void setInvoker(HandlerMethodInvoker invoker) {
+    this.invoker = invoker;
+  }
+
+  public ArgumentResolver[] getArgumentResolvers() {
+    return argumentResolvers;
+  }
+
+  public void setArgumentResolvers(ArgumentResolver[] argumentResolvers) {
+    this.argumentResolvers = argumentResolvers;
+  }
+
+  public ObjectWriter getResponseWriter() {
+    return responseWriter;
+  }
+
+  public void setResponseWriter(ObjectWriter responseWriter) {
+    this.responseWriter = responseWriter;
+  }
+
+  public ObjectWriter getElementWriter() {
+    return elementWriter;
+  }
+
+  public void setElementWriter(ObjectWriter elementWriter) {
+    this.elementWriter = elementWriter;
+  }
+
+  public ResponseBodyConverters getResponseBodyConverters() {
+    return responseBodyConverters;
+  }
+
+  public void setResponseBodyConverters(ResponseBodyConverters responseBodyConverters) {
+    this.responseBodyConverters = responseBodyConverters;
+  }
+
+  public ETag getETag() {
+    return eTag;
+  }
+
+  public void setETag(ETag eTag) {
+    this.eTag = eTag;
+  }
+
+  public ResponseCacheStore getResponseCache() {
+    return responseCache;
+  }
+
+  public void setResponseCache(ResponseCacheStore responseCache) {
+    this.responseCache = responseCache;
+  }
+
+  public RequestCoalescer getRequestCoalescer() {
+    return requestCoalescer;
+  }
+
+  public void setRequestCoalescer(RequestCoalescer requestCoalescer) {
+    this.requestCoalescer = requestCoalescer;
+  }
+
+  public RouteMetrics getRouteMetrics() {
+    return routeMetrics;
+  }
+
+  public void setRouteMetrics(RouteMetrics routeMetrics) {
+    this.routeMetrics = routeMetrics;
+  }
+
+  public RateLimiter getRateLimiter() {
+    return rateLimiter;
+  }
+
+  public void setRateLimiter(RateLimiter rateLimiter) {
+    this.rateLimiter = rateLimiter;
+  }
+
+  public ExceptionHandlerResolver getExceptionHandlerResolver() {
+    return exceptionHandlerResolver;
+  }
+
+  public void setExceptionHandlerResolver(ExceptionHandlerResolver exceptionHandlerResolver) {
+    this.exceptionHandlerResolver = exceptionHandlerResolver;
+  }
+
+  public HandlerInterceptorChain getInterceptorChain() {
+    return interceptorChain;
+  }
+
+  public void setInterceptorChain(HandlerInterceptorChain interceptorChain) {
+    this.interceptorChain = interceptorChain;
+  }
 }
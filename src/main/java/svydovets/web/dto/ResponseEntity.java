@@ -1,5 +1,7 @@
 package svydovets.web.dto;
 
+import java.time.Instant;
+
 public class ResponseEntity<T> {
 
     private final T body;
@@ -43,6 +45,10 @@ public class ResponseEntity<T> {
     public interface BodyBuilder extends HeadersBuilder {
         BodyBuilder contentLength(int length);
         BodyBuilder contentType(String contentType);
+        BodyBuilder eTag(String eTag);
+        BodyBuilder lastModified(long lastModified);
+        BodyBuilder lastModified(Instant lastModified);
+        BodyBuilder cacheControl(String cacheControl);
         <T> ResponseEntity<T> body(T body);
         <T> ResponseEntity<T> build();
 
@@ -68,13 +74,36 @@ public class ResponseEntity<T> {
 
             @Override
             public BodyBuilder contentLength(int length) {
-                headers.setHeader("Content-Length", String.valueOf(length));
+                headers.setHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(length));
                 return this;
             }
 
             @Override
             public BodyBuilder contentType(String contentType) {
-                headers.setHeader("Content-Type", contentType);
+                headers.setHeader(HttpHeaders.CONTENT_TYPE, contentType);
+                return this;
+            }
+
+            @Override
+            public BodyBuilder eTag(String eTag) {
+                headers.setETag(eTag);
+                return this;
+            }
+
+            @Override
+            public BodyBuilder lastModified(long lastModified) {
+                headers.setLastModified(lastModified);
+                return this;
+            }
+
+            @Override
+            public BodyBuilder lastModified(Instant lastModified) {
+                return lastModified(lastModified.toEpochMilli());
+            }
+
+            @Override
+            public BodyBuilder cacheControl(String cacheControl) {
+                headers.setCacheControl(cacheControl);
                 return this;
             }
 
@@ -0,0 +1,142 @@
+package svydovets.web.error;
+
+import jakarta.servlet.http.HttpServletResponse;
+import svydovets.web.HttpMethod;
+import svydovets.web.dto.HttpHeaders;
+import svydovets.web.dto.HttpStatus;
+import svydovets.web.dto.MediaType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.StringJoiner;
+
+/**
+ * Writes the responses of requests that match no route, with status 404, or match a route of another HTTP method
+ * only, with status 405 and an {@code Allow} header. Requests missing a required parameter are answered with status
+ * 400, and requests whose body exceeds the maximum size, with status 413, or is encoded with an unsupported content
+ * encoding, with status 415.
+ *
+ * <p>The bodies and every possible {@code Allow} header value are computed once, so a routing miss throws no
+ * exception and allocates nothing but the mask of the allowed methods.
+ */
+public final class ErrorResponses {
+
+    private static final HttpMethod[] HTTP_METHODS = HttpMethod.values();
+
+    private static final byte[] NOT_FOUND_BODY = createBody(HttpStatus.NOT_FOUND, "Not Found");
+
+    private static final byte[] METHOD_NOT_ALLOWED_BODY = createBody(HttpStatus.METHOD_NOT_ALLOWED,
+            "Method Not Allowed");
+
+    private static final byte[] BAD_REQUEST_BODY = createBody(HttpStatus.BAD_REQUEST, "Bad Request");
+
+    private static final byte[] PAYLOAD_TOO_LARGE_BODY = createBody(HttpStatus.PAYLOAD_TOO_LARGE,
+            "Payload Too Large");
+
+    private static final byte[] UNSUPPORTED_MEDIA_TYPE_BODY = createBody(HttpStatus.UNSUPPORTED_MEDIA_TYPE,
+            "Unsupported Media Type");
+
+    private static final String[] ALLOW_HEADER_VALUES = createAllowHeaderValues();
+
+    private ErrorResponses() {
+    }
+
+    /**
+     * Returns the bit of the HTTP method in the mask of allowed methods passed to {@link #writeMethodNotAllowed}.
+     *
+     * @param httpMethod the HTTP method
+     * @return the bit of the HTTP method
+     */
+    public static int allowedMethodBit(HttpMethod httpMethod) {
+        return 1 << httpMethod.ordinal();
+    }
+
+    /**
+     * Writes the response with status 404.
+     *
+     * @param response the HTTP response
+     * @return the number of body bytes written
+     * @throws IOException if an I/O error occurs
+     */
+    public static long writeNotFound(HttpServletResponse response) throws IOException {
+        return write(response, HttpStatus.NOT_FOUND, NOT_FOUND_BODY);
+    }
+
+    /**
+     * Writes the response with status 405 and the {@code Allow} header listing the allowed methods.
+     *
+     * @param response           the HTTP response
+     * @param allowedMethodsMask the mask of the {@link #allowedMethodBit bits} of the allowed methods
+     * @return the number of body bytes written
+     * @throws IOException if an I/O error occurs
+     */
+    public static long writeMethodNotAllowed(HttpServletResponse response, int allowedMethodsMask)
+            throws IOException {
+        response.setHeader(HttpHeaders.ALLOW, ALLOW_HEADER_VALUES[allowedMethodsMask]);
+        return write(response, HttpStatus.METHOD_NOT_ALLOWED, METHOD_NOT_ALLOWED_BODY);
+    }
+
+    /**
+     * Writes the response with status 400.
+     *
+     * @param response the HTTP response
+     * @return the number of body bytes written
+     * @throws IOException if an I/O error occurs
+     */
+    public static long writeBadRequest(HttpServletResponse response) throws IOException {
+        return write(response, HttpStatus.BAD_REQUEST, BAD_REQUEST_BODY);
+    }
+
+    /**
+     * Writes the response with status 413.
+     *
+     * @param response the HTTP response
+     * @return the number of body bytes written
+     * @throws IOException if an I/O error occurs
+     */
+    public static long writePayloadTooLarge(HttpServletResponse response) throws IOException {
+        return write(response, HttpStatus.PAYLOAD_TOO_LARGE, PAYLOAD_TOO_LARGE_BODY);
+    }
+
+    /**
+     * Writes the response with status 415.
+     *
+     * @param response the HTTP response
+     * @return the number of body bytes written
+     * @throws IOException if an I/O error occurs
+     */
+    public static long writeUnsupportedMediaType(HttpServletResponse response) throws IOException {
+        return write(response, HttpStatus.UNSUPPORTED_MEDIA_TYPE, UNSUPPORTED_MEDIA_TYPE_BODY);
+    }
+
+    private static long write(HttpServletResponse response, HttpStatus status, byte[] body) throws IOException {
+        response.setStatus(status.getStatus());
+        response.setContentType(MediaType.APPLICATION_JSON);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+        return body.length;
+    }
+
+    private static byte[] createBody(HttpStatus status, String error) {
+        return ("{\"status\":" + status.getStatus() + ",\"error\":\"" + error + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String[] createAllowHeaderValues() {
+        String[] allowHeaderValues = new String[1 << HTTP_METHODS.length];
+        for (int mask = 0; mask < allowHeaderValues.length; mask++) {
+            StringJoiner allowHeaderValue = new StringJoiner(", ");
+            for (HttpMethod httpMethod : HTTP_METHODS) {
+                if ((mask & allowedMethodBit(httpMethod)) != 0) {
+                    allowHeaderValue.add(httpMethod.name());
+                    if (httpMethod == HttpMethod.GET) {
+                        allowHeaderValue.add("HEAD");
+                    }
+                }
+            }
+            allowHeaderValue.add("OPTIONS");
+            allowHeaderValues[mask] = allowHeaderValue.toString();
+        }
+
+        return allowHeaderValues;
+    }
+}
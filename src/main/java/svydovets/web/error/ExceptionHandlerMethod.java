@@ -0,0 +1,164 @@
+package svydovets.web.error;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import svydovets.util.ErrorMessageConstants;
+import svydovets.web.HandlerMethodInvoker;
+import svydovets.web.annotation.ExceptionHandler;
+import svydovets.web.exception.ExceptionHandlerCreationException;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * An {@link ExceptionHandler} method with the invoker, the parameter bindings and the response writer compiled once
+ * when it is registered.
+ *
+ * <p>Methods of a controller advice are invoked on the advice bean, methods of a controller on the controller that
+ * handled the failed request.
+ */
+public final class ExceptionHandlerMethod {
+
+    private static final Logger log = LoggerFactory.getLogger(ExceptionHandlerMethod.class);
+
+    private static final int EXCEPTION_PARAMETER = 0;
+
+    private static final int REQUEST_PARAMETER = 1;
+
+    private static final int RESPONSE_PARAMETER = 2;
+
+    private final Object bean;
+
+    private final HandlerMethodInvoker invoker;
+
+    private final int[] parameterKinds;
+
+    private final Class<? extends Throwable>[] exceptionTypes;
+
+    private final ObjectWriter responseWriter;
+
+    private ExceptionHandlerMethod(Object bean, HandlerMethodInvoker invoker, int[] parameterKinds,
+                                   Class<? extends Throwable>[] exceptionTypes, ObjectWriter responseWriter) {
+        this.bean = bean;
+        this.invoker = invoker;
+        this.parameterKinds = parameterKinds;
+        this.exceptionTypes = exceptionTypes;
+        this.responseWriter = responseWriter;
+    }
+
+    /**
+     * Creates the handler of the given method annotated with {@link ExceptionHandler}.
+     *
+     * @param bean           the controller advice bean, or {@code null} for a method of a controller
+     * @param method         the exception handler method
+     * @param responseWriter the writer of the result of the method
+     * @return the exception handler method
+     * @throws ExceptionHandlerCreationException if the method declares no exception type or an unsupported parameter
+     */
+    @SuppressWarnings("unchecked")
+    static ExceptionHandlerMethod of(Object bean, Method method, ObjectWriter responseWriter) {
+        log.trace("Call of({})", method);
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        int[] parameterKinds = new int[parameterTypes.length];
+        Class<?> exceptionParameterType = null;
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (Throwable.class.isAssignableFrom(parameterTypes[i]) && exceptionParameterType == null) {
+                parameterKinds[i] = EXCEPTION_PARAMETER;
+                exceptionParameterType = parameterTypes[i];
+            } else if (parameterTypes[i] == HttpServletRequest.class) {
+                parameterKinds[i] = REQUEST_PARAMETER;
+            } else if (parameterTypes[i] == HttpServletResponse.class) {
+                parameterKinds[i] = RESPONSE_PARAMETER;
+            } else {
+                throw unsupportedParameter(method.getParameters()[i].getName(), method);
+            }
+        }
+
+        Class<? extends Throwable>[] exceptionTypes = method.getAnnotation(ExceptionHandler.class).value();
+        if (exceptionTypes.length == 0 && exceptionParameterType != null) {
+            exceptionTypes = new Class[]{exceptionParameterType};
+        }
+        if (exceptionTypes.length == 0) {
+            String errorMessage = String.format(ErrorMessageConstants.NO_EXCEPTION_TYPE_OF_EXCEPTION_HANDLER, method);
+            log.error(errorMessage);
+
+            throw new ExceptionHandlerCreationException(errorMessage);
+        }
+        for (Class<? extends Throwable> exceptionType : exceptionTypes) {
+            if (exceptionParameterType != null && !exceptionParameterType.isAssignableFrom(exceptionType)) {
+                throw unsupportedParameter(exceptionParameterType.getName(), method);
+            }
+        }
+
+        return new ExceptionHandlerMethod(bean, HandlerMethodInvoker.of(method), parameterKinds, exceptionTypes,
+                responseWriter);
+    }
+
+    /**
+     * Invokes the method with the exception and the request and response it was thrown for.
+     *
+     * @param controller the controller that handled the request, used if the method is declared by a controller
+     * @param exception  the exception
+     * @param request    the HTTP request
+     * @param response   the HTTP response
+     * @return the result of the method, or {@code null} for void methods
+     * @throws InvocationTargetException if the method throws an exception
+     */
+    public Object invoke(Object controller, Throwable exception, HttpServletRequest request,
+                         HttpServletResponse response) throws InvocationTargetException {
+        Object[] args = new Object[parameterKinds.length];
+        for (int i = 0; i < args.length; i++) {
+            if (parameterKinds[i] == EXCEPTION_PARAMETER) {
+                args[i] = exception;
+            } else if (parameterKinds[i] == REQUEST_PARAMETER) {
+                args[i] = request;
+            } else {
+                args[i] = response;
+            }
+        }
+
+        return invoker.invoke(bean != null ? bean : controller, args);
+    }
+
+    /**
+     * Checks whether the method is declared by a controller, so it is invoked on the controller of the request.
+     *
+     * @return true if the method is declared by a controller
+     */
+    public boolean isControllerMethod() {
+        return bean == null;
+    }
+
+    /**
+     * Returns the exception handler method.
+     *
+     * @return the method
+     */
+    public Method getMethod() {
+        return invoker.getMethod();
+    }
+
+    /**
+     * Returns the writer of the result of the method.
+     *
+     * @return the response writer
+     */
+    public ObjectWriter getResponseWriter() {
+        return responseWriter;
+    }
+
+    Class<? extends Throwable>[] getExceptionTypes() {
+        return exceptionTypes;
+    }
+
+    private static ExceptionHandlerCreationException unsupportedParameter(String parameter, Method method) {
+        String errorMessage = String.format(ErrorMessageConstants.UNSUPPORTED_EXCEPTION_HANDLER_PARAMETER,
+                parameter, method);
+        log.error(errorMessage);
+
+        return new ExceptionHandlerCreationException(errorMessage);
+    }
+}
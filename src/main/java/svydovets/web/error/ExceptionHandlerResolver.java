@@ -0,0 +1,131 @@
+package svydovets.web.error;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import svydovets.util.ErrorMessageConstants;
+import svydovets.web.ResponseBodyWriter;
+import svydovets.web.annotation.ControllerAdvice;
+import svydovets.web.annotation.ExceptionHandler;
+import svydovets.web.exception.ExceptionHandlerCreationException;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the {@link ExceptionHandler} method of an exception.
+ *
+ * <p>One resolver holds the methods of all {@link ControllerAdvice} beans, and every controller that declares
+ * exception handler methods of its own gets a resolver with the advice resolver as its parent, so the methods of the
+ * controller take precedence. Within one resolver, the method mapped to the closest supertype of the exception wins.
+ *
+ * <p>The resolved method, or the absence of one, is cached per exception type, so an exception thrown again only
+ * costs a map lookup.
+ */
+public class ExceptionHandlerResolver {
+
+    private static final Logger log = LoggerFactory.getLogger(ExceptionHandlerResolver.class);
+
+    private static final ResponseBodyWriter responseBodyWriter = new ResponseBodyWriter();
+
+    private final Map<Class<? extends Throwable>, ExceptionHandlerMethod> handlerMethods;
+
+    private final ExceptionHandlerResolver parent;
+
+    private final Map<Class<?>, Optional<ExceptionHandlerMethod>> resolvedHandlerMethods = new ConcurrentHashMap<>();
+
+    private ExceptionHandlerResolver(Map<Class<? extends Throwable>, ExceptionHandlerMethod> handlerMethods,
+                                     ExceptionHandlerResolver parent) {
+        this.handlerMethods = handlerMethods;
+        this.parent = parent;
+    }
+
+    /**
+     * Creates the resolver of the exception handler methods of the given controller advice beans.
+     *
+     * @param adviceBeans  the beans annotated with {@link ControllerAdvice}
+     * @param objectMapper the object mapper writing the results of the methods
+     * @return the resolver of the advice beans
+     * @throws ExceptionHandlerCreationException if an exception type is mapped to several methods
+     */
+    public static ExceptionHandlerResolver forAdvice(Collection<?> adviceBeans, ObjectMapper objectMapper) {
+        log.trace("Call forAdvice({})", adviceBeans);
+        Map<Class<? extends Throwable>, ExceptionHandlerMethod> handlerMethods = new HashMap<>();
+        for (Object adviceBean : adviceBeans) {
+            registerHandlerMethods(handlerMethods, adviceBean, adviceBean.getClass(), objectMapper);
+        }
+
+        return new ExceptionHandlerResolver(handlerMethods, null);
+    }
+
+    /**
+     * Creates the resolver of the exception handler methods of the given controller, falling back to this resolver.
+     *
+     * @param controllerType the controller type
+     * @param objectMapper   the object mapper writing the results of the methods
+     * @return the resolver of the controller, or this resolver if the controller declares no exception handler
+     * @throws ExceptionHandlerCreationException if an exception type is mapped to several methods
+     */
+    public ExceptionHandlerResolver forController(Class<?> controllerType, ObjectMapper objectMapper) {
+        log.trace("Call forController({})", controllerType);
+        Map<Class<? extends Throwable>, ExceptionHandlerMethod> controllerHandlerMethods = new HashMap<>();
+        registerHandlerMethods(controllerHandlerMethods, null, controllerType, objectMapper);
+
+        return controllerHandlerMethods.isEmpty() ? this : new ExceptionHandlerResolver(controllerHandlerMethods, this);
+    }
+
+    /**
+     * Resolves the exception handler method of the exception.
+     *
+     * @param exception the exception
+     * @return the exception handler method, or {@code null} if no method handles the exception
+     */
+    public ExceptionHandlerMethod resolve(Throwable exception) {
+        Class<?> exceptionType = exception.getClass();
+        Optional<ExceptionHandlerMethod> handlerMethod = resolvedHandlerMethods.get(exceptionType);
+        if (handlerMethod == null) {
+            handlerMethod = resolvedHandlerMethods.computeIfAbsent(exceptionType,
+                    type -> Optional.ofNullable(findHandlerMethod(type)));
+        }
+
+        return handlerMethod.orElse(null);
+    }
+
+    private ExceptionHandlerMethod findHandlerMethod(Class<?> exceptionType) {
+        log.trace("Call findHandlerMethod({})", exceptionType);
+        for (Class<?> type = exceptionType; type != Object.class; type = type.getSuperclass()) {
+            ExceptionHandlerMethod handlerMethod = handlerMethods.get(type);
+            if (handlerMethod != null) {
+                return handlerMethod;
+            }
+        }
+
+        return parent != null ? parent.findHandlerMethod(exceptionType) : null;
+    }
+
+    private static void registerHandlerMethods(Map<Class<? extends Throwable>, ExceptionHandlerMethod> handlerMethods,
+                                               Object bean, Class<?> beanType, ObjectMapper objectMapper) {
+        for (Method method : beanType.getDeclaredMethods()) {
+            if (!method.isAnnotationPresent(ExceptionHandler.class)) {
+                continue;
+            }
+
+            ExceptionHandlerMethod handlerMethod = ExceptionHandlerMethod.of(bean, method,
+                    responseBodyWriter.createObjectWriter(method, objectMapper));
+            for (Class<? extends Throwable> exceptionType : handlerMethod.getExceptionTypes()) {
+                ExceptionHandlerMethod existingHandlerMethod = handlerMethods.putIfAbsent(exceptionType, handlerMethod);
+                if (existingHandlerMethod != null) {
+                    String errorMessage = String.format(ErrorMessageConstants.AMBIGUOUS_EXCEPTION_HANDLER,
+                            exceptionType.getName(), existingHandlerMethod.getMethod(), method);
+                    log.error(errorMessage);
+
+                    throw new ExceptionHandlerCreationException(errorMessage);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package svydovets.web.exception;
+
+/**
+ * Exception thrown when an {@link svydovets.web.annotation.ExceptionHandler} method cannot be registered.
+ */
+public class ExceptionHandlerCreationException extends RuntimeException {
+
+    public ExceptionHandlerCreationException(String message) {
+        super(message);
+    }
+}
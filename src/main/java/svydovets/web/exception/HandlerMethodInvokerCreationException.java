@@ -0,0 +1,8 @@
+package svydovets.web.exception;
+
+public class HandlerMethodInvokerCreationException extends RuntimeException {
+
+    public HandlerMethodInvokerCreationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
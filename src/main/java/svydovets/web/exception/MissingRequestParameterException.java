@@ -0,0 +1,8 @@
+package svydovets.web.exception;
+
+public class MissingRequestParameterException extends RuntimeException {
+
+    public MissingRequestParameterException(String message) {
+        super(message);
+    }
+}
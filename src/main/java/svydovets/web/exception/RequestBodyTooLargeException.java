@@ -0,0 +1,8 @@
+package svydovets.web.exception;
+
+public class RequestBodyTooLargeException extends RuntimeException {
+
+    public RequestBodyTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package svydovets.web.exception;
+
+/**
+ * Exception thrown when the requests to a controller method annotated with {@link svydovets.web.annotation.Coalesce}
+ * cannot be coalesced.
+ */
+public class RequestCoalescerCreationException extends RuntimeException {
+
+    public RequestCoalescerCreationException(String message) {
+        super(message);
+    }
+}
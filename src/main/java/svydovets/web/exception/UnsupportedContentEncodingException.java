@@ -0,0 +1,8 @@
+package svydovets.web.exception;
+
+public class UnsupportedContentEncodingException extends RuntimeException {
+
+    public UnsupportedContentEncodingException(String message) {
+        super(message);
+    }
+}
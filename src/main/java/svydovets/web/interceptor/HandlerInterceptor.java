@@ -0,0 +1,64 @@
+package svydovets.web.interceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import svydovets.web.annotation.InterceptorMapping;
+import svydovets.web.dto.RequestInfoHolder;
+
+/**
+ * Runs cross-cutting logic, such as authentication, tenant resolution or timing, around the controller methods.
+ *
+ * <p>Interceptors are registered as beans and apply to the routes matching their {@link InterceptorMapping}, or to
+ * every route if the bean is not annotated. The interceptors of a route are resolved once, when the route is
+ * registered, into a {@link HandlerInterceptorChain}, so no path pattern is matched per request.
+ *
+ * <p>An interceptor short-circuits a request by writing the response itself and returning {@code false} from
+ * {@link #preHandle}. A response that does not depend on the request is best prepared once as a
+ * {@link svydovets.web.cache.CachedResponse} and written with {@link svydovets.web.cache.CachedResponse#writeTo}.
+ *
+ * @see InterceptorRegistry
+ */
+public interface HandlerInterceptor {
+
+    /**
+     * Called before the arguments of the controller method are resolved.
+     *
+     * @param request  the HTTP request
+     * @param response the HTTP response
+     * @param handler  the request info holder of the controller method
+     * @return true to continue processing the request, false if the interceptor has written the response
+     * @throws Exception if the request cannot be processed
+     */
+    default boolean preHandle(HttpServletRequest request, HttpServletResponse response, RequestInfoHolder handler)
+            throws Exception {
+        return true;
+    }
+
+    /**
+     * Called after the controller method returns, before its result is written. For a {@code CompletionStage}
+     * result, called with the value of the completed stage.
+     *
+     * @param request  the HTTP request
+     * @param response the HTTP response
+     * @param handler  the request info holder of the controller method
+     * @param result   the result of the controller method, may be {@code null}
+     * @throws Exception if the request cannot be processed
+     */
+    default void postHandle(HttpServletRequest request, HttpServletResponse response, RequestInfoHolder handler,
+                            Object result) throws Exception {
+    }
+
+    /**
+     * Called once the request is complete, if {@link #preHandle} of this interceptor returned {@code true}, also when
+     * the request fails or a later interceptor short-circuits it.
+     *
+     * @param request   the HTTP request
+     * @param response  the HTTP response
+     * @param handler   the request info holder of the controller method
+     * @param exception the exception the request failed with and no exception handler handled, or {@code null}
+     * @throws Exception if the interceptor fails, which is logged and ignored
+     */
+    default void afterCompletion(HttpServletRequest request, HttpServletResponse response, RequestInfoHolder handler,
+                                 Exception exception) throws Exception {
+    }
+}
@@ -0,0 +1,161 @@
+package svydovets.web.interceptor;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import svydovets.util.ErrorMessageConstants;
+import svydovets.web.dto.RequestInfoHolder;
+
+/**
+ * The {@link HandlerInterceptor}s of one route, resolved once when the route is registered and kept by its
+ * {@link RequestInfoHolder}.
+ *
+ * <p>{@link #applyPreHandle} invokes the interceptors in order and {@link #applyPostHandle} and
+ * {@link #triggerAfterCompletion} in reverse order, walking a flat array. When an interceptor short-circuits the
+ * request or fails in {@code preHandle}, {@code afterCompletion} is invoked at once for the interceptors before it,
+ * so the chain keeps no per-request state.
+ */
+public final class HandlerInterceptorChain {
+
+    private static final Logger log = LoggerFactory.getLogger(HandlerInterceptorChain.class);
+
+    private final HandlerInterceptor[] interceptors;
+
+    public HandlerInterceptorChain(HandlerInterceptor[] interceptors) {
+        this.interceptors = interceptors.clone();
+    }
+
+    /**
+     * Invokes {@link HandlerInterceptor#preHandle} of every interceptor until one of them returns {@code false}.
+     * In that case, or if an interceptor throws an exception, {@code afterCompletion} is invoked for the interceptors
+     * before it.
+     *
+     * @param request  the HTTP request
+     * @param response the HTTP response
+     * @param handler  the request info holder of the controller method
+     * @return true if every interceptor continues processing the request
+     * @throws Exception if an interceptor fails
+     */
+    public boolean applyPreHandle(HttpServletRequest request, HttpServletResponse response, RequestInfoHolder handler)
+            throws Exception {
+        for (int i = 0; i < interceptors.length; i++) {
+            boolean proceed;
+            try {
+                proceed = interceptors[i].preHandle(request, response, handler);
+            } catch (Exception exception) {
+                triggerAfterCompletion(request, response, handler, exception, i);
+                throw exception;
+            }
+
+            if (!proceed) {
+                log.trace("Request {} short-circuited by {}", request.getServletPath(), interceptors[i]);
+                triggerAfterCompletion(request, response, handler, null, i);
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Invokes {@link HandlerInterceptor#postHandle} of every interceptor in reverse order.
+     *
+     * @param request  the HTTP request
+     * @param response the HTTP response
+     * @param handler  the request info holder of the controller method
+     * @param result   the result of the controller method
+     * @throws Exception if an interceptor fails
+     */
+    public void applyPostHandle(HttpServletRequest request, HttpServletResponse response, RequestInfoHolder handler,
+                                Object result) throws Exception {
+        for (int i = interceptors.length - 1; i >= 0; i--) {
+            interceptors[i].postHandle(request, response, handler, result);
+        }
+    }
+
+    /**
+     * Invokes {@link HandlerInterceptor#afterCompletion} of every interceptor in reverse order. Exceptions thrown by
+     * the interceptors are logged, so every interceptor is invoked.
+     *
+     * @param request   the HTTP request
+     * @param response  the HTTP response
+     * @param handler   the request info holder of the controller method
+     * @param exception the exception the request failed with, or {@code null}
+     */
+    public void triggerAfterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                       RequestInfoHolder handler, Exception exception) {
+        triggerAfterCompletion(request, response, handler, exception, interceptors.length);
+    }
+
+    /**
+     * Creates the listener that invokes {@link HandlerInterceptor#afterCompletion} of every interceptor once an
+     * asynchronous request is complete.
+     *
+     * @param request  the HTTP request
+     * @param response the HTTP response
+     * @param handler  the request info holder of the controller method
+     * @return the async listener
+     */
+    public AsyncListener createAsyncListener(HttpServletRequest request, HttpServletResponse response,
+                                             RequestInfoHolder handler) {
+        return new AfterCompletionListener(request, response, handler);
+    }
+
+    private void triggerAfterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                        RequestInfoHolder handler, Exception exception, int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            try {
+                interceptors[i].afterCompletion(request, response, handler, exception);
+            } catch (Exception afterCompletionException) {
+                log.error(String.format(ErrorMessageConstants.INTERCEPTOR_AFTER_COMPLETION_ERROR, interceptors[i],
+                        request.getServletPath()), afterCompletionException);
+            }
+        }
+    }
+
+    /**
+     * Invokes {@code afterCompletion} of every interceptor once an asynchronous request is complete.
+     */
+    private class AfterCompletionListener implements AsyncListener {
+
+        private final HttpServletRequest request;
+
+        private final HttpServletResponse response;
+
+        private final RequestInfoHolder handler;
+
+        private Exception exception;
+
+        private AfterCompletionListener(HttpServletRequest request, HttpServletResponse response,
+                                        RequestInfoHolder handler) {
+            this.request = request;
+            this.response = response;
+            this.handler = handler;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            triggerAfterCompletion(request, response, handler, exception);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            if (event.getThrowable() instanceof Exception errorException) {
+                exception = errorException;
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // afterCompletion is invoked once the timed out request is completed
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // The listener is registered after the request has been put into asynchronous mode
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package svydovets.web.interceptor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import svydovets.web.annotation.InterceptorMapping;
+import svydovets.web.path.RouteTrie;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds the {@link HandlerInterceptor} beans with their {@link InterceptorMapping} and resolves the
+ * {@link HandlerInterceptorChain} of every route.
+ *
+ * <p>The mapping patterns are matched against the pattern path of the route, not against request paths, so the chain
+ * is resolved once per route when it is registered.
+ */
+public class InterceptorRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(InterceptorRegistry.class);
+
+    private static final String ANY_SEGMENT = "*";
+
+    private static final String ANY_SEGMENTS = "**";
+
+    private static final String[] ALL_PATHS = {"/" + ANY_SEGMENTS};
+
+    private static final String[] NO_PATHS = {};
+
+    private final List<MappedInterceptor> mappedInterceptors;
+
+    private InterceptorRegistry(List<MappedInterceptor> mappedInterceptors) {
+        this.mappedInterceptors = mappedInterceptors;
+    }
+
+    /**
+     * Creates the registry of the beans implementing {@link HandlerInterceptor}, ordered by the
+     * {@link InterceptorMapping#order()} and then by bean name.
+     *
+     * @param beans the beans of the application context by name
+     * @return the interceptor registry
+     */
+    public static InterceptorRegistry of(Map<String, Object> beans) {
+        log.trace("Call of({})", beans.keySet());
+        List<MappedInterceptor> mappedInterceptors = new ArrayList<>();
+        for (Map.Entry<String, Object> entry : beans.entrySet()) {
+            if (entry.getValue() instanceof HandlerInterceptor interceptor) {
+                InterceptorMapping mapping = interceptor.getClass().getAnnotation(InterceptorMapping.class);
+                mappedInterceptors.add(mapping != null
+                        ? new MappedInterceptor(entry.getKey(), interceptor, mapping.value(), mapping.exclude(),
+                        mapping.order())
+                        : new MappedInterceptor(entry.getKey(), interceptor, ALL_PATHS, NO_PATHS, 0));
+            }
+        }
+        mappedInterceptors.sort(Comparator.comparingInt(MappedInterceptor::order)
+                .thenComparing(MappedInterceptor::name));
+
+        return new InterceptorRegistry(List.copyOf(mappedInterceptors));
+    }
+
+    /**
+     * Resolves the chain of the interceptors mapped to the route.
+     *
+     * @param patternPath the pattern path of the route
+     * @return the interceptor chain, or {@code null} if no interceptor applies to the route
+     */
+    public HandlerInterceptorChain getInterceptorChain(String patternPath) {
+        log.trace("Call getInterceptorChain({})", patternPath);
+        List<HandlerInterceptor> interceptors = new ArrayList<>();
+        for (MappedInterceptor mappedInterceptor : mappedInterceptors) {
+            if (matchesAny(mappedInterceptor.includePatterns(), patternPath)
+                    && !matchesAny(mappedInterceptor.excludePatterns(), patternPath)) {
+                interceptors.add(mappedInterceptor.interceptor());
+            }
+        }
+
+        return interceptors.isEmpty()
+                ? null
+                : new HandlerInterceptorChain(interceptors.toArray(HandlerInterceptor[]::new));
+    }
+
+    /**
+     * Checks whether the interceptor mapping pattern matches the pattern path of a route.
+     *
+     * @param pattern     the mapping pattern
+     * @param patternPath the pattern path of the route
+     * @return true if the pattern matches the route
+     */
+    public static boolean matches(String pattern, String patternPath) {
+        return matches(segments(pattern), 0, segments(patternPath), 0);
+    }
+
+    private static boolean matchesAny(String[] patterns, String patternPath) {
+        for (String pattern : patterns) {
+            if (matches(pattern, patternPath)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean matches(String[] pattern, int patternIndex, String[] path, int pathIndex) {
+        if (patternIndex == pattern.length) {
+            return pathIndex == path.length;
+        }
+
+        String segment = pattern[patternIndex];
+        if (ANY_SEGMENTS.equals(segment)) {
+            for (int i = pathIndex; i <= path.length; i++) {
+                if (matches(pattern, patternIndex + 1, path, i)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        return pathIndex < path.length
+                && (ANY_SEGMENT.equals(segment) || RouteTrie.isVariableSegment(segment)
+                || segment.equals(path[pathIndex]))
+                && matches(pattern, patternIndex + 1, path, pathIndex + 1);
+    }
+
+    private static String[] segments(String path) {
+        return Arrays.stream(path.split("/"))
+                .filter(segment -> !segment.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    private record MappedInterceptor(String name, HandlerInterceptor interceptor, String[] includePatterns,
+                                     String[] excludePatterns, int order) {
+    }
+}
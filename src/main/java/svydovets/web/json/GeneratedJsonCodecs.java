@@ -0,0 +1,504 @@
+package svydovets.web.json;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.BeanDeserializer;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBase;
+import com.fasterxml.jackson.databind.deser.CreatorProperty;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.deser.Deserializers;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.impl.FieldProperty;
+import com.fasterxml.jackson.databind.deser.impl.MethodProperty;
+import com.fasterxml.jackson.databind.deser.std.NumberDeserializers;
+import com.fasterxml.jackson.databind.deser.std.StdValueInstantiator;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+import com.fasterxml.jackson.databind.introspect.AnnotatedWithParams;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializer;
+import com.fasterxml.jackson.databind.ser.Serializers;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+import com.fasterxml.jackson.databind.ser.std.BooleanSerializer;
+import com.fasterxml.jackson.databind.ser.std.NumberSerializers;
+import com.fasterxml.jackson.databind.ser.std.StringSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import svydovets.web.annotation.RequestBody;
+import svydovets.web.dto.ResponseEntity;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.BaseStream;
+
+import static svydovets.web.json.JsonCodecGenerator.BOOLEAN;
+import static svydovets.web.json.JsonCodecGenerator.DOUBLE;
+import static svydovets.web.json.JsonCodecGenerator.FLOAT;
+import static svydovets.web.json.JsonCodecGenerator.INT;
+import static svydovets.web.json.JsonCodecGenerator.LONG;
+import static svydovets.web.json.JsonCodecGenerator.OBJECT;
+import static svydovets.web.json.JsonCodecGenerator.STRING;
+
+/**
+ * Specialized JSON serializers and deserializers of the request and response body types of the handler methods,
+ * generated at startup.
+ *
+ * <p>For every body type, and transitively for the bean types of its properties, the bean serializer and the bean
+ * deserializer Jackson would use are introspected, so the property names, order, inclusion, aliases and ignored
+ * properties stay exactly the ones of Jackson, and a subclass of {@link GeneratedJsonSerializer} or
+ * {@link GeneratedJsonDeserializer} that calls the getters, setters and constructor of the type directly is generated
+ * with {@link JsonCodecGenerator}. The generated codecs are served by a module of the {@link #getObjectMapper() object
+ * mapper}, a copy of the base object mapper.
+ *
+ * <p>A type is left to Jackson if any of its properties uses a feature that is not generated: type information,
+ * views, unwrapping, object identity, managed references, conditional inclusion, injection, any-getters and
+ * any-setters, delegating creators, or custom value instantiators, as well as members that the generated class cannot
+ * access. Values of the other properties are still written and read by the serializer and deserializer Jackson has
+ * resolved for them, so their annotations keep working.
+ */
+public class GeneratedJsonCodecs {
+
+    private static final Logger log = LoggerFactory.getLogger(GeneratedJsonCodecs.class);
+
+    private final ObjectMapper baseObjectMapper;
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<JavaType, GeneratedJsonSerializer> serializers = new ConcurrentHashMap<>();
+
+    private final Map<JavaType, GeneratedJsonDeserializer> deserializers = new ConcurrentHashMap<>();
+
+    private final Set<JavaType> serializedTypes = new HashSet<>();
+
+    private final Set<JavaType> deserializedTypes = new HashSet<>();
+
+    /**
+     * Creates the codecs of the types serialized by the given object mapper, whose configuration is kept.
+     *
+     * @param baseObjectMapper the object mapper whose serializers and deserializers are specialized
+     */
+    public GeneratedJsonCodecs(ObjectMapper baseObjectMapper) {
+        this.baseObjectMapper = baseObjectMapper;
+        this.objectMapper = baseObjectMapper.copy().registerModule(new GeneratedJsonModule());
+    }
+
+    /**
+     * Returns the object mapper that uses the generated codecs.
+     *
+     * @return the object mapper
+     */
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    /**
+     * Generates the codecs of the response body type of the handler method, unwrapped from a {@link CompletionStage}
+     * and a {@link ResponseEntity} and taken as the element type of a streamed body, and of its {@link RequestBody}
+     * parameters. Must be called before the readers and writers of the method are created.
+     *
+     * @param method the handler method
+     */
+    public void register(Method method) {
+        log.trace("Call register({})", method);
+        JavaType returnType = objectMapper.constructType(method.getGenericReturnType());
+        if (CompletionStage.class.isAssignableFrom(returnType.getRawClass())) {
+            returnType = returnType.containedTypeOrUnknown(0);
+        }
+        if (returnType.hasRawClass(ResponseEntity.class)) {
+            returnType = returnType.containedTypeOrUnknown(0);
+        }
+        registerSerializer(elementType(returnType));
+
+        for (Parameter parameter : method.getParameters()) {
+            if (parameter.isAnnotationPresent(RequestBody.class)) {
+                registerDeserializer(elementType(objectMapper.constructType(parameter.getParameterizedType())));
+            }
+        }
+    }
+
+    /**
+     * Generates the serializer of the type, and of the bean types of its properties.
+     *
+     * @param type the type
+     */
+    public void registerSerializer(JavaType type) {
+        if (!serializedTypes.add(type)) {
+            return;
+        } else if (type.isContainerType() || type.isReferenceType()) {
+            if (type.getKeyType() != null) {
+                registerSerializer(type.getKeyType());
+            }
+            registerSerializer(type.getContentType());
+            return;
+        } else if (!isBeanType(type.getRawClass())) {
+            return;
+        }
+
+        try {
+            JsonSerializer<Object> serializer = baseObjectMapper.getSerializerProviderInstance()
+                    .findValueSerializer(type, null);
+            if (serializer.getClass() != BeanSerializer.class) {
+                return;
+            }
+
+            SerializerInspector inspector = new SerializerInspector((BeanSerializer) serializer);
+            if (!inspector.isPlain()) {
+                return;
+            }
+            BeanPropertyWriter[] properties = inspector.propertyWriters();
+            for (BeanPropertyWriter property : properties) {
+                registerSerializer(property.getType());
+            }
+            generateSerializer(type, inspector, properties);
+        } catch (IOException | ReflectiveOperationException | RuntimeException | LinkageError exception) {
+            log.debug("JSON serializer of {} is not generated: {}", type, exception.toString());
+        }
+    }
+
+    /**
+     * Generates the deserializer of the type, and of the bean types of its properties.
+     *
+     * @param type the type
+     */
+    public void registerDeserializer(JavaType type) {
+        if (!deserializedTypes.add(type)) {
+            return;
+        } else if (type.isContainerType() || type.isReferenceType()) {
+            if (type.getKeyType() != null) {
+                registerDeserializer(type.getKeyType());
+            }
+            registerDeserializer(type.getContentType());
+            return;
+        } else if (!isBeanType(type.getRawClass())) {
+            return;
+        }
+
+        DeserializationConfig config = baseObjectMapper.getDeserializationConfig();
+        if (config.isEnabled(DeserializationFeature.FAIL_ON_NULL_FOR_PRIMITIVES)
+                || config.isEnabled(DeserializationFeature.FAIL_ON_MISSING_CREATOR_PROPERTIES)
+                || config.isEnabled(DeserializationFeature.FAIL_ON_NULL_CREATOR_PROPERTIES)
+                || config.isEnabled(DeserializationFeature.FAIL_ON_IGNORED_PROPERTIES)) {
+            return;
+        }
+
+        try {
+            JsonDeserializer<Object> deserializer = ((DefaultDeserializationContext) baseObjectMapper
+                    .getDeserializationContext())
+                    .createDummyInstance(config)
+                    .findRootValueDeserializer(type);
+            if (deserializer.getClass() != BeanDeserializer.class) {
+                return;
+            }
+
+            DeserializerInspector inspector = new DeserializerInspector((BeanDeserializer) deserializer);
+            if (!inspector.isPlain()) {
+                return;
+            }
+            SettableBeanProperty[] properties = inspector.settableProperties();
+            if (properties == null || properties.length > Long.SIZE) {
+                return;
+            }
+            for (SettableBeanProperty property : properties) {
+                registerDeserializer(property.getType());
+            }
+            generateDeserializer(type, inspector, properties, config);
+        } catch (IOException | ReflectiveOperationException | RuntimeException | LinkageError exception) {
+            log.debug("JSON deserializer of {} is not generated: {}", type, exception.toString());
+        }
+    }
+
+    private void generateSerializer(JavaType type, SerializerInspector inspector, BeanPropertyWriter[] properties)
+            throws ReflectiveOperationException {
+        Class<?> beanType = type.getRawClass();
+        Member[] accessors = new Member[properties.length];
+        int[] kinds = new int[properties.length];
+        boolean[] resolvedSerializers = new boolean[properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            GeneratedJsonSerializer.PropertyInspector property =
+                    new GeneratedJsonSerializer.PropertyInspector(properties[i]);
+            if (properties[i].getClass() != BeanPropertyWriter.class || !property.isPlain()
+                    || !JsonCodecGenerator.isAccessible(property.accessor(), beanType)) {
+                return;
+            }
+
+            accessors[i] = property.accessor();
+            Class<?> valueType = accessors[i] instanceof Method method
+                    ? method.getReturnType()
+                    : ((Field) accessors[i]).getType();
+            kinds[i] = hasStandardSerializer(valueType, property.serializer())
+                    ? JsonCodecGenerator.kindOf(valueType)
+                    : OBJECT;
+            resolvedSerializers[i] = property.serializer() != null && isBeanType(properties[i].getType().getRawClass())
+                    && properties[i].getAnnotation(JsonSerialize.class) == null;
+        }
+
+        GeneratedJsonSerializer serializer = JsonCodecGenerator.generateSerializer(beanType, accessors, kinds);
+        serializer.initialize(inspector.source(), properties, resolvedSerializers);
+        serializers.put(type, serializer);
+        log.debug("Generated JSON serializer of {}", type);
+    }
+
+    private void generateDeserializer(JavaType type, DeserializerInspector inspector,
+                                      SettableBeanProperty[] properties, DeserializationConfig config)
+            throws ReflectiveOperationException {
+        Class<?> beanType = type.getRawClass();
+        Constructor<?> constructor = inspector.constructor();
+        if (constructor == null || !JsonCodecGenerator.isAccessible(constructor, beanType)) {
+            return;
+        }
+
+        boolean creator = constructor.getParameterCount() > 0;
+        Member[] mutators = creator ? null : new Member[properties.length];
+        Class<?>[] types = new Class<?>[properties.length];
+        boolean[] fastPaths = new boolean[properties.length];
+        boolean[] resolvedDeserializers = new boolean[properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            SettableBeanProperty property = properties[i];
+            if (!isPlain(property)) {
+                return;
+            }
+
+            if (creator) {
+                types[i] = constructor.getParameterTypes()[i];
+            } else {
+                Member mutator = property.getMember().getMember();
+                if (!JsonCodecGenerator.isAccessible(mutator, beanType)
+                        || mutator instanceof Field field && Modifier.isFinal(field.getModifiers())) {
+                    return;
+                }
+                mutators[i] = mutator;
+                types[i] = mutator instanceof Method method ? method.getParameterTypes()[0] : ((Field) mutator).getType();
+            }
+            if (JsonCodecGenerator.isPrimitiveKind(JsonCodecGenerator.kindOf(types[i]))
+                    != JsonCodecGenerator.isPrimitiveKind(JsonCodecGenerator.kindOf(property.getType().getRawClass()))) {
+                return;
+            }
+            fastPaths[i] = hasStandardDeserializer(types[i], property.getValueDeserializer());
+            resolvedDeserializers[i] = isBeanType(property.getType().getRawClass())
+                    && property.getAnnotation(JsonDeserialize.class) == null;
+        }
+
+        GeneratedJsonDeserializer deserializer = JsonCodecGenerator.generateDeserializer(beanType, constructor,
+                mutators, types);
+        deserializer.initialize(inspector.source(), properties, fastPaths, resolvedDeserializers,
+                inspector.ignorableNames(), inspector.ignoreAllUnknown(), config);
+        deserializers.put(type, deserializer);
+        log.debug("Generated JSON deserializer of {}", type);
+    }
+
+    private static JavaType elementType(JavaType type) {
+        if (BaseStream.class.isAssignableFrom(type.getRawClass())) {
+            return type.findSuperType(BaseStream.class).containedTypeOrUnknown(0);
+        } else if (Iterator.class.isAssignableFrom(type.getRawClass())) {
+            return type.findSuperType(Iterator.class).containedTypeOrUnknown(0);
+        } else if (Iterable.class.isAssignableFrom(type.getRawClass()) && !type.isContainerType()) {
+            return type.findSuperType(Iterable.class).containedTypeOrUnknown(0);
+        }
+        return type;
+    }
+
+    /**
+     * Checks whether the class is a concrete application class, which Jackson would serialize as a bean.
+     */
+    private static boolean isBeanType(Class<?> type) {
+        String name = type.getName();
+        return !type.isPrimitive() && !type.isArray() && !type.isEnum() && !type.isInterface()
+                && !Modifier.isAbstract(type.getModifiers()) && !name.startsWith("java.")
+                && !name.startsWith("javax.") && !name.startsWith("jakarta.") && !name.startsWith("com.fasterxml.");
+    }
+
+    private static boolean isPlain(SettableBeanProperty property) {
+        Class<?> propertyClass = property.getClass();
+        return (propertyClass == CreatorProperty.class || propertyClass == MethodProperty.class
+                || propertyClass == FieldProperty.class)
+                && property.getValueTypeDeserializer() == null
+                && !property.hasViews()
+                && !property.isRequired()
+                && property.getInjectableValueId() == null
+                && property.getManagedReferenceName() == null
+                && property.getObjectIdInfo() == null
+                && property.getNullValueProvider() == property.getValueDeserializer();
+    }
+
+    private static boolean hasStandardSerializer(Class<?> type, JsonSerializer<Object> serializer) {
+        Class<?> serializerClass = serializer == null ? null : serializer.getClass();
+        return switch (JsonCodecGenerator.kindOf(type)) {
+            case INT -> serializerClass == NumberSerializers.IntegerSerializer.class;
+            case LONG -> serializerClass == NumberSerializers.LongSerializer.class;
+            case DOUBLE -> serializerClass == NumberSerializers.DoubleSerializer.class;
+            case FLOAT -> serializerClass == NumberSerializers.FloatSerializer.class;
+            case BOOLEAN -> serializerClass == BooleanSerializer.class;
+            case STRING -> serializerClass == StringSerializer.class;
+            default -> false;
+        };
+    }
+
+    private static boolean hasStandardDeserializer(Class<?> type, JsonDeserializer<Object> deserializer) {
+        Class<?> deserializerClass = deserializer.getClass();
+        return switch (JsonCodecGenerator.kindOf(type)) {
+            case INT -> deserializerClass == NumberDeserializers.IntegerDeserializer.class;
+            case LONG -> deserializerClass == NumberDeserializers.LongDeserializer.class;
+            case DOUBLE -> deserializerClass == NumberDeserializers.DoubleDeserializer.class;
+            case FLOAT -> deserializerClass == NumberDeserializers.FloatDeserializer.class;
+            case BOOLEAN -> deserializerClass == NumberDeserializers.BooleanDeserializer.class;
+            case STRING -> deserializerClass == StringDeserializer.class;
+            default -> false;
+        };
+    }
+
+    /**
+     * Reads the state of a resolved {@link BeanSerializer} that has no public accessor.
+     */
+    private static final class SerializerInspector extends BeanSerializer {
+
+        private final BeanSerializer source;
+
+        SerializerInspector(BeanSerializer source) {
+            super(source);
+            this.source = source;
+        }
+
+        BeanSerializerBase source() {
+            return source;
+        }
+
+        BeanPropertyWriter[] propertyWriters() {
+            return _props;
+        }
+
+        boolean isPlain() {
+            return _anyGetterWriter == null && _propertyFilterId == null && _objectIdWriter == null
+                    && _typeId == null && _filteredProps == null && _serializationShape != JsonFormat.Shape.ARRAY;
+        }
+    }
+
+    /**
+     * Reads the state of a resolved {@link BeanDeserializer} that has no public accessor.
+     */
+    private static final class DeserializerInspector extends BeanDeserializer {
+
+        private final BeanDeserializer source;
+
+        DeserializerInspector(BeanDeserializer source) {
+            super(source);
+            this.source = source;
+        }
+
+        BeanDeserializerBase source() {
+            return source;
+        }
+
+        Set<String> ignorableNames() {
+            return _ignorableProps;
+        }
+
+        boolean ignoreAllUnknown() {
+            return _ignoreAllUnknown;
+        }
+
+        boolean isPlain() {
+            return _valueInstantiator.getClass() == StdValueInstantiator.class
+                    && _objectIdReader == null && _injectables == null && !_needViewProcesing && _anySetter == null
+                    && _unwrappedPropertyHandler == null && _externalTypeIdHandler == null
+                    && _includableProps == null && (_backRefs == null || _backRefs.isEmpty())
+                    && _delegateDeserializer == null && _arrayDelegateDeserializer == null
+                    && !_beanProperties.isCaseInsensitive() && _serializationShape != JsonFormat.Shape.ARRAY;
+        }
+
+        /**
+         * Returns the constructor the bean is created with, the creator one or the no-arguments one.
+         */
+        Constructor<?> constructor() {
+            AnnotatedWithParams creator = _propertyBasedCreator != null
+                    ? _valueInstantiator.getWithArgsCreator()
+                    : _vanillaProcessing ? _valueInstantiator.getDefaultCreator() : null;
+            return creator != null && creator.getAnnotated() instanceof Constructor<?> constructor
+                    ? constructor
+                    : null;
+        }
+
+        /**
+         * Returns the properties, ordered by creator index if the bean has a property-based creator, or
+         * {@code null} if some are set otherwise.
+         */
+        SettableBeanProperty[] settableProperties() {
+            SettableBeanProperty[] properties = new SettableBeanProperty[_beanProperties.size()];
+            int count = 0;
+            for (SettableBeanProperty property : _beanProperties) {
+                if (_propertyBasedCreator != null && !(property instanceof CreatorProperty)) {
+                    return null;
+                }
+                properties[count++] = property;
+            }
+            if (_propertyBasedCreator == null) {
+                return properties;
+            }
+
+            Arrays.sort(properties, Comparator.comparingInt(SettableBeanProperty::getCreatorIndex));
+            AnnotatedWithParams creator = _valueInstantiator.getWithArgsCreator();
+            for (int i = 0; i < properties.length; i++) {
+                if (properties[i].getCreatorIndex() != i) {
+                    return null;
+                }
+            }
+            return creator != null && creator.getParameterCount() == properties.length ? properties : null;
+        }
+    }
+
+    /**
+     * Module that serves the generated codecs to the object mapper.
+     */
+    private final class GeneratedJsonModule extends Module {
+
+        @Override
+        public String getModuleName() {
+            return GeneratedJsonCodecs.class.getSimpleName();
+        }
+
+        @Override
+        public Version version() {
+            return Version.unknownVersion();
+        }
+
+        @Override
+        public void setupModule(SetupContext context) {
+            context.addSerializers(new Serializers.Base() {
+                @Override
+                public JsonSerializer<?> findSerializer(SerializationConfig config, JavaType type,
+                                                        BeanDescription beanDesc) {
+                    return serializers.get(type);
+                }
+            });
+            context.addDeserializers(new Deserializers.Base() {
+                @Override
+                public JsonDeserializer<?> findBeanDeserializer(JavaType type, DeserializationConfig config,
+                                                                BeanDescription beanDesc) {
+                    return deserializers.get(type);
+                }
+            });
+        }
+    }
+}
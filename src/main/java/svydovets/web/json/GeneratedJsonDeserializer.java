@@ -0,0 +1,323 @@
+package svydovets.web.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBase;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.type.LogicalType;
+import com.fasterxml.jackson.databind.util.AccessPattern;
+import com.fasterxml.jackson.databind.util.ClassUtil;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static svydovets.web.json.JsonCodecGenerator.DOUBLE;
+import static svydovets.web.json.JsonCodecGenerator.FLOAT;
+import static svydovets.web.json.JsonCodecGenerator.INT;
+import static svydovets.web.json.JsonCodecGenerator.LONG;
+import static svydovets.web.json.JsonCodecGenerator.STRING;
+import static svydovets.web.json.JsonCodecGenerator.isPrimitiveKind;
+import static svydovets.web.json.JsonCodecGenerator.kindOf;
+
+/**
+ * Base class of the JSON deserializers generated by {@link GeneratedJsonCodecs} for one bean or record type.
+ *
+ * <p>The parse loop is shared: a property is found by name in a hash map, its value is read straight from the parser
+ * if it is an {@code int}, {@code long}, {@code double}, {@code float}, {@code boolean} or {@link String} token, or by
+ * the deserializer Jackson has resolved for the property otherwise, and is stored by index. The generated subclass
+ * implements {@link #create} with a direct call of the constructor, the setters or the field assignments, so no
+ * {@link SettableBeanProperty} is invoked reflectively. Primitive values are stored as the bits of a {@code long}, so
+ * they are not boxed on the way.
+ */
+public abstract class GeneratedJsonDeserializer extends StdDeserializer<Object>
+        implements ResolvableDeserializer, ContextualDeserializer {
+
+    private BeanDeserializerBase fallback;
+
+    private SettableBeanProperty[] properties;
+
+    private int[] kinds;
+
+    private boolean[] fastPaths;
+
+    private boolean[] resolvedDeserializers;
+
+    private JsonDeserializer<Object>[] deserializers;
+
+    private Object[] absentValues;
+
+    private Map<String, Integer> indexes;
+
+    private Set<String> ignorableNames;
+
+    private boolean ignoreAllUnknown;
+
+    protected GeneratedJsonDeserializer(Class<?> beanType) {
+        super(beanType);
+    }
+
+    /**
+     * Completes the deserializer once it is generated.
+     *
+     * @param fallback              the Jackson deserializer of the type, used for the features that are not generated
+     * @param properties            the properties, in the order of the creator parameters if there is a creator
+     * @param fastPaths             whether the value of the property is read straight from the parser when the token
+     *                              matches its type, because Jackson uses its standard deserializer for it
+     * @param resolvedDeserializers whether the deserializer of the property is resolved again by {@link #resolve}, so
+     *                              it can be a generated one as well
+     * @param ignorableNames        the names of the properties that are ignored, may be {@code null}
+     * @param ignoreAllUnknown      whether all unknown properties are ignored
+     * @param config                the deserialization config, which provides the aliases of the properties
+     */
+    @SuppressWarnings("unchecked")
+    void initialize(BeanDeserializerBase fallback, SettableBeanProperty[] properties, boolean[] fastPaths,
+                    boolean[] resolvedDeserializers, Set<String> ignorableNames, boolean ignoreAllUnknown,
+                    DeserializationConfig config) {
+        this.fallback = fallback;
+        this.properties = properties;
+        this.fastPaths = fastPaths;
+        this.resolvedDeserializers = resolvedDeserializers;
+        this.ignorableNames = ignorableNames;
+        this.ignoreAllUnknown = ignoreAllUnknown;
+        this.kinds = new int[properties.length];
+        this.deserializers = new JsonDeserializer[properties.length];
+        this.absentValues = new Object[properties.length];
+        this.indexes = new HashMap<>();
+        for (int i = 0; i < properties.length; i++) {
+            kinds[i] = kindOf(properties[i].getType().getRawClass());
+            deserializers[i] = properties[i].getValueDeserializer();
+            indexes.put(properties[i].getName(), i);
+        }
+        for (int i = 0; i < properties.length; i++) {
+            int index = i;
+            properties[i].findAliases(config).forEach(alias -> indexes.putIfAbsent(alias.getSimpleName(), index));
+        }
+    }
+
+    @Override
+    public void resolve(DeserializationContext ctxt) throws JsonMappingException {
+        for (int i = 0; i < properties.length; i++) {
+            if (resolvedDeserializers[i]) {
+                deserializers[i] = ctxt.findContextualValueDeserializer(properties[i].getType(), properties[i]);
+            }
+            Object absentValue = deserializers[i].getAbsentValue(ctxt);
+            Class<?> type = properties[i].getType().getRawClass();
+            absentValues[i] = absentValue == null && type.isPrimitive() ? ClassUtil.defaultValue(type) : absentValue;
+        }
+    }
+
+    @Override
+    public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property)
+            throws JsonMappingException {
+        JsonDeserializer<?> contextual = fallback.createContextual(ctxt, property);
+        return contextual == fallback ? this : contextual;
+    }
+
+    @Override
+    public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        String name;
+        if (p.isExpectedStartObjectToken()) {
+            name = p.nextFieldName();
+        } else if (p.hasToken(JsonToken.FIELD_NAME)) {
+            name = p.currentName();
+        } else if (p.hasToken(JsonToken.END_OBJECT)) {
+            name = null;
+        } else {
+            return fallback.deserialize(p, ctxt);
+        }
+
+        long[] primitives = new long[properties.length];
+        Object[] objects = absentValues.clone();
+        long present = 0;
+        for (; name != null; name = p.nextFieldName()) {
+            JsonToken token = p.nextToken();
+            Integer index = indexes.get(name);
+            if (index == null) {
+                handleUnknownProperty(p, ctxt, name);
+                continue;
+            }
+
+            int i = index;
+            try {
+                if (isPrimitiveKind(kinds[i])) {
+                    primitives[i] = readPrimitive(i, token, p, ctxt);
+                } else if (kinds[i] == STRING && fastPaths[i] && token == JsonToken.VALUE_STRING) {
+                    objects[i] = p.getText();
+                } else {
+                    objects[i] = readValue(i, token, p, ctxt);
+                }
+            } catch (Exception exception) {
+                throw wrapAndThrow(exception, name, ctxt);
+            }
+            present |= 1L << i;
+        }
+
+        try {
+            return create(primitives, objects, present);
+        } catch (RuntimeException exception) {
+            return ctxt.handleInstantiationProblem(handledType(), null, exception);
+        }
+    }
+
+    @Override
+    public Object deserialize(JsonParser p, DeserializationContext ctxt, Object intoValue) throws IOException {
+        return fallback.deserialize(p, ctxt, intoValue);
+    }
+
+    @Override
+    public Object deserializeWithType(JsonParser p, DeserializationContext ctxt, TypeDeserializer typeDeserializer)
+            throws IOException {
+        return typeDeserializer.deserializeTypedFromObject(p, ctxt);
+    }
+
+    @Override
+    public JsonDeserializer<Object> unwrappingDeserializer(NameTransformer transformer) {
+        return fallback.unwrappingDeserializer(transformer);
+    }
+
+    @Override
+    public SettableBeanProperty findBackReference(String refName) {
+        return fallback.findBackReference(refName);
+    }
+
+    @Override
+    public Collection<Object> getKnownPropertyNames() {
+        List<Object> names = new ArrayList<>(properties.length);
+        for (SettableBeanProperty property : properties) {
+            names.add(property.getName());
+        }
+        return names;
+    }
+
+    @Override
+    public AccessPattern getEmptyAccessPattern() {
+        return fallback.getEmptyAccessPattern();
+    }
+
+    @Override
+    public Object getEmptyValue(DeserializationContext ctxt) throws JsonMappingException {
+        return fallback.getEmptyValue(ctxt);
+    }
+
+    @Override
+    public Boolean supportsUpdate(DeserializationConfig config) {
+        return fallback.supportsUpdate(config);
+    }
+
+    @Override
+    public LogicalType logicalType() {
+        return LogicalType.POJO;
+    }
+
+    @Override
+    public boolean isCachable() {
+        return true;
+    }
+
+    /**
+     * Creates the bean from the property values, implemented by the generated subclass.
+     *
+     * @param primitives the bits of the values of the primitive properties
+     * @param objects    the values of the other properties, or their absent values
+     * @param present    the mask of the properties present in the JSON object
+     * @return the bean
+     */
+    protected abstract Object create(long[] primitives, Object[] objects, long present);
+
+    private long readPrimitive(int i, JsonToken token, JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (fastPaths[i]) {
+            switch (kinds[i]) {
+                case INT -> {
+                    if (token == JsonToken.VALUE_NUMBER_INT) {
+                        return p.getIntValue();
+                    }
+                }
+                case LONG -> {
+                    if (token == JsonToken.VALUE_NUMBER_INT) {
+                        return p.getLongValue();
+                    }
+                }
+                case DOUBLE -> {
+                    if (token == JsonToken.VALUE_NUMBER_FLOAT) {
+                        return Double.doubleToRawLongBits(p.getDoubleValue());
+                    }
+                }
+                case FLOAT -> {
+                    if (token == JsonToken.VALUE_NUMBER_FLOAT) {
+                        return Float.floatToRawIntBits(p.getFloatValue());
+                    }
+                }
+                default -> {
+                    if (token == JsonToken.VALUE_TRUE || token == JsonToken.VALUE_FALSE) {
+                        return token == JsonToken.VALUE_TRUE ? 1 : 0;
+                    }
+                }
+            }
+        }
+
+        Object value = readValue(i, token, p, ctxt);
+        return switch (kinds[i]) {
+            case INT -> ((Number) value).intValue();
+            case LONG -> ((Number) value).longValue();
+            case DOUBLE -> Double.doubleToRawLongBits(((Number) value).doubleValue());
+            case FLOAT -> Float.floatToRawIntBits(((Number) value).floatValue());
+            default -> Boolean.TRUE.equals(value) ? 1 : 0;
+        };
+    }
+
+    private Object readValue(int i, JsonToken token, JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonDeserializer<Object> deserializer = deserializers[i];
+        if (token == JsonToken.VALUE_NULL) {
+            return deserializer.getNullValue(ctxt);
+        }
+
+        Object value = deserializer.deserialize(p, ctxt);
+        return value != null ? value : deserializer.getNullValue(ctxt);
+    }
+
+    private void handleUnknownProperty(JsonParser p, DeserializationContext ctxt, String name) throws IOException {
+        if (ignoreAllUnknown || ignorableNames != null && ignorableNames.contains(name)) {
+            p.skipChildren();
+        } else if (!ctxt.handleUnknownProperty(p, this, handledType(), name)) {
+            p.skipChildren();
+        }
+    }
+
+    /**
+     * Adds the property to the path of the exception the way the Jackson bean deserializer does.
+     */
+    private IOException wrapAndThrow(Throwable throwable, String name, DeserializationContext ctxt)
+            throws IOException {
+        while (throwable instanceof InvocationTargetException && throwable.getCause() != null) {
+            throwable = throwable.getCause();
+        }
+        ClassUtil.throwIfError(throwable);
+        boolean wrap = ctxt.isEnabled(DeserializationFeature.WRAP_EXCEPTIONS);
+        if (throwable instanceof IOException ioException) {
+            if (!wrap || !(throwable instanceof JsonProcessingException)) {
+                throw ioException;
+            }
+        } else if (!wrap) {
+            ClassUtil.throwIfRTE(throwable);
+        }
+        throw JsonMappingException.wrapWithPath(throwable, handledType(), name);
+    }
+}
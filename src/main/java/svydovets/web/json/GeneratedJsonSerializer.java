@@ -0,0 +1,279 @@
+package svydovets.web.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.type.WritableTypeId;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsonFormatVisitors.JsonFormatVisitorWrapper;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.impl.PropertySerializerMap;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+
+import java.io.IOException;
+import java.lang.reflect.Member;
+
+/**
+ * Base class of the JSON serializers generated by {@link GeneratedJsonCodecs} for one bean or record type.
+ *
+ * <p>The generated subclass implements {@link #serializeFields} with a direct call of every getter, or a direct read
+ * of every field, in the order Jackson has chosen. {@code int}, {@code long}, {@code double}, {@code float},
+ * {@code boolean} and {@link String} values are written straight to the generator; any other value is written with
+ * the serializer Jackson has resolved for the property, looked up by index rather than through the
+ * {@link BeanPropertyWriter}, so the output is the same as the one of the Jackson bean serializer it replaces.
+ */
+public abstract class GeneratedJsonSerializer extends StdSerializer<Object>
+        implements ResolvableSerializer, ContextualSerializer {
+
+    private BeanSerializerBase fallback;
+
+    private SerializedString[] names;
+
+    private BeanPropertyWriter[] properties;
+
+    private JsonSerializer<Object>[] serializers;
+
+    private JsonSerializer<Object>[] nullSerializers;
+
+    private PropertySerializerMap[] dynamicSerializers;
+
+    private JavaType[] nonTrivialBaseTypes;
+
+    private boolean[] resolvedSerializers;
+
+    protected GeneratedJsonSerializer(Class<?> beanType) {
+        super(beanType, false);
+    }
+
+    /**
+     * Completes the serializer once it is generated.
+     *
+     * @param fallback            the Jackson serializer of the type, used for the features that are not generated
+     * @param properties          the properties in serialization order
+     * @param resolvedSerializers whether the serializer of the property is resolved again by {@link #resolve}, so it
+     *                            can be a generated one as well
+     */
+    @SuppressWarnings("unchecked")
+    void initialize(BeanSerializerBase fallback, BeanPropertyWriter[] properties, boolean[] resolvedSerializers) {
+        this.fallback = fallback;
+        this.properties = properties;
+        this.resolvedSerializers = resolvedSerializers;
+        this.names = new SerializedString[properties.length];
+        this.serializers = new JsonSerializer[properties.length];
+        this.nullSerializers = new JsonSerializer[properties.length];
+        this.dynamicSerializers = new PropertySerializerMap[properties.length];
+        this.nonTrivialBaseTypes = new JavaType[properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            names[i] = new SerializedString(properties[i].getName());
+            PropertyInspector inspector = new PropertyInspector(properties[i]);
+            serializers[i] = inspector.serializer();
+            nullSerializers[i] = inspector.nullSerializer();
+            nonTrivialBaseTypes[i] = inspector.nonTrivialBaseType();
+            dynamicSerializers[i] = PropertySerializerMap.emptyForProperties();
+        }
+    }
+
+    @Override
+    public void resolve(SerializerProvider provider) throws JsonMappingException {
+        for (int i = 0; i < properties.length; i++) {
+            if (resolvedSerializers[i]) {
+                serializers[i] = provider.findValueSerializer(properties[i].getType(), properties[i]);
+            }
+        }
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+            throws JsonMappingException {
+        JsonSerializer<?> contextual = fallback.createContextual(provider, property);
+        return contextual == fallback ? this : contextual;
+    }
+
+    @Override
+    public void serialize(Object bean, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(bean);
+        serializeFieldsGuarded(bean, gen, provider);
+        gen.writeEndObject();
+    }
+
+    @Override
+    public void serializeWithType(Object bean, JsonGenerator gen, SerializerProvider provider,
+                                  TypeSerializer typeSerializer) throws IOException {
+        gen.setCurrentValue(bean);
+        WritableTypeId typeId = typeSerializer.writeTypePrefix(gen, typeSerializer.typeId(bean, JsonToken.START_OBJECT));
+        serializeFieldsGuarded(bean, gen, provider);
+        typeSerializer.writeTypeSuffix(gen, typeId);
+    }
+
+    @Override
+    public JsonSerializer<Object> unwrappingSerializer(NameTransformer transformer) {
+        return fallback.unwrappingSerializer(transformer);
+    }
+
+    @Override
+    public void acceptJsonFormatVisitor(JsonFormatVisitorWrapper visitor, JavaType typeHint)
+            throws JsonMappingException {
+        fallback.acceptJsonFormatVisitor(visitor, typeHint);
+    }
+
+    /**
+     * Writes the properties of the bean, implemented by the generated subclass.
+     *
+     * @param bean     the bean
+     * @param gen      the JSON generator
+     * @param provider the serializer provider
+     * @throws IOException if the properties cannot be written
+     */
+    protected abstract void serializeFields(Object bean, JsonGenerator gen, SerializerProvider provider)
+            throws IOException;
+
+    protected final void writeInt(int index, int value, JsonGenerator gen) throws IOException {
+        gen.writeFieldName(names[index]);
+        gen.writeNumber(value);
+    }
+
+    protected final void writeLong(int index, long value, JsonGenerator gen) throws IOException {
+        gen.writeFieldName(names[index]);
+        gen.writeNumber(value);
+    }
+
+    protected final void writeDouble(int index, double value, JsonGenerator gen) throws IOException {
+        gen.writeFieldName(names[index]);
+        gen.writeNumber(value);
+    }
+
+    protected final void writeFloat(int index, float value, JsonGenerator gen) throws IOException {
+        gen.writeFieldName(names[index]);
+        gen.writeNumber(value);
+    }
+
+    protected final void writeBoolean(int index, boolean value, JsonGenerator gen) throws IOException {
+        gen.writeFieldName(names[index]);
+        gen.writeBoolean(value);
+    }
+
+    protected final void writeString(int index, String value, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        if (value == null) {
+            writeNull(index, gen, provider);
+            return;
+        }
+
+        gen.writeFieldName(names[index]);
+        gen.writeString(value);
+    }
+
+    /**
+     * Writes a property with the serializer Jackson would use for it, or with the property writer itself if the
+     * value refers back to the bean.
+     */
+    protected final void writeProperty(int index, Object value, Object bean, JsonGenerator gen,
+                                       SerializerProvider provider) throws IOException {
+        if (value == null) {
+            writeNull(index, gen, provider);
+            return;
+        } else if (value == bean) {
+            writePropertyWithWriter(index, bean, gen, provider);
+            return;
+        }
+
+        JsonSerializer<Object> serializer = serializers[index];
+        if (serializer == null) {
+            Class<?> type = value.getClass();
+            PropertySerializerMap dynamicSerializerMap = dynamicSerializers[index];
+            serializer = dynamicSerializerMap.serializerFor(type);
+            if (serializer == null) {
+                serializer = findDynamicSerializer(index, dynamicSerializerMap, type, provider);
+            }
+        }
+        gen.writeFieldName(names[index]);
+        serializer.serialize(value, gen, provider);
+    }
+
+    private void writeNull(int index, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        JsonSerializer<Object> nullSerializer = nullSerializers[index];
+        if (nullSerializer != null) {
+            gen.writeFieldName(names[index]);
+            nullSerializer.serialize(null, gen, provider);
+        }
+    }
+
+    private void writePropertyWithWriter(int index, Object bean, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        try {
+            properties[index].serializeAsField(bean, gen, provider);
+        } catch (IOException | RuntimeException exception) {
+            throw exception;
+        } catch (Exception exception) {
+            throw JsonMappingException.from(gen, exception.getMessage(), exception);
+        }
+    }
+
+    private JsonSerializer<Object> findDynamicSerializer(int index, PropertySerializerMap dynamicSerializerMap,
+                                                         Class<?> type, SerializerProvider provider)
+            throws JsonMappingException {
+        JavaType nonTrivialBaseType = nonTrivialBaseTypes[index];
+        PropertySerializerMap.SerializerAndMapResult result = nonTrivialBaseType != null
+                ? dynamicSerializerMap.findAndAddPrimarySerializer(
+                        provider.constructSpecializedType(nonTrivialBaseType, type), provider, properties[index])
+                : dynamicSerializerMap.findAndAddPrimarySerializer(type, provider, properties[index]);
+        dynamicSerializers[index] = result.map;
+        return result.serializer;
+    }
+
+    private void serializeFieldsGuarded(Object bean, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        try {
+            serializeFields(bean, gen, provider);
+        } catch (StackOverflowError error) {
+            throw JsonMappingException.from(gen, "Infinite recursion (StackOverflowError)", error);
+        }
+    }
+
+    /**
+     * Reads the state of a resolved {@link BeanPropertyWriter} that has no public accessor.
+     */
+    static final class PropertyInspector extends BeanPropertyWriter {
+
+        PropertyInspector(BeanPropertyWriter source) {
+            super(source);
+        }
+
+        JsonSerializer<Object> serializer() {
+            return _serializer;
+        }
+
+        JsonSerializer<Object> nullSerializer() {
+            return _nullSerializer;
+        }
+
+        JavaType nonTrivialBaseType() {
+            return _nonTrivialBaseType;
+        }
+
+        /**
+         * Returns the getter or the field the property is read from.
+         */
+        Member accessor() {
+            return _accessorMethod != null ? _accessorMethod : _field;
+        }
+
+        /**
+         * Checks whether the property is written unconditionally, with no type information, views or serialization
+         * type of its own.
+         */
+        boolean isPlain() {
+            return _suppressableValue == null && !_suppressNulls && _typeSerializer == null
+                    && _includeInViews == null && _cfgSerializationType == null && accessor() != null;
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package svydovets.web.json;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Generates the bytecode of the {@link GeneratedJsonSerializer} and {@link GeneratedJsonDeserializer} subclasses of a
+ * bean or record type.
+ *
+ * <p>A generated class is defined as a hidden nestmate of the bean type, in its package, so it calls the accessors,
+ * setters and constructors of the bean directly, including private ones declared by the bean type itself. Members
+ * of other classes are used only if they are accessible from the package of the bean type, see
+ * {@link #isAccessible}.
+ */
+final class JsonCodecGenerator {
+
+    static final int OBJECT = 0;
+
+    static final int INT = 1;
+
+    static final int LONG = 2;
+
+    static final int DOUBLE = 3;
+
+    static final int FLOAT = 4;
+
+    static final int BOOLEAN = 5;
+
+    static final int STRING = 6;
+
+    private static final String SERIALIZER_NAME = Type.getInternalName(GeneratedJsonSerializer.class);
+
+    private static final String DESERIALIZER_NAME = Type.getInternalName(GeneratedJsonDeserializer.class);
+
+    private static final String CONSTRUCTOR_DESCRIPTOR = "(Ljava/lang/Class;)V";
+
+    private static final String SERIALIZE_FIELDS_DESCRIPTOR = "(Ljava/lang/Object;Lcom/fasterxml/jackson/core/JsonGenerator;"
+            + "Lcom/fasterxml/jackson/databind/SerializerProvider;)V";
+
+    private static final String CREATE_DESCRIPTOR = "([J[Ljava/lang/Object;J)Ljava/lang/Object;";
+
+    private static final String GENERATOR = "Lcom/fasterxml/jackson/core/JsonGenerator;";
+
+    private static final String PROVIDER = "Lcom/fasterxml/jackson/databind/SerializerProvider;";
+
+    private JsonCodecGenerator() {
+    }
+
+    /**
+     * Returns the kind of a property type: one of the primitive kinds, {@link #STRING} or {@link #OBJECT}.
+     */
+    static int kindOf(Class<?> type) {
+        if (type == int.class) {
+            return INT;
+        } else if (type == long.class) {
+            return LONG;
+        } else if (type == double.class) {
+            return DOUBLE;
+        } else if (type == float.class) {
+            return FLOAT;
+        } else if (type == boolean.class) {
+            return BOOLEAN;
+        } else if (type == String.class) {
+            return STRING;
+        }
+        return OBJECT;
+    }
+
+    /**
+     * Checks whether the values of the kind are stored as the bits of a {@code long} by the deserializer.
+     */
+    static boolean isPrimitiveKind(int kind) {
+        return kind != OBJECT && kind != STRING;
+    }
+
+    /**
+     * Checks whether the generated class of the bean type can use the member directly.
+     *
+     * @param member   the field, method or constructor
+     * @param beanType the bean type
+     * @return true if the member is declared by the bean type, public, or not private and in the same package
+     */
+    static boolean isAccessible(Member member, Class<?> beanType) {
+        int modifiers = member.getModifiers();
+        Class<?> declaringClass = member.getDeclaringClass();
+        if (declaringClass == beanType) {
+            return true;
+        } else if (Modifier.isPrivate(modifiers) || member instanceof Constructor<?>) {
+            return false;
+        }
+        return Modifier.isPublic(modifiers) || declaringClass.getPackageName().equals(beanType.getPackageName())
+                && declaringClass.getClassLoader() == beanType.getClassLoader();
+    }
+
+    /**
+     * Generates and instantiates the serializer of the bean type.
+     *
+     * @param beanType  the bean type
+     * @param accessors the getter or field of every property, in serialization order
+     * @param kinds     the kind of every property, {@link #OBJECT} for the ones written by their Jackson serializer
+     * @return the uninitialized serializer
+     * @throws ReflectiveOperationException if the class cannot be defined in the package of the bean type
+     */
+    static GeneratedJsonSerializer generateSerializer(Class<?> beanType, Member[] accessors, int[] kinds)
+            throws ReflectiveOperationException {
+        String beanName = Type.getInternalName(beanType);
+        ClassWriter classWriter = createClassWriter(beanName + "$$JsonSerializer", SERIALIZER_NAME);
+        writeConstructor(classWriter, beanName, SERIALIZER_NAME);
+
+        MethodVisitor mv = classWriter.visitMethod(Opcodes.ACC_PROTECTED, "serializeFields",
+                SERIALIZE_FIELDS_DESCRIPTOR, null, new String[]{"java/io/IOException"});
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 1);
+        mv.visitTypeInsn(Opcodes.CHECKCAST, beanName);
+        mv.visitVarInsn(Opcodes.ASTORE, 4);
+        for (int i = 0; i < accessors.length; i++) {
+            mv.visitVarInsn(Opcodes.ALOAD, 0);
+            pushInt(mv, i);
+            mv.visitVarInsn(Opcodes.ALOAD, 4);
+            Class<?> valueType = readMember(mv, beanName, accessors[i]);
+            switch (kinds[i]) {
+                case INT -> writeValue(mv, "writeInt", "(II" + GENERATOR + ")V");
+                case LONG -> writeValue(mv, "writeLong", "(IJ" + GENERATOR + ")V");
+                case DOUBLE -> writeValue(mv, "writeDouble", "(ID" + GENERATOR + ")V");
+                case FLOAT -> writeValue(mv, "writeFloat", "(IF" + GENERATOR + ")V");
+                case BOOLEAN -> writeValue(mv, "writeBoolean", "(IZ" + GENERATOR + ")V");
+                case STRING -> {
+                    mv.visitVarInsn(Opcodes.ALOAD, 2);
+                    mv.visitVarInsn(Opcodes.ALOAD, 3);
+                    mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, SERIALIZER_NAME, "writeString",
+                            "(ILjava/lang/String;" + GENERATOR + PROVIDER + ")V", false);
+                }
+                default -> {
+                    box(mv, valueType);
+                    mv.visitVarInsn(Opcodes.ALOAD, 4);
+                    mv.visitVarInsn(Opcodes.ALOAD, 2);
+                    mv.visitVarInsn(Opcodes.ALOAD, 3);
+                    mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, SERIALIZER_NAME, "writeProperty",
+                            "(ILjava/lang/Object;Ljava/lang/Object;" + GENERATOR + PROVIDER + ")V", false);
+                }
+            }
+        }
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        return (GeneratedJsonSerializer) defineAndInstantiate(beanType, classWriter);
+    }
+
+    /**
+     * Generates and instantiates the deserializer of the bean type.
+     *
+     * @param beanType    the bean type
+     * @param constructor the constructor taking the properties in order, or the no-arguments constructor
+     * @param mutators    the setter or field of every property, or {@code null} if the properties are passed to the
+     *                    constructor
+     * @param types       the raw type of every property
+     * @return the uninitialized deserializer
+     * @throws ReflectiveOperationException if the class cannot be defined in the package of the bean type
+     */
+    static GeneratedJsonDeserializer generateDeserializer(Class<?> beanType, Constructor<?> constructor,
+                                                          Member[] mutators, Class<?>[] types)
+            throws ReflectiveOperationException {
+        String beanName = Type.getInternalName(beanType);
+        ClassWriter classWriter = createClassWriter(beanName + "$$JsonDeserializer", DESERIALIZER_NAME);
+        writeConstructor(classWriter, beanName, DESERIALIZER_NAME);
+
+        MethodVisitor mv = classWriter.visitMethod(Opcodes.ACC_PROTECTED, "create", CREATE_DESCRIPTOR, null, null);
+        mv.visitCode();
+        mv.visitTypeInsn(Opcodes.NEW, beanName);
+        mv.visitInsn(Opcodes.DUP);
+        if (mutators == null) {
+            Class<?>[] parameterTypes = constructor.getParameterTypes();
+            for (int i = 0; i < parameterTypes.length; i++) {
+                loadValue(mv, i, types[i], parameterTypes[i]);
+            }
+            mv.visitMethodInsn(Opcodes.INVOKESPECIAL, beanName, "<init>",
+                    Type.getConstructorDescriptor(constructor), false);
+            mv.visitInsn(Opcodes.ARETURN);
+        } else {
+            mv.visitMethodInsn(Opcodes.INVOKESPECIAL, beanName, "<init>", "()V", false);
+            mv.visitVarInsn(Opcodes.ASTORE, 5);
+            for (int i = 0; i < mutators.length; i++) {
+                Label absent = new Label();
+                mv.visitVarInsn(Opcodes.LLOAD, 3);
+                mv.visitLdcInsn(1L << i);
+                mv.visitInsn(Opcodes.LAND);
+                mv.visitInsn(Opcodes.LCONST_0);
+                mv.visitInsn(Opcodes.LCMP);
+                mv.visitJumpInsn(Opcodes.IFEQ, absent);
+                mv.visitVarInsn(Opcodes.ALOAD, 5);
+                writeMember(mv, beanName, mutators[i], i, types[i]);
+                mv.visitLabel(absent);
+            }
+            mv.visitVarInsn(Opcodes.ALOAD, 5);
+            mv.visitInsn(Opcodes.ARETURN);
+        }
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        return (GeneratedJsonDeserializer) defineAndInstantiate(beanType, classWriter);
+    }
+
+    private static ClassWriter createClassWriter(String className, String superName) {
+        ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_FRAMES) {
+            @Override
+            protected String getCommonSuperClass(String type1, String type2) {
+                return "java/lang/Object";
+            }
+        };
+        classWriter.visit(Opcodes.V11, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER, className, null,
+                superName, null);
+        return classWriter;
+    }
+
+    private static void writeConstructor(ClassWriter classWriter, String beanName, String superName) {
+        MethodVisitor mv = classWriter.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitLdcInsn(Type.getObjectType(beanName));
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, superName, "<init>", CONSTRUCTOR_DESCRIPTOR, false);
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    private static Object defineAndInstantiate(Class<?> beanType, ClassWriter classWriter)
+            throws ReflectiveOperationException {
+        classWriter.visitEnd();
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(beanType, MethodHandles.lookup())
+                .defineHiddenClass(classWriter.toByteArray(), true, MethodHandles.Lookup.ClassOption.NESTMATE);
+        try {
+            return lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class)).invoke();
+        } catch (RuntimeException | Error exception) {
+            throw exception;
+        } catch (Throwable throwable) {
+            throw new ReflectiveOperationException(throwable);
+        }
+    }
+
+    private static void writeValue(MethodVisitor mv, String name, String descriptor) {
+        mv.visitVarInsn(Opcodes.ALOAD, 2);
+        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, SERIALIZER_NAME, name, descriptor, false);
+    }
+
+    private static Class<?> readMember(MethodVisitor mv, String beanName, Member accessor) {
+        if (accessor instanceof Method method) {
+            mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, beanName, method.getName(), Type.getMethodDescriptor(method),
+                    false);
+            return method.getReturnType();
+        }
+
+        Field field = (Field) accessor;
+        mv.visitFieldInsn(Opcodes.GETFIELD, beanName, field.getName(), Type.getDescriptor(field.getType()));
+        return field.getType();
+    }
+
+    private static void writeMember(MethodVisitor mv, String beanName, Member mutator, int index, Class<?> type) {
+        if (mutator instanceof Method method) {
+            loadValue(mv, index, type, method.getParameterTypes()[0]);
+            mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, beanName, method.getName(), Type.getMethodDescriptor(method),
+                    false);
+            Class<?> returnType = method.getReturnType();
+            if (returnType == long.class || returnType == double.class) {
+                mv.visitInsn(Opcodes.POP2);
+            } else if (returnType != void.class) {
+                mv.visitInsn(Opcodes.POP);
+            }
+            return;
+        }
+
+        Field field = (Field) mutator;
+        loadValue(mv, index, type, field.getType());
+        mv.visitFieldInsn(Opcodes.PUTFIELD, beanName, field.getName(), Type.getDescriptor(field.getType()));
+    }
+
+    /**
+     * Loads the value of a property from the {@code long[]} of primitive bits or the {@code Object[]} of the
+     * {@code create} method, converted to the target type.
+     */
+    private static void loadValue(MethodVisitor mv, int index, Class<?> type, Class<?> targetType) {
+        int kind = kindOf(type);
+        if (isPrimitiveKind(kind)) {
+            mv.visitVarInsn(Opcodes.ALOAD, 1);
+            pushInt(mv, index);
+            mv.visitInsn(Opcodes.LALOAD);
+            switch (kind) {
+                case INT, BOOLEAN -> mv.visitInsn(Opcodes.L2I);
+                case DOUBLE -> mv.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/Double", "longBitsToDouble",
+                        "(J)D", false);
+                case FLOAT -> {
+                    mv.visitInsn(Opcodes.L2I);
+                    mv.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/Float", "intBitsToFloat", "(I)F", false);
+                }
+                default -> {
+                }
+            }
+            return;
+        }
+
+        mv.visitVarInsn(Opcodes.ALOAD, 2);
+        pushInt(mv, index);
+        mv.visitInsn(Opcodes.AALOAD);
+        if (targetType.isPrimitive()) {
+            Class<?> boxedType = boxedType(targetType);
+            mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(boxedType));
+            mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, Type.getInternalName(boxedType), targetType.getName() + "Value",
+                    "()" + Type.getDescriptor(targetType), false);
+        } else if (targetType != Object.class) {
+            mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(targetType));
+        }
+    }
+
+    private static void box(MethodVisitor mv, Class<?> type) {
+        if (type.isPrimitive()) {
+            Class<?> boxedType = boxedType(type);
+            mv.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(boxedType), "valueOf",
+                    "(" + Type.getDescriptor(type) + ")" + Type.getDescriptor(boxedType), false);
+        }
+    }
+
+    private static Class<?> boxedType(Class<?> type) {
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    private static void pushInt(MethodVisitor mv, int value) {
+        if (value <= 5) {
+            mv.visitInsn(Opcodes.ICONST_0 + value);
+        } else if (value <= Byte.MAX_VALUE) {
+            mv.visitIntInsn(Opcodes.BIPUSH, value);
+        } else {
+            mv.visitIntInsn(Opcodes.SIPUSH, value);
+        }
+    }
+}
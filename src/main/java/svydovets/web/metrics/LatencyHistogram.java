@@ -0,0 +1,147 @@
+package svydovets.web.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import svydovets.util.ErrorMessageConstants;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with log-linear buckets and fixed memory, in the manner of HdrHistogram.
+ *
+ * <p>Values below {@value #SUB_BUCKET_COUNT} are counted exactly. Larger values fall into buckets whose width doubles
+ * with every power of two, and every power of two is split into {@value #HALF_SUB_BUCKET_COUNT} linear sub-buckets, so
+ * the value reported for a bucket is within 1/{@value #HALF_SUB_BUCKET_COUNT} of the recorded value. The counts are
+ * kept in one {@link AtomicLongArray} sized for the highest trackable value, so recording a value is an index
+ * computation and an atomic increment that never allocates. Values above the highest trackable value are counted in
+ * the last bucket, while the maximum is still tracked exactly.
+ */
+public class LatencyHistogram {
+
+    private static final Logger log = LoggerFactory.getLogger(LatencyHistogram.class);
+
+    private static final int SUB_BUCKET_BITS = 7;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    private static final int HALF_SUB_BUCKET_BITS = SUB_BUCKET_BITS - 1;
+
+    private static final int HALF_SUB_BUCKET_COUNT = 1 << HALF_SUB_BUCKET_BITS;
+
+    private final long highestTrackableValue;
+
+    private final AtomicLongArray counts;
+
+    private final LongAdder totalCount = new LongAdder();
+
+    private final LongAdder totalValue = new LongAdder();
+
+    private final LongAccumulator maxValue = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Creates a histogram.
+     *
+     * @param highestTrackableValue the highest value that is counted in its own bucket
+     */
+    public LatencyHistogram(long highestTrackableValue) {
+        if (highestTrackableValue < SUB_BUCKET_COUNT) {
+            String errorMessage = String.format(ErrorMessageConstants.INVALID_HIGHEST_TRACKABLE_VALUE, SUB_BUCKET_COUNT,
+                    highestTrackableValue);
+            log.error(errorMessage);
+
+            throw new IllegalArgumentException(errorMessage);
+        }
+        this.highestTrackableValue = highestTrackableValue;
+        this.counts = new AtomicLongArray(indexOf(highestTrackableValue) + 1);
+    }
+
+    /**
+     * Records a value. Negative values are recorded as zero.
+     *
+     * @param value the value, usually a latency in nanoseconds
+     */
+    public void record(long value) {
+        long trackedValue = Math.max(value, 0);
+        counts.incrementAndGet(indexOf(Math.min(trackedValue, highestTrackableValue)));
+        totalCount.increment();
+        totalValue.add(trackedValue);
+        maxValue.accumulate(trackedValue);
+    }
+
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    public long getMax() {
+        return maxValue.get();
+    }
+
+    /**
+     * Returns the arithmetic mean of the recorded values.
+     *
+     * @return the mean, or zero if no value is recorded
+     */
+    public double getMean() {
+        long count = totalCount.sum();
+        return count == 0 ? 0 : (double) totalValue.sum() / count;
+    }
+
+    /**
+     * Returns the value at the given percentile, that is the highest value of the bucket holding the percentile,
+     * but never more than the maximum recorded value.
+     *
+     * @param percentile the percentile from 0 to 100
+     * @return the value at the percentile, or zero if no value is recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long[] snapshot = new long[counts.length()];
+        long count = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * count));
+        long cumulativeCount = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            cumulativeCount += snapshot[i];
+            if (cumulativeCount >= rank) {
+                return Math.min(highestEquivalentValue(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Removes all recorded values. Values recorded concurrently with the reset may be partially kept.
+     */
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+        totalCount.reset();
+        totalValue.reset();
+        maxValue.reset();
+    }
+
+    private static int indexOf(long value) {
+        int shift = Math.max(0, 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+
+        return (shift << HALF_SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    private static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+
+        int shift = (index >>> HALF_SUB_BUCKET_BITS) - 1;
+        long subBucket = index - ((long) shift << HALF_SUB_BUCKET_BITS);
+        return (subBucket << shift) + (1L << shift) - 1;
+    }
+}
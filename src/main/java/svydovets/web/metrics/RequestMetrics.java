@@ -0,0 +1,78 @@
+package svydovets.web.metrics;
+
+import svydovets.web.HttpMethod;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the {@link RouteMetrics} of all routes dispatched by the {@link svydovets.web.DispatcherServlet}.
+ *
+ * @see RouteMetrics
+ */
+public class RequestMetrics {
+
+    private final Map<HttpMethod, Map<String, RouteMetrics>> routeMetrics = new EnumMap<>(HttpMethod.class);
+
+    public RequestMetrics() {
+        for (HttpMethod httpMethod : HttpMethod.values()) {
+            routeMetrics.put(httpMethod, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Returns the metrics of the route, creating them on the first call.
+     *
+     * @param httpMethod the HTTP method of the route
+     * @param path       the pattern path of the route
+     * @return the route metrics
+     */
+    public RouteMetrics register(HttpMethod httpMethod, String path) {
+        return routeMetrics.get(httpMethod).computeIfAbsent(path, key -> new RouteMetrics(httpMethod, key));
+    }
+
+    /**
+     * Returns the metrics of the route.
+     *
+     * @param httpMethod the HTTP method of the route
+     * @param path       the pattern path of the route
+     * @return the route metrics, or {@code null} if the route is not registered
+     */
+    public RouteMetrics getRouteMetrics(HttpMethod httpMethod, String path) {
+        return routeMetrics.get(httpMethod).get(path);
+    }
+
+    /**
+     * Returns the metrics of all registered routes of the HTTP method.
+     *
+     * @param httpMethod the HTTP method
+     * @return the route metrics
+     */
+    public Collection<RouteMetrics> getRouteMetrics(HttpMethod httpMethod) {
+        return Collections.unmodifiableCollection(routeMetrics.get(httpMethod).values());
+    }
+
+    /**
+     * Takes a snapshot of the metrics of all registered routes.
+     *
+     * @return the snapshots ordered by HTTP method and path
+     */
+    public List<RouteMetricsSnapshot> snapshot() {
+        return routeMetrics.values().stream()
+                .flatMap(metrics -> metrics.values().stream().sorted(Comparator.comparing(RouteMetrics::getPath)))
+                .map(RouteMetrics::snapshot)
+                .toList();
+    }
+
+    /**
+     * Resets the metrics of all registered routes.
+     */
+    public void reset() {
+        routeMetrics.values().forEach(metrics -> metrics.values().forEach(RouteMetrics::reset));
+    }
+}
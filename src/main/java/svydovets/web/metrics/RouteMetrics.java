@@ -0,0 +1,142 @@
+package svydovets.web.metrics;
+
+import svydovets.web.HttpMethod;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and throughput counters of one route, that is an HTTP method and a pattern path.
+ *
+ * <p>The metrics are created once, when the route is registered, and kept by its
+ * {@link svydovets.web.dto.RequestInfoHolder}, so recording a request takes no lookup and no allocation.
+ */
+public class RouteMetrics {
+
+    /**
+     * Highest latency, in nanoseconds, that is counted in its own histogram bucket.
+     */
+    public static final long HIGHEST_TRACKABLE_LATENCY = TimeUnit.HOURS.toNanos(1);
+
+    private static final int MIN_ERROR_STATUS = 400;
+
+    private static final int MAX_ERROR_STATUS = 599;
+
+    private final HttpMethod httpMethod;
+
+    private final String path;
+
+    private final LatencyHistogram latencyHistogram = new LatencyHistogram(HIGHEST_TRACKABLE_LATENCY);
+
+    private final LongAdder requestCount = new LongAdder();
+
+    private final LongAdder bytesWritten = new LongAdder();
+
+    private final AtomicLongArray errorCounts = new AtomicLongArray(MAX_ERROR_STATUS - MIN_ERROR_STATUS + 1);
+
+    public RouteMetrics(HttpMethod httpMethod, String path) {
+        this.httpMethod = httpMethod;
+        this.path = path;
+    }
+
+    /**
+     * Records a completed request.
+     *
+     * @param latency      the time spent on the request in nanoseconds
+     * @param status       the response status
+     * @param bytesWritten the number of response body bytes written
+     */
+    public void record(long latency, int status, long bytesWritten) {
+        requestCount.increment();
+        latencyHistogram.record(latency);
+        if (bytesWritten > 0) {
+            this.bytesWritten.add(bytesWritten);
+        }
+        if (status >= MIN_ERROR_STATUS && status <= MAX_ERROR_STATUS) {
+            errorCounts.incrementAndGet(status - MIN_ERROR_STATUS);
+        }
+    }
+
+    public HttpMethod getHttpMethod() {
+        return httpMethod;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public LatencyHistogram getLatencyHistogram() {
+        return latencyHistogram;
+    }
+
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    /**
+     * Returns the number of responses sent with the given error status.
+     *
+     * @param status the 4xx or 5xx status
+     * @return the number of responses
+     */
+    public long getErrorCount(int status) {
+        if (status < MIN_ERROR_STATUS || status > MAX_ERROR_STATUS) {
+            return 0;
+        }
+        return errorCounts.get(status - MIN_ERROR_STATUS);
+    }
+
+    /**
+     * Returns the number of responses sent with any 4xx or 5xx status.
+     *
+     * @return the number of error responses
+     */
+    public long getErrorCount() {
+        long errorCount = 0;
+        for (int i = 0; i < errorCounts.length(); i++) {
+            errorCount += errorCounts.get(i);
+        }
+        return errorCount;
+    }
+
+    /**
+     * Takes a snapshot of the metrics.
+     *
+     * @return the snapshot
+     */
+    public RouteMetricsSnapshot snapshot() {
+        Map<Integer, Long> errorsByStatus = new TreeMap<>();
+        long errorCount = 0;
+        for (int i = 0; i < errorCounts.length(); i++) {
+            long count = errorCounts.get(i);
+            if (count > 0) {
+                errorsByStatus.put(MIN_ERROR_STATUS + i, count);
+                errorCount += count;
+            }
+        }
+
+        return new RouteMetricsSnapshot(httpMethod.name(), path, getRequestCount(), errorCount, errorsByStatus,
+                getBytesWritten(), latencyHistogram.getMean(), latencyHistogram.getValueAtPercentile(50),
+                latencyHistogram.getValueAtPercentile(90), latencyHistogram.getValueAtPercentile(99),
+                latencyHistogram.getValueAtPercentile(99.9), latencyHistogram.getMax());
+    }
+
+    /**
+     * Resets the histogram and the counters.
+     */
+    public void reset() {
+        latencyHistogram.reset();
+        requestCount.reset();
+        bytesWritten.reset();
+        for (int i = 0; i < errorCounts.length(); i++) {
+            errorCounts.set(i, 0);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package svydovets.web.metrics;
+
+import java.util.Map;
+
+/**
+ * Point-in-time view of the metrics of one route. Latencies are in nanoseconds.
+ *
+ * @param method         the HTTP method of the route
+ * @param path           the pattern path of the route
+ * @param requests       the number of dispatched requests
+ * @param errors         the number of requests answered with a 4xx or 5xx status
+ * @param errorsByStatus the number of error responses by status
+ * @param bytesWritten   the number of response body bytes written, before compression
+ * @param meanLatency    the mean latency
+ * @param p50Latency     the median latency
+ * @param p90Latency     the 90th percentile latency
+ * @param p99Latency     the 99th percentile latency
+ * @param p999Latency    the 99.9th percentile latency
+ * @param maxLatency     the maximum latency
+ */
+public record RouteMetricsSnapshot(String method, String path, long requests, long errors,
+                                   Map<Integer, Long> errorsByStatus, long bytesWritten, double meanLatency,
+                                   long p50Latency, long p90Latency, long p99Latency, long p999Latency,
+                                   long maxLatency) {
+}
@@ -4,11 +4,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import svydovets.web.exception.NoMatchingPatternFoundException;
 import svydovets.web.exception.NoUniquePatternFoundException;
-import svydovets.util.ErrorMessageConstants;
 
-import java.util.List;
 import java.util.Set;
 
+/**
+ * Implementation of the {@link PathFinder} interface that compiles the given pattern paths into a {@link RouteTrie}.
+ *
+ * <p>The trie is compiled on every call, so this implementation is meant for one-off lookups. Request dispatching
+ * uses the route tries compiled once at startup by {@link svydovets.web.util.RestMethodFiller}.
+ */
 public class PathFinderImpl implements PathFinder {
 
     private static final Logger log = LoggerFactory.getLogger(PathFinderImpl.class);
@@ -20,7 +24,7 @@ public class PathFinderImpl implements PathFinder {
      * @param patternPaths The set of predefined pattern paths.
      * @return The pattern path.
      * @throws NoMatchingPatternFoundException if no matching pattern is found for the given request path.
-     * @throws NoUniquePatternFoundException   if multiple matching patterns are found for the given request path.
+     * @throws NoUniquePatternFoundException   if the set contains pattern paths that differ only by variable names.
      */
     @Override
     public String find(String requestPath, Set<String> patternPaths) {
@@ -31,48 +35,6 @@ public class PathFinderImpl implements PathFinder {
             return requestPath;
         }
 
-        String fullRequestPath = requestPath.split(REQ_PARAM_SPLITERATOR)[0];
-
-        List<String> patternPathList = findAll(fullRequestPath, patternPaths);
-
-        if (patternPathList == null || patternPathList.isEmpty()) {
-            throw new NoMatchingPatternFoundException(
-                String.format(ErrorMessageConstants.NO_MATCHING_PATTERN_FOUND_EXCEPTION, requestPath));
-        } else if (patternPathList.size() > 1) {
-            throw new NoUniquePatternFoundException(
-                String.format(ErrorMessageConstants.NO_UNIQUE_PATTERN_FOUND_EXCEPTION, patternPathList));
-        }
-
-        String patternPath = patternPathList.get(0);
-
-        log.trace("Found patternPath: {} for requestPath: {}", patternPath, requestPath);
-
-        return patternPath;
-    }
-
-    private List<String> findAll(String requestPath, Set<String> patternPaths) {
-        log.trace("Call findAll({}, {})", requestPath, patternPaths);
-        String[] requestLines = getLinesBySpliterator(requestPath);
-        return patternPaths.stream()
-                .filter(patternPath -> getLinesBySpliterator(patternPath).length == requestLines.length)
-                .filter(patternPath -> filterPatternPath(requestLines, getLinesBySpliterator(patternPath)))
-                .toList();
-    }
-
-    private boolean filterPatternPath(String[] requestLines, String[] patternPath) {
-        boolean foundPath;
-        for (int i = 1; i < requestLines.length; i++) {
-            foundPath = requestLines[i].equals(patternPath[i]) || patternPath[i].matches(ALPHANUMERIC_REGEX);
-
-            if (!foundPath) {
-                return false;
-            }
-        }
-
-        return true;
-    }
-
-    private String[] getLinesBySpliterator(String path) {
-        return path.split(SPLITERATOR);
+        return RouteTrie.compile(patternPaths).find(requestPath);
     }
 }
@@ -0,0 +1,106 @@
+package svydovets.web.path;
+
+/**
+ * Path variables of a request path captured while the path is matched against the {@link RouteTrie}.
+ *
+ * <p>The values are not copied out of the request path: every variable is kept as a pair of offsets into the path,
+ * and the variable names are shared with the matched route. A value is turned into a {@link String} only when it is
+ * requested as a string, while {@code long} and {@code int} values are parsed straight from the character range.
+ * Routes declare only a few variables, so they are looked up by a linear scan of the names.
+ */
+public final class PathVariables {
+
+    /**
+     * Path variables of a route without variables.
+     */
+    public static final PathVariables EMPTY = new PathVariables("", new String[0], new int[0]);
+
+    private final String path;
+
+    private final String[] names;
+
+    private final int[] offsets;
+
+    /**
+     * Creates the path variables.
+     *
+     * @param path    the request path
+     * @param names   the names of the variables in the order of their segments
+     * @param offsets the start and end offsets of every variable value, two per variable
+     */
+    public PathVariables(String path, String[] names, int[] offsets) {
+        this.path = path;
+        this.names = names;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Returns the number of path variables.
+     *
+     * @return the number of path variables
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Returns the index of the path variable.
+     *
+     * @param name the name of the path variable
+     * @return the index of the path variable, or {@code -1} if there is no such variable
+     */
+    public int indexOf(String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the value of the path variable.
+     *
+     * @param name the name of the path variable
+     * @return the value of the path variable, or {@code null} if there is no such variable
+     */
+    public String get(String name) {
+        int index = indexOf(name);
+
+        return index < 0 ? null : path.substring(offsets[2 * index], offsets[2 * index + 1]);
+    }
+
+    /**
+     * Parses the value of the path variable as a {@code long} without creating a substring.
+     *
+     * @param name the name of the path variable
+     * @return the value of the path variable
+     * @throws NumberFormatException if there is no such variable or its value is not a {@code long}
+     */
+    public long getLong(String name) {
+        int index = requireIndex(name);
+
+        return Long.parseLong(path, offsets[2 * index], offsets[2 * index + 1], 10);
+    }
+
+    /**
+     * Parses the value of the path variable as an {@code int} without creating a substring.
+     *
+     * @param name the name of the path variable
+     * @return the value of the path variable
+     * @throws NumberFormatException if there is no such variable or its value is not an {@code int}
+     */
+    public int getInt(String name) {
+        int index = requireIndex(name);
+
+        return Integer.parseInt(path, offsets[2 * index], offsets[2 * index + 1], 10);
+    }
+
+    private int requireIndex(String name) {
+        int index = indexOf(name);
+        if (index < 0) {
+            throw new NumberFormatException("Cannot parse null string: no path variable " + name);
+        }
+        return index;
+    }
+}
@@ -12,6 +12,9 @@ import static svydovets.web.path.PathFinder.SPLITERATOR;
 /**
  * Implementation of the {@link RequestPathParser} interface that parses a given request path
  * based on a specified pattern path, extracting variables and their values.
+ *
+ * <p>Request dispatching captures the path variables while matching the request path with {@link RouteTrie#match},
+ * so this parser is only a fallback for requests without a route match.
  */
 public class RequestPathParserImpl implements RequestPathParser {
 
@@ -26,7 +29,9 @@ public class RequestPathParserImpl implements RequestPathParser {
      */
     @Override
     public Map<String, String> parse(String requestPath, String patternPath) {
-        String[] requestLines = requestPath.split(PathFinder.REQ_PARAM_SPLITERATOR)[0].split(SPLITERATOR);
+        int queryStart = requestPath.indexOf('?');
+        String path = queryStart < 0 ? requestPath : requestPath.substring(0, queryStart);
+        String[] requestLines = path.split(SPLITERATOR);
         String[] patternLines = patternPath.split(SPLITERATOR);
 
         if (requestLines.length != patternLines.length) {
@@ -0,0 +1,11 @@
+package svydovets.web.path;
+
+/**
+ * Result of matching a request path against the {@link RouteTrie}: the matched pattern path together with the path
+ * variables captured during the match.
+ *
+ * @param patternPath   the matched pattern path
+ * @param pathVariables the captured path variables
+ */
+public record RouteMatch(String patternPath, PathVariables pathVariables) {
+}
@@ -0,0 +1,325 @@
+package svydovets.web.path;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import svydovets.util.ErrorMessageConstants;
+import svydovets.web.exception.NoMatchingPatternFoundException;
+import svydovets.web.exception.NoUniquePatternFoundException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Segment trie of the pattern paths registered for a single HTTP method.
+ *
+ * <p>Every node of the trie represents one path segment. A node has literal children, keyed by the exact segment
+ * value, and at most one variable child that stands for any {@code {variable}} segment. Pattern paths are compiled
+ * once at startup, so a request path is matched segment by segment in O(path depth) without splitting the pattern
+ * paths or evaluating regular expressions.
+ *
+ * <p>The request path is matched in a single pass over its characters without creating substrings: literal segments
+ * are looked up in place by their hash and compared by their characters, and the offsets of the segments matched by variable segments
+ * are recorded, so {@link #match(String)} returns the {@link PathVariables} of the request together with the pattern.
+ *
+ * <p>Literal segments take precedence over variable segments: for the patterns {@code /users/{id}} and
+ * {@code /users/me} the request path {@code /users/me} resolves to the latter. Two pattern paths that differ only by
+ * the names of their variables can never be told apart and are rejected during registration with a
+ * {@link NoUniquePatternFoundException}.
+ */
+public class RouteTrie {
+
+    private static final Logger log = LoggerFactory.getLogger(RouteTrie.class);
+
+    private static final char SEPARATOR = '/';
+
+    private static final char REQ_PARAM_SEPARATOR = '?';
+
+    private static final char VARIABLE_PREFIX = '{';
+
+    private static final char VARIABLE_SUFFIX = '}';
+
+    private static final int[] NO_OFFSETS = new int[0];
+
+    private final Node root = new Node();
+
+    private int maxVariables;
+
+    /**
+     * Compiles a trie from the given pattern paths.
+     *
+     * @param patternPaths the pattern paths to register
+     * @return the compiled trie
+     * @throws NoUniquePatternFoundException if two pattern paths are ambiguous
+     */
+    public static RouteTrie compile(Collection<String> patternPaths) {
+        RouteTrie routeTrie = new RouteTrie();
+        patternPaths.forEach(routeTrie::register);
+
+        return routeTrie;
+    }
+
+    /**
+     * Registers the pattern path in the trie.
+     *
+     * @param patternPath the pattern path to register
+     * @throws NoUniquePatternFoundException if an ambiguous pattern path is already registered
+     */
+    public void register(String patternPath) {
+        log.trace("Call register({})", patternPath);
+        Node node = root;
+        List<String> variableNames = new ArrayList<>();
+        int end = pathEnd(patternPath);
+        int segmentStart = pathStart(patternPath);
+        while (segmentStart < end) {
+            int segmentEnd = segmentEnd(patternPath, segmentStart, end);
+            String segment = patternPath.substring(segmentStart, segmentEnd);
+            if (isVariableSegment(segment)) {
+                variableNames.add(segment.substring(1, segment.length() - 1));
+                node = node.getOrCreateVariableChild();
+            } else {
+                node = node.getOrCreateLiteralChild(segment);
+            }
+            segmentStart = segmentEnd + 1;
+        }
+
+        if (node.patternPath != null) {
+            String errorMessage = String.format(ErrorMessageConstants.NO_UNIQUE_PATTERN_FOUND_EXCEPTION,
+                    List.of(node.patternPath, patternPath));
+            log.error(errorMessage);
+
+            throw new NoUniquePatternFoundException(errorMessage);
+        }
+        node.patternPath = patternPath;
+        node.variableNames = variableNames.toArray(String[]::new);
+        maxVariables = Math.max(maxVariables, variableNames.size());
+    }
+
+    /**
+     * Finds the pattern path matching the given request path. The query string, if present, is ignored.
+     *
+     * @param requestPath the request path for which to find the matching pattern
+     * @return the pattern path
+     * @throws NoMatchingPatternFoundException if no matching pattern is found for the given request path
+     */
+    public String find(String requestPath) {
+        return match(requestPath).patternPath();
+    }
+
+    /**
+     * Matches the request path and captures its path variables in the same pass. The query string, if present,
+     * is ignored.
+     *
+     * @param requestPath the request path to match
+     * @return the matched pattern path with the path variables of the request
+     * @throws NoMatchingPatternFoundException if no matching pattern is found for the given request path
+     */
+    public RouteMatch match(String requestPath) {
+        log.trace("Call match({})", requestPath);
+        RouteMatch routeMatch = lookup(requestPath);
+
+        if (routeMatch == null) {
+            throw new NoMatchingPatternFoundException(
+                    String.format(ErrorMessageConstants.NO_MATCHING_PATTERN_FOUND_EXCEPTION, requestPath));
+        }
+        return routeMatch;
+    }
+
+    /**
+     * Matches the request path like {@link #match(String)}, but returns {@code null} instead of throwing an exception
+     * if no pattern matches, so a routing miss costs no exception.
+     *
+     * @param requestPath the request path to match
+     * @return the matched pattern path with the path variables of the request, or {@code null}
+     */
+    public RouteMatch lookup(String requestPath) {
+        log.trace("Call lookup({})", requestPath);
+        int end = pathEnd(requestPath);
+        int start = pathStart(requestPath);
+        int[] offsets = maxVariables == 0 ? NO_OFFSETS : new int[2 * maxVariables];
+        Node node = start < end ? match(root, requestPath, start, end, offsets, 0) : terminal(root);
+
+        if (node == null) {
+            return null;
+        }
+        log.trace("Found patternPath: {} for requestPath: {}", node.patternPath, requestPath);
+
+        PathVariables pathVariables = node.variableNames.length == 0
+                ? PathVariables.EMPTY
+                : new PathVariables(requestPath, node.variableNames, offsets);
+        return new RouteMatch(node.patternPath, pathVariables);
+    }
+
+    /**
+     * Checks whether the segment of a pattern path is a {@code {variable}} segment.
+     *
+     * @param segment the pattern path segment
+     * @return true if the segment declares a path variable
+     */
+    public static boolean isVariableSegment(String segment) {
+        return segment.length() > 2
+                && segment.charAt(0) == VARIABLE_PREFIX
+                && segment.charAt(segment.length() - 1) == VARIABLE_SUFFIX;
+    }
+
+    private Node match(Node node, String path, int segmentStart, int end, int[] offsets, int variableIndex) {
+        if (segmentStart > end) {
+            return terminal(node);
+        }
+
+        int segmentEnd = segmentEnd(path, segmentStart, end);
+        Node literalChild = node.findLiteralChild(path, segmentStart, segmentEnd);
+        if (literalChild != null) {
+            Node matched = match(literalChild, path, segmentEnd + 1, end, offsets, variableIndex);
+            if (matched != null) {
+                return matched;
+            }
+        }
+
+        if (node.variableChild == null) {
+            return null;
+        }
+        offsets[2 * variableIndex] = segmentStart;
+        offsets[2 * variableIndex + 1] = segmentEnd;
+        return match(node.variableChild, path, segmentEnd + 1, end, offsets, variableIndex + 1);
+    }
+
+    private static Node terminal(Node node) {
+        return node.patternPath != null ? node : null;
+    }
+
+    private static int pathStart(String path) {
+        return !path.isEmpty() && path.charAt(0) == SEPARATOR ? 1 : 0;
+    }
+
+    private static int pathEnd(String path) {
+        int end = path.indexOf(REQ_PARAM_SEPARATOR);
+        if (end < 0) {
+            end = path.length();
+        }
+        while (end > 0 && path.charAt(end - 1) == SEPARATOR) {
+            end--;
+        }
+
+        return end;
+    }
+
+    private static int segmentEnd(String path, int segmentStart, int end) {
+        int segmentEnd = path.indexOf(SEPARATOR, segmentStart);
+
+        return segmentEnd < 0 || segmentEnd > end ? end : segmentEnd;
+    }
+
+    /**
+     * Computes the hash of the character range the same way as {@link String#hashCode()} does for a string.
+     */
+    private static int hash(String path, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + path.charAt(i);
+        }
+
+        return hash;
+    }
+
+    /**
+     * Node of the trie. The literal children are kept in an open-addressed hash table with linear probing, keyed by
+     * the hash of the segment, so a literal child is found in O(1) by the hash of the request path range without
+     * creating a substring of the request path.
+     */
+    private static final class Node {
+
+        private static final int INITIAL_CAPACITY = 4;
+
+        private String[] literals;
+
+        private int[] literalHashes;
+
+        private Node[] literalChildren;
+
+        private int literalCount;
+
+        private Node variableChild;
+
+        private String patternPath;
+
+        private String[] variableNames;
+
+        private Node getOrCreateVariableChild() {
+            if (variableChild == null) {
+                variableChild = new Node();
+            }
+
+            return variableChild;
+        }
+
+        private Node getOrCreateLiteralChild(String literal) {
+            Node literalChild = findLiteralChild(literal, 0, literal.length());
+            if (literalChild == null) {
+                if (literals == null) {
+                    literals = new String[INITIAL_CAPACITY];
+                    literalHashes = new int[INITIAL_CAPACITY];
+                    literalChildren = new Node[INITIAL_CAPACITY];
+                } else if (2 * (literalCount + 1) > literals.length) {
+                    resize(2 * literals.length);
+                }
+
+                literalChild = new Node();
+                put(literal, literal.hashCode(), literalChild);
+                literalCount++;
+            }
+
+            return literalChild;
+        }
+
+        private Node findLiteralChild(String path, int start, int end) {
+            if (literals == null) {
+                return null;
+            }
+
+            int length = end - start;
+            int hash = hash(path, start, end);
+            int mask = literals.length - 1;
+            for (int slot = spread(hash) & mask; literals[slot] != null; slot = (slot + 1) & mask) {
+                if (literalHashes[slot] == hash && literals[slot].length() == length
+                        && path.regionMatches(start, literals[slot], 0, length)) {
+                    return literalChildren[slot];
+                }
+            }
+            return null;
+        }
+
+        private void resize(int capacity) {
+            String[] oldLiterals = literals;
+            int[] oldLiteralHashes = literalHashes;
+            Node[] oldLiteralChildren = literalChildren;
+            literals = new String[capacity];
+            literalHashes = new int[capacity];
+            literalChildren = new Node[capacity];
+            for (int i = 0; i < oldLiterals.length; i++) {
+                if (oldLiterals[i] != null) {
+                    put(oldLiterals[i], oldLiteralHashes[i], oldLiteralChildren[i]);
+                }
+            }
+        }
+
+        private void put(String literal, int hash, Node literalChild) {
+            int mask = literals.length - 1;
+            int slot = spread(hash) & mask;
+            while (literals[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            literals[slot] = literal;
+            literalHashes[slot] = hash;
+            literalChildren[slot] = literalChild;
+        }
+
+        /**
+         * Mixes the high bits of the hash into the low ones, as {@link java.util.HashMap} does, since only the low
+         * bits select the slot.
+         */
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package svydovets.web.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import svydovets.util.ErrorMessageConstants;
+import svydovets.web.annotation.RateLimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Rate limiter of one controller method, holding the {@link TokenBucket}s of its {@link RateLimit}.
+ *
+ * <p>With the {@link RateLimit.Key#ROUTE} key, all requests take their permits from one bucket. Otherwise every
+ * client key gets its own bucket, created on its first request. The number of client buckets is bounded by
+ * {@link RateLimit#maxKeys()}: once it is reached, idle buckets, which are full and therefore equivalent to new ones,
+ * are evicted by one thread at a time. If every bucket is still in use, clients without a bucket share an overflow
+ * bucket with the same rate, so new keys never get more permits than the limit and memory stays bounded.
+ *
+ * @see RateLimit
+ */
+public class RateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimiter.class);
+
+    private final RateLimit.Key key;
+
+    private final String header;
+
+    private final double permitsPerSecond;
+
+    private final int burst;
+
+    private final int maxKeys;
+
+    private final TokenBucket sharedBucket;
+
+    private final Map<String, TokenBucket> clientBuckets = new ConcurrentHashMap<>();
+
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    /**
+     * Creates the rate limiter of the annotation.
+     *
+     * @param rateLimit the rate limit annotation of the controller method or class
+     */
+    public RateLimiter(RateLimit rateLimit) {
+        this(rateLimit.permitsPerSecond(), rateLimit.burst(), rateLimit.key(), rateLimit.header(), rateLimit.maxKeys());
+    }
+
+    /**
+     * Creates a rate limiter.
+     *
+     * @param permitsPerSecond the number of permits added to a bucket per second
+     * @param burst            the maximum number of permits in a bucket, or zero for {@code permitsPerSecond}
+     * @param key              the key of the buckets
+     * @param header           the name of the header identifying the client, for the {@link RateLimit.Key#HEADER} key
+     * @param maxKeys          the maximum number of client buckets
+     */
+    public RateLimiter(double permitsPerSecond, int burst, RateLimit.Key key, String header, int maxKeys) {
+        if (key == RateLimit.Key.HEADER && (header == null || header.isBlank())) {
+            log.error(ErrorMessageConstants.EMPTY_RATE_LIMIT_HEADER);
+
+            throw new IllegalArgumentException(ErrorMessageConstants.EMPTY_RATE_LIMIT_HEADER);
+        }
+        this.key = key;
+        this.header = header;
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst > 0 ? burst : (int) Math.max(1, Math.ceil(permitsPerSecond));
+        this.maxKeys = maxKeys;
+        this.sharedBucket = new TokenBucket(permitsPerSecond, this.burst);
+    }
+
+    /**
+     * Takes a permit for the request.
+     *
+     * @param request the HTTP request
+     * @return zero if the request is permitted, otherwise the time in nanoseconds until a permit becomes available
+     */
+    public long tryAcquire(HttpServletRequest request) {
+        long now = System.nanoTime();
+        if (key == RateLimit.Key.ROUTE) {
+            return sharedBucket.tryAcquire(now);
+        }
+
+        return getClientBucket(resolveClientKey(request), now).tryAcquire(now);
+    }
+
+    /**
+     * Returns the number of client buckets currently kept in memory.
+     *
+     * @return the number of client buckets
+     */
+    public int getClientBucketCount() {
+        return clientBuckets.size();
+    }
+
+    private String resolveClientKey(HttpServletRequest request) {
+        if (key == RateLimit.Key.HEADER) {
+            String clientKey = request.getHeader(header);
+            if (clientKey != null) {
+                return clientKey;
+            }
+        }
+
+        return request.getRemoteAddr();
+    }
+
+    private TokenBucket getClientBucket(String clientKey, long now) {
+        TokenBucket bucket = clientBuckets.get(clientKey);
+        if (bucket != null) {
+            return bucket;
+        }
+
+        if (clientBuckets.size() >= maxKeys) {
+            evictIdleBuckets(now);
+            if (clientBuckets.size() >= maxKeys) {
+                log.trace("All {} client buckets are in use, rate limit {} with the overflow bucket", maxKeys, clientKey);
+                return sharedBucket;
+            }
+        }
+
+        return clientBuckets.computeIfAbsent(clientKey, k -> new TokenBucket(permitsPerSecond, burst));
+    }
+
+    private void evictIdleBuckets(long now) {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            clientBuckets.values().removeIf(bucket -> bucket.isIdle(now));
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package svydovets.web.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import svydovets.util.ErrorMessageConstants;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented with the generic cell rate algorithm.
+ *
+ * <p>Instead of a number of tokens and a refill timestamp, the bucket keeps a single theoretical arrival time: the
+ * time at which the bucket would be full again. Taking a permit moves it one emission interval forward with a single
+ * compare-and-set, and the permit is refused when it would move further than the burst ahead of now. A bucket whose
+ * theoretical arrival time has passed is full, so it can be dropped and recreated without changing its behaviour.
+ */
+public final class TokenBucket {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenBucket.class);
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final long emissionInterval;
+
+    private final long burstTolerance;
+
+    private final AtomicLong theoreticalArrivalTime;
+
+    /**
+     * Creates a full token bucket.
+     *
+     * @param permitsPerSecond the number of permits added per second
+     * @param burst            the maximum number of permits in the bucket
+     */
+    public TokenBucket(double permitsPerSecond, int burst) {
+        if (!(permitsPerSecond > 0) || burst < 1) {
+            String errorMessage = String.format(ErrorMessageConstants.INVALID_TOKEN_BUCKET, permitsPerSecond, burst);
+            log.error(errorMessage);
+
+            throw new IllegalArgumentException(errorMessage);
+        }
+        this.emissionInterval = Math.max(1, Math.round(NANOS_PER_SECOND / permitsPerSecond));
+        this.burstTolerance = emissionInterval * burst;
+        // Starts in the past, so the bucket is full for any time read before it was created
+        this.theoreticalArrivalTime = new AtomicLong(System.nanoTime() - burstTolerance);
+    }
+
+    /**
+     * Takes a permit from the bucket if one is available.
+     *
+     * @param now the current {@link System#nanoTime()}
+     * @return zero if the permit is taken, otherwise the time in nanoseconds until a permit becomes available
+     */
+    public long tryAcquire(long now) {
+        while (true) {
+            long arrivalTime = theoreticalArrivalTime.get();
+            long newArrivalTime = (arrivalTime - now > 0 ? arrivalTime : now) + emissionInterval;
+            long waitTime = newArrivalTime - now - burstTolerance;
+            if (waitTime > 0) {
+                return waitTime;
+            }
+            if (theoreticalArrivalTime.compareAndSet(arrivalTime, newArrivalTime)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Checks whether the bucket is full, so it can be dropped without changing the rate of its key.
+     *
+     * @param now the current {@link System#nanoTime()}
+     * @return true if the bucket is full
+     */
+    public boolean isIdle(long now) {
+        return theoreticalArrivalTime.get() - now <= 0;
+    }
+}
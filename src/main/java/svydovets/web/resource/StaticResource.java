@@ -0,0 +1,47 @@
+package svydovets.web.resource;
+
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * Static file resolved for a request path, together with the metadata needed to answer the request.
+ *
+ * <p>A resource is backed by a file of the file system, or by a classpath resource that is not a file, such as an
+ * entry of a jar. Small files are held in {@code content}: a read-only memory-mapped buffer for files, a heap buffer
+ * for other classpath resources. Larger resources are transferred from their source for every request.
+ *
+ * @param file            the file, or {@code null} for a classpath resource that is not a file
+ * @param url             the URL of the classpath resource that is not a file, or {@code null}
+ * @param contentType     the content type of the uncompressed resource
+ * @param contentEncoding the content encoding of a precompressed sibling, or {@code null}
+ * @param length          the length of the resource in bytes
+ * @param lastModified    the last modification date in milliseconds since the epoch
+ * @param eTag            the strong entity tag of the resource
+ * @param content         the cached content of the resource, or {@code null}
+ * @see StaticResourceHandler
+ */
+public record StaticResource(Path file,
+                             URL url,
+                             String contentType,
+                             String contentEncoding,
+                             long length,
+                             long lastModified,
+                             String eTag,
+                             ByteBuffer content) {
+
+    /**
+     * Creates the strong entity tag of a resource from its last modification date, its length and its content
+     * encoding, so every precompressed representation gets its own entity tag.
+     *
+     * @param lastModified    the last modification date in milliseconds since the epoch
+     * @param length          the length of the resource in bytes
+     * @param contentEncoding the content encoding, or {@code null}
+     * @return the quoted entity tag
+     */
+    public static String createETag(long lastModified, long length, String contentEncoding) {
+        String eTag = Long.toHexString(lastModified) + "-" + Long.toHexString(length);
+
+        return "\"" + (contentEncoding == null ? eTag : eTag + "-" + contentEncoding) + "\"";
+    }
+}
@@ -0,0 +1,280 @@
+package svydovets.web.resource;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded in-memory cache of resolved {@link StaticResource}s, including the ones that do not exist.
+ *
+ * <p>The cache is bounded by the number of entries and by the total size of the cached content, and evicts entries
+ * in least recently used order. Only resources up to {@code maxCachedFileSize} bytes keep their content; the metadata
+ * of larger resources is cached as well, so serving them does not resolve and stat the file for every request.
+ * Entries are revalidated with their source once {@code revalidateInterval} has passed, so changed files are picked
+ * up without a stat call per request. The content of an evicted memory-mapped resource is unmapped by the garbage
+ * collector once no response is writing it anymore.
+ *
+ * <p>Misses, the keys of resources that do not exist, are kept apart in a smaller LRU map bounded by
+ * {@code maxMisses}, so requests for random paths under a mapped prefix cannot evict the cached resources.
+ *
+ * <p>Like {@link svydovets.web.cache.ResponseCacheStore}, the cache is guarded by a {@link ReentrantLock}, and
+ * resources are loaded outside the lock.
+ *
+ * @see StaticResourceHandler
+ */
+public class StaticResourceCache {
+
+    /**
+     * Default maximum number of cached resources.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 1024;
+
+    /**
+     * Default maximum number of cached misses.
+     */
+    public static final int DEFAULT_MAX_MISSES = 256;
+
+    /**
+     * Default maximum size in bytes of a resource whose content is cached.
+     */
+    public static final long DEFAULT_MAX_CACHED_FILE_SIZE = 256 * 1024;
+
+    /**
+     * Default maximum total size in bytes of the cached content.
+     */
+    public static final long DEFAULT_MAX_CACHED_BYTES = 64 * 1024 * 1024;
+
+    /**
+     * Default interval in milliseconds after which a cached resource is revalidated with its source.
+     */
+    public static final long DEFAULT_REVALIDATE_INTERVAL = 1000;
+
+    private final int maxEntries;
+
+    private final int maxMisses;
+
+    private final long maxCachedFileSize;
+
+    private final long maxCachedBytes;
+
+    private final long revalidateIntervalNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Map<String, Long> misses = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long cachedBytes;
+
+    /**
+     * Loads a resource from its source.
+     */
+    @FunctionalInterface
+    public interface Loader {
+
+        /**
+         * Loads the resource, reusing the content of the previously cached resource if its source has not changed.
+         *
+         * @param cached the previously cached resource, or {@code null}
+         * @return the resource, or {@code null} if it does not exist
+         * @throws IOException if an I/O error occurs
+         */
+        StaticResource load(StaticResource cached) throws IOException;
+    }
+
+    public StaticResourceCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_CACHED_FILE_SIZE, DEFAULT_MAX_CACHED_BYTES, DEFAULT_REVALIDATE_INTERVAL);
+    }
+
+    /**
+     * Creates a static resource cache.
+     *
+     * @param maxEntries         the maximum number of cached resources
+     * @param maxCachedFileSize  the maximum size in bytes of a resource whose content is cached
+     * @param maxCachedBytes     the maximum total size in bytes of the cached content
+     * @param revalidateInterval the interval in milliseconds after which a resource is revalidated
+     */
+    public StaticResourceCache(int maxEntries, long maxCachedFileSize, long maxCachedBytes, long revalidateInterval) {
+        this(maxEntries, DEFAULT_MAX_MISSES, maxCachedFileSize, maxCachedBytes, revalidateInterval);
+    }
+
+    /**
+     * Creates a static resource cache.
+     *
+     * @param maxEntries         the maximum number of cached resources
+     * @param maxMisses          the maximum number of cached misses
+     * @param maxCachedFileSize  the maximum size in bytes of a resource whose content is cached
+     * @param maxCachedBytes     the maximum total size in bytes of the cached content
+     * @param revalidateInterval the interval in milliseconds after which a resource or miss is revalidated
+     */
+    public StaticResourceCache(int maxEntries, int maxMisses, long maxCachedFileSize, long maxCachedBytes,
+                               long revalidateInterval) {
+        this.maxEntries = maxEntries;
+        this.maxMisses = maxMisses;
+        this.maxCachedFileSize = maxCachedFileSize;
+        this.maxCachedBytes = maxCachedBytes;
+        this.revalidateIntervalNanos = TimeUnit.MILLISECONDS.toNanos(revalidateInterval);
+    }
+
+    /**
+     * Returns the cached resource of the key, loading it if it is not cached or due for revalidation.
+     *
+     * @param key    the cache key
+     * @param loader loads the resource on a miss
+     * @return the resource, or {@code null} if it does not exist
+     * @throws IOException if an I/O error occurs while loading the resource
+     */
+    public StaticResource get(String key, Loader loader) throws IOException {
+        long now = System.nanoTime();
+        Entry entry;
+        Long missValidUntil = null;
+        lock.lock();
+        try {
+            entry = entries.get(key);
+            if (entry == null) {
+                missValidUntil = misses.get(key);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (entry != null && now - entry.validUntil() < 0) {
+            hitCount.increment();
+            return entry.resource();
+        } else if (missValidUntil != null && now - missValidUntil < 0) {
+            hitCount.increment();
+            return null;
+        }
+
+        missCount.increment();
+        StaticResource resource = loader.load(entry == null ? null : entry.resource());
+        if (resource == null) {
+            putMiss(key, now + revalidateIntervalNanos);
+        } else {
+            put(key, new Entry(resource, now + revalidateIntervalNanos, contentSize(resource)));
+        }
+        return resource;
+    }
+
+    /**
+     * Checks whether the content of a resource of the given length is cached.
+     *
+     * @param length the length of the resource in bytes
+     * @return true if the content is cached
+     */
+    public boolean isCacheable(long length) {
+        return length <= maxCachedFileSize && length <= maxCachedBytes;
+    }
+
+    /**
+     * Removes all cached resources.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+            misses.clear();
+            cachedBytes = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getCachedMisses() {
+        lock.lock();
+        try {
+            return misses.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getCachedBytes() {
+        lock.lock();
+        try {
+            return cachedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    private void put(String key, Entry entry) {
+        lock.lock();
+        try {
+            misses.remove(key);
+            Entry previous = entries.put(key, entry);
+            if (previous != null) {
+                cachedBytes -= previous.contentSize();
+            }
+            cachedBytes += entry.contentSize();
+
+            Iterator<Entry> iterator = entries.values().iterator();
+            while ((entries.size() > maxEntries || cachedBytes > maxCachedBytes) && iterator.hasNext()) {
+                Entry eldest = iterator.next();
+                iterator.remove();
+                cachedBytes -= eldest.contentSize();
+                evictionCount.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void putMiss(String key, long validUntil) {
+        lock.lock();
+        try {
+            Entry previous = entries.remove(key);
+            if (previous != null) {
+                cachedBytes -= previous.contentSize();
+            }
+            misses.put(key, validUntil);
+
+            Iterator<String> iterator = misses.keySet().iterator();
+            while (misses.size() > maxMisses && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static long contentSize(StaticResource resource) {
+        return resource.content() == null ? 0 : resource.content().capacity();
+    }
+
+    private record Entry(StaticResource resource, long validUntil, long contentSize) {
+    }
+}
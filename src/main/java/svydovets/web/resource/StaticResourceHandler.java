@@ -0,0 +1,606 @@
+package svydovets.web.resource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import svydovets.util.ErrorMessageConstants;
+import svydovets.web.ConditionalRequestHandler;
+import svydovets.web.dto.HttpHeaders;
+import svydovets.web.dto.HttpStatus;
+import svydovets.web.util.HeaderValues;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Serves static files mapped to request path prefixes from classpath locations or directories of the file system.
+ *
+ * <p>Resolved resources are kept in a {@link StaticResourceCache}. Small files are memory-mapped once and written from
+ * the mapping, so hot assets are served without reading the file again. Larger files are handed over to the
+ * container's sendfile support when the connector offers it, which sends the file to the socket without copying it
+ * through the JVM, and are otherwise transferred with {@link FileChannel#transferTo}. Classpath resources that are
+ * not files, such as entries of a jar, are cached on the heap when small and streamed otherwise.
+ *
+ * <p>When the client accepts brotli or gzip and a precompressed {@code .br} or {@code .gz} sibling of the file exists,
+ * the sibling is served with the matching {@code Content-Encoding}. Every response carries a strong entity tag derived
+ * from the modification date, the length and the encoding of the served file, and a {@code Last-Modified} date, so
+ * conditional GET requests are answered with 304. A single byte range of a {@code Range} header is answered with 206
+ * Partial Content, honoring {@code If-Range}; requests for multiple ranges get the full file.
+ *
+ * <p>A path prefix is owned by the handler: requests below it that do not match a file are answered with 404 and are
+ * not dispatched to controllers.
+ *
+ * @see svydovets.web.DispatcherServlet
+ */
+public class StaticResourceHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(StaticResourceHandler.class);
+
+    /**
+     * Prefix of the locations that are resolved with the class loader.
+     */
+    public static final String CLASSPATH_PREFIX = "classpath:";
+
+    private static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+
+    private static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+
+    private static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+
+    private static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
+    private static final String GET_METHOD = "GET";
+
+    private static final String HEAD_METHOD = "HEAD";
+
+    private static final String BYTES_RANGE_PREFIX = "bytes=";
+
+    private static final String BYTES_UNIT = "bytes";
+
+    private static final String BROTLI_ENCODING = "br";
+
+    private static final String GZIP_ENCODING = "gzip";
+
+    private static final String BROTLI_EXTENSION = ".br";
+
+    private static final String GZIP_EXTENSION = ".gz";
+
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private static final int TRANSFER_BUFFER_SIZE = 8 * 1024;
+
+    private static final String WILDCARD_CODING = "*";
+
+    private static final ByteRange UNSATISFIABLE_RANGE = new ByteRange(-1, -1, false);
+
+    private static final Map<String, String> CONTENT_TYPES = Map.ofEntries(
+            Map.entry("html", "text/html;charset=UTF-8"),
+            Map.entry("htm", "text/html;charset=UTF-8"),
+            Map.entry("css", "text/css;charset=UTF-8"),
+            Map.entry("js", "text/javascript;charset=UTF-8"),
+            Map.entry("mjs", "text/javascript;charset=UTF-8"),
+            Map.entry("json", "application/json"),
+            Map.entry("map", "application/json"),
+            Map.entry("txt", "text/plain;charset=UTF-8"),
+            Map.entry("xml", "application/xml"),
+            Map.entry("svg", "image/svg+xml"),
+            Map.entry("png", "image/png"),
+            Map.entry("jpg", "image/jpeg"),
+            Map.entry("jpeg", "image/jpeg"),
+            Map.entry("gif", "image/gif"),
+            Map.entry("webp", "image/webp"),
+            Map.entry("avif", "image/avif"),
+            Map.entry("ico", "image/x-icon"),
+            Map.entry("woff", "font/woff"),
+            Map.entry("woff2", "font/woff2"),
+            Map.entry("ttf", "font/ttf"),
+            Map.entry("otf", "font/otf"),
+            Map.entry("wasm", "application/wasm"),
+            Map.entry("pdf", "application/pdf"),
+            Map.entry("mp4", "video/mp4"),
+            Map.entry("webm", "video/webm"),
+            Map.entry("mp3", "audio/mpeg"));
+
+    private final StaticResourceCache resourceCache;
+
+    private final ConditionalRequestHandler conditionalRequestHandler = new ConditionalRequestHandler();
+
+    private final ClassLoader classLoader;
+
+    private volatile ResourceMapping[] resourceMappings = new ResourceMapping[0];
+
+    private boolean precompressed = true;
+
+    private boolean sendfile = true;
+
+    private String cacheControl;
+
+    public StaticResourceHandler() {
+        this(new StaticResourceCache());
+    }
+
+    /**
+     * Creates a static resource handler that caches the resolved resources in the given cache.
+     *
+     * @param resourceCache the cache of resolved resources
+     */
+    public StaticResourceHandler(StaticResourceCache resourceCache) {
+        this.resourceCache = resourceCache;
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        this.classLoader = contextClassLoader != null ? contextClassLoader : StaticResourceHandler.class.getClassLoader();
+    }
+
+    /**
+     * Serves the files below the path prefix from the given locations, which are searched in order. A location is
+     * either a classpath location prefixed with {@value #CLASSPATH_PREFIX}, for example {@code classpath:static/},
+     * or a directory of the file system. When several prefixes match a request path, the longest one is used.
+     *
+     * @param pathPrefix the request path prefix, for example {@code /assets/}
+     * @param locations  the locations of the files
+     * @throws IllegalArgumentException if the path prefix does not start with {@code /} or a location is blank
+     */
+    public void addResourceMapping(String pathPrefix, String... locations) {
+        log.trace("Call addResourceMapping({}, {})", pathPrefix, locations);
+        if (pathPrefix == null || !pathPrefix.startsWith("/") || locations.length == 0) {
+            throw invalidLocationException(pathPrefix);
+        }
+
+        ResourceLocation[] resourceLocations = new ResourceLocation[locations.length];
+        for (int i = 0; i < locations.length; i++) {
+            resourceLocations[i] = createResourceLocation(locations[i]);
+        }
+
+        ResourceMapping[] mappings = Arrays.copyOf(resourceMappings, resourceMappings.length + 1);
+        mappings[mappings.length - 1] = new ResourceMapping(
+                pathPrefix.endsWith("/") ? pathPrefix : pathPrefix + "/", resourceLocations);
+        Arrays.sort(mappings, Comparator.comparingInt((ResourceMapping mapping) -> mapping.pathPrefix().length())
+                .reversed());
+        resourceMappings = mappings;
+    }
+
+    /**
+     * Checks whether the request path is below the path prefix of a resource mapping.
+     *
+     * @param requestPath the request path
+     * @return true if the request is served by this handler
+     */
+    public boolean isStaticResourcePath(String requestPath) {
+        return requestPath != null && findResourceMapping(requestPath) != null;
+    }
+
+    /**
+     * Serves the static file of the GET or HEAD request. The request path must be below a mapped path prefix.
+     *
+     * @param request  the HTTP request
+     * @param response the HTTP response
+     * @return the number of body bytes written
+     * @throws IOException if an I/O error occurs
+     */
+    public long handle(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String requestPath = request.getServletPath();
+        ResourceMapping resourceMapping = findResourceMapping(requestPath);
+        String relativePath = requestPath.substring(resourceMapping.pathPrefix().length());
+        StaticResource resource = isValidRelativePath(relativePath)
+                ? resolveResource(request, resourceMapping, relativePath)
+                : null;
+        if (resource == null) {
+            log.trace("No static resource found for {}", requestPath);
+            response.setStatus(HttpStatus.NOT_FOUND.getStatus());
+            response.setContentLength(0);
+            return 0;
+        }
+
+        response.setContentType(resource.contentType());
+        if (resource.contentEncoding() != null) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, resource.contentEncoding());
+        }
+        if (precompressed) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (cacheControl != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        }
+        response.setHeader(HttpHeaders.ETAG, resource.eTag());
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, resource.lastModified());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, BYTES_UNIT);
+
+        if (conditionalRequestHandler.checkNotModified(request, response, resource.eTag(), resource.lastModified())) {
+            return 0;
+        }
+
+        ByteRange range = resolveRange(request, resource);
+        if (range != null && !range.satisfiable()) {
+            response.setStatus(HttpStatus.RANGE_NOT_SATISFIABLE.getStatus());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, BYTES_UNIT + " */" + resource.length());
+            response.setContentLength(0);
+            return 0;
+        } else if (range != null) {
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.getStatus());
+            response.setHeader(HttpHeaders.CONTENT_RANGE,
+                    BYTES_UNIT + " " + range.start() + "-" + range.end() + "/" + resource.length());
+            return writeContent(request, response, resource, range.start(), range.end() - range.start() + 1);
+        }
+
+        response.setStatus(HttpStatus.OK.getStatus());
+        return writeContent(request, response, resource, 0, resource.length());
+    }
+
+    public StaticResourceCache getResourceCache() {
+        return resourceCache;
+    }
+
+    /**
+     * Enables or disables serving precompressed {@code .br} and {@code .gz} siblings, which is enabled by default.
+     *
+     * @param precompressed whether precompressed siblings are served
+     */
+    public void setPrecompressed(boolean precompressed) {
+        this.precompressed = precompressed;
+    }
+
+    /**
+     * Enables or disables the use of the container's sendfile support for files that are not cached, which is
+     * enabled by default.
+     *
+     * @param sendfile whether sendfile is used when the container supports it
+     */
+    public void setSendfile(boolean sendfile) {
+        this.sendfile = sendfile;
+    }
+
+    /**
+     * Sets the {@code Cache-Control} header of static resources, which is not set by default.
+     *
+     * @param cacheControl the cache control directives, for example {@code public, max-age=31536000, immutable}
+     */
+    public void setCacheControl(String cacheControl) {
+        this.cacheControl = cacheControl;
+    }
+
+    private ResourceMapping findResourceMapping(String requestPath) {
+        for (ResourceMapping resourceMapping : resourceMappings) {
+            if (requestPath.startsWith(resourceMapping.pathPrefix())) {
+                return resourceMapping;
+            }
+        }
+        return null;
+    }
+
+    private StaticResource resolveResource(HttpServletRequest request, ResourceMapping resourceMapping,
+                                           String relativePath) throws IOException {
+        String contentType = resolveContentType(relativePath);
+        String acceptEncoding = precompressed ? request.getHeader(HttpHeaders.ACCEPT_ENCODING) : null;
+        boolean acceptsBrotli = acceptEncoding != null && acceptsEncoding(acceptEncoding, BROTLI_ENCODING);
+        boolean acceptsGzip = acceptEncoding != null && acceptsEncoding(acceptEncoding, GZIP_ENCODING);
+
+        for (ResourceLocation resourceLocation : resourceMapping.resourceLocations()) {
+            StaticResource resource = null;
+            if (acceptsBrotli) {
+                resource = getResource(resourceLocation, relativePath + BROTLI_EXTENSION, contentType, BROTLI_ENCODING);
+            }
+            if (resource == null && acceptsGzip) {
+                resource = getResource(resourceLocation, relativePath + GZIP_EXTENSION, contentType, GZIP_ENCODING);
+            }
+            if (resource == null) {
+                resource = getResource(resourceLocation, relativePath, contentType, null);
+            }
+            if (resource != null) {
+                return resource;
+            }
+        }
+        return null;
+    }
+
+    private StaticResource getResource(ResourceLocation resourceLocation, String relativePath, String contentType,
+                                       String contentEncoding) throws IOException {
+        return resourceCache.get(resourceLocation.name() + relativePath, cached -> resourceLocation.directory() != null
+                ? loadFile(resourceLocation.directory().resolve(relativePath).normalize(), resourceLocation.directory(),
+                contentType, contentEncoding, cached)
+                : loadClasspathResource(resourceLocation.classpathBase() + relativePath, contentType,
+                contentEncoding, cached));
+    }
+
+    private StaticResource loadFile(Path file, Path directory, String contentType, String contentEncoding,
+                                    StaticResource cached) throws IOException {
+        if (!file.startsWith(directory)) {
+            return null;
+        }
+
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException exception) {
+            return null;
+        }
+        if (!attributes.isRegularFile()) {
+            return null;
+        }
+
+        long length = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        if (cached != null && cached.length() == length && cached.lastModified() == lastModified) {
+            return cached;
+        }
+
+        log.trace("Load static resource {}", file);
+        ByteBuffer content = null;
+        if (resourceCache.isCacheable(length)) {
+            try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+                content = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            }
+        }
+        return new StaticResource(file, null, contentType, contentEncoding, length, lastModified,
+                StaticResource.createETag(lastModified, length, contentEncoding), content);
+    }
+
+    private StaticResource loadClasspathResource(String name, String contentType, String contentEncoding,
+                                                 StaticResource cached) throws IOException {
+        URL url = classLoader.getResource(name);
+        if (url == null) {
+            return null;
+        } else if ("file".equals(url.getProtocol())) {
+            try {
+                Path file = Path.of(url.toURI());
+                return loadFile(file, file.getParent(), contentType, contentEncoding, cached);
+            } catch (URISyntaxException exception) {
+                String errorMessage = String.format(ErrorMessageConstants.STATIC_RESOURCE_READ_ERROR, url);
+                log.error(errorMessage);
+
+                throw new IOException(errorMessage, exception);
+            }
+        }
+
+        URLConnection connection = url.openConnection();
+        long length = connection.getContentLengthLong();
+        long lastModified = connection.getLastModified();
+        if (length < 0) {
+            return null;
+        } else if (cached != null && cached.length() == length && cached.lastModified() == lastModified) {
+            connection.getInputStream().close();
+            return cached;
+        }
+
+        ByteBuffer content = null;
+        try (InputStream inputStream = connection.getInputStream()) {
+            if (resourceCache.isCacheable(length)) {
+                content = ByteBuffer.wrap(inputStream.readAllBytes()).asReadOnlyBuffer();
+            }
+        }
+        return new StaticResource(null, url, contentType, contentEncoding, length, lastModified,
+                StaticResource.createETag(lastModified, length, contentEncoding), content);
+    }
+
+    private long writeContent(HttpServletRequest request, HttpServletResponse response, StaticResource resource,
+                              long start, long count) throws IOException {
+        response.setContentLengthLong(count);
+        if (HEAD_METHOD.equals(request.getMethod()) || count == 0) {
+            return 0;
+        }
+
+        if (resource.content() != null) {
+            ByteBuffer content = resource.content().duplicate();
+            content.limit((int) (start + count)).position((int) start);
+            WritableByteChannel channel = Channels.newChannel(response.getOutputStream());
+            while (content.hasRemaining()) {
+                channel.write(content);
+            }
+        } else if (resource.file() != null && sendfile
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE))) {
+            request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, resource.file().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTRIBUTE, start);
+            request.setAttribute(SENDFILE_END_ATTRIBUTE, start + count);
+        } else if (resource.file() != null) {
+            transferFile(resource.file(), response.getOutputStream(), start, count);
+        } else {
+            transferUrl(resource.url(), response.getOutputStream(), start, count);
+        }
+        return count;
+    }
+
+    private static void transferFile(Path file, OutputStream outputStream, long start, long count) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel channel = Channels.newChannel(outputStream);
+            long position = start;
+            long end = start + count;
+            while (position < end) {
+                long transferred = fileChannel.transferTo(position, end - position, channel);
+                if (transferred <= 0) {
+                    String errorMessage = String.format(ErrorMessageConstants.STATIC_RESOURCE_READ_ERROR, file);
+                    log.error(errorMessage);
+
+                    throw new IOException(errorMessage);
+                }
+                position += transferred;
+            }
+        }
+    }
+
+    private static void transferUrl(URL url, OutputStream outputStream, long start, long count) throws IOException {
+        try (InputStream inputStream = url.openStream()) {
+            inputStream.skipNBytes(start);
+            byte[] buffer = new byte[TRANSFER_BUFFER_SIZE];
+            long remaining = count;
+            while (remaining > 0) {
+                int read = inputStream.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    String errorMessage = String.format(ErrorMessageConstants.STATIC_RESOURCE_READ_ERROR, url);
+                    log.error(errorMessage);
+
+                    throw new IOException(errorMessage);
+                }
+                outputStream.write(buffer, 0, read);
+                remaining -= read;
+            }
+        }
+    }
+
+    private static ByteRange resolveRange(HttpServletRequest request, StaticResource resource) {
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range == null || !GET_METHOD.equals(request.getMethod()) || !isIfRangeSatisfied(request, resource)) {
+            return null;
+        }
+
+        return parseRange(range, resource.length());
+    }
+
+    /**
+     * Parses a single byte range. Invalid ranges and multiple ranges are ignored, so the full file is served.
+     *
+     * @param range  the value of the {@code Range} header
+     * @param length the length of the file
+     * @return the byte range, {@link #UNSATISFIABLE_RANGE} if the range is not within the file, or {@code null}
+     */
+    private static ByteRange parseRange(String range, long length) {
+        if (!range.startsWith(BYTES_RANGE_PREFIX) || range.indexOf(',') >= 0) {
+            return null;
+        }
+
+        String rangeSpec = range.substring(BYTES_RANGE_PREFIX.length()).trim();
+        int separatorIndex = rangeSpec.indexOf('-');
+        if (separatorIndex < 0) {
+            return null;
+        }
+
+        try {
+            String first = rangeSpec.substring(0, separatorIndex).trim();
+            String last = rangeSpec.substring(separatorIndex + 1).trim();
+            long start;
+            long end = length - 1;
+            if (first.isEmpty()) {
+                long suffixLength = Long.parseLong(last);
+                if (suffixLength <= 0) {
+                    return UNSATISFIABLE_RANGE;
+                }
+                start = Math.max(0, length - suffixLength);
+            } else {
+                start = Long.parseLong(first);
+                if (!last.isEmpty()) {
+                    long lastPosition = Long.parseLong(last);
+                    if (lastPosition < start) {
+                        return null;
+                    }
+                    end = Math.min(lastPosition, end);
+                }
+            }
+
+            return start < 0 ? null : start >= length ? UNSATISFIABLE_RANGE : new ByteRange(start, end, true);
+        } catch (NumberFormatException exception) {
+            return null;
+        }
+    }
+
+    private static boolean isIfRangeSatisfied(HttpServletRequest request, StaticResource resource) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        } else if (ifRange.startsWith("\"")) {
+            return ifRange.equals(resource.eTag());
+        } else if (ifRange.startsWith("W/")) {
+            return false;
+        }
+
+        try {
+            long date = request.getDateHeader(HttpHeaders.IF_RANGE);
+            return date >= 0 && date / 1000 == resource.lastModified() / 1000;
+        } catch (IllegalArgumentException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks whether the {@code Accept-Encoding} header accepts the content coding. A coding listed explicitly takes
+     * precedence over the {@code *} wildcard, and a coding with quality 0 is not acceptable.
+     */
+    private static boolean acceptsEncoding(String acceptEncoding, String encoding) {
+        double wildcardQuality = 0;
+        for (String element : HeaderValues.split(acceptEncoding)) {
+            String coding = HeaderValues.valueOf(element);
+            if (encoding.equalsIgnoreCase(coding)) {
+                return HeaderValues.qualityOf(element) > 0;
+            } else if (WILDCARD_CODING.equals(coding)) {
+                wildcardQuality = HeaderValues.qualityOf(element);
+            }
+        }
+        return wildcardQuality > 0;
+    }
+
+    private static boolean isValidRelativePath(String relativePath) {
+        if (relativePath.isEmpty() || relativePath.indexOf('\\') >= 0 || relativePath.indexOf('\0') >= 0) {
+            return false;
+        }
+
+        for (String segment : relativePath.split("/", -1)) {
+            if (segment.isEmpty() || ".".equals(segment) || "..".equals(segment)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String resolveContentType(String relativePath) {
+        int extensionIndex = relativePath.lastIndexOf('.');
+        String contentType = extensionIndex < 0
+                ? null
+                : CONTENT_TYPES.get(relativePath.substring(extensionIndex + 1).toLowerCase(Locale.ROOT));
+        if (contentType == null) {
+            contentType = URLConnection.getFileNameMap().getContentTypeFor(relativePath);
+        }
+        return contentType != null ? contentType : DEFAULT_CONTENT_TYPE;
+    }
+
+    private ResourceLocation createResourceLocation(String location) {
+        if (location == null || location.isBlank()) {
+            throw invalidLocationException(location);
+        } else if (location.startsWith(CLASSPATH_PREFIX)) {
+            String classpathBase = location.substring(CLASSPATH_PREFIX.length());
+            while (classpathBase.startsWith("/")) {
+                classpathBase = classpathBase.substring(1);
+            }
+            if (!classpathBase.isEmpty() && !classpathBase.endsWith("/")) {
+                classpathBase += "/";
+            }
+            return new ResourceLocation(CLASSPATH_PREFIX + classpathBase, null, classpathBase);
+        }
+
+        Path directory = Path.of(location).toAbsolutePath().normalize();
+        return new ResourceLocation(directory + "/", directory, null);
+    }
+
+    private static IllegalArgumentException invalidLocationException(String location) {
+        String errorMessage = String.format(ErrorMessageConstants.INVALID_STATIC_RESOURCE_LOCATION, location);
+        log.error(errorMessage);
+
+        return new IllegalArgumentException(errorMessage);
+    }
+
+    private record ResourceMapping(String pathPrefix, ResourceLocation[] resourceLocations) {
+    }
+
+    private record ResourceLocation(String name, Path directory, String classpathBase) {
+    }
+
+    /**
+     * Byte range of a file, inclusive of both ends. An unsatisfiable range, which is not within the file, is answered
+     * with {@code 416 Range Not Satisfiable}.
+     */
+    private record ByteRange(long start, long end, boolean satisfiable) {
+    }
+}
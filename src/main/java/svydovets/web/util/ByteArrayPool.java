@@ -0,0 +1,59 @@
+package svydovets.web.util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Bounded pool of equally sized byte arrays that are reused between requests.
+ *
+ * <p>When the pool is empty, a new array is allocated; when the pool is full, released arrays are dropped and left
+ * to the garbage collector. The pool therefore never blocks and never holds more than {@code maxPooled} arrays.
+ */
+public class ByteArrayPool {
+
+    private final int arraySize;
+
+    private final BlockingQueue<byte[]> pool;
+
+    /**
+     * Creates a pool of byte arrays.
+     *
+     * @param arraySize the size of every pooled array
+     * @param maxPooled the maximum number of arrays kept in the pool
+     */
+    public ByteArrayPool(int arraySize, int maxPooled) {
+        this.arraySize = arraySize;
+        this.pool = new ArrayBlockingQueue<>(maxPooled);
+    }
+
+    /**
+     * Takes an array from the pool, or allocates a new one if the pool is empty.
+     *
+     * @return the byte array of {@link #getArraySize()} length
+     */
+    public byte[] acquire() {
+        byte[] array = pool.poll();
+
+        return array != null ? array : new byte[arraySize];
+    }
+
+    /**
+     * Returns the array to the pool. Arrays of a different size and arrays that do not fit into the pool are dropped.
+     *
+     * @param array the array previously taken from the pool
+     */
+    public void release(byte[] array) {
+        if (array.length == arraySize) {
+            pool.offer(array);
+        }
+    }
+
+    /**
+     * Returns the size of the pooled arrays.
+     *
+     * @return the size of the pooled arrays
+     */
+    public int getArraySize() {
+        return arraySize;
+    }
+}
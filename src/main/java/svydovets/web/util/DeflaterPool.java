@@ -0,0 +1,58 @@
+package svydovets.web.util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+
+/**
+ * Bounded pool of {@link Deflater}s with the same compression level and format that are reused between requests.
+ *
+ * <p>A deflater holds native zlib memory, so creating one per response is far more expensive than resetting a pooled
+ * one. When the pool is empty, a new deflater is created; when the pool is full, released deflaters are ended, so
+ * their native memory is freed right away. The pool therefore never blocks and never holds more than
+ * {@code maxPooled} deflaters.
+ */
+public class DeflaterPool {
+
+    private final int level;
+
+    private final boolean nowrap;
+
+    private final BlockingQueue<Deflater> pool;
+
+    /**
+     * Creates a pool of deflaters.
+     *
+     * @param level     the compression level of the deflaters
+     * @param nowrap    whether the deflaters omit the zlib header and checksum, as required by the gzip format
+     * @param maxPooled the maximum number of deflaters kept in the pool
+     */
+    public DeflaterPool(int level, boolean nowrap, int maxPooled) {
+        this.level = level;
+        this.nowrap = nowrap;
+        this.pool = new ArrayBlockingQueue<>(maxPooled);
+    }
+
+    /**
+     * Takes a deflater from the pool, or creates a new one if the pool is empty.
+     *
+     * @return the deflater ready to compress new data
+     */
+    public Deflater acquire() {
+        Deflater deflater = pool.poll();
+
+        return deflater != null ? deflater : new Deflater(level, nowrap);
+    }
+
+    /**
+     * Resets the deflater and returns it to the pool. Deflaters that do not fit into the pool are ended.
+     *
+     * @param deflater the deflater previously taken from the pool
+     */
+    public void release(Deflater deflater) {
+        deflater.reset();
+        if (!pool.offer(deflater)) {
+            deflater.end();
+        }
+    }
+}
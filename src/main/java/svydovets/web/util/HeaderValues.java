@@ -0,0 +1,82 @@
+package svydovets.web.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class helper for parsing comma-separated header values, such as {@code Accept}, {@code Accept-Encoding} and
+ * {@code If-None-Match}, and the quality values of their elements.
+ *
+ * <p>Header values are scanned with {@link String#indexOf(int, int)} rather than split by a regular expression, so
+ * empty elements never surprise the caller and no intermediate arrays are created.
+ */
+public class HeaderValues {
+
+    private static final char ELEMENT_SEPARATOR = ',';
+
+    private static final char PARAMETER_SEPARATOR = ';';
+
+    private static final String QUALITY_PARAMETER = "q=";
+
+    private HeaderValues() {
+    }
+
+    /**
+     * Splits a comma-separated header value into its elements. The elements are trimmed and empty ones are dropped.
+     *
+     * @param headerValue the header value
+     * @return the elements in the order of the header value
+     */
+    public static List<String> split(String headerValue) {
+        List<String> elements = new ArrayList<>();
+        int start = 0;
+        while (start <= headerValue.length()) {
+            int end = headerValue.indexOf(ELEMENT_SEPARATOR, start);
+            if (end < 0) {
+                end = headerValue.length();
+            }
+            String element = headerValue.substring(start, end).trim();
+            if (!element.isEmpty()) {
+                elements.add(element);
+            }
+            start = end + 1;
+        }
+        return elements;
+    }
+
+    /**
+     * Returns the value of a header element without its parameters, e.g. {@code gzip} for {@code gzip;q=0.5}.
+     *
+     * @param element the header element
+     * @return the trimmed value of the element
+     */
+    public static String valueOf(String element) {
+        int parametersIndex = element.indexOf(PARAMETER_SEPARATOR);
+
+        return (parametersIndex < 0 ? element : element.substring(0, parametersIndex)).trim();
+    }
+
+    /**
+     * Returns the quality of a header element given by its {@code q} parameter.
+     *
+     * @param element the header element
+     * @return the quality, {@code 1} if the element has no {@code q} parameter, or {@code 0} if it is malformed
+     */
+    public static double qualityOf(String element) {
+        int parameterStart = element.indexOf(PARAMETER_SEPARATOR);
+        while (parameterStart >= 0) {
+            int parameterEnd = element.indexOf(PARAMETER_SEPARATOR, parameterStart + 1);
+            String parameter = element.substring(parameterStart + 1, parameterEnd < 0 ? element.length() : parameterEnd)
+                    .trim();
+            if (parameter.startsWith(QUALITY_PARAMETER)) {
+                try {
+                    return Double.parseDouble(parameter.substring(QUALITY_PARAMETER.length()));
+                } catch (NumberFormatException exception) {
+                    return 0;
+                }
+            }
+            parameterStart = parameterEnd;
+        }
+        return 1;
+    }
+}
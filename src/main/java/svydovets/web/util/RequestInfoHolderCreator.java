@@ -2,9 +2,19 @@ package svydovets.web.util;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import svydovets.web.HandlerMethodInvoker;
+import svydovets.web.MethodArgumentResolver;
+import svydovets.web.ResponseBodyWriter;
+import svydovets.web.annotation.Coalesce;
+import svydovets.web.annotation.ETag;
 import svydovets.web.annotation.PathVariable;
+import svydovets.web.annotation.RateLimit;
 import svydovets.web.annotation.RequestParam;
+import svydovets.web.annotation.ResponseCache;
+import svydovets.web.cache.ResponseCacheStore;
+import svydovets.web.coalesce.RequestCoalescer;
 import svydovets.web.dto.RequestInfoHolder;
+import svydovets.web.ratelimit.RateLimiter;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
@@ -18,6 +28,10 @@ public class RequestInfoHolderCreator {
 
     private static final Logger log = LoggerFactory.getLogger(RequestInfoHolderCreator.class);
 
+    private static final MethodArgumentResolver methodArgumentResolver = new MethodArgumentResolver();
+
+    private static final ResponseBodyWriter responseBodyWriter = new ResponseBodyWriter();
+
     private RequestInfoHolderCreator() {
         //Empty constructor
     }
@@ -30,6 +44,20 @@ public class RequestInfoHolderCreator {
      * @return       A new RequestInfoHolder instance populated with relevant information.
      */
     public static RequestInfoHolder create(String className, Class<?> classType, Method method) {
+        return create(className, classType, method, methodArgumentResolver);
+    }
+
+    /**
+     * Creates a new {@link RequestInfoHolder} instance whose arguments are resolved by the given resolver.
+     *
+     * @param className              Class name of bean entry.
+     * @param method                 The method for which to create the request information holder.
+     * @param methodArgumentResolver The resolver that compiles the argument resolvers of the method, whose message
+     *                               converters also write the response body.
+     * @return                       A new RequestInfoHolder instance populated with relevant information.
+     */
+    public static RequestInfoHolder create(String className, Class<?> classType, Method method,
+                                           MethodArgumentResolver methodArgumentResolver) {
         log.trace("Call create({}, {}, {})", className, classType, method);
 
         RequestInfoHolder requestInfoHolder = new RequestInfoHolder(className, classType);
@@ -37,6 +65,30 @@ public class RequestInfoHolderCreator {
         requestInfoHolder.setParameterTypes(method.getParameterTypes());
         String[] parameterNames = getParameterNames(method);
         requestInfoHolder.setParameterNames(parameterNames);
+        requestInfoHolder.setInvoker(HandlerMethodInvoker.of(method));
+        requestInfoHolder.setArgumentResolvers(methodArgumentResolver.createArgumentResolvers(method));
+        requestInfoHolder.setResponseWriter(responseBodyWriter.createObjectWriter(method,
+                methodArgumentResolver.getObjectMapper()));
+        requestInfoHolder.setElementWriter(responseBodyWriter.createElementWriter(method,
+                methodArgumentResolver.getObjectMapper()));
+        requestInfoHolder.setResponseBodyConverters(responseBodyWriter.createResponseBodyConverters(method,
+                methodArgumentResolver.getMessageConverterRegistry()));
+        requestInfoHolder.setETag(method.getAnnotation(ETag.class));
+        ResponseCache responseCache = method.getAnnotation(ResponseCache.class);
+        if (responseCache != null) {
+            requestInfoHolder.setResponseCache(new ResponseCacheStore(responseCache.timeUnit().toNanos(responseCache.ttl()),
+                    responseCache.maxEntries(), responseCache.queryParams()));
+        }
+        Coalesce coalesce = method.getAnnotation(Coalesce.class);
+        if (coalesce != null) {
+            requestInfoHolder.setRequestCoalescer(RequestCoalescer.of(method, coalesce));
+        }
+        RateLimit rateLimit = method.isAnnotationPresent(RateLimit.class)
+                ? method.getAnnotation(RateLimit.class)
+                : classType.getAnnotation(RateLimit.class);
+        if (rateLimit != null) {
+            requestInfoHolder.setRateLimiter(new RateLimiter(rateLimit));
+        }
 
         log.trace("Created requestInfoHolder: {}", requestInfoHolder);
 
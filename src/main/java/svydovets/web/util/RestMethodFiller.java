@@ -2,22 +2,42 @@ package svydovets.web.util;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import svydovets.web.HttpMethod;
+import svydovets.web.MethodArgumentResolver;
+import svydovets.web.ServletWebRequest;
+import svydovets.web.annotation.ControllerAdvice;
 import svydovets.web.annotation.DeleteMapping;
+import svydovets.web.annotation.ExceptionHandler;
 import svydovets.web.annotation.GetMapping;
 import svydovets.web.annotation.PatchMapping;
 import svydovets.web.annotation.PostMapping;
 import svydovets.web.annotation.PutMapping;
 import svydovets.web.annotation.RequestMapping;
 import svydovets.web.annotation.RestController;
+import svydovets.web.convert.ConversionService;
+import svydovets.web.convert.Converter;
+import svydovets.web.convert.DefaultConversionService;
+import svydovets.web.converter.MessageConverter;
+import svydovets.web.converter.MessageConverterRegistry;
 import svydovets.web.dto.RequestInfoHolder;
+import svydovets.web.error.ExceptionHandlerResolver;
+import svydovets.web.interceptor.HandlerInterceptor;
+import svydovets.web.interceptor.InterceptorRegistry;
+import svydovets.web.json.GeneratedJsonCodecs;
+import svydovets.web.path.RouteTrie;
 
 import java.lang.reflect.Method;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * Utility class responsible for filling maps of REST methods categorized by HTTP verb
  * from a set of beans annotated with {@link RestController}.
+ *
+ * <p>Along with the maps, a {@link RouteTrie} is compiled for every HTTP verb, so ambiguous
+ * pattern paths are reported while the routes are filled rather than on each request.
  */
 public class RestMethodFiller {
 
@@ -33,13 +53,66 @@ public class RestMethodFiller {
 
     private final Map<String, RequestInfoHolder> patchMethods = new HashMap<>();
 
+    private final Map<HttpMethod, RouteTrie> routeTries = new EnumMap<>(HttpMethod.class);
+
+    private final boolean generatedJson;
+
+    private MethodArgumentResolver methodArgumentResolver = new MethodArgumentResolver();
+
+    private GeneratedJsonCodecs generatedJsonCodecs;
+
+    private ExceptionHandlerResolver exceptionHandlerResolver;
+
+    private InterceptorRegistry interceptorRegistry;
+
+    public RestMethodFiller() {
+        this(false);
+    }
+
     /**
-     * Fills maps of REST methods based on the provided beans.
+     * Creates the filler.
+     *
+     * @param generatedJson whether JSON serializers and deserializers are generated for the request and response
+     *                      body types of the REST methods
+     */
+    public RestMethodFiller(boolean generatedJson) {
+        this.generatedJson = generatedJson;
+    }
+
+    /**
+     * Fills maps of REST methods based on the provided beans. Path variables and request parameters are converted
+     * by a {@link DefaultConversionService} extended with the beans implementing {@link Converter} and
+     * {@link ConversionService}.
+     * Request and response bodies of media types other than JSON are converted by the beans implementing
+     * {@link MessageConverter}, followed by the built-in converters of {@link MessageConverterRegistry#withDefaults}.
+     * If enabled, JSON bodies are read and written by the codecs {@link GeneratedJsonCodecs} generates for the body
+     * types of every REST method. Exceptions are handled by the {@link ExceptionHandler} methods of the controller,
+     * followed by the ones of the beans annotated with {@link ControllerAdvice}. The beans implementing
+     * {@link HandlerInterceptor} are resolved into the interceptor chain of every route they are mapped to.
      *
      * @param beans beans that were found by scanner.
      */
     public void fill(Map<String, Object> beans) {
         log.trace("Call fill() rest controller");
+        ConversionService conversionService = createConversionService(beans);
+        List<MessageConverter> messageConverters = beans.values().stream()
+                .filter(MessageConverter.class::isInstance)
+                .map(MessageConverter.class::cast)
+                .toList();
+        if (generatedJson) {
+            generatedJsonCodecs = new GeneratedJsonCodecs(ServletWebRequest.getObjectMapper());
+            methodArgumentResolver = new MethodArgumentResolver(conversionService,
+                    MessageConverterRegistry.withDefaults(messageConverters), generatedJsonCodecs.getObjectMapper());
+        } else {
+            methodArgumentResolver = new MethodArgumentResolver(conversionService,
+                    MessageConverterRegistry.withDefaults(messageConverters));
+        }
+        List<Object> adviceBeans = beans.values().stream()
+                .filter(bean -> bean.getClass().isAnnotationPresent(ControllerAdvice.class))
+                .toList();
+        exceptionHandlerResolver = ExceptionHandlerResolver.forAdvice(adviceBeans,
+                methodArgumentResolver.getObjectMapper());
+        interceptorRegistry = InterceptorRegistry.of(beans);
 
         beans.entrySet().stream()
                 .filter(entry -> entry.getValue().getClass().isAnnotationPresent(RestController.class))
@@ -92,41 +165,100 @@ public class RestMethodFiller {
         return patchMethods;
     }
 
+    /**
+     * Returns the resolver of the exception handler methods of the controller advice beans.
+     *
+     * @return The exception handler resolver of the controller advice beans.
+     */
+    public ExceptionHandlerResolver getExceptionHandlerResolver() {
+        return exceptionHandlerResolver;
+    }
+
+    /**
+     * Returns the route trie compiled for the HTTP method.
+     *
+     * @param httpMethod the HTTP method
+     * @return The route trie of the HTTP method.
+     */
+    public RouteTrie getRouteTrie(HttpMethod httpMethod) {
+        return routeTries.computeIfAbsent(httpMethod, key -> new RouteTrie());
+    }
+
+    /**
+     * Creates the conversion service of path variables and request parameters: a {@link DefaultConversionService}
+     * with the beans implementing {@link ConversionService} consulted first and the beans implementing
+     * {@link Converter} registered over the built-in converters, both in the order of the bean names.
+     */
+    private static ConversionService createConversionService(Map<String, Object> beans) {
+        log.trace("Call createConversionService({})", beans.keySet());
+        DefaultConversionService conversionService = new DefaultConversionService();
+        beans.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(Map.Entry::getValue)
+                .forEach(bean -> {
+                    if (bean instanceof ConversionService userConversionService) {
+                        conversionService.addConversionService(userConversionService);
+                    } else if (bean instanceof Converter<?, ?> converter) {
+                        conversionService.addConverter(converter);
+                    }
+                });
+        return conversionService;
+    }
+
     private void fillMethods(Map.Entry<String, Object> entry) {
         log.trace("Call fillMethods({})", entry);
         String key = entry.getKey();
         Class<?> beanType = entry.getValue().getClass();
         String controllerPath = getControllerPath(beanType);
+        ExceptionHandlerResolver exceptionHandlers = exceptionHandlerResolver.forController(beanType,
+                methodArgumentResolver.getObjectMapper());
         for (Method method : beanType.getDeclaredMethods()) {
             if (method.isAnnotationPresent(GetMapping.class)) {
                 String path = controllerPath + method.getDeclaredAnnotation(GetMapping.class).value();
                 log.trace("Put GET method context by path: {}", path);
 
-                getMethods.put(path, RequestInfoHolderCreator.create(key, beanType, method));
+                getRouteTrie(HttpMethod.GET).register(path);
+                getMethods.put(path, createRequestInfoHolder(key, beanType, method, path, exceptionHandlers));
             } else if (method.isAnnotationPresent(PostMapping.class)) {
                 String path = controllerPath + method.getDeclaredAnnotation(PostMapping.class).value();
                 log.trace("Put POST method context by path: {}", path);
 
-                postMethods.put(path, RequestInfoHolderCreator.create(key, beanType, method));
+                getRouteTrie(HttpMethod.POST).register(path);
+                postMethods.put(path, createRequestInfoHolder(key, beanType, method, path, exceptionHandlers));
             } else if (method.isAnnotationPresent(PutMapping.class)) {
                 String path = controllerPath + method.getDeclaredAnnotation(PutMapping.class).value();
                 log.trace("Put PUT method context by path: {}", path);
 
-                putMethods.put(path, RequestInfoHolderCreator.create(key, beanType, method));
+                getRouteTrie(HttpMethod.PUT).register(path);
+                putMethods.put(path, createRequestInfoHolder(key, beanType, method, path, exceptionHandlers));
             } else if (method.isAnnotationPresent(DeleteMapping.class)) {
                 String path = controllerPath + method.getDeclaredAnnotation(DeleteMapping.class).value();
                 log.trace("Put DELETE method context by path: {}", path);
 
-                deleteMethods.put(path, RequestInfoHolderCreator.create(key, beanType, method));
+                getRouteTrie(HttpMethod.DELETE).register(path);
+                deleteMethods.put(path, createRequestInfoHolder(key, beanType, method, path, exceptionHandlers));
             } else if (method.isAnnotationPresent(PatchMapping.class)) {
                 String path = controllerPath + method.getDeclaredAnnotation(PatchMapping.class).value();
                 log.trace("Put PATCH method context by path: {}", path);
 
-                patchMethods.put(path, RequestInfoHolderCreator.create(key, beanType, method));
+                getRouteTrie(HttpMethod.PATCH).register(path);
+                patchMethods.put(path, createRequestInfoHolder(key, beanType, method, path, exceptionHandlers));
             }
         }
     }
 
+    private RequestInfoHolder createRequestInfoHolder(String key, Class<?> beanType, Method method, String path,
+                                                      ExceptionHandlerResolver exceptionHandlers) {
+        if (generatedJsonCodecs != null) {
+            generatedJsonCodecs.register(method);
+        }
+        RequestInfoHolder requestInfoHolder = RequestInfoHolderCreator.create(key, beanType, method,
+                methodArgumentResolver);
+        requestInfoHolder.setExceptionHandlerResolver(exceptionHandlers);
+        requestInfoHolder.setInterceptorChain(interceptorRegistry.getInterceptorChain(path));
+        return requestInfoHolder;
+    }
+
     private static String getControllerPath(Class<?> beanType) {
         log.trace("Call getControllerPath({})", beanType);
         if (!beanType.isAnnotationPresent(RequestMapping.class)) {
@@ -0,0 +1,139 @@
+package com.bobocode.svydovets;
+
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.AbstractProtocol;
+import org.apache.coyote.UpgradeProtocol;
+import org.apache.coyote.http11.AbstractHttp11Protocol;
+import org.apache.coyote.http11.Http11Nio2Protocol;
+import org.apache.coyote.http11.Http11NioProtocol;
+import org.apache.coyote.http2.Http2Protocol;
+import org.apache.tomcat.util.net.AbstractEndpoint;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import svydovets.BringApplication;
+import svydovets.util.exception.VirtualThreadsNotSupportedException;
+
+import java.io.File;
+import java.lang.reflect.Field;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class BringApplicationBuilderTest {
+
+    @Test
+    @Order(1)
+    void shouldCreateConnectorWithProtocolHandlerDefaults() {
+        Connector defaultConnector = new Connector(Http11NioProtocol.class.getName());
+        AbstractHttp11Protocol<?> defaultProtocolHandler = (AbstractHttp11Protocol<?>) defaultConnector.getProtocolHandler();
+
+        Connector connector = BringApplication.builder(BringApplicationBuilderTest.class).createConnector();
+
+        AbstractHttp11Protocol<?> protocolHandler = (AbstractHttp11Protocol<?>) connector.getProtocolHandler();
+        assertThat(connector.getPort()).isEqualTo(8080);
+        assertThat(protocolHandler).isInstanceOf(Http11NioProtocol.class);
+        assertThat(protocolHandler.getAcceptCount()).isEqualTo(defaultProtocolHandler.getAcceptCount());
+        assertThat(protocolHandler.getMaxThreads()).isEqualTo(defaultProtocolHandler.getMaxThreads());
+        assertThat(protocolHandler.getMinSpareThreads()).isEqualTo(defaultProtocolHandler.getMinSpareThreads());
+        assertThat(protocolHandler.getMaxConnections()).isEqualTo(defaultProtocolHandler.getMaxConnections());
+        assertThat(protocolHandler.getConnectionTimeout()).isEqualTo(defaultProtocolHandler.getConnectionTimeout());
+        assertThat(protocolHandler.getKeepAliveTimeout()).isEqualTo(defaultProtocolHandler.getKeepAliveTimeout());
+        assertThat(getMaxKeepAliveRequests(protocolHandler)).isEqualTo(getMaxKeepAliveRequests(defaultProtocolHandler));
+        assertThat(protocolHandler.getExecutor()).isNull();
+        assertThat(connector.findUpgradeProtocols()).isEmpty();
+    }
+
+    @Test
+    @Order(2)
+    void shouldApplyConnectorSettingsToProtocolHandler() {
+        Connector connector = BringApplication.builder(BringApplicationBuilderTest.class)
+                .port(9090)
+                .protocol(BringApplication.Protocol.NIO2)
+                .acceptCount(50)
+                .maxThreads(400)
+                .minSpareThreads(20)
+                .maxConnections(20_000)
+                .connectionTimeout(5_000)
+                .keepAliveTimeout(30_000)
+                .maxKeepAliveRequests(1_000)
+                .socketReceiveBufferSize(65_536)
+                .socketSendBufferSize(131_072)
+                .createConnector();
+
+        AbstractHttp11Protocol<?> protocolHandler = (AbstractHttp11Protocol<?>) connector.getProtocolHandler();
+        assertThat(connector.getPort()).isEqualTo(9090);
+        assertThat(protocolHandler).isInstanceOf(Http11Nio2Protocol.class);
+        assertThat(protocolHandler.getAcceptCount()).isEqualTo(50);
+        assertThat(protocolHandler.getMaxThreads()).isEqualTo(400);
+        assertThat(protocolHandler.getMinSpareThreads()).isEqualTo(20);
+        assertThat(protocolHandler.getMaxConnections()).isEqualTo(20_000);
+        assertThat(protocolHandler.getConnectionTimeout()).isEqualTo(5_000);
+        assertThat(protocolHandler.getKeepAliveTimeout()).isEqualTo(30_000);
+        assertThat(getMaxKeepAliveRequests(protocolHandler)).isEqualTo(1_000);
+        assertThat(connector.getProperty("socket.rxBufSize")).hasToString("65536");
+        assertThat(connector.getProperty("socket.txBufSize")).hasToString("131072");
+    }
+
+    @Test
+    @Order(3)
+    void shouldRegisterHttp2UpgradeProtocolWhenHttp2IsEnabled() {
+        Connector connector = BringApplication.builder(BringApplicationBuilderTest.class)
+                .http2(true)
+                .createConnector();
+
+        UpgradeProtocol[] upgradeProtocols = connector.findUpgradeProtocols();
+        assertThat(upgradeProtocols).hasSize(1);
+        assertThat(upgradeProtocols[0]).isInstanceOf(Http2Protocol.class);
+    }
+
+    @Test
+    @Order(4)
+    void shouldProcessRequestsOnVirtualThreadsWhenEnabled() {
+        assumeTrue(Runtime.version().feature() >= 21);
+        Connector connector = BringApplication.builder(BringApplicationBuilderTest.class)
+                .virtualThreads(true)
+                .createConnector();
+
+        assertThat(connector.getProtocolHandler().getExecutor()).isNotNull();
+    }
+
+    @Test
+    @Order(5)
+    void shouldRejectVirtualThreadsBeforeJava21() {
+        assumeTrue(Runtime.version().feature() < 21);
+        BringApplication.Builder builder = BringApplication.builder(BringApplicationBuilderTest.class)
+                .virtualThreads(true);
+
+        assertThatThrownBy(builder::createConnector).isInstanceOf(VirtualThreadsNotSupportedException.class);
+    }
+
+    @Test
+    @Order(6)
+    void shouldDeriveDocBaseFromBaseDir() {
+        String baseDir = new File(System.getProperty("java.io.tmpdir"), "bring").getPath();
+
+        assertThat(BringApplication.builder(BringApplicationBuilderTest.class).getDocBase())
+                .isEqualTo(new File(System.getProperty("java.io.tmpdir")).getAbsolutePath());
+        assertThat(BringApplication.builder(BringApplicationBuilderTest.class).baseDir(baseDir).getDocBase())
+                .isEqualTo(new File(baseDir).getAbsolutePath());
+    }
+
+    /**
+     * Reads the setting from the endpoint, since the protocol handler reports {@code 1} until the endpoint is bound.
+     */
+    private static int getMaxKeepAliveRequests(AbstractProtocol<?> protocolHandler) {
+        try {
+            Field endpointField = AbstractProtocol.class.getDeclaredField("endpoint");
+            endpointField.setAccessible(true);
+            Field maxKeepAliveRequestsField = AbstractEndpoint.class.getDeclaredField("maxKeepAliveRequests");
+            maxKeepAliveRequestsField.setAccessible(true);
+            return maxKeepAliveRequestsField.getInt(endpointField.get(protocolHandler));
+        } catch (ReflectiveOperationException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
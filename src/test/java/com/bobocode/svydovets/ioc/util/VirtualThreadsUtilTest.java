@@ -0,0 +1,39 @@
+package com.bobocode.svydovets.ioc.util;
+
+import org.junit.jupiter.api.Test;
+import svydovets.util.VirtualThreadsUtil;
+import svydovets.util.exception.VirtualThreadsNotSupportedException;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VirtualThreadsUtilTest {
+
+    @Test
+    void shouldReportSupportByJavaVersion() {
+        assertEquals(Runtime.version().feature() >= 21, VirtualThreadsUtil.isSupported());
+    }
+
+    @Test
+    void shouldRunTasksOnVirtualThreadsOrThrowWhenNotSupported() throws Exception {
+        if (!VirtualThreadsUtil.isSupported()) {
+            var exception = assertThrows(VirtualThreadsNotSupportedException.class,
+                    VirtualThreadsUtil::newVirtualThreadPerTaskExecutor);
+            assertEquals("Virtual threads require Java 21 or later, current Java version: " + Runtime.version(),
+                    exception.getMessage());
+            return;
+        }
+
+        ExecutorService executor = VirtualThreadsUtil.newVirtualThreadPerTaskExecutor();
+        try {
+            String threadDescription = executor.submit(() -> Thread.currentThread().toString()).get(5, TimeUnit.SECONDS);
+            assertTrue(threadDescription.startsWith("VirtualThread"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.bobocode.svydovets.source.web.dispatch;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import svydovets.core.annotation.Component;
+import svydovets.web.annotation.InterceptorMapping;
+import svydovets.web.dto.RequestInfoHolder;
+import svydovets.web.interceptor.HandlerInterceptor;
+
+@Component
+@InterceptorMapping("/dispatch/cached")
+public class ClientHeaderInterceptor implements HandlerInterceptor {
+
+    public static final String CLIENT_HEADER = "X-Client";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, RequestInfoHolder handler) {
+        String client = request.getHeader(CLIENT_HEADER);
+        response.setHeader(CLIENT_HEADER, client);
+        response.setHeader("Set-Cookie", "session=" + client);
+        return true;
+    }
+}
@@ -0,0 +1,36 @@
+package com.bobocode.svydovets.source.web.dispatch;
+
+import com.bobocode.svydovets.web.dto.User;
+import svydovets.web.annotation.GetMapping;
+import svydovets.web.annotation.PostMapping;
+import svydovets.web.annotation.RequestBody;
+import svydovets.web.annotation.RequestMapping;
+import svydovets.web.annotation.RequestParam;
+import svydovets.web.annotation.ResponseCache;
+import svydovets.web.annotation.RestController;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RestController
+@RequestMapping("/dispatch")
+public class DispatchRestController {
+
+    private final AtomicInteger cachedInvocations = new AtomicInteger();
+
+    @ResponseCache
+    @GetMapping("/cached")
+    public Map<String, Integer> cached() {
+        return Map.of("invocation", cachedInvocations.incrementAndGet());
+    }
+
+    @PostMapping("/users")
+    public User echoUser(@RequestBody User user) {
+        return user;
+    }
+
+    @GetMapping("/pages")
+    public Map<String, Integer> page(@RequestParam("page") int page) {
+        return Map.of("page", page);
+    }
+}
@@ -0,0 +1,118 @@
+package com.bobocode.svydovets.web;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import svydovets.web.AsyncResultHandler;
+import svydovets.web.dto.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class AsyncResultHandlerTest {
+
+    private AsyncResultHandler asyncResultHandler;
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    @Mock
+    private AsyncContext asyncContext;
+
+    @BeforeEach
+    void setUp() {
+        asyncResultHandler = new AsyncResultHandler();
+        when(request.startAsync(request, response)).thenReturn(asyncContext);
+    }
+
+    @Test
+    @Order(1)
+    void shouldProcessResultWhenStageCompletes() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        List<Object> results = new ArrayList<>();
+
+        asyncResultHandler.handle(request, response, future, results::add);
+        assertThat(results).isEmpty();
+        verify(asyncContext, never()).complete();
+
+        future.complete("result");
+
+        assertThat(results).containsExactly("result");
+        verify(asyncContext).setTimeout(AsyncResultHandler.DEFAULT_ASYNC_TIMEOUT);
+        verify(asyncContext).complete();
+    }
+
+    @Test
+    @Order(2)
+    void shouldSendMappedErrorStatusWhenStageCompletesExceptionally() throws Exception {
+        asyncResultHandler.registerErrorStatus(IllegalArgumentException.class, HttpStatus.BAD_REQUEST);
+        CompletableFuture<String> future = new CompletableFuture<>();
+
+        asyncResultHandler.handle(request, response, future, result -> {
+            throw new AssertionError("Result must not be processed");
+        });
+        future.completeExceptionally(new CompletionException(new IllegalArgumentException("invalid")));
+
+        verify(response).sendError(HttpStatus.BAD_REQUEST.getStatus());
+        verify(asyncContext).complete();
+    }
+
+    @Test
+    @Order(3)
+    void shouldSendTimeoutStatusAndDiscardLateResult() throws Exception {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        List<Object> results = new ArrayList<>();
+        ArgumentCaptor<AsyncListener> listenerCaptor = ArgumentCaptor.forClass(AsyncListener.class);
+
+        asyncResultHandler.handle(request, response, future, results::add);
+        verify(asyncContext).addListener(listenerCaptor.capture());
+
+        listenerCaptor.getValue().onTimeout(new AsyncEvent(asyncContext, request, response));
+        future.complete("late result");
+
+        assertThat(results).isEmpty();
+        verify(response).sendError(HttpStatus.SERVICE_UNAVAILABLE.getStatus());
+        verify(asyncContext).complete();
+        verify(asyncContext, never()).dispatch(any(String.class));
+    }
+
+    @Test
+    @Order(4)
+    void shouldLeaveHandledErrorToErrorProcessor() throws Exception {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        List<Throwable> errors = new ArrayList<>();
+
+        asyncResultHandler.handle(request, response, future, result -> {
+            throw new AssertionError("Result must not be processed");
+        }, errors::add);
+        future.completeExceptionally(new CompletionException(new IllegalStateException("handled")));
+
+        assertThat(errors).singleElement().isInstanceOf(IllegalStateException.class);
+        verify(response, never()).sendError(any(Integer.class));
+        verify(asyncContext).complete();
+    }
+}
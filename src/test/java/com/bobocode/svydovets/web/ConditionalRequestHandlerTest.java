@@ -0,0 +1,87 @@
+package com.bobocode.svydovets.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import svydovets.web.ConditionalRequestHandler;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ConditionalRequestHandlerTest {
+
+    private static final String ETAG = "\"1\"";
+
+    private static final long LAST_MODIFIED = 1_700_000_000_000L;
+
+    private final ConditionalRequestHandler conditionalRequestHandler = new ConditionalRequestHandler();
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    @Test
+    @Order(1)
+    void shouldSetNotModifiedStatusWhenIfNoneMatchMatchesETag() {
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getHeader("If-None-Match")).thenReturn("\"0\", W/\"1\"");
+
+        assertThat(conditionalRequestHandler.checkNotModified(request, response, ETAG, -1)).isTrue();
+        verify(response).setStatus(304);
+    }
+
+    @Test
+    @Order(2)
+    void shouldNotSetNotModifiedStatusWhenIfNoneMatchDoesNotMatchETag() {
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getHeader("If-None-Match")).thenReturn("\"0\"");
+
+        assertThat(conditionalRequestHandler.checkNotModified(request, response, ETAG, LAST_MODIFIED)).isFalse();
+        verify(response, never()).setStatus(anyInt());
+    }
+
+    @Test
+    @Order(3)
+    void shouldSetNotModifiedStatusWhenNotModifiedSinceIfModifiedSince() {
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getDateHeader("If-Modified-Since")).thenReturn(LAST_MODIFIED + 500);
+
+        assertThat(conditionalRequestHandler.checkNotModified(request, response, null, LAST_MODIFIED)).isTrue();
+        verify(response).setStatus(304);
+    }
+
+    @Test
+    @Order(4)
+    void shouldIgnoreConditionalHeadersOfNonGetRequests() {
+        when(request.getMethod()).thenReturn("POST");
+
+        assertThat(conditionalRequestHandler.checkNotModified(request, response, ETAG, LAST_MODIFIED)).isFalse();
+    }
+
+    @Test
+    @Order(5)
+    void shouldGenerateSameETagForSameBody() {
+        byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+
+        String eTag = ConditionalRequestHandler.generateETag(body, false);
+
+        assertThat(eTag).startsWith("\"").endsWith("\"");
+        assertThat(ConditionalRequestHandler.generateETag(body.clone(), false)).isEqualTo(eTag);
+        assertThat(ConditionalRequestHandler.generateETag(body, true)).isEqualTo("W/" + eTag);
+    }
+}
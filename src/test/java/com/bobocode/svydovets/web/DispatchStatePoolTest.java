@@ -0,0 +1,116 @@
+package com.bobocode.svydovets.web;
+
+import com.bobocode.svydovets.web.dto.User;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import svydovets.web.DispatchState;
+import svydovets.web.DispatchStatePool;
+import svydovets.web.ServletWebRequest;
+import svydovets.web.exception.RequestBodyTooLargeException;
+import svydovets.web.path.PathVariables;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import static com.bobocode.svydovets.web.factory.ServletInputStreamFactory.createServletInputStream;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class DispatchStatePoolTest {
+
+    private static final String USER_JSON = "{\"id\":1,\"firstName\":\"Taras\",\"lastName\":\"Shevchenko\"}";
+
+    private static final ObjectReader USER_READER = ServletWebRequest.getObjectMapper().readerFor(User.class);
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    @Test
+    @Order(1)
+    void shouldReuseClearedStatesUpToMaxPooled() {
+        DispatchStatePool pool = new DispatchStatePool(64, 1);
+        DispatchState first = pool.acquire();
+        DispatchState second = pool.acquire();
+        ServletWebRequest servletWebRequest = first.bind(request, response, 100, PathVariables.EMPTY);
+        first.getArguments(2)[0] = "argument";
+
+        pool.release(first);
+        pool.release(second);
+
+        assertThat(pool.acquire()).isSameAs(first);
+        assertThat(pool.acquire()).isNotSameAs(second);
+        assertThat(first.getArguments(2)).containsOnlyNulls();
+        assertThat(first.getArguments(0)).isSameAs(first.getArguments(0));
+        assertThat(first.getArguments(DispatchState.MAX_POOLED_ARGUMENTS + 1))
+                .isNotSameAs(first.getArguments(DispatchState.MAX_POOLED_ARGUMENTS + 1));
+        assertThat(servletWebRequest.getRequest()).isNull();
+        assertThat(servletWebRequest.getResponse()).isNull();
+    }
+
+    @Test
+    @Order(2)
+    void shouldReadSmallBodiesOfEveryBoundRequest() throws Exception {
+        DispatchState state = new DispatchState(128);
+        String otherUserJson = USER_JSON.replace("\"id\":1", "\"id\":2");
+        when(request.getContentLengthLong()).thenReturn((long) USER_JSON.length(), (long) otherUserJson.length());
+        when(request.getInputStream()).thenReturn(createServletInputStream(USER_JSON),
+                createServletInputStream(otherUserJson));
+
+        User first = (User) state.bind(request, response, 128, PathVariables.EMPTY).getRequestBody(USER_READER);
+        User second = (User) state.bind(request, response, 128, PathVariables.EMPTY).getRequestBody(USER_READER);
+
+        assertThat(first.getId()).isEqualTo(1L);
+        assertThat(second.getId()).isEqualTo(2L);
+        assertThat(second.getFirstName()).isEqualTo("Taras");
+    }
+
+    @Test
+    @Order(3)
+    void shouldStreamBodiesOverBufferSize() throws Exception {
+        DispatchState state = new DispatchState(16);
+        ByteArrayOutputStream compressedBody = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressedBody)) {
+            gzipOutputStream.write(USER_JSON.getBytes(StandardCharsets.UTF_8));
+        }
+        when(request.getContentLengthLong()).thenReturn((long) USER_JSON.length(), 10L);
+        when(request.getHeader("Content-Encoding")).thenReturn(null, "gzip");
+        when(request.getInputStream()).thenReturn(createServletInputStream(USER_JSON),
+                createServletInputStream(compressedBody.toByteArray()));
+
+        User streamed = (User) state.bind(request, response, ServletWebRequest.UNLIMITED_REQUEST_BODY_SIZE,
+                PathVariables.EMPTY).getRequestBody(USER_READER);
+        User decoded = (User) state.bind(request, response, ServletWebRequest.UNLIMITED_REQUEST_BODY_SIZE,
+                PathVariables.EMPTY).getRequestBody(USER_READER);
+
+        assertThat(streamed.getLastName()).isEqualTo("Shevchenko");
+        assertThat(decoded.getLastName()).isEqualTo("Shevchenko");
+    }
+
+    @Test
+    @Order(4)
+    void shouldRejectBufferedBodyOverMaxSize() {
+        DispatchState state = new DispatchState(128);
+        when(request.getContentLengthLong()).thenReturn((long) USER_JSON.length());
+
+        ServletWebRequest servletWebRequest = state.bind(request, response, USER_JSON.length() - 1,
+                PathVariables.EMPTY);
+
+        assertThatThrownBy(() -> servletWebRequest.getRequestBody(USER_READER))
+                .isInstanceOf(RequestBodyTooLargeException.class);
+    }
+}
@@ -0,0 +1,159 @@
+package com.bobocode.svydovets.web;
+
+import com.bobocode.svydovets.source.web.dispatch.ClientHeaderInterceptor;
+import com.bobocode.svydovets.web.factory.RecordingHttpServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import svydovets.web.DispatcherServlet;
+import svydovets.web.dto.MediaType;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static com.bobocode.svydovets.web.factory.ServletInputStreamFactory.createServletInputStream;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class DispatcherServletTest {
+
+    private static final String BASE_PACKAGE = "com.bobocode.svydovets.source.web.dispatch";
+
+    private static final String USER_JSON = "{\"id\":1,\"firstName\":\"Taras\",\"lastName\":\"Shevchenko\"}";
+
+    private final DispatcherServlet dispatcherServlet = new DispatcherServlet(BASE_PACKAGE);
+
+    @Test
+    @Order(1)
+    void shouldNotReplayHeadersOfInterceptorsFromCachedResponse() throws Exception {
+        RecordingHttpServletResponse firstResponse = new RecordingHttpServletResponse();
+        dispatcherServlet.service(createRequest("GET", "/dispatch/cached",
+                Map.of(ClientHeaderInterceptor.CLIENT_HEADER, "first")), firstResponse);
+        RecordingHttpServletResponse secondResponse = new RecordingHttpServletResponse();
+        dispatcherServlet.service(createRequest("GET", "/dispatch/cached",
+                Map.of(ClientHeaderInterceptor.CLIENT_HEADER, "second")), secondResponse);
+
+        assertThat(firstResponse.getStatus()).isEqualTo(200);
+        assertThat(firstResponse.getHeader(ClientHeaderInterceptor.CLIENT_HEADER)).isEqualTo("first");
+        assertThat(secondResponse.getStatus()).isEqualTo(200);
+        assertThat(secondResponse.getBodyAsString()).isEqualTo("{\"invocation\":1}");
+        assertThat(secondResponse.getHeader(ClientHeaderInterceptor.CLIENT_HEADER)).isEqualTo("second");
+        assertThat(secondResponse.getHeaders("Set-Cookie")).containsExactly("session=second");
+    }
+
+    @Test
+    @Order(2)
+    void shouldAnswerBodyOfDeclaredLengthOverMaxSizeWithPayloadTooLarge() throws Exception {
+        dispatcherServlet.setMaxRequestBodySize(16);
+        HttpServletRequest request = createBodyRequest(USER_JSON, USER_JSON.length());
+        RecordingHttpServletResponse response = new RecordingHttpServletResponse();
+
+        dispatcherServlet.service(request, response);
+
+        assertThat(response.getStatus()).isEqualTo(413);
+        assertThat(response.getBodyAsString()).isEqualTo("{\"status\":413,\"error\":\"Payload Too Large\"}");
+    }
+
+    @Test
+    @Order(3)
+    void shouldAnswerStreamedBodyOverMaxSizeWithPayloadTooLarge() throws Exception {
+        dispatcherServlet.setMaxRequestBodySize(10_000);
+        String body = "{\"id\":1,\"firstName\":\"Taras\",\"lastName\":\"" + "x".repeat(20_000) + "\"}";
+        HttpServletRequest request = createBodyRequest(body, -1);
+        RecordingHttpServletResponse response = new RecordingHttpServletResponse();
+
+        dispatcherServlet.service(request, response);
+
+        assertThat(response.getStatus()).isEqualTo(413);
+    }
+
+    @Test
+    @Order(4)
+    void shouldReadBodyWithinMaxSize() throws Exception {
+        dispatcherServlet.setMaxRequestBodySize(1024);
+        HttpServletRequest request = createBodyRequest(USER_JSON, -1);
+        RecordingHttpServletResponse response = new RecordingHttpServletResponse();
+
+        dispatcherServlet.service(request, response);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getBodyAsString()).contains("\"firstName\":\"Taras\"");
+    }
+
+    @Test
+    @Order(5)
+    void shouldAnswerBodyOfUnsupportedContentEncodingWithUnsupportedMediaType() throws Exception {
+        HttpServletRequest request = createBodyRequest(USER_JSON, USER_JSON.length());
+        when(request.getHeader("Content-Encoding")).thenReturn("br");
+        RecordingHttpServletResponse response = new RecordingHttpServletResponse();
+
+        dispatcherServlet.service(request, response);
+
+        assertThat(response.getStatus()).isEqualTo(415);
+        assertThat(response.getBodyAsString()).isEqualTo("{\"status\":415,\"error\":\"Unsupported Media Type\"}");
+    }
+
+    @Test
+    @Order(6)
+    void shouldReadBodyOfIdentityContentEncoding() throws Exception {
+        HttpServletRequest request = createBodyRequest(USER_JSON, USER_JSON.length());
+        when(request.getHeader("Content-Encoding")).thenReturn("identity");
+        RecordingHttpServletResponse response = new RecordingHttpServletResponse();
+
+        dispatcherServlet.service(request, response);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getBodyAsString()).contains("\"lastName\":\"Shevchenko\"");
+    }
+
+    @Test
+    @Order(7)
+    void shouldAnswerMissingPrimitiveRequestParamWithBadRequest() throws Exception {
+        RecordingHttpServletResponse response = new RecordingHttpServletResponse();
+
+        dispatcherServlet.service(createRequest("GET", "/dispatch/pages", Map.of()), response);
+
+        assertThat(response.getStatus()).isEqualTo(400);
+        assertThat(response.getBodyAsString()).isEqualTo("{\"status\":400,\"error\":\"Bad Request\"}");
+    }
+
+    @Test
+    @Order(8)
+    void shouldAnswerNullOrUnreadableBatchEntriesWithBadRequest() throws Exception {
+        dispatcherServlet.setBatchPath("/batch");
+
+        for (String body : new String[]{"null", "[null]", "{\"method\":\"GET\"}", "[{"}) {
+            RecordingHttpServletResponse response = new RecordingHttpServletResponse();
+            dispatcherServlet.service(createBodyRequest("/batch", body, body.length()), response);
+
+            assertThat(response.getStatus()).as(body).isEqualTo(400);
+        }
+    }
+
+    private static HttpServletRequest createBodyRequest(String body, long contentLength) throws IOException {
+        return createBodyRequest("/dispatch/users", body, contentLength);
+    }
+
+    private static HttpServletRequest createBodyRequest(String servletPath, String body, long contentLength)
+            throws IOException {
+        HttpServletRequest request = createRequest("POST", servletPath, Map.of());
+        when(request.getContentType()).thenReturn(MediaType.APPLICATION_JSON);
+        when(request.getContentLengthLong()).thenReturn(contentLength);
+        when(request.getInputStream()).thenReturn(createServletInputStream(body));
+        return request;
+    }
+
+    private static HttpServletRequest createRequest(String method, String servletPath, Map<String, String> headers) {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getMethod()).thenReturn(method);
+        when(request.getServletPath()).thenReturn(servletPath);
+        when(request.getHeader(anyString())).thenAnswer(invocation -> headers.get(invocation.<String>getArgument(0)));
+        when(request.getDateHeader(anyString())).thenReturn(-1L);
+        return request;
+    }
+}
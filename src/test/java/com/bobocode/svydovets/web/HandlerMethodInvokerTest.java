@@ -0,0 +1,42 @@
+package com.bobocode.svydovets.web;
+
+import com.bobocode.svydovets.web.controller.UserController;
+import com.bobocode.svydovets.web.dto.User;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import svydovets.web.HandlerMethodInvoker;
+
+import java.lang.reflect.InvocationTargetException;
+
+import static com.bobocode.svydovets.web.factory.UserFactory.DEFAULT_FIRST_NAME;
+import static com.bobocode.svydovets.web.factory.UserFactory.DEFAULT_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class HandlerMethodInvokerTest {
+
+    @Test
+    @Order(1)
+    void shouldInvokeControllerMethod() throws Exception {
+        HandlerMethodInvoker invoker = HandlerMethodInvoker.of(UserController.class.getDeclaredMethod("getOneById", Long.class));
+
+        Object result = invoker.invoke(new UserController(), new Object[]{DEFAULT_ID});
+
+        assertThat(result).isInstanceOf(User.class);
+        assertThat(((User) result).getId()).isEqualTo(DEFAULT_ID);
+        assertThat(((User) result).getFirstName()).isEqualTo(DEFAULT_FIRST_NAME);
+    }
+
+    @Test
+    @Order(2)
+    void shouldWrapControllerExceptionIntoInvocationTargetException() throws Exception {
+        HandlerMethodInvoker invoker = HandlerMethodInvoker.of(UserController.class.getDeclaredMethod("update", Long.class, String.class, User.class));
+
+        assertThatThrownBy(() -> invoker.invoke(new UserController(), new Object[]{null, null, null}))
+                .isInstanceOf(InvocationTargetException.class)
+                .hasCauseInstanceOf(NullPointerException.class);
+    }
+}
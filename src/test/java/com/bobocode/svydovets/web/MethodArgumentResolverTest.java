@@ -9,20 +9,33 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
+import svydovets.web.ArgumentResolver;
 import svydovets.web.DispatcherServlet;
+import svydovets.web.HttpMethod;
 import svydovets.web.MethodArgumentResolver;
 import svydovets.web.ServletWebRequest;
+import svydovets.web.annotation.RequestBody;
+import svydovets.web.annotation.RequestParam;
+import svydovets.web.exception.MissingRequestParameterException;
+import svydovets.web.exception.RequestBodyTooLargeException;
 
-import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
-import java.io.InputStreamReader;
+import java.io.ByteArrayOutputStream;
 import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
+import static com.bobocode.svydovets.web.factory.ServletInputStreamFactory.createServletInputStream;
 import static com.bobocode.svydovets.web.factory.UserFactory.DEFAULT_FIRST_NAME;
 import static com.bobocode.svydovets.web.factory.UserFactory.DEFAULT_ID;
 import static com.bobocode.svydovets.web.factory.UserFactory.DEFAULT_LAST_NAME;
 import static com.bobocode.svydovets.web.factory.UserFactory.createDefaultUser;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -82,7 +95,7 @@ public class MethodArgumentResolverTest {
         String methodName = "save";
         Method methodToInvoke = UserController.class.getDeclaredMethod(methodName, User.class);
 
-        when(request.getReader()).thenReturn(new BufferedReader(new InputStreamReader(new ByteArrayInputStream(userJson.getBytes()))));
+        when(request.getInputStream()).thenReturn(createServletInputStream(userJson));
 
         ServletWebRequest servletWebRequest = new ServletWebRequest(request, response);
         Object[] actualArgs = methodArgumentResolver.resolveArguments(methodToInvoke, servletWebRequest);
@@ -107,7 +120,7 @@ public class MethodArgumentResolverTest {
         when(request.getServletPath()).thenReturn(String.format("/users/%d?status=%s", id, status));
         when(request.getAttribute(DispatcherServlet.CONTROLLER_REDIRECT_REQUEST_PATH)).thenReturn("/users/{id}");
         when(request.getParameter("status")).thenReturn(status);
-        when(request.getReader()).thenReturn(new BufferedReader(new InputStreamReader(new ByteArrayInputStream(userJson.getBytes()))));
+        when(request.getInputStream()).thenReturn(createServletInputStream(userJson));
 
 
         ServletWebRequest servletWebRequest = new ServletWebRequest(request, response);
@@ -133,4 +146,149 @@ public class MethodArgumentResolverTest {
         assertThat(actualArgs[0]).isEqualTo(expectedArgs[0]);
         assertThat(actualArgs[1]).isEqualTo(expectedArgs[1]);
     }
+
+    @Test
+    @Order(6)
+    public void shouldResolveArgumentsOfSeveralRequestsWithOnceCreatedArgumentResolvers() throws Exception {
+        Method methodToInvoke = UserController.class.getDeclaredMethod("getOneById", Long.class);
+        ArgumentResolver[] argumentResolvers = methodArgumentResolver.createArgumentResolvers(methodToInvoke);
+        when(request.getAttribute(DispatcherServlet.CONTROLLER_REDIRECT_REQUEST_PATH)).thenReturn("/users/{id}");
+        when(request.getServletPath()).thenReturn("/users/1", "/users/2");
+
+        Object[] firstArgs = methodArgumentResolver.resolveArguments(argumentResolvers, new ServletWebRequest(request, response));
+        Object[] secondArgs = methodArgumentResolver.resolveArguments(argumentResolvers, new ServletWebRequest(request, response));
+
+        assertThat(argumentResolvers.length).isEqualTo(1);
+        assertThat(firstArgs[0]).isEqualTo(1L);
+        assertThat(secondArgs[0]).isEqualTo(2L);
+    }
+
+    @Test
+    @Order(7)
+    public void shouldThrowRequestBodyTooLargeExceptionWhenRequestBodyExceedsMaxSize() throws Exception {
+        String userJson = new ObjectMapper().writeValueAsString(createDefaultUser());
+        Method methodToInvoke = UserController.class.getDeclaredMethod("save", User.class);
+        when(request.getContentLengthLong()).thenReturn(-1L);
+        when(request.getInputStream()).thenReturn(createServletInputStream(userJson));
+
+        ServletWebRequest servletWebRequest = new ServletWebRequest(request, response, userJson.length() - 1);
+
+        assertThatThrownBy(() -> methodArgumentResolver.resolveArguments(methodToInvoke, servletWebRequest))
+                .isInstanceOf(RequestBodyTooLargeException.class);
+    }
+
+    @Test
+    @Order(8)
+    public void shouldExtractValueFromGzipEncodedRequestBody() throws Exception {
+        User defaultUser = createDefaultUser();
+        ByteArrayOutputStream compressedBody = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressedBody)) {
+            gzipOutputStream.write(new ObjectMapper().writeValueAsBytes(defaultUser));
+        }
+        Method methodToInvoke = UserController.class.getDeclaredMethod("save", User.class);
+        when(request.getHeader("Content-Encoding")).thenReturn("gzip");
+        when(request.getInputStream()).thenReturn(createServletInputStream(compressedBody.toByteArray()));
+
+        ServletWebRequest servletWebRequest = new ServletWebRequest(request, response);
+        Object[] actualArgs = methodArgumentResolver.resolveArguments(methodToInvoke, servletWebRequest);
+
+        assertThat(actualArgs[0]).isEqualTo(defaultUser);
+    }
+
+    @Test
+    @Order(9)
+    public void shouldExtractAllValuesOfMultiValueRequestParams() throws Exception {
+        Method methodToInvoke = MultiValueController.class.getDeclaredMethod("search", List.class, int[].class);
+        when(request.getParameterValues("ids")).thenReturn(new String[]{"1", "2"});
+        when(request.getParameterValues("pages")).thenReturn(new String[]{"3", "4"});
+
+        ServletWebRequest servletWebRequest = new ServletWebRequest(request, response);
+        Object[] actualArgs = methodArgumentResolver.resolveArguments(methodToInvoke, servletWebRequest);
+
+        assertThat(actualArgs[0]).isEqualTo(List.of(1L, 2L));
+        assertThat(actualArgs[1]).isEqualTo(new int[]{3, 4});
+    }
+
+    @Test
+    @Order(10)
+    public void shouldBindJsonArrayRequestBodyToStream() throws Exception {
+        User defaultUser = createDefaultUser();
+        String usersJson = new ObjectMapper().writeValueAsString(List.of(defaultUser, defaultUser));
+        Method methodToInvoke = StreamingController.class.getDeclaredMethod("importUsers", Stream.class);
+        when(request.getInputStream()).thenReturn(createServletInputStream(usersJson));
+
+        Object[] actualArgs = methodArgumentResolver.resolveArguments(methodToInvoke, new ServletWebRequest(request, response));
+
+        try (Stream<?> users = (Stream<?>) actualArgs[0]) {
+            assertThat(users.toList()).isEqualTo(List.of(defaultUser, defaultUser));
+        }
+    }
+
+    @Test
+    @Order(11)
+    public void shouldBindNdjsonRequestBodyToIterator() throws Exception {
+        User defaultUser = createDefaultUser();
+        String userJson = new ObjectMapper().writeValueAsString(defaultUser);
+        Method methodToInvoke = StreamingController.class.getDeclaredMethod("importUsers", Iterator.class);
+        when(request.getInputStream()).thenReturn(createServletInputStream(userJson + "\n" + userJson + "\n"));
+
+        Object[] actualArgs = methodArgumentResolver.resolveArguments(methodToInvoke, new ServletWebRequest(request, response));
+
+        Iterator<?> users = (Iterator<?>) actualArgs[0];
+        assertThat(users.next()).isEqualTo(defaultUser);
+        assertThat(users.next()).isEqualTo(defaultUser);
+        assertThat(users.hasNext()).isFalse();
+    }
+
+    @Test
+    @Order(12)
+    public void shouldResolveAbsentOptionalRequestParamsToNull() throws Exception {
+        Method methodToInvoke = OptionalParamController.class.getDeclaredMethod("search", HttpMethod.class,
+                UUID.class, LocalDate.class, Integer.class);
+
+        Object[] actualArgs = methodArgumentResolver.resolveArguments(methodToInvoke, new ServletWebRequest(request, response));
+
+        assertThat(actualArgs).isEqualTo(new Object[]{null, null, null, null});
+    }
+
+    @Test
+    @Order(13)
+    public void shouldThrowMissingRequestParameterExceptionWhenPrimitiveRequestParamIsAbsent() throws Exception {
+        Method methodToInvoke = OptionalParamController.class.getDeclaredMethod("page", int.class);
+        ServletWebRequest servletWebRequest = new ServletWebRequest(request, response);
+
+        assertThatThrownBy(() -> methodArgumentResolver.resolveArguments(methodToInvoke, servletWebRequest))
+                .isInstanceOf(MissingRequestParameterException.class)
+                .hasMessageContaining("'page'");
+    }
+
+    private static class OptionalParamController {
+
+        public String search(@RequestParam("method") HttpMethod method, @RequestParam("id") UUID id,
+                             @RequestParam("from") LocalDate from, @RequestParam("limit") Integer limit) {
+            return method + " " + id + " " + from + " " + limit;
+        }
+
+        public int page(@RequestParam("page") int page) {
+            return page;
+        }
+    }
+
+    private static class StreamingController {
+
+        public long importUsers(@RequestBody Stream<User> users) {
+            return users.count();
+        }
+
+        public long importUsers(@RequestBody Iterator<User> users) {
+            return users.hasNext() ? 1 : 0;
+        }
+    }
+
+    private static class MultiValueController {
+
+        public String search(@RequestParam("ids") List<Long> ids, @RequestParam("pages") int[] pages) {
+            return ids + Arrays.toString(pages);
+        }
+    }
 }
@@ -0,0 +1,156 @@
+package com.bobocode.svydovets.web;
+
+import com.bobocode.svydovets.web.controller.UserController;
+import com.bobocode.svydovets.web.dto.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import svydovets.web.ResponseBodyWriter;
+import svydovets.web.ResponseCompressor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static com.bobocode.svydovets.web.factory.ServletOutputStreamFactory.createServletOutputStream;
+import static com.bobocode.svydovets.web.factory.UserFactory.createDefaultUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ResponseBodyWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(response.getOutputStream()).thenReturn(createServletOutputStream(outputStream));
+    }
+
+    @Test
+    @Order(1)
+    void shouldWriteSmallBodyWithContentLength() throws Exception {
+        ResponseBodyWriter responseBodyWriter = new ResponseBodyWriter();
+        User user = createDefaultUser();
+        byte[] expectedBody = objectMapper.writeValueAsBytes(user);
+
+        responseBodyWriter.write(response, responseBodyWriter.createObjectWriter(
+                UserController.class.getDeclaredMethod("getOneById", Long.class)), user);
+
+        verify(response).setContentType("application/json");
+        verify(response).setContentLength(expectedBody.length);
+        assertThat(outputStream.toByteArray()).isEqualTo(expectedBody);
+    }
+
+    @Test
+    @Order(2)
+    void shouldStreamBodyLargerThanBufferWithoutContentLength() throws Exception {
+        ResponseBodyWriter responseBodyWriter = new ResponseBodyWriter(16, 1);
+        List<User> users = Collections.nCopies(100, createDefaultUser());
+
+        responseBodyWriter.write(response, users);
+
+        verify(response, never()).setContentLength(anyInt());
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo(objectMapper.writeValueAsString(users));
+    }
+
+    @Test
+    @Order(3)
+    void shouldCompressBodyWithGzipWhenAcceptedAndLargerThanMinResponseSize() throws Exception {
+        ResponseCompressor responseCompressor = new ResponseCompressor();
+        responseCompressor.setEnabled(true);
+        ResponseBodyWriter responseBodyWriter = new ResponseBodyWriter(64, 1, responseCompressor);
+        List<User> users = Collections.nCopies(100, createDefaultUser());
+        when(request.getHeader("Accept-Encoding")).thenReturn("deflate;q=0.5, gzip");
+        when(response.getContentType()).thenReturn(null, "application/json");
+
+        responseBodyWriter.write(request, response, objectMapper.writer(), users);
+
+        verify(response).setHeader("Content-Encoding", "gzip");
+        verify(response).addHeader("Vary", "Accept-Encoding");
+        verify(response, never()).setContentLength(anyInt());
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            assertThat(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8))
+                    .isEqualTo(objectMapper.writeValueAsString(users));
+        }
+    }
+
+    @Test
+    @Order(4)
+    void shouldNotCompressBodySmallerThanMinResponseSize() throws Exception {
+        ResponseCompressor responseCompressor = new ResponseCompressor();
+        responseCompressor.setEnabled(true);
+        ResponseBodyWriter responseBodyWriter = new ResponseBodyWriter(responseCompressor);
+        User user = createDefaultUser();
+        byte[] expectedBody = objectMapper.writeValueAsBytes(user);
+        when(request.getHeader("Accept-Encoding")).thenReturn("gzip");
+        when(response.getContentType()).thenReturn(null, "application/json");
+
+        responseBodyWriter.write(request, response, responseBodyWriter.createObjectWriter(
+                UserController.class.getDeclaredMethod("getOneById", Long.class)), user);
+
+        verify(response, never()).setHeader(eq("Content-Encoding"), anyString());
+        verify(response).setContentLength(expectedBody.length);
+        assertThat(outputStream.toByteArray()).isEqualTo(expectedBody);
+    }
+
+    @Test
+    @Order(5)
+    void shouldStreamElementsAsJsonArrayAndCloseStream() throws Exception {
+        ResponseBodyWriter responseBodyWriter = new ResponseBodyWriter();
+        responseBodyWriter.setStreamFlushInterval(2);
+        List<User> users = Collections.nCopies(5, createDefaultUser());
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<User> body = users.stream().onClose(() -> closed.set(true));
+
+        long bytesWritten = responseBodyWriter.writeStream(request, response, null, body);
+
+        String expectedBody = objectMapper.writeValueAsString(users);
+        verify(response).setContentType("application/json");
+        verify(response, never()).setContentLength(anyInt());
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo(expectedBody);
+        assertThat(bytesWritten).isEqualTo(expectedBody.length());
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    @Order(6)
+    void shouldStreamElementsAsNdjsonWhenAccepted() throws Exception {
+        ResponseBodyWriter responseBodyWriter = new ResponseBodyWriter();
+        User user = createDefaultUser();
+        when(request.getHeader("Accept")).thenReturn("application/x-ndjson");
+
+        responseBodyWriter.writeStream(request, response, null, List.of(user, user).iterator());
+
+        String line = objectMapper.writeValueAsString(user);
+        verify(response).setContentType("application/x-ndjson");
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo(line + "\n" + line + "\n");
+    }
+}
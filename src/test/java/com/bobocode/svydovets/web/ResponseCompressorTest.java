@@ -0,0 +1,75 @@
+package com.bobocode.svydovets.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import svydovets.web.ResponseCompressor;
+import svydovets.web.ResponseCompressor.ContentEncoding;
+import svydovets.web.dto.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ResponseCompressorTest {
+
+    private final ResponseCompressor responseCompressor = new ResponseCompressor();
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        responseCompressor.setEnabled(true);
+        lenient().when(response.getContentType()).thenReturn(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    @Order(1)
+    void shouldPreferGzipOverDeflateOfSameQuality() {
+        assertThat(negotiate("deflate, gzip")).isEqualTo(ContentEncoding.GZIP);
+        assertThat(negotiate("deflate;q=0.8, gzip;q=0.5")).isEqualTo(ContentEncoding.DEFLATE);
+    }
+
+    @Test
+    @Order(2)
+    void shouldNotCompressWithCodingOfQualityZero() {
+        assertThat(negotiate("gzip;q=0")).isNull();
+        assertThat(negotiate("identity, gzip;q=0")).isNull();
+        assertThat(negotiate("*;q=0")).isNull();
+        assertThat(negotiate("gzip;q=0, deflate;q=0.0")).isNull();
+    }
+
+    @Test
+    @Order(3)
+    void shouldSkipRefusedCodingAndChooseAcceptableOne() {
+        assertThat(negotiate("gzip;q=0, deflate")).isEqualTo(ContentEncoding.DEFLATE);
+        assertThat(negotiate("gzip;q=0, *")).isNull();
+        assertThat(negotiate("gzip;q=0, deflate;q=0.5, *")).isEqualTo(ContentEncoding.DEFLATE);
+    }
+
+    @Test
+    @Order(4)
+    void shouldCompressWithGzipForWildcard() {
+        assertThat(negotiate("*")).isEqualTo(ContentEncoding.GZIP);
+        assertThat(negotiate("deflate;q=0.5, *;q=0.8")).isEqualTo(ContentEncoding.GZIP);
+        assertThat(negotiate("deflate, *;q=0.5")).isEqualTo(ContentEncoding.DEFLATE);
+    }
+
+    private ContentEncoding negotiate(String acceptEncoding) {
+        when(request.getHeader("Accept-Encoding")).thenReturn(acceptEncoding);
+        return responseCompressor.negotiate(request, response);
+    }
+}
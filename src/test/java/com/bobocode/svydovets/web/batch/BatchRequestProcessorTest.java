@@ -0,0 +1,130 @@
+package com.bobocode.svydovets.web.batch;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.util.RawValue;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import svydovets.web.HttpMethod;
+import svydovets.web.batch.BatchRequestEntry;
+import svydovets.web.batch.BatchRequestProcessor;
+import svydovets.web.batch.BatchResponseEntry;
+import svydovets.web.exception.NoMatchingPatternFoundException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class BatchRequestProcessorTest {
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    private final BatchRequestProcessor batchRequestProcessor = new BatchRequestProcessor(4);
+
+    @AfterEach
+    void tearDown() {
+        batchRequestProcessor.shutdown();
+    }
+
+    @Test
+    @Order(1)
+    void shouldProcessEntriesInParallelAndKeepTheirOrder() {
+        CountDownLatch latch = new CountDownLatch(2);
+        List<BatchRequestEntry> entries = List.of(
+                new BatchRequestEntry("GET", "/users/1?fields=name", Map.of("X-Trace", "a"), null),
+                new BatchRequestEntry("post", "/users", Map.of(), JsonNodeFactory.instance.objectNode().put("id", 2)));
+
+        List<BatchResponseEntry> responseEntries = batchRequestProcessor.process(request, response, entries,
+                (subRequest, subResponse, httpMethod) -> {
+                    latch.countDown();
+                    assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+
+                    String body = httpMethod == HttpMethod.GET
+                            ? "{\"path\":\"" + subRequest.getServletPath() + "\",\"fields\":\""
+                            + subRequest.getParameter("fields") + "\",\"trace\":\"" + subRequest.getHeader("X-Trace") + "\"}"
+                            : new String(subRequest.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+                    subResponse.setStatus(httpMethod == HttpMethod.GET ? 200 : 201);
+                    subResponse.setContentType("application/json");
+                    subResponse.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+                });
+
+        assertThat(responseEntries).hasSize(2);
+        assertThat(responseEntries.get(0).status()).isEqualTo(200);
+        assertThat(responseEntries.get(0).body())
+                .isEqualTo(new RawValue("{\"path\":\"/users/1\",\"fields\":\"name\",\"trace\":\"a\"}"));
+        assertThat(responseEntries.get(1).status()).isEqualTo(201);
+        assertThat(responseEntries.get(1).headers()).containsEntry("Content-Type", "application/json");
+        assertThat(responseEntries.get(1).body()).isEqualTo(new RawValue("{\"id\":2}"));
+    }
+
+    @Test
+    @Order(2)
+    void shouldAnswerInvalidUnknownAndFailingEntries() {
+        List<BatchRequestEntry> entries = List.of(
+                new BatchRequestEntry("FETCH", "/users", null, null),
+                new BatchRequestEntry("GET", "/unknown", null, null),
+                new BatchRequestEntry("GET", "/failing", null, null));
+
+        List<BatchResponseEntry> responseEntries = batchRequestProcessor.process(request, response, entries,
+                (subRequest, subResponse, httpMethod) -> {
+                    if ("/unknown".equals(subRequest.getServletPath())) {
+                        throw new NoMatchingPatternFoundException("No route");
+                    }
+                    throw new IllegalStateException("Failure");
+                });
+
+        assertThat(responseEntries).extracting(BatchResponseEntry::status).containsExactly(400, 404, 500);
+    }
+
+    @Test
+    @Order(3)
+    void shouldRejectTooLargeBatchAndAnswerTimedOutEntries() {
+        batchRequestProcessor.setMaxBatchSize(1);
+        List<BatchRequestEntry> entries = List.of(
+                new BatchRequestEntry("GET", "/a", null, null),
+                new BatchRequestEntry("GET", "/b", null, null));
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> batchRequestProcessor.process(request, response, entries, (req, resp, method) -> {
+                }));
+
+        batchRequestProcessor.setBatchTimeout(50);
+        List<BatchResponseEntry> responseEntries = batchRequestProcessor.process(request, response,
+                entries.subList(0, 1), (subRequest, subResponse, httpMethod) -> Thread.sleep(1_000));
+
+        assertThat(responseEntries).extracting(BatchResponseEntry::status).containsExactly(503);
+    }
+
+    @Test
+    @Order(4)
+    void shouldRejectAbsentOrNullEntries() {
+        List<BatchRequestEntry> entries = new ArrayList<>();
+        entries.add(null);
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> batchRequestProcessor.process(request, response, null, (req, resp, method) -> {
+                }));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> batchRequestProcessor.process(request, response, entries, (req, resp, method) -> {
+                }));
+    }
+}
@@ -0,0 +1,285 @@
+package com.bobocode.svydovets.web.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import svydovets.web.ArgumentResolver;
+import svydovets.web.DispatchState;
+import svydovets.web.DispatchStatePool;
+import svydovets.web.HandlerMethodInvoker;
+import svydovets.web.MethodArgumentResolver;
+import svydovets.web.ResponseBodyWriter;
+import svydovets.web.ServletWebRequest;
+import svydovets.web.annotation.PathVariable;
+import svydovets.web.annotation.RequestBody;
+import svydovets.web.path.PathVariables;
+import svydovets.web.path.RouteTrie;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the allocation of one small JSON request and response cycle of a controller method, from the argument
+ * resolution to the written response body, with a {@link ServletWebRequest} and an argument array allocated per
+ * request against the ones of a pooled {@link DispatchState}. The {@code gc.alloc.rate.norm} reported by the GC
+ * profiler is the number of bytes allocated per request.
+ *
+ * <p>Run the {@code main} method after {@code mvn test-compile}, or pass the class name to
+ * {@code org.openjdk.jmh.Main} on the test classpath.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchAllocationBenchmark {
+
+    private static final byte[] BODY = "{\"product\":\"apple\",\"quantity\":3,\"price\":1.25}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final MethodArgumentResolver methodArgumentResolver = new MethodArgumentResolver();
+
+    private final ResponseBodyWriter responseBodyWriter = new ResponseBodyWriter();
+
+    private final DispatchStatePool dispatchStatePool = new DispatchStatePool();
+
+    private final OrderController controller = new OrderController();
+
+    private final BenchmarkRequest request = new BenchmarkRequest();
+
+    private final BenchmarkResponse response = new BenchmarkResponse();
+
+    private ArgumentResolver[] argumentResolvers;
+
+    private HandlerMethodInvoker invoker;
+
+    private ObjectWriter responseWriter;
+
+    private PathVariables pathVariables;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        Method method = OrderController.class.getMethod("updateLine", long.class, Line.class);
+        argumentResolvers = methodArgumentResolver.createArgumentResolvers(method);
+        invoker = HandlerMethodInvoker.of(method);
+        responseWriter = responseBodyWriter.createObjectWriter(method);
+
+        RouteTrie routeTrie = new RouteTrie();
+        routeTrie.register("/orders/{id}/lines");
+        pathVariables = routeTrie.lookup(request.getServletPath()).pathVariables();
+    }
+
+    @Benchmark
+    public long dispatchAllocating() throws Exception {
+        request.reset();
+        ServletWebRequest servletWebRequest = new ServletWebRequest(request, response, 1024, pathVariables);
+        Object[] args = methodArgumentResolver.resolveArguments(argumentResolvers, servletWebRequest);
+        return write(args);
+    }
+
+    @Benchmark
+    public long dispatchPooled() throws Exception {
+        request.reset();
+        DispatchState dispatchState = dispatchStatePool.acquire();
+        try {
+            ServletWebRequest servletWebRequest = dispatchState.bind(request, response, 1024, pathVariables);
+            Object[] args = methodArgumentResolver.resolveArguments(argumentResolvers, servletWebRequest,
+                    dispatchState.getArguments(argumentResolvers.length));
+            return write(args);
+        } finally {
+            dispatchStatePool.release(dispatchState);
+        }
+    }
+
+    private long write(Object[] args) throws Exception {
+        Object result = invoker.invoke(controller, args);
+        response.setContentType(null);
+        return responseBodyWriter.write(request, response, responseWriter, result);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DispatchAllocationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+
+    public static class OrderController {
+
+        public Line updateLine(@PathVariable("id") long id, @RequestBody Line line) {
+            return line;
+        }
+    }
+
+    public record Line(String product, int quantity, double price) {
+    }
+
+    private static <T> T unsupported(Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            throw new UnsupportedOperationException(method.getName());
+        }));
+    }
+
+    /**
+     * Request of a small JSON body whose input stream is rewound for every request.
+     */
+    private static final class BenchmarkRequest extends HttpServletRequestWrapper {
+
+        private final BodyInputStream inputStream = new BodyInputStream();
+
+        private BenchmarkRequest() {
+            super(unsupported(HttpServletRequest.class));
+        }
+
+        private void reset() {
+            inputStream.position = 0;
+        }
+
+        @Override
+        public String getMethod() {
+            return "POST";
+        }
+
+        @Override
+        public String getServletPath() {
+            return "/orders/42/lines";
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return null;
+        }
+
+        @Override
+        public String getContentType() {
+            return "application/json";
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return BODY.length;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return inputStream;
+        }
+    }
+
+    /**
+     * Input stream of the request body.
+     */
+    private static final class BodyInputStream extends ServletInputStream {
+
+        private int position;
+
+        @Override
+        public boolean isFinished() {
+            return position == BODY.length;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int read() {
+            return position < BODY.length ? BODY[position++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (position == BODY.length) {
+                return -1;
+            }
+            int count = Math.min(length, BODY.length - position);
+            System.arraycopy(BODY, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+    }
+
+    /**
+     * Response that discards the body.
+     */
+    private static final class BenchmarkResponse extends HttpServletResponseWrapper {
+
+        private final ServletOutputStream outputStream = new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void write(int b) {
+                // The body is discarded
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) {
+                // The body is discarded
+            }
+        };
+
+        private String contentType;
+
+        private BenchmarkResponse() {
+            super(unsupported(HttpServletResponse.class));
+        }
+
+        @Override
+        public String getContentType() {
+            return contentType;
+        }
+
+        @Override
+        public void setContentType(String contentType) {
+            this.contentType = contentType;
+        }
+
+        @Override
+        public void setContentLength(int length) {
+            // The length is not sent
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return outputStream;
+        }
+    }
+}
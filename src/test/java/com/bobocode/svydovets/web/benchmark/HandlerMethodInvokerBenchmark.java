@@ -0,0 +1,71 @@
+package com.bobocode.svydovets.web.benchmark;
+
+import com.bobocode.svydovets.web.controller.UserController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import svydovets.web.HandlerMethodInvoker;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-request method lookup with reflective invocation, which the dispatcher used to perform,
+ * against the {@link HandlerMethodInvoker} resolved once at route registration.
+ *
+ * <p>Run the {@code main} method after {@code mvn test-compile}, or pass the class name to
+ * {@code org.openjdk.jmh.Main} on the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandlerMethodInvokerBenchmark {
+
+    private static final String METHOD_NAME = "getOneById";
+
+    private static final Class<?>[] PARAMETER_TYPES = {Long.class};
+
+    private final Object[] args = {1L};
+
+    private UserController controller;
+
+    private HandlerMethodInvoker invoker;
+
+    @Setup
+    public void setUp() throws Exception {
+        controller = new UserController();
+        invoker = HandlerMethodInvoker.of(UserController.class.getDeclaredMethod(METHOD_NAME, PARAMETER_TYPES));
+    }
+
+    @Benchmark
+    public Object lookupAndReflectiveInvoke() throws Exception {
+        Method method = UserController.class.getDeclaredMethod(METHOD_NAME, PARAMETER_TYPES);
+
+        return method.invoke(controller, args);
+    }
+
+    @Benchmark
+    public Object handlerMethodInvoker() throws Exception {
+        return invoker.invoke(controller, args);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(HandlerMethodInvokerBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
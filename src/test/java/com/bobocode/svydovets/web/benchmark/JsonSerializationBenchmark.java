@@ -0,0 +1,103 @@
+package com.bobocode.svydovets.web.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import svydovets.web.json.GeneratedJsonCodecs;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares writing and reading a controller DTO with the Jackson bean serializer and deserializer against the ones
+ * generated by {@link GeneratedJsonCodecs}. The GC profiler reports the allocation rate of both.
+ *
+ * <p>Run the {@code main} method after {@code mvn test-compile}, or pass the class name to
+ * {@code org.openjdk.jmh.Main} on the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private final Order order = new Order(1024L, "Alice", "alice@example.com", 3, 149.99, true,
+            List.of(new Line("apple", 3, 1.25), new Line("pear", 2, 0.95), new Line("plum", 10, 0.4)));
+
+    private ObjectWriter jacksonWriter;
+
+    private ObjectReader jacksonReader;
+
+    private ObjectWriter generatedWriter;
+
+    private ObjectReader generatedReader;
+
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        GeneratedJsonCodecs generatedJsonCodecs = new GeneratedJsonCodecs(objectMapper);
+        generatedJsonCodecs.registerSerializer(objectMapper.constructType(Order.class));
+        generatedJsonCodecs.registerDeserializer(objectMapper.constructType(Order.class));
+        ObjectMapper generatedObjectMapper = generatedJsonCodecs.getObjectMapper();
+
+        jacksonWriter = objectMapper.writerFor(Order.class);
+        jacksonReader = objectMapper.readerFor(Order.class);
+        generatedWriter = generatedObjectMapper.writerFor(Order.class);
+        generatedReader = generatedObjectMapper.readerFor(Order.class);
+        json = jacksonWriter.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public byte[] writeJackson() throws IOException {
+        return jacksonWriter.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public byte[] writeGenerated() throws IOException {
+        return generatedWriter.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public Order readJackson() throws IOException {
+        return jacksonReader.readValue(json);
+    }
+
+    @Benchmark
+    public Order readGenerated() throws IOException {
+        return generatedReader.readValue(json);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JsonSerializationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+
+    public record Order(long id, String customer, String email, int priority, double total, boolean paid,
+                        List<Line> lines) {
+    }
+
+    public record Line(String product, int quantity, double price) {
+    }
+}
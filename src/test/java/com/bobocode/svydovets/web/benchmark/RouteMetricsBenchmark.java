@@ -0,0 +1,53 @@
+package com.bobocode.svydovets.web.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import svydovets.web.HttpMethod;
+import svydovets.web.metrics.RouteMetrics;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of recording a request in the {@link RouteMetrics} of a route shared by concurrent requests.
+ * The GC profiler reports the allocation rate, which is expected to be zero.
+ *
+ * <p>Run the {@code main} method after {@code mvn test-compile}, or pass the class name to
+ * {@code org.openjdk.jmh.Main} on the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class RouteMetricsBenchmark {
+
+    private final RouteMetrics routeMetrics = new RouteMetrics(HttpMethod.GET, "/users/{id}");
+
+    @Benchmark
+    public void record() {
+        routeMetrics.record(ThreadLocalRandom.current().nextLong(50_000, 5_000_000), 200, 512);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RouteMetricsBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
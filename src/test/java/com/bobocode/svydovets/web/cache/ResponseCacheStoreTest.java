@@ -0,0 +1,84 @@
+package com.bobocode.svydovets.web.cache;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import svydovets.web.cache.CachedResponse;
+import svydovets.web.cache.ResponseCacheStore;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ResponseCacheStoreTest {
+
+    private static final String[] NO_QUERY_PARAMS = {};
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Test
+    @Order(1)
+    void shouldCountHitsAndMisses() {
+        ResponseCacheStore responseCache = new ResponseCacheStore(TimeUnit.MINUTES.toNanos(1), 10, NO_QUERY_PARAMS);
+        CachedResponse cachedResponse = createCachedResponse("[1]");
+
+        assertThat(responseCache.get("/users")).isNull();
+        responseCache.put("/users", cachedResponse);
+
+        assertThat(responseCache.get("/users")).isSameAs(cachedResponse);
+        assertThat(responseCache.getHitCount()).isEqualTo(1);
+        assertThat(responseCache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    @Order(2)
+    void shouldEvictLeastRecentlyUsedResponseWhenFull() {
+        ResponseCacheStore responseCache = new ResponseCacheStore(TimeUnit.MINUTES.toNanos(1), 2, NO_QUERY_PARAMS);
+        responseCache.put("/users/1", createCachedResponse("1"));
+        responseCache.put("/users/2", createCachedResponse("2"));
+        responseCache.get("/users/1");
+
+        responseCache.put("/users/3", createCachedResponse("3"));
+
+        assertThat(responseCache.size()).isEqualTo(2);
+        assertThat(responseCache.getEvictionCount()).isEqualTo(1);
+        assertThat(responseCache.get("/users/2")).isNull();
+        assertThat(responseCache.get("/users/1")).isNotNull();
+        assertThat(responseCache.get("/users/3")).isNotNull();
+    }
+
+    @Test
+    @Order(3)
+    void shouldExpireResponseAfterTtl() {
+        ResponseCacheStore responseCache = new ResponseCacheStore(0, 10, NO_QUERY_PARAMS);
+        responseCache.put("/users", createCachedResponse("[]"));
+
+        assertThat(responseCache.get("/users")).isNull();
+        assertThat(responseCache.size()).isZero();
+    }
+
+    @Test
+    @Order(4)
+    void shouldCreateKeyFromPathAndSelectedQueryParams() {
+        ResponseCacheStore responseCache = new ResponseCacheStore(TimeUnit.MINUTES.toNanos(1), 10,
+                new String[]{"lang", "page"});
+        when(request.getServletPath()).thenReturn("/countries/ua");
+        when(request.getParameter("lang")).thenReturn("en");
+
+        assertThat(responseCache.createKey(request)).isEqualTo("/countries/ua?lang=en&page=");
+    }
+
+    private static CachedResponse createCachedResponse(String body) {
+        return new CachedResponse(200, Map.of(), null, body.getBytes(), null, -1);
+    }
+}
@@ -0,0 +1,155 @@
+package com.bobocode.svydovets.web.coalesce;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import svydovets.web.annotation.Coalesce;
+import svydovets.web.annotation.GetMapping;
+import svydovets.web.annotation.PathVariable;
+import svydovets.web.annotation.PostMapping;
+import svydovets.web.cache.CachedResponse;
+import svydovets.web.coalesce.RequestCoalescer;
+import svydovets.web.dto.MediaType;
+import svydovets.web.exception.RequestCoalescerCreationException;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class RequestCoalescerTest {
+
+    private final RequestCoalescer requestCoalescer = new RequestCoalescer(TimeUnit.SECONDS.toNanos(5));
+
+    @Test
+    @Order(1)
+    void shouldShareResponseOfLeaderWithFollowers() throws Exception {
+        HttpServletResponse leaderResponse = mock(HttpServletResponse.class);
+        when(leaderResponse.getHeaderNames()).thenReturn(List.of("X-Request-Id"));
+        RequestCoalescer.Flight leader = requestCoalescer.join(new Object[]{1L, "en"}, leaderResponse);
+        RequestCoalescer.Flight follower = requestCoalescer.join(new Object[]{1L, "en"},
+                mock(HttpServletResponse.class));
+        CompletableFuture<CachedResponse> followerResponse = CompletableFuture.supplyAsync(() -> {
+            try {
+                return follower.await();
+            } catch (Exception exception) {
+                throw new IllegalStateException(exception);
+            }
+        });
+
+        when(leaderResponse.getStatus()).thenReturn(200);
+        when(leaderResponse.getContentType()).thenReturn(MediaType.APPLICATION_JSON);
+        when(leaderResponse.getHeaderNames()).thenReturn(List.of("X-Request-Id", "ETag"));
+        when(leaderResponse.getHeader("ETag")).thenReturn("\"1\"");
+        leader.share(leaderResponse, "{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+
+        CachedResponse sharedResponse = followerResponse.get(5, TimeUnit.SECONDS);
+        assertThat(leader.isLeader()).isTrue();
+        assertThat(follower.isLeader()).isFalse();
+        assertThat(sharedResponse.status()).isEqualTo(200);
+        assertThat(sharedResponse.headers()).containsOnlyKeys("ETag");
+        assertThat(sharedResponse.eTag()).isEqualTo("\"1\"");
+        assertThat(new String(sharedResponse.body(), StandardCharsets.UTF_8)).isEqualTo("{\"id\":1}");
+        assertThat(requestCoalescer.getCoalescedCount()).isEqualTo(1);
+        assertThat(requestCoalescer.size()).isZero();
+    }
+
+    @Test
+    @Order(2)
+    void shouldStartFlightPerArguments() {
+        RequestCoalescer.Flight first = requestCoalescer.join(new Object[]{1L, List.of("a")},
+                mock(HttpServletResponse.class));
+        RequestCoalescer.Flight second = requestCoalescer.join(new Object[]{2L, List.of("a")},
+                mock(HttpServletResponse.class));
+        RequestCoalescer.Flight third = requestCoalescer.join(new Object[]{1L, List.of("a")},
+                mock(HttpServletResponse.class));
+
+        assertThat(first.isLeader()).isTrue();
+        assertThat(second.isLeader()).isTrue();
+        assertThat(third.isLeader()).isFalse();
+        assertThat(requestCoalescer.size()).isEqualTo(2);
+    }
+
+    @Test
+    @Order(3)
+    void shouldLetFollowersProceedWhenLeaderAbandonsFlight() throws Exception {
+        RequestCoalescer.Flight leader = requestCoalescer.join(new Object[]{"id"}, mock(HttpServletResponse.class));
+        RequestCoalescer.Flight follower = requestCoalescer.join(new Object[]{"id"}, mock(HttpServletResponse.class));
+
+        leader.abandon();
+        follower.abandon();
+        leader.share(mock(HttpServletResponse.class), new byte[0]);
+
+        assertThat(follower.await()).isNull();
+        assertThat(requestCoalescer.size()).isZero();
+        assertThat(requestCoalescer.join(new Object[]{"id"}, mock(HttpServletResponse.class)).isLeader()).isTrue();
+    }
+
+    @Test
+    @Order(4)
+    void shouldTimeOutWaitingFollower() {
+        RequestCoalescer shortCoalescer = new RequestCoalescer(TimeUnit.MILLISECONDS.toNanos(10));
+        shortCoalescer.join(new Object[]{"id"}, mock(HttpServletResponse.class));
+        RequestCoalescer.Flight follower = shortCoalescer.join(new Object[]{"id"}, mock(HttpServletResponse.class));
+
+        assertThatThrownBy(follower::await).isInstanceOf(TimeoutException.class);
+        assertThat(shortCoalescer.getTimeoutCount()).isEqualTo(1);
+    }
+
+    @Test
+    @Order(5)
+    void shouldCreateCoalescerOfSupportedMethodsOnly() throws Exception {
+        RequestCoalescer coalescer = RequestCoalescer.of(getMethod("getItem"), getCoalesce("getItem"));
+
+        assertThat(coalescer.getTimeoutMillis()).isEqualTo(250);
+        assertThatThrownBy(() -> RequestCoalescer.of(getMethod("createItem"), getCoalesce("createItem")))
+                .isInstanceOf(RequestCoalescerCreationException.class)
+                .hasMessageEndingWith("not a GET method");
+        assertThatThrownBy(() -> RequestCoalescer.of(getMethod("getRaw"), getCoalesce("getRaw")))
+                .isInstanceOf(RequestCoalescerCreationException.class)
+                .hasMessageEndingWith("parameter of type " + HttpServletResponse.class.getName());
+    }
+
+    private static Method getMethod(String name) {
+        for (Method method : ItemController.class.getDeclaredMethods()) {
+            if (method.getName().equals(name)) {
+                return method;
+            }
+        }
+        throw new IllegalArgumentException(name);
+    }
+
+    private static Coalesce getCoalesce(String name) {
+        return getMethod(name).getAnnotation(Coalesce.class);
+    }
+
+    static class ItemController {
+
+        @Coalesce(timeout = 250)
+        @GetMapping("/items/{id}")
+        String getItem(@PathVariable("id") Long id) {
+            return "item";
+        }
+
+        @Coalesce
+        @PostMapping("/items")
+        String createItem() {
+            return "item";
+        }
+
+        @Coalesce
+        @GetMapping("/raw")
+        void getRaw(HttpServletResponse response) {
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.bobocode.svydovets.web.convert;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import svydovets.web.HttpMethod;
+import svydovets.web.convert.Converter;
+import svydovets.web.convert.DefaultConversionService;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class DefaultConversionServiceTest {
+
+    private DefaultConversionService conversionService;
+
+    @BeforeEach
+    void setUp() {
+        conversionService = new DefaultConversionService();
+    }
+
+    @Test
+    @Order(1)
+    void shouldConvertStringsToBuiltInTypes() {
+        UUID uuid = UUID.randomUUID();
+
+        assertThat(conversionService.convert("42", long.class)).isEqualTo(42L);
+        assertThat(conversionService.convert("1.50", BigDecimal.class)).isEqualTo(new BigDecimal("1.50"));
+        assertThat(conversionService.convert(uuid.toString(), UUID.class)).isEqualTo(uuid);
+        assertThat(conversionService.convert("2024-02-29", LocalDate.class)).isEqualTo(LocalDate.of(2024, 2, 29));
+    }
+
+    @Test
+    @Order(2)
+    void shouldConvertStringsToEnumConstantsIgnoringCase() {
+        Converter<String, HttpMethod> converter = conversionService.getConverter(String.class, HttpMethod.class);
+
+        assertThat(converter.convert("POST")).isEqualTo(HttpMethod.POST);
+        assertThat(converter.convert("post")).isEqualTo(HttpMethod.POST);
+        assertThat(conversionService.getConverter(String.class, HttpMethod.class)).isSameAs(converter);
+        assertThatThrownBy(() -> converter.convert("TRACE")).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("No enum constant svydovets.web.HttpMethod.TRACE");
+    }
+
+    @Test
+    @Order(3)
+    void shouldUseRegisteredConverter() {
+        record Money(long cents) {
+        }
+        conversionService.addConverter(String.class, Money.class, value -> new Money(Long.parseLong(value) * 100));
+
+        assertThat(conversionService.canConvert(String.class, Money.class)).isTrue();
+        assertThat(conversionService.convert("3", Money.class)).isEqualTo(new Money(300));
+        assertThat(conversionService.canConvert(String.class, Object.class)).isFalse();
+    }
+
+    @Test
+    @Order(4)
+    void shouldRegisterConverterByDeclaredTypes() {
+        conversionService.addConverter(new CentsConverter());
+
+        assertThat(conversionService.convert("3", Cents.class)).isEqualTo(new Cents(300));
+        assertThatThrownBy(() -> conversionService.addConverter((Converter<String, Cents>) value -> new Cents(0)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @Order(5)
+    void shouldPreferAddedConversionServiceAndFallBackToBuiltInConverters() {
+        DefaultConversionService userConversionService = new DefaultConversionService();
+        userConversionService.addConverter(String.class, Long.class, value -> Long.parseLong(value) * 2);
+        conversionService.addConversionService(userConversionService);
+
+        assertThat(conversionService.convert("21", Long.class)).isEqualTo(42L);
+        assertThat(conversionService.convert("21", Integer.class)).isEqualTo(21);
+    }
+
+    @Test
+    @Order(6)
+    void shouldConvertSingleCharacterAndRejectEmptyOrLongerValues() {
+        assertThat(conversionService.convert("c", char.class)).isEqualTo('c');
+        assertThat(conversionService.convert("c", Character.class)).isEqualTo('c');
+        assertThatThrownBy(() -> conversionService.convert("", char.class))
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Cannot convert '' to a single character");
+        assertThatThrownBy(() -> conversionService.convert("cc", Character.class))
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Cannot convert 'cc' to a single character");
+    }
+
+    record Cents(long value) {
+    }
+
+    static class CentsConverter implements Converter<String, Cents> {
+
+        @Override
+        public Cents convert(String source) {
+            return new Cents(Long.parseLong(source) * 100);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.bobocode.svydovets.web.converter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import svydovets.util.ErrorMessageConstants;
+import svydovets.web.converter.BinaryMessageConverter;
+import svydovets.web.converter.MessageConverterRegistry;
+import svydovets.web.converter.ResponseBodyConverters;
+import svydovets.web.dto.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class BinaryMessageConverterTest {
+
+    private final BinaryMessageConverter binaryMessageConverter = new BinaryMessageConverter();
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Test
+    @Order(1)
+    void shouldReadWrittenMessage() throws IOException {
+        Purchase purchase = new Purchase(UUID.randomUUID(), -42L, "Ünïcødé 😀", Status.SHIPPED, 12.5,
+                List.of(new Item("apple", 3), new Item(null, -1)), Map.of("gift", true), null,
+                Instant.ofEpochSecond(1_700_000_000L, 123_456_789), new Customer("Alice", null));
+
+        byte[] body = write(Purchase.class, purchase);
+
+        assertThat(read(Purchase.class, body)).isEqualTo(purchase);
+        assertThat(body.length).isLessThan(100);
+    }
+
+    @Test
+    @Order(2)
+    void shouldSkipUnknownPropertiesAndKeepDefaultsOfMissingOnes() throws IOException {
+        byte[] newerBody = write(ItemV2.class, new ItemV2("apple", 3, "fruit"));
+        byte[] olderBody = write(Item.class, new Item("apple", 3));
+
+        assertThat(read(Item.class, newerBody)).isEqualTo(new Item("apple", 3));
+        assertThat(read(ItemV2.class, olderBody)).isEqualTo(new ItemV2("apple", 3, null));
+    }
+
+    @Test
+    @Order(3)
+    void shouldRejectTruncatedBody() throws IOException {
+        byte[] body = write(Item.class, new Item("apple", 3));
+        byte[] truncatedBody = Arrays.copyOf(body, body.length - 1);
+
+        assertThatThrownBy(() -> read(Item.class, truncatedBody)).isInstanceOf(EOFException.class);
+    }
+
+    @Test
+    @Order(4)
+    void shouldNotSupportTypesWithoutStaticStructure() {
+        assertThat(binaryMessageConverter.createWriter(Object.class)).isNull();
+        assertThat(binaryMessageConverter.createReader(Runnable.class)).isNull();
+        assertThat(binaryMessageConverter.createWriter(Holder.class)).isNull();
+        assertThat(MessageConverterRegistry.withDefaults(List.of()).createResponseBodyConverters(Object.class)).isNull();
+    }
+
+    @Test
+    @Order(5)
+    void shouldNegotiateWriterByAcceptHeader() {
+        ResponseBodyConverters responseBodyConverters = MessageConverterRegistry.withDefaults(List.of())
+                .createResponseBodyConverters(Item.class);
+
+        when(request.getHeader("Accept")).thenReturn("application/json;q=0.5, application/x-bring-binary");
+        assertThat(responseBodyConverters.negotiate(request).mediaType()).isEqualTo(MediaType.APPLICATION_BINARY);
+
+        when(request.getHeader("Accept")).thenReturn("application/x-bring-binary;q=0.1, */*");
+        assertThat(responseBodyConverters.negotiate(request)).isNull();
+
+        when(request.getHeader("Accept")).thenReturn("text/html, application/x-bring-binary;q=0");
+        assertThat(responseBodyConverters.negotiate(request)).isNull();
+    }
+
+    @Test
+    @Order(6)
+    void shouldReadArrayLongerThanInitialCapacity() throws IOException {
+        long[] values = new long[3000];
+        Arrays.setAll(values, i -> i * 31L);
+
+        Sequence sequence = (Sequence) read(Sequence.class, write(Sequence.class, new Sequence(values)));
+
+        assertThat(sequence.values()).containsExactly(values);
+    }
+
+    @Test
+    @Order(7)
+    void shouldRejectArrayLengthBeyondBodyWithoutAllocatingIt() throws IOException {
+        byte[] body = write(Sequence.class, new Sequence(new long[]{5}));
+        byte[] malformedLength = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+        ByteArrayOutputStream malformedBody = new ByteArrayOutputStream();
+        malformedBody.write(body[0] + malformedLength.length - 1);
+        malformedBody.write(malformedLength);
+        malformedBody.write(body, 2, body.length - 2);
+
+        assertThatThrownBy(() -> read(Sequence.class, malformedBody.toByteArray())).isInstanceOf(EOFException.class);
+    }
+
+    @Test
+    @Order(8)
+    void shouldReadNestedMessagesOfRecursiveType() throws IOException {
+        Chain chain = null;
+        for (int i = 0; i < 100; i++) {
+            chain = new Chain(i, chain);
+        }
+
+        assertThat(read(Chain.class, write(Chain.class, chain))).isEqualTo(chain);
+    }
+
+    @Test
+    @Order(9)
+    void shouldRejectNestingBeyondMaximumDepthWithoutOverflowingStack() {
+        byte[] nestedLengthPrefixes = new byte[200_000];
+        Arrays.fill(nestedLengthPrefixes, (byte) 0x7F);
+
+        assertThatThrownBy(() -> read(Node.class, nestedLengthPrefixes))
+                .isExactlyInstanceOf(IOException.class)
+                .hasMessage(ErrorMessageConstants.MALFORMED_BINARY_BODY);
+    }
+
+    private byte[] write(Class<?> type, Object body) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        binaryMessageConverter.createWriter(type).write(body, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    private Object read(Class<?> type, byte[] body) throws IOException {
+        return binaryMessageConverter.createReader(type).read(new ByteArrayInputStream(body));
+    }
+
+    enum Status {
+        CREATED, SHIPPED
+    }
+
+    record Item(String name, int quantity) {
+    }
+
+    record ItemV2(String name, int quantity, String category) {
+    }
+
+    record Sequence(long[] values) {
+    }
+
+    record Chain(int index, Chain next) {
+    }
+
+    record Node(Node child) {
+    }
+
+    record Purchase(UUID id, long number, String note, Status status, double total, List<Item> items,
+                    Map<String, Boolean> flags, Integer priority, Instant createdAt, Customer customer) {
+    }
+
+    static class Customer {
+
+        private String name;
+
+        private String email;
+
+        Customer() {
+        }
+
+        Customer(String name, String email) {
+            this.name = name;
+            this.email = email;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Customer customer && Objects.equals(name, customer.name)
+                    && Objects.equals(email, customer.email);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, email);
+        }
+    }
+
+    record Holder(Object value) {
+    }
+}
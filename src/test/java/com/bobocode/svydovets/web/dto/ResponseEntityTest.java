@@ -5,6 +5,8 @@ import svydovets.web.dto.HttpHeaders;
 import svydovets.web.dto.HttpStatus;
 import svydovets.web.dto.ResponseEntity;
 
+import java.time.Instant;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
@@ -38,4 +40,20 @@ public class ResponseEntityTest {
     public void shouldReturnStatusField() {
         assertEquals(HttpStatus.OK, responseEntity.getHttpStatus());
     }
+
+    @Test
+    @Order(4)
+    public void shouldSetConditionalHeadersWithBuilder() {
+        ResponseEntity<String> entity = ResponseEntity.ok()
+                .eTag("v1")
+                .lastModified(Instant.ofEpochSecond(1_700_000_000L))
+                .cacheControl("max-age=60")
+                .body("body");
+
+        var headers = entity.getHttpHeaders();
+        assertEquals("\"v1\"", headers.getETag());
+        assertEquals("Tue, 14 Nov 2023 22:13:20 GMT", headers.getHeaders().get(HttpHeaders.LAST_MODIFIED));
+        assertEquals(1_700_000_000_000L, headers.getLastModified());
+        assertEquals("max-age=60", headers.getHeaders().get(HttpHeaders.CACHE_CONTROL));
+    }
 }
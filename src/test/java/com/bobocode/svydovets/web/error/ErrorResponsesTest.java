@@ -0,0 +1,80 @@
+package com.bobocode.svydovets.web.error;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import svydovets.web.HttpMethod;
+import svydovets.web.dto.HttpHeaders;
+import svydovets.web.dto.HttpStatus;
+import svydovets.web.dto.MediaType;
+import svydovets.web.error.ErrorResponses;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ErrorResponsesTest {
+
+    @Mock
+    private HttpServletResponse response;
+
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                // Writes never block
+            }
+
+            @Override
+            public void write(int b) {
+                body.write(b);
+            }
+        });
+    }
+
+    @Test
+    @Order(1)
+    void shouldWriteNotFound() throws Exception {
+        long bytesWritten = ErrorResponses.writeNotFound(response);
+
+        verify(response).setStatus(HttpStatus.NOT_FOUND.getStatus());
+        verify(response).setContentType(MediaType.APPLICATION_JSON);
+        verify(response).setContentLength((int) bytesWritten);
+        assertThat(body.toString(StandardCharsets.UTF_8)).isEqualTo("{\"status\":404,\"error\":\"Not Found\"}");
+    }
+
+    @Test
+    @Order(2)
+    void shouldWriteMethodNotAllowedWithAllowedMethods() throws Exception {
+        int allowedMethodsMask = ErrorResponses.allowedMethodBit(HttpMethod.GET)
+                | ErrorResponses.allowedMethodBit(HttpMethod.DELETE);
+
+        ErrorResponses.writeMethodNotAllowed(response, allowedMethodsMask);
+
+        verify(response).setStatus(HttpStatus.METHOD_NOT_ALLOWED.getStatus());
+        verify(response).setHeader(HttpHeaders.ALLOW, "GET, HEAD, DELETE, OPTIONS");
+        assertThat(body.toString(StandardCharsets.UTF_8))
+                .isEqualTo("{\"status\":405,\"error\":\"Method Not Allowed\"}");
+    }
+}
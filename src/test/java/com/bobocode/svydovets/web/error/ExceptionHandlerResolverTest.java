@@ -0,0 +1,148 @@
+package com.bobocode.svydovets.web.error;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import svydovets.web.annotation.ControllerAdvice;
+import svydovets.web.annotation.ExceptionHandler;
+import svydovets.web.annotation.RestController;
+import svydovets.web.dto.HttpHeaders;
+import svydovets.web.dto.HttpStatus;
+import svydovets.web.dto.ResponseEntity;
+import svydovets.web.error.ExceptionHandlerMethod;
+import svydovets.web.error.ExceptionHandlerResolver;
+import svydovets.web.exception.ExceptionHandlerCreationException;
+import svydovets.web.exception.ParseRequestBodyException;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ExceptionHandlerResolverTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ExceptionHandlerResolver adviceResolver =
+            ExceptionHandlerResolver.forAdvice(List.of(new ErrorAdvice()), objectMapper);
+
+    @Test
+    @Order(1)
+    void shouldResolveHandlerOfClosestSupertype() throws Exception {
+        ExceptionHandlerMethod ioHandler = adviceResolver.resolve(new FileNotFoundException("missing"));
+        ExceptionHandlerMethod runtimeHandler = adviceResolver.resolve(new IllegalStateException("state"));
+
+        assertThat(ioHandler.getMethod().getName()).isEqualTo("handleIo");
+        assertThat(runtimeHandler.getMethod().getName()).isEqualTo("handleRuntime");
+        assertThat(adviceResolver.resolve(new Exception("checked"))).isNull();
+        assertThat(ioHandler.invoke(null, new FileNotFoundException("missing"), mock(HttpServletRequest.class),
+                mock(HttpServletResponse.class))).isEqualTo("io: missing");
+    }
+
+    @Test
+    @Order(2)
+    void shouldCacheResolvedHandlerPerExceptionType() {
+        ExceptionHandlerMethod handlerMethod = adviceResolver.resolve(new NoSuchElementException());
+
+        assertThat(adviceResolver.resolve(new NoSuchElementException("other"))).isSameAs(handlerMethod);
+        assertThat(adviceResolver.resolve(new IllegalStateException())).isSameAs(handlerMethod);
+    }
+
+    @Test
+    @Order(3)
+    void shouldPreferHandlerOfController() throws Exception {
+        ExceptionHandlerResolver controllerResolver = adviceResolver.forController(HandlingController.class,
+                objectMapper);
+
+        ExceptionHandlerMethod handlerMethod = controllerResolver.resolve(new IllegalArgumentException("invalid"));
+        Object result = handlerMethod.invoke(new HandlingController(), new IllegalArgumentException("invalid"),
+                mock(HttpServletRequest.class), mock(HttpServletResponse.class));
+
+        assertThat(handlerMethod.isControllerMethod()).isTrue();
+        assertThat(result).isInstanceOf(ResponseEntity.class);
+        assertThat(((ResponseEntity<?>) result).getHttpStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(controllerResolver.resolve(new FileNotFoundException()).getMethod().getName())
+                .isEqualTo("handleIo");
+        assertThat(adviceResolver.forController(PlainController.class, objectMapper)).isSameAs(adviceResolver);
+    }
+
+    @Test
+    @Order(4)
+    void shouldRejectInvalidHandlerMethods() {
+        assertThatThrownBy(() -> ExceptionHandlerResolver.forAdvice(List.of(new AmbiguousAdvice()), objectMapper))
+                .isInstanceOf(ExceptionHandlerCreationException.class)
+                .hasMessageStartingWith("Ambiguous exception handler methods mapped for " + IOException.class.getName());
+        assertThatThrownBy(() -> ExceptionHandlerResolver.forAdvice(List.of(new UnsupportedParameterAdvice()),
+                objectMapper))
+                .isInstanceOf(ExceptionHandlerCreationException.class)
+                .hasMessageStartingWith("Unsupported parameter");
+        assertThatThrownBy(() -> ExceptionHandlerResolver.forAdvice(List.of(new NoExceptionTypeAdvice()),
+                objectMapper))
+                .isInstanceOf(ExceptionHandlerCreationException.class)
+                .hasMessageStartingWith("No exception type declared");
+    }
+
+    @ControllerAdvice
+    static class ErrorAdvice {
+
+        @ExceptionHandler
+        String handleIo(IOException exception) {
+            return "io: " + exception.getMessage();
+        }
+
+        @ExceptionHandler({RuntimeException.class, ParseRequestBodyException.class})
+        String handleRuntime(HttpServletRequest request, RuntimeException exception, HttpServletResponse response) {
+            return "runtime";
+        }
+    }
+
+    @RestController
+    static class HandlingController {
+
+        @ExceptionHandler(IllegalArgumentException.class)
+        ResponseEntity<String> handle(IllegalArgumentException exception) {
+            return new ResponseEntity<>(exception.getMessage(), new HttpHeaders(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @RestController
+    static class PlainController {
+    }
+
+    @ControllerAdvice
+    static class AmbiguousAdvice {
+
+        @ExceptionHandler
+        void first(IOException exception) {
+        }
+
+        @ExceptionHandler
+        void second(IOException exception) {
+        }
+    }
+
+    @ControllerAdvice
+    static class UnsupportedParameterAdvice {
+
+        @ExceptionHandler(IllegalStateException.class)
+        void handle(IllegalStateException exception, String message) {
+        }
+    }
+
+    @ControllerAdvice
+    static class NoExceptionTypeAdvice {
+
+        @ExceptionHandler
+        void handle(HttpServletRequest request) {
+        }
+    }
+}
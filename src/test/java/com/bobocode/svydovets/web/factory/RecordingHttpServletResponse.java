@@ -0,0 +1,140 @@
+package com.bobocode.svydovets.web.factory;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.bobocode.svydovets.web.factory.ServletOutputStreamFactory.createServletOutputStream;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Response that keeps the status, headers, content type and body written to it, so the dispatching of a request can
+ * be asserted on without a servlet container.
+ */
+public class RecordingHttpServletResponse extends HttpServletResponseWrapper {
+
+    private final Map<String, List<String>> headers = new LinkedHashMap<>();
+
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+    private final ServletOutputStream outputStream = createServletOutputStream(body);
+
+    private int status = SC_OK;
+
+    private String contentType;
+
+    public RecordingHttpServletResponse() {
+        super(mock(HttpServletResponse.class));
+    }
+
+    public String getBodyAsString() {
+        return body.toString(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    @Override
+    public int getStatus() {
+        return status;
+    }
+
+    @Override
+    public void sendError(int status) {
+        this.status = status;
+    }
+
+    @Override
+    public void sendError(int status, String message) {
+        this.status = status;
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        headers.put(name, new ArrayList<>(List.of(value)));
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        headers.computeIfAbsent(name, headerName -> new ArrayList<>()).add(value);
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        setHeader(name, String.valueOf(value));
+    }
+
+    @Override
+    public void setDateHeader(String name, long date) {
+        setHeader(name, String.valueOf(date));
+    }
+
+    @Override
+    public boolean containsHeader(String name) {
+        return headers.containsKey(name);
+    }
+
+    @Override
+    public String getHeader(String name) {
+        List<String> values = headers.get(name);
+        return values != null ? values.get(0) : null;
+    }
+
+    @Override
+    public Collection<String> getHeaders(String name) {
+        return headers.getOrDefault(name, List.of());
+    }
+
+    @Override
+    public Collection<String> getHeaderNames() {
+        return List.copyOf(headers.keySet());
+    }
+
+    @Override
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public void setContentLength(int length) {
+        setIntHeader("Content-Length", length);
+    }
+
+    @Override
+    public void setContentLengthLong(long length) {
+        setHeader("Content-Length", String.valueOf(length));
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        return outputStream;
+    }
+
+    @Override
+    public boolean isCommitted() {
+        return false;
+    }
+
+    @Override
+    public void reset() {
+        headers.clear();
+        body.reset();
+        status = SC_OK;
+        contentType = null;
+    }
+}
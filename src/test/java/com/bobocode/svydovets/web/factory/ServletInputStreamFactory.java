@@ -0,0 +1,48 @@
+package com.bobocode.svydovets.web.factory;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+public class ServletInputStreamFactory {
+
+    private ServletInputStreamFactory() {
+    }
+
+    public static ServletInputStream createServletInputStream(String body) {
+        return createServletInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ServletInputStream createServletInputStream(byte[] body) {
+        ByteArrayInputStream inputStream = new ByteArrayInputStream(body);
+        return new ServletInputStream() {
+
+            @Override
+            public boolean isFinished() {
+                return inputStream.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public int read() {
+                return inputStream.read();
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) {
+                return inputStream.read(buffer, offset, length);
+            }
+        };
+    }
+}
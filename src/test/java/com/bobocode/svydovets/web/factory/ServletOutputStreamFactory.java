@@ -0,0 +1,37 @@
+package com.bobocode.svydovets.web.factory;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+
+import java.io.ByteArrayOutputStream;
+
+public class ServletOutputStreamFactory {
+
+    private ServletOutputStreamFactory() {
+    }
+
+    public static ServletOutputStream createServletOutputStream(ByteArrayOutputStream outputStream) {
+        return new ServletOutputStream() {
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void write(int b) {
+                outputStream.write(b);
+            }
+
+            @Override
+            public void write(byte[] buffer, int offset, int length) {
+                outputStream.write(buffer, offset, length);
+            }
+        };
+    }
+}
@@ -0,0 +1,170 @@
+package com.bobocode.svydovets.web.interceptor;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import svydovets.web.cache.CachedResponse;
+import svydovets.web.dto.HttpStatus;
+import svydovets.web.dto.MediaType;
+import svydovets.web.dto.RequestInfoHolder;
+import svydovets.web.interceptor.HandlerInterceptor;
+import svydovets.web.interceptor.HandlerInterceptorChain;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class HandlerInterceptorChainTest {
+
+    private static final CachedResponse UNAUTHORIZED = CachedResponse.of(HttpStatus.UNAUTHORIZED.getStatus(),
+            Map.of("WWW-Authenticate", "Bearer"), MediaType.APPLICATION_JSON,
+            "{\"error\":\"Unauthorized\"}".getBytes(StandardCharsets.UTF_8));
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    private final List<String> calls = new ArrayList<>();
+
+    @Test
+    @Order(1)
+    void shouldInvokeInterceptorsInOrderAndCompletionInReverseOrder() throws Exception {
+        HandlerInterceptorChain chain = new HandlerInterceptorChain(new HandlerInterceptor[]{
+                new RecordingInterceptor("first", true), new RecordingInterceptor("second", true)});
+
+        boolean proceed = chain.applyPreHandle(request, response, null);
+        chain.applyPostHandle(request, response, null, "result");
+        chain.triggerAfterCompletion(request, response, null, null);
+
+        assertThat(proceed).isTrue();
+        assertThat(calls).containsExactly("first.preHandle", "second.preHandle", "second.postHandle:result",
+                "first.postHandle:result", "second.afterCompletion", "first.afterCompletion");
+    }
+
+    @Test
+    @Order(2)
+    void shouldShortCircuitWithPreparedResponse() throws Exception {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                // Writes never block
+            }
+
+            @Override
+            public void write(int b) {
+                body.write(b);
+            }
+        });
+        HandlerInterceptorChain chain = new HandlerInterceptorChain(new HandlerInterceptor[]{
+                new RecordingInterceptor("first", true), new AuthInterceptor(),
+                new RecordingInterceptor("third", true)});
+
+        boolean proceed = chain.applyPreHandle(request, response, null);
+
+        assertThat(proceed).isFalse();
+        assertThat(calls).containsExactly("first.preHandle", "auth.preHandle", "first.afterCompletion");
+        verify(response).setStatus(HttpStatus.UNAUTHORIZED.getStatus());
+        verify(response).setHeader("WWW-Authenticate", "Bearer");
+        assertThat(body.toString(StandardCharsets.UTF_8)).isEqualTo("{\"error\":\"Unauthorized\"}");
+    }
+
+    @Test
+    @Order(3)
+    void shouldCompleteEarlierInterceptorsWhenPreHandleFails() {
+        IllegalStateException failure = new IllegalStateException("failed");
+        HandlerInterceptorChain chain = new HandlerInterceptorChain(new HandlerInterceptor[]{
+                new RecordingInterceptor("first", true), new FailingInterceptor(failure),
+                new RecordingInterceptor("third", true)});
+
+        assertThatThrownBy(() -> chain.applyPreHandle(request, response, null)).isSameAs(failure);
+        assertThat(calls).containsExactly("first.preHandle", "first.afterCompletion:failed");
+    }
+
+    private class RecordingInterceptor implements HandlerInterceptor {
+
+        private final String name;
+
+        private final boolean proceed;
+
+        private RecordingInterceptor(String name, boolean proceed) {
+            this.name = name;
+            this.proceed = proceed;
+        }
+
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, RequestInfoHolder handler) {
+            calls.add(name + ".preHandle");
+            return proceed;
+        }
+
+        @Override
+        public void postHandle(HttpServletRequest request, HttpServletResponse response, RequestInfoHolder handler,
+                               Object result) {
+            calls.add(name + ".postHandle:" + result);
+        }
+
+        @Override
+        public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                    RequestInfoHolder handler, Exception exception) {
+            calls.add(name + ".afterCompletion" + (exception != null ? ":" + exception.getMessage() : ""));
+        }
+    }
+
+    private class AuthInterceptor extends RecordingInterceptor {
+
+        private AuthInterceptor() {
+            super("auth", false);
+        }
+
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, RequestInfoHolder handler) {
+            super.preHandle(request, response, handler);
+            try {
+                UNAUTHORIZED.writeTo(response);
+            } catch (IOException exception) {
+                throw new IllegalStateException(exception);
+            }
+            return false;
+        }
+    }
+
+    private class FailingInterceptor implements HandlerInterceptor {
+
+        private final RuntimeException failure;
+
+        private FailingInterceptor(RuntimeException failure) {
+            this.failure = failure;
+        }
+
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, RequestInfoHolder handler) {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.bobocode.svydovets.web.interceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import svydovets.web.annotation.InterceptorMapping;
+import svydovets.web.dto.RequestInfoHolder;
+import svydovets.web.interceptor.HandlerInterceptor;
+import svydovets.web.interceptor.HandlerInterceptorChain;
+import svydovets.web.interceptor.InterceptorRegistry;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class InterceptorRegistryTest {
+
+    private static final List<String> calls = new ArrayList<>();
+
+    @Test
+    @Order(1)
+    void shouldMatchPatternsAgainstPatternPaths() {
+        assertThat(InterceptorRegistry.matches("/**", "/")).isTrue();
+        assertThat(InterceptorRegistry.matches("/**", "/users/{id}")).isTrue();
+        assertThat(InterceptorRegistry.matches("/users/*", "/users/{id}")).isTrue();
+        assertThat(InterceptorRegistry.matches("/users/{userId}", "/users/{id}")).isTrue();
+        assertThat(InterceptorRegistry.matches("/users/**/orders", "/users/{id}/orders")).isTrue();
+        assertThat(InterceptorRegistry.matches("/users/**", "/users")).isTrue();
+        assertThat(InterceptorRegistry.matches("/users/*", "/users")).isFalse();
+        assertThat(InterceptorRegistry.matches("/users/*", "/users/{id}/orders")).isFalse();
+        assertThat(InterceptorRegistry.matches("/admin/**", "/users/{id}")).isFalse();
+    }
+
+    @Test
+    @Order(2)
+    void shouldResolveChainOrderedByOrderAndBeanName() throws Exception {
+        Map<String, Object> beans = new LinkedHashMap<>();
+        beans.put("loggingInterceptor", new LoggingInterceptor());
+        beans.put("userController", new Object());
+        beans.put("authInterceptor", new AuthInterceptor());
+        beans.put("adminInterceptor", new AdminInterceptor());
+        InterceptorRegistry registry = InterceptorRegistry.of(beans);
+
+        calls.clear();
+        HandlerInterceptorChain chain = registry.getInterceptorChain("/users/{id}");
+        chain.applyPreHandle(mock(HttpServletRequest.class), mock(HttpServletResponse.class), null);
+
+        assertThat(calls).containsExactly("auth", "logging");
+    }
+
+    @Test
+    @Order(3)
+    void shouldExcludeRoutesAndReturnNullWithoutInterceptors() throws Exception {
+        Map<String, Object> beans = new LinkedHashMap<>();
+        beans.put("authInterceptor", new AuthInterceptor());
+        beans.put("adminInterceptor", new AdminInterceptor());
+        InterceptorRegistry registry = InterceptorRegistry.of(beans);
+
+        calls.clear();
+        registry.getInterceptorChain("/admin/users")
+                .applyPreHandle(mock(HttpServletRequest.class), mock(HttpServletResponse.class), null);
+
+        assertThat(calls).containsExactly("auth", "admin");
+        assertThat(registry.getInterceptorChain("/public/health")).isNull();
+        assertThat(InterceptorRegistry.of(Map.of("userController", new Object())).getInterceptorChain("/users"))
+                .isNull();
+    }
+
+    static class LoggingInterceptor implements HandlerInterceptor {
+
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, RequestInfoHolder handler) {
+            calls.add("logging");
+            return true;
+        }
+    }
+
+    @InterceptorMapping(value = "/**", exclude = "/public/**", order = -1)
+    static class AuthInterceptor implements HandlerInterceptor {
+
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, RequestInfoHolder handler) {
+            calls.add("auth");
+            return true;
+        }
+    }
+
+    @InterceptorMapping("/admin/**")
+    static class AdminInterceptor implements HandlerInterceptor {
+
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, RequestInfoHolder handler) {
+            calls.add("admin");
+            return true;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.bobocode.svydovets.web.json;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import svydovets.web.annotation.RequestBody;
+import svydovets.web.dto.ResponseEntity;
+import svydovets.web.json.GeneratedJsonCodecs;
+import svydovets.web.json.GeneratedJsonDeserializer;
+import svydovets.web.json.GeneratedJsonSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class GeneratedJsonCodecsTest {
+
+    private final ObjectMapper jackson = new ObjectMapper();
+
+    private final GeneratedJsonCodecs generatedJsonCodecs = new GeneratedJsonCodecs(jackson);
+
+    private final ObjectMapper generated = generatedJsonCodecs.getObjectMapper();
+
+    @Test
+    @Order(1)
+    void shouldWriteSameJsonAsJackson() throws IOException {
+        registerTypes();
+        Purchase purchase = new Purchase(UUID.randomUUID(), -42L, "Ünïcødé \"quoted\"", Status.SHIPPED, 12.5, 0.25f,
+                true, List.of(new Item("apple", 3), new Item(null, -1)), Map.of("gift", new Item("box", 1)), null,
+                new BigDecimal("10.01"), new Customer("Alice", null, 7), (short) 5, 'x');
+
+        assertThat(generated.writeValueAsString(purchase)).isEqualTo(jackson.writeValueAsString(purchase));
+        assertThat(generated.writeValueAsString(List.of(purchase, purchase)))
+                .isEqualTo(jackson.writeValueAsString(List.of(purchase, purchase)));
+        assertThat(generated.getSerializerProviderInstance().findValueSerializer(Purchase.class))
+                .isInstanceOf(GeneratedJsonSerializer.class);
+        assertThat(generated.getSerializerProviderInstance().findValueSerializer(Customer.class))
+                .isInstanceOf(GeneratedJsonSerializer.class);
+    }
+
+    @Test
+    @Order(2)
+    void shouldReadWhatJacksonReads() throws IOException {
+        registerTypes();
+        String json = """
+                {"id":"7f1a2b3c-0000-4000-8000-000000000001","number":"17","note":null,"status":"CREATED",
+                 "total":3,"ratio":1.5,"paid":false,"items":[{"name":"pear","quantity":2},{"title":"plum"}],
+                 "extras":{"gift":{"name":"box","quantity":1}},"priority":4,"amount":1.5,
+                 "customer":{"full_name":"Bob","email":"bob@example.com","visits":3,"secret":"x"},
+                 "code":7,"grade":"b"}""";
+
+        Purchase purchase = generated.readValue(json, Purchase.class);
+
+        assertThat(purchase).isEqualTo(jackson.readValue(json, Purchase.class));
+        assertThat(purchase.items()).containsExactly(new Item("pear", 2), new Item("plum", 0));
+        assertThat(generated.readValue("{}", Customer.class)).isEqualTo(jackson.readValue("{}", Customer.class));
+        assertThat(deserializerOf(Purchase.class)).isInstanceOf(GeneratedJsonDeserializer.class);
+        assertThat(deserializerOf(Customer.class)).isInstanceOf(GeneratedJsonDeserializer.class);
+    }
+
+    @Test
+    @Order(3)
+    void shouldReportErrorsLikeJackson() {
+        registerTypes();
+        String unknownProperty = "{\"name\":\"apple\",\"colour\":\"red\"}";
+        String wrongType = "{\"name\":\"apple\",\"quantity\":\"many\"}";
+
+        assertThatThrownBy(() -> generated.readValue(unknownProperty, Item.class))
+                .isInstanceOf(UnrecognizedPropertyException.class)
+                .hasMessageStartingWith(catchThrowable(() -> jackson.readValue(unknownProperty, Item.class)).getMessage()
+                        .lines().findFirst().orElseThrow());
+        assertThatThrownBy(() -> generated.readValue(wrongType, Item.class))
+                .isInstanceOf(JsonMappingException.class)
+                .hasMessage(catchThrowable(() -> jackson.readValue(wrongType, Item.class)).getMessage());
+    }
+
+    @Test
+    @Order(4)
+    void shouldLeaveTypesWithUnsupportedFeaturesToJackson() throws IOException {
+        registerTypes();
+        Tagged tagged = new Tagged("a", null);
+
+        assertThat(generated.writeValueAsString(tagged)).isEqualTo(jackson.writeValueAsString(tagged));
+        assertThat(generated.getSerializerProviderInstance().findValueSerializer(Tagged.class))
+                .isNotInstanceOf(GeneratedJsonSerializer.class);
+    }
+
+    @Test
+    @Order(5)
+    void shouldRegisterBodyTypesOfHandlerMethod() throws Exception {
+        generatedJsonCodecs.register(Handlers.class.getDeclaredMethod("items", Stream.class));
+
+        assertThat(generated.getSerializerProviderInstance().findValueSerializer(Item.class))
+                .isInstanceOf(GeneratedJsonSerializer.class);
+        assertThat(deserializerOf(Item.class)).isInstanceOf(GeneratedJsonDeserializer.class);
+        assertThat(generated.readerFor(Item.class).<Item>readValue("{\"name\":\"kiwi\",\"quantity\":9}"))
+                .isEqualTo(new Item("kiwi", 9));
+        assertThat(generated.getSerializerProviderInstance().findValueSerializer(Customer.class))
+                .isNotInstanceOf(GeneratedJsonSerializer.class);
+    }
+
+    private void registerTypes() {
+        generatedJsonCodecs.registerSerializer(generated.constructType(Purchase.class));
+        generatedJsonCodecs.registerDeserializer(generated.constructType(Purchase.class));
+        generatedJsonCodecs.registerSerializer(generated.constructType(Tagged.class));
+    }
+
+    private JsonDeserializer<Object> deserializerOf(Class<?> type) throws IOException {
+        return ((DefaultDeserializationContext) generated.getDeserializationContext())
+                .createDummyInstance(generated.getDeserializationConfig())
+                .findRootValueDeserializer(generated.constructType(type));
+    }
+
+    enum Status {
+        CREATED, SHIPPED
+    }
+
+    record Item(@JsonAlias("title") String name, int quantity) {
+    }
+
+    record Purchase(UUID id, long number, String note, Status status, double total, float ratio, boolean paid,
+                    List<Item> items, Map<String, Item> extras, Integer priority, BigDecimal amount,
+                    Customer customer, short code, char grade) {
+    }
+
+    @JsonPropertyOrder({"visits", "full_name"})
+    static class Customer {
+
+        @JsonProperty("full_name")
+        private String name;
+
+        private String email;
+
+        private int visits;
+
+        @JsonIgnore
+        private String secret;
+
+        Customer() {
+        }
+
+        Customer(String name, String email, int visits) {
+            this.name = name;
+            this.email = email;
+            this.visits = visits;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public void setEmail(String email) {
+            this.email = email;
+        }
+
+        public int getVisits() {
+            return visits;
+        }
+
+        public Customer setVisits(int visits) {
+            this.visits = visits;
+            return this;
+        }
+
+        public String getSecret() {
+            return secret;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Customer customer && Objects.equals(name, customer.name)
+                    && Objects.equals(email, customer.email) && visits == customer.visits
+                    && Objects.equals(secret, customer.secret);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, email, visits, secret);
+        }
+    }
+
+    record Tagged(String name, @JsonInclude(JsonInclude.Include.NON_NULL) String tag) {
+    }
+
+    static class Handlers {
+
+        CompletableFuture<ResponseEntity<List<Item>>> items(@RequestBody Stream<Item> items) {
+            return CompletableFuture.completedFuture(new ResponseEntity<>(items.toList()));
+        }
+    }
+}
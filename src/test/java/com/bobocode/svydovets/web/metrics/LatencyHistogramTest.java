@@ -0,0 +1,61 @@
+package com.bobocode.svydovets.web.metrics;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import svydovets.web.metrics.LatencyHistogram;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class LatencyHistogramTest {
+
+    @Test
+    @Order(1)
+    void shouldReportPercentilesWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram(TimeUnit.HOURS.toNanos(1));
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value * 1000);
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(10_000);
+        assertThat(histogram.getMax()).isEqualTo(10_000_000);
+        assertThat(histogram.getMean()).isCloseTo(5_000_500, within(0.1));
+        assertThat(histogram.getValueAtPercentile(50)).isCloseTo(5_000_000L, within(5_000_000L / 64));
+        assertThat(histogram.getValueAtPercentile(99)).isCloseTo(9_900_000L, within(9_900_000L / 64));
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(10_000_000);
+    }
+
+    @Test
+    @Order(2)
+    void shouldCountSmallValuesExactly() {
+        LatencyHistogram histogram = new LatencyHistogram(1000);
+        histogram.record(3);
+        histogram.record(7);
+        histogram.record(-1);
+
+        assertThat(histogram.getValueAtPercentile(0)).isZero();
+        assertThat(histogram.getValueAtPercentile(50)).isEqualTo(3);
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(7);
+    }
+
+    @Test
+    @Order(3)
+    void shouldCountValuesAboveHighestTrackableValueInLastBucket() {
+        LatencyHistogram histogram = new LatencyHistogram(1000);
+        histogram.record(10);
+        histogram.record(1_000_000);
+
+        assertThat(histogram.getMax()).isEqualTo(1_000_000);
+        assertThat(histogram.getValueAtPercentile(100)).isGreaterThanOrEqualTo(1000).isLessThan(1_000_000);
+
+        histogram.reset();
+
+        assertThat(histogram.getCount()).isZero();
+        assertThat(histogram.getValueAtPercentile(99)).isZero();
+    }
+}
@@ -0,0 +1,36 @@
+package com.bobocode.svydovets.web.metrics;
+
+import org.junit.jupiter.api.Test;
+import svydovets.web.HttpMethod;
+import svydovets.web.metrics.RequestMetrics;
+import svydovets.web.metrics.RouteMetrics;
+import svydovets.web.metrics.RouteMetricsSnapshot;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteMetricsTest {
+
+    @Test
+    void shouldCountRequestsErrorsAndBytesPerRoute() {
+        RequestMetrics requestMetrics = new RequestMetrics();
+        RouteMetrics routeMetrics = requestMetrics.register(HttpMethod.GET, "/users/{id}");
+        requestMetrics.register(HttpMethod.GET, "/users");
+
+        routeMetrics.record(1_000, 200, 100);
+        routeMetrics.record(2_000, 404, 20);
+        routeMetrics.record(3_000, 500, 0);
+
+        List<RouteMetricsSnapshot> snapshots = requestMetrics.snapshot();
+        RouteMetricsSnapshot snapshot = snapshots.get(1);
+        assertThat(requestMetrics.register(HttpMethod.GET, "/users/{id}")).isSameAs(routeMetrics);
+        assertThat(snapshots).extracting(RouteMetricsSnapshot::path).containsExactly("/users", "/users/{id}");
+        assertThat(snapshot.requests()).isEqualTo(3);
+        assertThat(snapshot.errors()).isEqualTo(2);
+        assertThat(snapshot.errorsByStatus()).isEqualTo(Map.of(404, 1L, 500, 1L));
+        assertThat(snapshot.bytesWritten()).isEqualTo(120);
+        assertThat(snapshot.maxLatency()).isEqualTo(3_000);
+    }
+}
@@ -0,0 +1,138 @@
+package com.bobocode.svydovets.web.path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import svydovets.web.exception.NoMatchingPatternFoundException;
+import svydovets.web.exception.NoUniquePatternFoundException;
+import svydovets.web.path.PathVariables;
+import svydovets.web.path.RouteMatch;
+import svydovets.web.path.RouteTrie;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class RouteTrieTest {
+
+    private RouteTrie routeTrie;
+
+    @BeforeEach
+    void setUp() {
+        routeTrie = RouteTrie.compile(List.of(
+                "/users",
+                "/users/{id}",
+                "/users/me",
+                "/users/{id}/notes/{noteId}",
+                "/users/def/notes/noteDef"
+        ));
+    }
+
+    @Test
+    @Order(1)
+    void shouldFindExactPatternPath() {
+        assertEquals("/users", routeTrie.find("/users"));
+        assertEquals("/users/me", routeTrie.find("/users/me"));
+        assertEquals("/users/def/notes/noteDef", routeTrie.find("/users/def/notes/noteDef"));
+    }
+
+    @Test
+    @Order(2)
+    void shouldFindPatternPathWithVariables() {
+        assertEquals("/users/{id}", routeTrie.find("/users/1"));
+        assertEquals("/users/{id}/notes/{noteId}", routeTrie.find("/users/1/notes/5"));
+    }
+
+    @Test
+    @Order(3)
+    void shouldFallBackToVariableSegmentWhenLiteralBranchDoesNotMatch() {
+        assertEquals("/users/{id}/notes/{noteId}", routeTrie.find("/users/def/notes/5"));
+    }
+
+    @Test
+    @Order(4)
+    void shouldIgnoreQueryStringAndTrailingSeparator() {
+        assertEquals("/users/{id}", routeTrie.find("/users/1?status=NEW"));
+        assertEquals("/users", routeTrie.find("/users/"));
+    }
+
+    @Test
+    @Order(5)
+    void shouldThrowNoMatchingPatternFoundExceptionWhenNotFoundRequestPath() {
+        var exception = assertThrows(NoMatchingPatternFoundException.class,
+                () -> routeTrie.find("/users/1/notes"));
+        assertEquals("No matching pattern found for the request path [/users/1/notes]", exception.getMessage());
+    }
+
+    @Test
+    @Order(6)
+    void shouldThrowNoUniquePatternFoundExceptionWhenRegisterAmbiguousPatternPath() {
+        var exception = assertThrows(NoUniquePatternFoundException.class,
+                () -> routeTrie.register("/users/{userId}"));
+        assertEquals(String.format("Check your patch on valid: [%s]", List.of("/users/{id}", "/users/{userId}")),
+                exception.getMessage());
+    }
+
+    @Test
+    @Order(7)
+    void shouldCapturePathVariablesWhileMatching() {
+        RouteMatch routeMatch = routeTrie.match("/users/def/notes/42?status=NEW");
+
+        assertEquals("/users/{id}/notes/{noteId}", routeMatch.patternPath());
+        PathVariables pathVariables = routeMatch.pathVariables();
+        assertEquals(2, pathVariables.size());
+        assertEquals("def", pathVariables.get("id"));
+        assertEquals(42L, pathVariables.getLong("noteId"));
+        assertEquals(42, pathVariables.getInt("noteId"));
+        assertNull(pathVariables.get("userId"));
+        assertThrows(NumberFormatException.class, () -> pathVariables.getLong("id"));
+    }
+
+    @Test
+    @Order(8)
+    void shouldReturnEmptyPathVariablesForLiteralPatternPath() {
+        assertSame(PathVariables.EMPTY, routeTrie.match("/users/me").pathVariables());
+    }
+
+    @Test
+    @Order(9)
+    void shouldLookupRouteWithoutThrowingWhenNotFoundRequestPath() {
+        assertNull(routeTrie.lookup("/users/1/notes"));
+        assertEquals("/users/{id}", routeTrie.lookup("/users/1").patternPath());
+    }
+
+    @Test
+    @Order(10)
+    void shouldMatchAmongManyLiteralSiblings() {
+        RouteTrie manySiblings = new RouteTrie();
+        for (int i = 0; i < 200; i++) {
+            manySiblings.register("/api/controller" + i + "/{id}");
+        }
+
+        for (int i = 0; i < 200; i++) {
+            RouteMatch routeMatch = manySiblings.match("/api/controller" + i + "/" + i);
+            assertEquals("/api/controller" + i + "/{id}", routeMatch.patternPath());
+            assertEquals(i, routeMatch.pathVariables().getInt("id"));
+        }
+        assertNull(manySiblings.lookup("/api/controller200/1"));
+    }
+
+    @Test
+    @Order(11)
+    void shouldTellApartLiteralSiblingsWithEqualHashes() {
+        RouteTrie collidingSiblings = RouteTrie.compile(List.of("/Aa", "/BB", "/AaAa", "/BBBB", "/AaBB"));
+
+        assertEquals("/Aa", collidingSiblings.find("/Aa"));
+        assertEquals("/BB", collidingSiblings.find("/BB"));
+        assertEquals("/AaAa", collidingSiblings.find("/AaAa"));
+        assertEquals("/BBBB", collidingSiblings.find("/BBBB"));
+        assertEquals("/AaBB", collidingSiblings.find("/AaBB"));
+        assertNull(collidingSiblings.lookup("/BBAa"));
+    }
+}
@@ -0,0 +1,69 @@
+package com.bobocode.svydovets.web.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import svydovets.web.annotation.RateLimit;
+import svydovets.web.ratelimit.RateLimiter;
+import svydovets.web.ratelimit.TokenBucket;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class RateLimiterTest {
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Test
+    @Order(1)
+    void shouldAcceptBurstAndRefillAtRate() {
+        TokenBucket tokenBucket = new TokenBucket(10, 3);
+        long now = System.nanoTime();
+
+        assertThat(tokenBucket.tryAcquire(now)).isZero();
+        assertThat(tokenBucket.tryAcquire(now)).isZero();
+        assertThat(tokenBucket.tryAcquire(now)).isZero();
+        assertThat(tokenBucket.tryAcquire(now)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(tokenBucket.isIdle(now)).isFalse();
+
+        long later = now + TimeUnit.MILLISECONDS.toNanos(100);
+        assertThat(tokenBucket.tryAcquire(later)).isZero();
+        assertThat(tokenBucket.tryAcquire(later)).isPositive();
+        assertThat(tokenBucket.isIdle(now + TimeUnit.SECONDS.toNanos(1))).isTrue();
+    }
+
+    @Test
+    @Order(2)
+    void shouldLimitEveryClientHeaderValueWithItsOwnBucket() {
+        RateLimiter rateLimiter = new RateLimiter(1, 1, RateLimit.Key.HEADER, "X-Api-Key", 100);
+        when(request.getHeader("X-Api-Key")).thenReturn("first", "first", "second");
+
+        assertThat(rateLimiter.tryAcquire(request)).isZero();
+        assertThat(rateLimiter.tryAcquire(request)).isPositive();
+        assertThat(rateLimiter.tryAcquire(request)).isZero();
+        assertThat(rateLimiter.getClientBucketCount()).isEqualTo(2);
+    }
+
+    @Test
+    @Order(3)
+    void shouldBoundClientBucketsAndShareOverflowBucket() {
+        RateLimiter rateLimiter = new RateLimiter(1, 1, RateLimit.Key.REMOTE_ADDRESS, "", 2);
+        when(request.getRemoteAddr()).thenReturn("10.0.0.1", "10.0.0.2", "10.0.0.3", "10.0.0.4");
+
+        assertThat(rateLimiter.tryAcquire(request)).isZero();
+        assertThat(rateLimiter.tryAcquire(request)).isZero();
+        assertThat(rateLimiter.tryAcquire(request)).isZero();
+        assertThat(rateLimiter.tryAcquire(request)).isPositive();
+        assertThat(rateLimiter.getClientBucketCount()).isEqualTo(2);
+    }
+}
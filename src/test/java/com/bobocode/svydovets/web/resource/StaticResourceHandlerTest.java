@@ -0,0 +1,211 @@
+package com.bobocode.svydovets.web.resource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import svydovets.web.resource.StaticResourceCache;
+import svydovets.web.resource.StaticResourceHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.bobocode.svydovets.web.factory.ServletOutputStreamFactory.createServletOutputStream;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class StaticResourceHandlerTest {
+
+    private static final String CONTENT = "body { color: red; }";
+
+    private final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    private final Map<String, String> headers = new HashMap<>();
+
+    @TempDir
+    private Path directory;
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.writeString(directory.resolve("app.css"), CONTENT);
+        when(request.getHeader(anyString())).thenAnswer(invocation -> headers.get(invocation.<String>getArgument(0)));
+    }
+
+    @Test
+    @Order(1)
+    void shouldServeMappedFileWithStrongETag() throws Exception {
+        StaticResourceHandler staticResourceHandler = createStaticResourceHandler(new StaticResourceCache());
+        mockRequest("/assets/app.css");
+        when(response.getOutputStream()).thenReturn(createServletOutputStream(outputStream));
+
+        assertThat(staticResourceHandler.isStaticResourcePath("/assets/app.css")).isTrue();
+        assertThat(staticResourceHandler.isStaticResourcePath("/users/1")).isFalse();
+        staticResourceHandler.handle(request, response);
+        staticResourceHandler.handle(request, response);
+
+        verify(response, times(2)).setStatus(200);
+        verify(response, times(2)).setContentType("text/css;charset=UTF-8");
+        verify(response, times(2)).setContentLengthLong(CONTENT.length());
+        verify(response, times(2)).setHeader("Accept-Ranges", "bytes");
+        verify(response, times(2)).setHeader(eq("ETag"), startsWith("\""));
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo(CONTENT + CONTENT);
+        assertThat(staticResourceHandler.getResourceCache().getHitCount()).isEqualTo(1);
+        assertThat(staticResourceHandler.getResourceCache().getCachedBytes()).isEqualTo(CONTENT.length());
+    }
+
+    @Test
+    @Order(2)
+    void shouldServePrecompressedSiblingAcceptedByClient() throws Exception {
+        Files.writeString(directory.resolve("app.css.gz"), "gzip");
+        Files.writeString(directory.resolve("app.css.br"), "brotli");
+        StaticResourceHandler staticResourceHandler = createStaticResourceHandler(new StaticResourceCache());
+        mockRequest("/assets/app.css");
+        headers.put("Accept-Encoding", "gzip, br;q=0");
+        when(response.getOutputStream()).thenReturn(createServletOutputStream(outputStream));
+
+        staticResourceHandler.handle(request, response);
+
+        verify(response).setContentType("text/css;charset=UTF-8");
+        verify(response).setHeader("Content-Encoding", "gzip");
+        verify(response).addHeader("Vary", "Accept-Encoding");
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo("gzip");
+    }
+
+    @Test
+    @Order(3)
+    void shouldServeByteRanges() throws Exception {
+        StaticResourceHandler staticResourceHandler = createStaticResourceHandler(new StaticResourceCache());
+        mockRequest("/assets/app.css");
+        headers.put("Range", "bytes=0-3");
+        when(response.getOutputStream()).thenReturn(createServletOutputStream(outputStream));
+
+        staticResourceHandler.handle(request, response);
+
+        verify(response).setStatus(206);
+        verify(response).setHeader("Content-Range", "bytes 0-3/" + CONTENT.length());
+        verify(response).setContentLengthLong(4);
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo("body");
+
+        headers.put("Range", "bytes=-6");
+        staticResourceHandler.handle(request, response);
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo("body" + "red; }");
+
+        headers.put("Range", "bytes=100-");
+        staticResourceHandler.handle(request, response);
+        verify(response).setStatus(416);
+        verify(response).setHeader("Content-Range", "bytes */" + CONTENT.length());
+
+        headers.put("If-Range", "\"outdated\"");
+        staticResourceHandler.handle(request, response);
+        verify(response).setStatus(200);
+    }
+
+    @Test
+    @Order(4)
+    void shouldTransferLargeFileOrHandItToSendfile() throws Exception {
+        StaticResourceHandler staticResourceHandler = createStaticResourceHandler(new StaticResourceCache(16, 4, 1024, 1000));
+        mockRequest("/assets/app.css");
+        when(response.getOutputStream()).thenReturn(createServletOutputStream(outputStream));
+
+        staticResourceHandler.handle(request, response);
+
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo(CONTENT);
+        assertThat(staticResourceHandler.getResourceCache().getCachedBytes()).isZero();
+
+        when(request.getAttribute("org.apache.tomcat.sendfile.support")).thenReturn(Boolean.TRUE);
+        staticResourceHandler.handle(request, response);
+
+        verify(request).setAttribute("org.apache.tomcat.sendfile.filename", directory.resolve("app.css").toString());
+        verify(request).setAttribute("org.apache.tomcat.sendfile.start", 0L);
+        verify(request).setAttribute("org.apache.tomcat.sendfile.end", (long) CONTENT.length());
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo(CONTENT);
+    }
+
+    @Test
+    @Order(5)
+    void shouldAnswerMissingFilesAndTraversalWithNotFound() throws Exception {
+        StaticResourceHandler staticResourceHandler = createStaticResourceHandler(new StaticResourceCache());
+        when(request.getServletPath()).thenReturn("/assets/missing.css", "/assets/../app.css");
+
+        staticResourceHandler.handle(request, response);
+        staticResourceHandler.handle(request, response);
+
+        verify(response, times(2)).setStatus(404);
+        verify(response, never()).getOutputStream();
+    }
+
+    @Test
+    @Order(6)
+    void shouldServePrecompressedSiblingAcceptedExplicitlyOverRefusedWildcard() throws Exception {
+        Files.writeString(directory.resolve("app.css.gz"), "gzip");
+        StaticResourceHandler staticResourceHandler = createStaticResourceHandler(new StaticResourceCache());
+        mockRequest("/assets/app.css");
+        headers.put("Accept-Encoding", "*;q=0, gzip");
+        when(response.getOutputStream()).thenReturn(createServletOutputStream(outputStream));
+
+        staticResourceHandler.handle(request, response);
+
+        verify(response).setHeader("Content-Encoding", "gzip");
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo("gzip");
+    }
+
+    @Test
+    @Order(7)
+    void shouldKeepCachedResourcesWhenMissingPathsAreRequested() throws Exception {
+        StaticResourceCache staticResourceCache = new StaticResourceCache(4, 8, 1024, 1024, 60_000);
+        StaticResourceHandler staticResourceHandler = createStaticResourceHandler(staticResourceCache);
+        when(request.getMethod()).thenReturn("GET");
+        when(response.getOutputStream()).thenReturn(createServletOutputStream(outputStream));
+
+        when(request.getServletPath()).thenReturn("/assets/app.css");
+        staticResourceHandler.handle(request, response);
+        for (int i = 0; i < 20; i++) {
+            when(request.getServletPath()).thenReturn("/assets/missing" + i + ".css");
+            staticResourceHandler.handle(request, response);
+        }
+        when(request.getServletPath()).thenReturn("/assets/app.css");
+        staticResourceHandler.handle(request, response);
+
+        verify(response, times(20)).setStatus(404);
+        assertThat(staticResourceCache.getHitCount()).isEqualTo(1);
+        assertThat(staticResourceCache.size()).isEqualTo(1);
+        assertThat(staticResourceCache.getCachedMisses()).isEqualTo(8);
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo(CONTENT + CONTENT);
+    }
+
+    private StaticResourceHandler createStaticResourceHandler(StaticResourceCache staticResourceCache) {
+        StaticResourceHandler staticResourceHandler = new StaticResourceHandler(staticResourceCache);
+        staticResourceHandler.addResourceMapping("/assets", directory.toString());
+        return staticResourceHandler;
+    }
+
+    private void mockRequest(String servletPath) {
+        when(request.getServletPath()).thenReturn(servletPath);
+        when(request.getMethod()).thenReturn("GET");
+    }
+}
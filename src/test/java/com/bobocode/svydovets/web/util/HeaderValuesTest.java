@@ -0,0 +1,37 @@
+package com.bobocode.svydovets.web.util;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import svydovets.web.util.HeaderValues;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class HeaderValuesTest {
+
+    @Test
+    @Order(1)
+    void shouldSplitHeaderValueIntoTrimmedNonEmptyElements() {
+        assertThat(HeaderValues.split(" gzip;q=0.5 ,, deflate ,")).containsExactly("gzip;q=0.5", "deflate");
+        assertThat(HeaderValues.split("")).isEmpty();
+    }
+
+    @Test
+    @Order(2)
+    void shouldReturnValueWithoutParameters() {
+        assertThat(HeaderValues.valueOf("text/html ; level=1; q=0.5")).isEqualTo("text/html");
+        assertThat(HeaderValues.valueOf("gzip")).isEqualTo("gzip");
+    }
+
+    @Test
+    @Order(3)
+    void shouldParseQualityParameter() {
+        assertThat(HeaderValues.qualityOf("gzip")).isEqualTo(1);
+        assertThat(HeaderValues.qualityOf("text/html;level=1; q=0.25")).isEqualTo(0.25);
+        assertThat(HeaderValues.qualityOf("gzip;q=0")).isZero();
+        assertThat(HeaderValues.qualityOf("gzip;q=high")).isZero();
+        assertThat(HeaderValues.qualityOf("gzip;level=1")).isEqualTo(1);
+    }
+}